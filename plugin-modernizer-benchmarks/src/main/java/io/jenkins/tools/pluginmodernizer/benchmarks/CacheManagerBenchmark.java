@@ -0,0 +1,72 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure reading and writing a plugin metadata entry with {@link CacheManager}, as done several times per plugin.
+ * The entry is the merge of all metadata fixtures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheManagerBenchmark {
+
+    private static final Path PLUGIN_PATH = Path.of("benchmark-plugin");
+
+    private Path cache;
+    private CacheManager cacheManager;
+    private PluginMetadata metadata;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        cache = Files.createTempDirectory("cache-manager-benchmark");
+        cacheManager = new CacheManager(cache);
+        cacheManager.init();
+        metadata = JsonUtils.fromJson(MetadataMergeBenchmark.mergeFixtures(), PluginMetadata.class);
+        metadata.setCacheManager(cacheManager);
+        metadata.setPath(PLUGIN_PATH);
+        metadata.setKey(CacheManager.PLUGIN_METADATA_CACHE_KEY);
+        cacheManager.put(metadata);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.delete(cache);
+    }
+
+    @Benchmark
+    public PluginMetadata get() {
+        return cacheManager.get(PLUGIN_PATH, CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+    }
+
+    @Benchmark
+    public PluginMetadata getMissing() {
+        return cacheManager.get(PLUGIN_PATH, "missing.json", PluginMetadata.class);
+    }
+
+    @Benchmark
+    public void put() {
+        cacheManager.put(metadata);
+    }
+}
@@ -0,0 +1,81 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.CSVUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.StringIntMap;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the legacy split based parsing of installation stats with the streaming parser of {@link CSVUtils}.
+ * Run with {@code -prof gc} to compare allocations per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvStatsBenchmark {
+
+    /**
+     * Number of rows in the synthetic installation stats
+     */
+    @Param({"2000", "20000"})
+    private int rows;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            csv.append('"')
+                    .append("synthetic-plugin-")
+                    .append(i)
+                    .append("\",\"")
+                    .append((i * 7919) % 500_000)
+                    .append("\"\n");
+        }
+        body = csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Previous implementation: read the full body as a String and split it
+     */
+    @Benchmark
+    public Map<String, Integer> legacy() {
+        String data = new String(body, StandardCharsets.UTF_8);
+        Map<String, Integer> stats = new HashMap<>();
+        String[] lines = data.split("\n");
+        for (String line : lines) {
+            String[] columns = line.split(",");
+            if (columns.length == 2) {
+                String pluginName = columns[0].trim().replace("\"", "");
+                Integer installations = Integer.parseInt(columns[1].trim().replace("\"", ""));
+                stats.put(pluginName, installations);
+            }
+        }
+        return stats;
+    }
+
+    @Benchmark
+    public StringIntMap streaming() throws IOException {
+        return CSVUtils.parseStats(new ByteArrayInputStream(body));
+    }
+}
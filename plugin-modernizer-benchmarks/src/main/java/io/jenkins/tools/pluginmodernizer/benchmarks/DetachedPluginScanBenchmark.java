@@ -0,0 +1,153 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.model.DetachedPlugins;
+import io.jenkins.tools.pluginmodernizer.core.recipes.AddDetachedPluginDependency;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the scanning phase of {@link AddDetachedPluginDependency} on a synthetic codebase.
+ * The legacy scanner loops over all detached plugins for each import, the current one probes a prebuilt index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DetachedPluginScanBenchmark {
+
+    private static final String JENKINS_VERSION = "2.440.3";
+
+    /**
+     * Imports that are not provided by any detached plugin
+     */
+    private static final String[] COMMON_IMPORTS = {
+        "hudson.Extension",
+        "hudson.model.AbstractProject",
+        "hudson.model.Run",
+        "hudson.model.TaskListener",
+        "hudson.util.FormValidation",
+        "java.io.IOException",
+        "java.util.List",
+        "java.util.Map",
+        "jenkins.model.Jenkins",
+        "org.kohsuke.stapler.DataBoundConstructor",
+    };
+
+    /**
+     * Total number of imports across all files
+     */
+    @Param({"5000"})
+    private int imports;
+
+    /**
+     * Number of imports per file
+     */
+    @Param({"25"})
+    private int importsPerFile;
+
+    private List<SourceFile> sources;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<String> detached = new ArrayList<>();
+        for (DetachedPlugins plugin : DetachedPlugins.values()) {
+            detached.addAll(plugin.getClassNames());
+        }
+        List<String> files = new ArrayList<>();
+        int fileCount = Math.max(1, imports / importsPerFile);
+        int counter = 0;
+        for (int f = 0; f < fileCount; f++) {
+            StringBuilder source = new StringBuilder("package io.jenkins.plugins.synthetic").append(f).append(";\n\n");
+            for (int i = 0; i < importsPerFile; i++, counter++) {
+                // One import out of ten comes from a detached plugin
+                String imported = counter % 10 == 0
+                        ? detached.get(counter / 10 % detached.size())
+                        : COMMON_IMPORTS[counter % COMMON_IMPORTS.length];
+                source.append("import ").append(imported).append(";\n");
+            }
+            source.append("\npublic class Synthetic").append(f).append(" {}\n");
+            files.add(source.toString());
+        }
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        sources = JavaParser.fromJavaVersion()
+                .build()
+                .parse(ctx, files.toArray(String[]::new))
+                .toList();
+    }
+
+    @Benchmark
+    public Set<String> legacy() {
+        Set<String> acc = new HashSet<>();
+        scan(new LegacyScanner(acc));
+        return acc;
+    }
+
+    @Benchmark
+    public Set<String> indexed() {
+        AddDetachedPluginDependency recipe = new AddDetachedPluginDependency(JENKINS_VERSION);
+        Set<String> acc = new HashSet<>();
+        scan(recipe.getScanner(acc));
+        return acc;
+    }
+
+    private void scan(TreeVisitor<?, ExecutionContext> scanner) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        for (SourceFile source : sources) {
+            scanner.visit(source, ctx);
+        }
+    }
+
+    /**
+     * Previous scanner: loop over all detached plugins and compare versions for each import
+     */
+    private static final class LegacyScanner extends JavaIsoVisitor<ExecutionContext> {
+
+        private final Set<String> acc;
+
+        private LegacyScanner(Set<String> acc) {
+            this.acc = acc;
+        }
+
+        @Override
+        public J.Import visitImport(J.Import importStmt, ExecutionContext ctx) {
+            String importedClass = importStmt.getTypeName();
+            String importedPackage = importedClass.substring(0, importedClass.lastIndexOf('.'));
+            for (DetachedPlugins plugin : DetachedPlugins.values()) {
+                if (plugin.getPackageName().contains(importedPackage)
+                        || plugin.getClassNames().contains(importedClass)) {
+                    if (new ComparableVersion(JENKINS_VERSION)
+                                    .compareTo(new ComparableVersion(plugin.getLastCoreRelease()))
+                            > 0) {
+                        acc.add(plugin.getPluginId());
+                    }
+                }
+            }
+            return super.visitImport(importStmt, ctx);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import io.jenkins.tools.pluginmodernizer.cli.options.GlobalOptions;
+import io.jenkins.tools.pluginmodernizer.core.GuiceModule;
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
+import io.jenkins.tools.pluginmodernizer.core.model.HealthScoreData;
+import io.jenkins.tools.pluginmodernizer.core.model.OptOutPluginsData;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginInstallationStatsData;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
+import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.CSVUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkDiscovery;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.shared.invoker.Invoker;
+import picocli.CommandLine;
+
+/**
+ * Process synthetic local plugins end to end through {@link PluginModernizer#start()} with Maven and GitHub replaced
+ * by stubs, and report the plugins processed per minute and where the time of the run goes as JSON. This measures
+ * the orchestration overhead of the tool itself: cache I/O, metadata handling, logging and the calls around git.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar io.jenkins.tools.pluginmodernizer.benchmarks.EndToEndThroughputRunner
+ * [--plugins N] [--recipe R] [--maven-output LINES] [--maven-latency MS] [--git-latency MS] [--sample-interval US]
+ * [--label L] [--output results.json]}
+ * <p>
+ * Remote data is seeded in the cache before the run so nothing reaches the network. Latencies default to 0 so the
+ * stubs cost nothing, set them to emulate a slow Maven or GitHub.
+ */
+public final class EndToEndThroughputRunner {
+
+    private static final String RECIPE_PREFIX = "io.jenkins.tools.pluginmodernizer.";
+    private static final String CORE = "io.jenkins.tools.pluginmodernizer.core.";
+    private static final String BENCHMARKS = "io.jenkins.tools.pluginmodernizer.benchmarks.";
+
+    /**
+     * Where the time goes. Each sample is attributed to the category of its innermost matching frame, so logging
+     * done while writing the cache counts as logging
+     */
+    private static final List<StackSampler.Category> CATEGORIES = List.of(
+            new StackSampler.Category(
+                    "logging",
+                    List.of("ch.qos.logback.", "org.slf4j.", "io.jenkins.tools.pluginmodernizer.cli.")),
+            new StackSampler.Category(
+                    "cache",
+                    List.of(
+                            CORE + "impl.CacheManager",
+                            CORE + "impl.CacheSnapshot",
+                            CORE + "model.CacheEntry",
+                            CORE + "utils.JsonUtils",
+                            CORE + "utils.FileLocks")),
+            new StackSampler.Category(
+                    "metadata",
+                    List.of(CORE + "extractor.", CORE + "model.PreconditionError", CORE + "utils.StaticPomParser")),
+            new StackSampler.Category(
+                    "git", List.of(BENCHMARKS + "StubGHService", CORE + "github.", "org.eclipse.jgit.")),
+            new StackSampler.Category("maven", List.of(BENCHMARKS + "StubInvoker", CORE + "impl.MavenInvoker")),
+            new StackSampler.Category(
+                    "remote-data",
+                    List.of(CORE + "utils.PluginService", CORE + "utils.HttpUtils", CORE + "utils.CSVUtils")),
+            new StackSampler.Category(
+                    "jdk", List.of(CORE + "utils.JdkDiscovery", CORE + "utils.JdkFetcher", CORE + "model.JDK")));
+
+    /**
+     * The report written by the runner
+     * @param timestamp When the report was produced
+     * @param javaVersion The Java runtime version
+     * @param label Free label of the run, like the version being measured
+     * @param recipe The recipe applied
+     * @param plugins Number of plugins processed
+     * @param failedPlugins Number of plugins that ended with errors
+     * @param totalMillis Wall time of the run
+     * @param pluginsPerMinute Throughput of the run
+     * @param mavenInvocations Number of Maven invocations handled by the stub
+     * @param gitOperations Number of git or GitHub operations handled by the stub
+     * @param samples Number of stack samples per category
+     * @param breakdown Share of the run per category in percent
+     */
+    record Report(
+            String timestamp,
+            String javaVersion,
+            String label,
+            String recipe,
+            int plugins,
+            long failedPlugins,
+            double totalMillis,
+            double pluginsPerMinute,
+            long mavenInvocations,
+            long gitOperations,
+            Map<String, Long> samples,
+            Map<String, Double> breakdown) {}
+
+    private int plugins = 500;
+    private String recipe = RECIPE_PREFIX + "AddCodeOwner";
+    private int mavenOutput = 100;
+    private long mavenLatency;
+    private long gitLatency;
+    private long sampleInterval = 1000;
+    private String label;
+    private Path output;
+
+    private EndToEndThroughputRunner() {}
+
+    public static void main(String[] args) throws IOException {
+        EndToEndThroughputRunner runner = new EndToEndThroughputRunner();
+        runner.parseArguments(args);
+        Report report = runner.run();
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        String json = gson.toJson(report);
+        if (runner.output != null) {
+            Files.writeString(runner.output, json, StandardCharsets.UTF_8);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--plugins" -> plugins = Integer.parseInt(value);
+                case "--recipe" -> recipe = value.contains(".") ? value : RECIPE_PREFIX + value;
+                case "--maven-output" -> mavenOutput = Integer.parseInt(value);
+                case "--maven-latency" -> mavenLatency = Long.parseLong(value);
+                case "--git-latency" -> gitLatency = Long.parseLong(value);
+                case "--sample-interval" -> sampleInterval = Long.parseLong(value);
+                case "--label" -> label = value;
+                case "--output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        if (plugins < 1) {
+            throw new IllegalArgumentException("At least one plugin is needed");
+        }
+    }
+
+    private Report run() throws IOException {
+        Path directory = Files.createTempDirectory("end-to-end-throughput");
+        try {
+            Path cache = directory.resolve(Settings.CACHE_SUBDIR);
+            // Per plugin log files are routed according to the global options, keep them in the temporary directory
+            new CommandLine(GlobalOptions.getInstance()).parseArgs("--cache-path", cache.toString());
+
+            List<Plugin> pluginList = new ArrayList<>();
+            for (int i = 0; i < plugins; i++) {
+                String name = "plugin-" + i;
+                SyntheticPlugin plugin = SyntheticPlugin.write(directory.resolve("plugins").resolve(name), 0, 0);
+                pluginList.add(Plugin.build(name, plugin.getDirectory()));
+            }
+
+            Config config = Config.builder()
+                    .withVersion("benchmark")
+                    .withGitHubOwner("synthetic")
+                    .withPlugins(pluginList)
+                    .withRecipe(getRecipe())
+                    .withCachePath(cache)
+                    .withMavenHome(createMavenHome(directory.resolve("maven")))
+                    .withMavenLocalRepo(Files.createDirectories(directory.resolve("repository")))
+                    .withAllowDeprecatedPlugins(true)
+                    .withDryRun(true)
+                    .build();
+
+            StubInvoker invoker = new StubInvoker(mavenOutput, mavenLatency);
+            StubGHService ghService = new StubGHService(gitLatency);
+            Injector injector = Guice.createInjector(Modules.override(new GuiceModule(config))
+                    .with(new AbstractModule() {
+                        @Override
+                        protected void configure() {
+                            bind(Invoker.class).toInstance(invoker);
+                            bind(GHService.class).toInstance(ghService);
+                            bind(JdkDiscovery.class).toInstance(new RuntimeJdkDiscovery());
+                        }
+                    }));
+            seed(injector.getInstance(CacheManager.class), directory);
+            PluginModernizer modernizer = injector.getInstance(PluginModernizer.class);
+
+            StackSampler sampler = new StackSampler(CATEGORIES, sampleInterval);
+            sampler.start(Thread.currentThread());
+            long start = System.nanoTime();
+            modernizer.start();
+            long elapsed = System.nanoTime() - start;
+            Map<String, Long> samples = sampler.stop();
+
+            double totalMillis = (double) elapsed / TimeUnit.MILLISECONDS.toNanos(1);
+            return new Report(
+                    Instant.now().toString(),
+                    Runtime.version().toString(),
+                    label,
+                    recipe,
+                    plugins,
+                    pluginList.stream().filter(Plugin::hasErrors).count(),
+                    totalMillis,
+                    plugins / (totalMillis / TimeUnit.MINUTES.toMillis(1)),
+                    invoker.getInvocations(),
+                    ghService.getOperations(),
+                    samples,
+                    breakdown(samples));
+        } finally {
+            GlobalOptions.reset();
+            Fixtures.delete(directory);
+        }
+    }
+
+    private Recipe getRecipe() {
+        return Settings.AVAILABLE_RECIPES.stream()
+                .filter(available -> available.getName().equals(recipe))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown recipe " + recipe));
+    }
+
+    /**
+     * Seed the cache with fresh remote data for all synthetic plugins, so the run never reaches the network
+     * @param cacheManager The cache manager used by the modernizer
+     * @param directory A temporary directory for the feeds
+     * @throws IOException If the feeds cannot be written
+     */
+    private void seed(CacheManager cacheManager, Path directory) throws IOException {
+        cacheManager.init();
+        Path feeds = Files.createDirectories(directory.resolve("feeds"));
+
+        Path updateCenter = feeds.resolve("update-center.json");
+        FeedLoadBenchmark.writeUpdateCenter(updateCenter, plugins);
+        put(
+                cacheManager,
+                JsonUtils.fromJson(updateCenter, UpdateCenterData.class),
+                CacheManager.UPDATE_CENTER_CACHE_KEY);
+
+        Path pluginVersions = feeds.resolve("plugin-versions.json");
+        FeedLoadBenchmark.writePluginVersions(pluginVersions, plugins, 20);
+        put(
+                cacheManager,
+                JsonUtils.fromJson(pluginVersions, PluginVersionData.class),
+                CacheManager.PLUGIN_VERSIONS_CACHE_KEY);
+
+        Map<String, Map<String, Double>> scores = new LinkedHashMap<>();
+        StringBuilder stats = new StringBuilder();
+        for (int i = 0; i < plugins; i++) {
+            scores.put("plugin-" + i, Map.of("value", (double) (i % 100)));
+            stats.append("plugin-").append(i).append(',').append(i * 10).append('\n');
+        }
+        put(
+                cacheManager,
+                JsonUtils.fromJson(JsonUtils.toJson(Map.of("plugins", scores)), HealthScoreData.class),
+                CacheManager.HEALTH_SCORE_KEY);
+        PluginInstallationStatsData installationStats = new PluginInstallationStatsData(cacheManager);
+        installationStats.setPlugins(CSVUtils.parseStats(stats.toString()));
+        put(cacheManager, installationStats, CacheManager.INSTALLATION_STATS_KEY);
+        put(
+                cacheManager,
+                JsonUtils.fromJson("{\"opted_out_plugins\": []}", OptOutPluginsData.class),
+                CacheManager.OPT_OUT_PLUGINS_CACHE_KEY);
+    }
+
+    private static <T extends CacheEntry<T>> void put(CacheManager cacheManager, T entry, String key) {
+        entry.setCacheManager(cacheManager);
+        entry.setKey(key);
+        entry.setPath(cacheManager.root());
+        cacheManager.put(entry);
+    }
+
+    /**
+     * Create a Maven home passing validation. It's never run since the invoker is a stub
+     * @param mavenHome The Maven home
+     * @return The Maven home
+     * @throws IOException If the files cannot be written
+     */
+    private static Path createMavenHome(Path mavenHome) throws IOException {
+        Path mvn = Files.createDirectories(mavenHome.resolve("bin")).resolve("mvn");
+        Files.writeString(mvn, "#!/bin/sh\necho " + StubInvoker.MAVEN_VERSION + "\n", StandardCharsets.UTF_8);
+        if (!mvn.toFile().setExecutable(true)) {
+            throw new IOException("Unable to make " + mvn + " executable");
+        }
+        return mavenHome;
+    }
+
+    private static Map<String, Double> breakdown(Map<String, Long> samples) {
+        long total = samples.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Double> breakdown = new LinkedHashMap<>();
+        samples.forEach((category, count) ->
+                breakdown.put(category, total == 0 ? 0 : Math.round(count * 1000.0 / total) / 10.0));
+        return breakdown;
+    }
+
+    /**
+     * Resolve every JDK to the running one, so builds never wait for a JDK download
+     */
+    private static final class RuntimeJdkDiscovery extends JdkDiscovery {
+
+        @Override
+        public Path find(int major) {
+            return Path.of(System.getProperty("java.home"));
+        }
+
+        @Override
+        public boolean isInstalled(int major) {
+            return true;
+        }
+    }
+}
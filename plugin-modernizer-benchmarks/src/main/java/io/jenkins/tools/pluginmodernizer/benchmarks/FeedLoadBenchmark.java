@@ -0,0 +1,188 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare loading the update center and plugin versions feeds from a fully buffered string (legacy)
+ * with the streaming adapters of {@link JsonUtils}.
+ * Run with {@code -prof gc} to compare allocation rate and retained heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedLoadBenchmark {
+
+    private static final String[] LABELS = {
+        "pipeline", "scm", "builder", "report", "notifier", "api-plugin", "library", "security", "cloud", "ui"
+    };
+
+    /**
+     * Number of plugins in the synthetic feeds. The real update center has roughly 2,000 plugins
+     */
+    @Param({"2000"})
+    private int plugins;
+
+    /**
+     * Number of releases per plugin in the synthetic plugin versions feed
+     */
+    @Param({"50"})
+    private int releases;
+
+    private Path updateCenter;
+    private Path pluginVersions;
+    private Gson legacyGson;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        updateCenter = Files.createTempFile("update-center", ".json");
+        pluginVersions = Files.createTempFile("plugin-versions", ".json");
+        writeUpdateCenter(updateCenter, plugins);
+        writePluginVersions(pluginVersions, plugins, releases);
+        legacyGson = new Gson();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(updateCenter);
+        Files.deleteIfExists(pluginVersions);
+    }
+
+    @Benchmark
+    public UpdateCenterData updateCenterLegacy() throws IOException {
+        return legacyGson.fromJson(Files.readString(updateCenter, StandardCharsets.UTF_8), UpdateCenterData.class);
+    }
+
+    @Benchmark
+    public UpdateCenterData updateCenterStreaming() {
+        return JsonUtils.fromJson(updateCenter, UpdateCenterData.class);
+    }
+
+    @Benchmark
+    public PluginVersionData pluginVersionsLegacy() throws IOException {
+        return legacyGson.fromJson(Files.readString(pluginVersions, StandardCharsets.UTF_8), PluginVersionData.class);
+    }
+
+    @Benchmark
+    public PluginVersionData pluginVersionsStreaming() {
+        return JsonUtils.fromJson(pluginVersions, PluginVersionData.class);
+    }
+
+    /**
+     * Write an update center like feed, including the fields we never read
+     * @param path The target file
+     * @param count The number of plugins
+     * @throws IOException If an error occurs
+     */
+    static void writeUpdateCenter(Path path, int count) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                JsonWriter json = new JsonWriter(writer)) {
+            json.beginObject();
+            json.name("connectionCheckUrl").value("https://www.google.com/");
+            json.name("plugins").beginObject();
+            for (int i = 0; i < count; i++) {
+                String name = "plugin-" + i;
+                json.name(name).beginObject();
+                json.name("buildDate").value("Jan 01, 2025");
+                json.name("defaultBranch").value(i % 3 == 0 ? "master" : "main");
+                json.name("dependencies").beginArray();
+                for (int d = 0; d < 5; d++) {
+                    json.beginObject();
+                    json.name("name").value("plugin-" + ((i + d + 1) % count));
+                    json.name("optional").value(d % 2 == 0);
+                    json.name("version").value("1." + d);
+                    json.endObject();
+                }
+                json.endArray();
+                json.name("developers").beginArray();
+                json.beginObject().name("developerId").value("dev-" + i).endObject();
+                json.endArray();
+                json.name("excerpt").value("Synthetic plugin number " + i + " used to benchmark the feed loading");
+                json.name("gav").value("io.jenkins.plugins:" + name + ":1." + i);
+                json.name("labels").beginArray();
+                json.value(LABELS[i % LABELS.length]);
+                json.value(LABELS[(i + 3) % LABELS.length]);
+                json.endArray();
+                json.name("name").value(name);
+                json.name("popularity").value(i);
+                json.name("requiredCore").value("2.479.3");
+                json.name("scm").value("https://github.com/jenkinsci/" + name);
+                json.name("sha256").value("0123456789abcdef0123456789abcdef0123456789abcdef");
+                json.name("url")
+                        .value("https://updates.jenkins.io/download/plugins/" + name + "/1." + i + "/" + name + ".hpi");
+                json.name("version").value("1." + i);
+                json.name("wiki").value("https://plugins.jenkins.io/" + name);
+                json.endObject();
+            }
+            json.endObject();
+            json.name("deprecations").beginObject();
+            for (int i = 0; i < count / 20; i++) {
+                json.name("deprecated-" + i).beginObject();
+                json.name("url").value("https://www.jenkins.io/deprecated-" + i);
+                json.endObject();
+            }
+            json.endObject();
+            json.endObject();
+        }
+    }
+
+    /**
+     * Write a plugin versions like feed with all releases of all plugins
+     * @param path The target file
+     * @param count The number of plugins
+     * @param releases The number of releases per plugin
+     * @throws IOException If an error occurs
+     */
+    static void writePluginVersions(Path path, int count, int releases) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                JsonWriter json = new JsonWriter(writer)) {
+            json.beginObject();
+            json.name("plugins").beginObject();
+            for (int i = 0; i < count; i++) {
+                String name = "plugin-" + i;
+                json.name(name).beginObject();
+                for (int r = 0; r < releases; r++) {
+                    String version = "1." + r;
+                    json.name(version).beginObject();
+                    json.name("buildDate").value("Jan 01, 2025");
+                    json.name("dependencies").beginArray().endArray();
+                    json.name("gav").value("io.jenkins.plugins:" + name + ":" + version);
+                    json.name("name").value(name);
+                    json.name("requiredCore").value("2.479.3");
+                    json.name("sha256").value("0123456789abcdef0123456789abcdef0123456789abcdef");
+                    json.name("url").value("https://updates.jenkins.io/download/plugins/" + name + "/" + version);
+                    json.name("version").value(version);
+                    json.endObject();
+                }
+                json.endObject();
+            }
+            json.endObject();
+            json.endObject();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Access to the fixtures checked in under {@code src/main/resources/fixtures} so benchmarks run offline
+ */
+final class Fixtures {
+
+    private Fixtures() {
+        // Hide constructor
+    }
+
+    /**
+     * Read a fixture as a string
+     * @param name The name of the fixture relative to the fixtures directory
+     * @return The content
+     */
+    static String read(String name) {
+        try (InputStream input = open(name)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copy a fixture to a file
+     * @param name The name of the fixture relative to the fixtures directory
+     * @param target The target file
+     * @return The target file
+     */
+    static Path copy(String name, Path target) {
+        try (InputStream input = open(name)) {
+            Files.createDirectories(target.getParent());
+            Files.copy(input, target, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delete a temporary directory created by a benchmark
+     * @param directory The directory
+     */
+    static void delete(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream open(String name) throws IOException {
+        InputStream input = Fixtures.class.getResourceAsStream("/fixtures/" + name);
+        if (input == null) {
+            throw new IOException("Missing fixture " + name);
+        }
+        return input;
+    }
+}
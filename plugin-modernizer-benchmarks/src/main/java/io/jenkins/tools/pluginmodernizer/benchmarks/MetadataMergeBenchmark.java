@@ -0,0 +1,88 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.extractor.MetadataExecutionContext;
+import io.jenkins.tools.pluginmodernizer.core.extractor.MetadataFinalizerVisitor;
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure merging the metadata collected from the POM, Jenkinsfile, common files and Java sources of a plugin.
+ * {@link MetadataFinalizerVisitor} also writes the merged metadata to {@code target/} of the working directory,
+ * like when it runs during a build.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataMergeBenchmark {
+
+    private String pom;
+    private String jenkinsfile;
+    private String common;
+    private String java;
+
+    private PluginMetadata pomMetadata;
+    private PluginMetadata jenkinsfileMetadata;
+    private PluginMetadata commonMetadata;
+    private PluginMetadata javaMetadata;
+
+    private MetadataFinalizerVisitor visitor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pom = Fixtures.read("metadata/pom.json");
+        jenkinsfile = Fixtures.read("metadata/jenkinsfile.json");
+        common = Fixtures.read("metadata/common.json");
+        java = Fixtures.read("metadata/java.json");
+        pomMetadata = JsonUtils.fromJson(pom, PluginMetadata.class);
+        jenkinsfileMetadata = JsonUtils.fromJson(jenkinsfile, PluginMetadata.class);
+        commonMetadata = JsonUtils.fromJson(common, PluginMetadata.class);
+        javaMetadata = JsonUtils.fromJson(java, PluginMetadata.class);
+        visitor = new MetadataFinalizerVisitor();
+    }
+
+    /**
+     * Merge the JSON documents in the same order as {@link MetadataFinalizerVisitor}
+     */
+    @Benchmark
+    public String merge() {
+        String merged = JsonUtils.merge(pom, jenkinsfile);
+        merged = JsonUtils.merge(common, merged);
+        return JsonUtils.merge(java, merged);
+    }
+
+    @Benchmark
+    public PluginMetadata finalizer() {
+        MetadataExecutionContext context = new MetadataExecutionContext();
+        context.setPomMetadata(pomMetadata);
+        context.setJenkinsFileMetadata(jenkinsfileMetadata);
+        context.setCommonMetadata(commonMetadata);
+        context.setJavaMetadata(javaMetadata);
+        visitor.visit(null, context);
+        return context.getMergedMetadata();
+    }
+
+    /**
+     * Merge all metadata fixtures
+     * @return The merged metadata as JSON
+     */
+    static String mergeFixtures() {
+        String merged = JsonUtils.merge(Fixtures.read("metadata/pom.json"), Fixtures.read("metadata/jenkinsfile.json"));
+        merged = JsonUtils.merge(Fixtures.read("metadata/common.json"), merged);
+        return JsonUtils.merge(Fixtures.read("metadata/java.json"), merged);
+    }
+}
@@ -0,0 +1,136 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.recipes.MigrateAcegiSecurityToSpringSecurity;
+import io.jenkins.tools.pluginmodernizer.core.recipes.MigrateStaplerAndJavaxToJakarta;
+import io.jenkins.tools.pluginmodernizer.core.recipes.code.ReplaceRemovedSSHLauncherConstructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Run the Java migration recipes on a large synthetic plugin.
+ * Only a share of the files reference the migrated APIs. Comparing {@code migratedPercent=100} with lower values shows
+ * how much of the recipe cost is saved by skipping unrelated files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MigrationRecipeBenchmark {
+
+    /**
+     * Number of Java files in the synthetic plugin
+     */
+    @Param({"1000"})
+    private int files;
+
+    /**
+     * Percentage of files referencing migrated APIs
+     */
+    @Param({"5", "100"})
+    private int migratedPercent;
+
+    private List<SourceFile> sources;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<String> contents = new ArrayList<>();
+        int migratedEvery = Math.max(1, 100 / Math.max(1, migratedPercent));
+        for (int i = 0; i < files; i++) {
+            contents.add(i % migratedEvery == 0 ? migratedSource(i) : plainSource(i));
+        }
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        sources = JavaParser.fromJavaVersion()
+                .build()
+                .parse(ctx, contents.toArray(String[]::new))
+                .toList();
+    }
+
+    @Benchmark
+    public RecipeRun acegi() {
+        return run(new MigrateAcegiSecurityToSpringSecurity());
+    }
+
+    @Benchmark
+    public RecipeRun staplerJakarta() {
+        return run(new MigrateStaplerAndJavaxToJakarta());
+    }
+
+    @Benchmark
+    public RecipeRun sshLauncher() {
+        return run(new ReplaceRemovedSSHLauncherConstructor());
+    }
+
+    private RecipeRun run(Recipe recipe) {
+        return recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext());
+    }
+
+    /**
+     * A file using APIs of all migration recipes
+     */
+    private static String migratedSource(int index) {
+        return """
+                package io.jenkins.plugins.synthetic;
+
+                import hudson.plugins.sshslaves.SSHLauncher;
+                import javax.servlet.ServletException;
+                import org.acegisecurity.Authentication;
+                import org.kohsuke.stapler.StaplerRequest;
+
+                public class Migrated%d {
+                    public void doSubmit(StaplerRequest req) throws ServletException {
+                        Authentication auth = null;
+                        SSHLauncher launcher = new SSHLauncher("host", 22, "id", null, null, null);
+                    }
+                }
+                """.formatted(index);
+    }
+
+    /**
+     * A file unrelated to the migration recipes, with enough code to make a full traversal costly
+     */
+    private static String plainSource(int index) {
+        StringBuilder methods = new StringBuilder();
+        for (int m = 0; m < 20; m++) {
+            methods.append("""
+                        public int compute%d(List<Integer> values) {
+                            int total = 0;
+                            for (Integer value : values) {
+                                total += value * %d;
+                            }
+                            return total;
+                        }
+                    """.formatted(m, m));
+        }
+        return """
+                package io.jenkins.plugins.synthetic;
+
+                import java.util.List;
+
+                public class Plain%d {
+                %s
+                }
+                """.formatted(index, methods);
+    }
+}
@@ -0,0 +1,56 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.jenkins.tools.pluginmodernizer.cli.PluginLoggerDiscriminator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Measure {@link PluginLoggerDiscriminator}, called for every log event of the CLI to route it to its log file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PluginLoggerDiscriminatorBenchmark {
+
+    private PluginLoggerDiscriminator discriminator;
+    private LoggingEvent pluginEvent;
+    private LoggingEvent globalEvent;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setup() {
+        discriminator = new PluginLoggerDiscriminator();
+        LoggerContext context = new LoggerContext();
+        ch.qos.logback.classic.Logger logger = context.getLogger(PluginLoggerDiscriminatorBenchmark.class);
+        pluginEvent = new LoggingEvent(
+                PluginLoggerDiscriminatorBenchmark.class.getName(), logger, Level.INFO, "Building plugin", null, null);
+        pluginEvent.addMarker(MarkerFactory.getMarker("benchmark-plugin"));
+        globalEvent = new LoggingEvent(
+                PluginLoggerDiscriminatorBenchmark.class.getName(), logger, Level.INFO, "Starting", null, null);
+    }
+
+    @Benchmark
+    public String pluginEvent() {
+        return discriminator.getDiscriminatingValue(pluginEvent);
+    }
+
+    @Benchmark
+    public String globalEvent() {
+        return discriminator.getDiscriminatingValue(globalEvent);
+    }
+}
@@ -0,0 +1,118 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import com.google.inject.Guice;
+import io.jenkins.tools.pluginmodernizer.core.GuiceModule;
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the update center lookups of {@link PluginService} done for every plugin when collecting metadata.
+ * The update center is written to a temporary cache with the same shape and size as the real one, so lookups never
+ * reach the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PluginServiceBenchmark {
+
+    /**
+     * Number of plugins in the update center
+     */
+    @Param({"2000"})
+    private int plugins;
+
+    private Path cache;
+    private PluginService pluginService;
+
+    /**
+     * Plugins of the update center looked up in turn
+     */
+    private Plugin[] known;
+
+    /**
+     * Plugins of the update center and unknown plugins looked up in turn
+     */
+    private Plugin[] mixed;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        cache = Files.createTempDirectory("plugin-service-benchmark");
+        Path feed = cache.resolve("update-center-feed.json");
+        FeedLoadBenchmark.writeUpdateCenter(feed, plugins);
+
+        CacheManager cacheManager = new CacheManager(cache);
+        cacheManager.init();
+        UpdateCenterData updateCenterData = JsonUtils.fromJson(feed, UpdateCenterData.class);
+        updateCenterData.setCacheManager(cacheManager);
+        updateCenterData.setKey(CacheManager.UPDATE_CENTER_CACHE_KEY);
+        updateCenterData.setPath(cacheManager.root());
+        cacheManager.put(updateCenterData);
+
+        Config config = Config.builder().withCachePath(cache).build();
+        pluginService = Guice.createInjector(new GuiceModule(config)).getInstance(PluginService.class);
+
+        known = new Plugin[plugins];
+        mixed = new Plugin[plugins];
+        for (int i = 0; i < plugins; i++) {
+            known[i] = Plugin.build("plugin-" + i);
+            mixed[i] = Plugin.build(i % 4 == 0 ? "unknown-" + i : "plugin-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.delete(cache);
+    }
+
+    @Benchmark
+    public boolean existsInUpdateCenter() {
+        return pluginService.existsInUpdateCenter(mixed[next()]);
+    }
+
+    @Benchmark
+    public boolean isDeprecated() {
+        return pluginService.isDeprecated(mixed[next()]);
+    }
+
+    @Benchmark
+    public boolean isApiPlugin() {
+        return pluginService.isApiPlugin(mixed[next()]);
+    }
+
+    @Benchmark
+    public String extractVersion() {
+        return pluginService.extractVersion(known[next()]);
+    }
+
+    private int next() {
+        int index = next;
+        next = index + 1 == plugins ? 0 : index + 1;
+        return index;
+    }
+}
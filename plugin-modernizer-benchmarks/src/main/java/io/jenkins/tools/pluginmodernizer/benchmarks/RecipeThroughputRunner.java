@@ -0,0 +1,279 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.groovy.GroovyParser;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.maven.MavenParser;
+
+/**
+ * Run each declarative recipe of {@code recipes.yml} in-process on a synthetic plugin and report the time,
+ * allocations and peak heap of each recipe as JSON, so they can be compared between releases.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar io.jenkins.tools.pluginmodernizer.benchmarks.RecipeThroughputRunner
+ * [--java-files N] [--tests M] [--recipes A,B] [--warmup W] [--iterations I] [--label L] [--output results.json]}
+ * <p>
+ * The pom is resolved by OpenRewrite, so Maven recipes need access to the Jenkins repository or a populated local
+ * repository. Recipes relying on types only match the JDK and the stubs of the synthetic tests.
+ */
+public final class RecipeThroughputRunner {
+
+    private static final String RECIPE_PREFIX = "io.jenkins.tools.pluginmodernizer.";
+
+    /**
+     * Measurements of a recipe
+     * @param recipe The recipe name
+     * @param iterations The number of measured runs
+     * @param averageMillis Average wall time of a run
+     * @param minMillis Fastest run
+     * @param maxMillis Slowest run
+     * @param allocatedBytes Average bytes allocated by a run
+     * @param peakHeapBytes Highest heap usage observed during a run
+     * @param changedFiles Files changed by the recipe
+     * @param error The error if the recipe failed
+     */
+    record RecipeResult(
+            String recipe,
+            int iterations,
+            double averageMillis,
+            double minMillis,
+            double maxMillis,
+            long allocatedBytes,
+            long peakHeapBytes,
+            int changedFiles,
+            String error) {}
+
+    /**
+     * The report written by the runner
+     * @param timestamp When the report was produced
+     * @param javaVersion The Java runtime version
+     * @param label Free label of the run, like the version being measured
+     * @param javaFiles Number of main Java files of the synthetic plugin
+     * @param tests Number of test files of the synthetic plugin
+     * @param parseMillis Time to parse the synthetic plugin
+     * @param results The measurements per recipe
+     */
+    record Report(
+            String timestamp,
+            String javaVersion,
+            String label,
+            int javaFiles,
+            int tests,
+            double parseMillis,
+            List<RecipeResult> results) {}
+
+    private int javaFiles = 100;
+    private int tests = 50;
+    private int warmup = 1;
+    private int iterations = 3;
+    private List<String> recipes;
+    private String label;
+    private Path output;
+
+    private RecipeThroughputRunner() {}
+
+    public static void main(String[] args) throws IOException {
+        RecipeThroughputRunner runner = new RecipeThroughputRunner();
+        runner.parseArguments(args);
+        Report report = runner.run();
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        String json = gson.toJson(report);
+        if (runner.output != null) {
+            Files.writeString(runner.output, json, StandardCharsets.UTF_8);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--java-files" -> javaFiles = Integer.parseInt(value);
+                case "--tests" -> tests = Integer.parseInt(value);
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--iterations" -> iterations = Integer.parseInt(value);
+                case "--recipes" -> recipes = Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .map(recipe -> recipe.contains(".") ? recipe : RECIPE_PREFIX + recipe)
+                        .toList();
+                case "--label" -> label = value;
+                case "--output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("At least one iteration is needed");
+        }
+    }
+
+    private Report run() throws IOException {
+        Path directory = Files.createTempDirectory("recipe-throughput");
+        try {
+            SyntheticPlugin plugin = SyntheticPlugin.write(directory, javaFiles, tests);
+            long start = System.nanoTime();
+            List<SourceFile> sources = parse(plugin);
+            double parseMillis = millis(System.nanoTime() - start);
+
+            Environment environment = Environment.builder().scanRuntimeClasspath().build();
+            List<RecipeResult> results = new ArrayList<>();
+            for (String name : getRecipes()) {
+                System.err.println("Running " + name);
+                results.add(measure(environment, name, sources));
+            }
+            return new Report(
+                    Instant.now().toString(),
+                    Runtime.version().toString(),
+                    label,
+                    javaFiles,
+                    tests,
+                    parseMillis,
+                    results);
+        } finally {
+            Fixtures.delete(directory);
+        }
+    }
+
+    /**
+     * The recipes to run. All declarative recipes except metadata collection, which writes files
+     * @return The recipe names
+     */
+    private List<String> getRecipes() {
+        if (recipes != null) {
+            return recipes;
+        }
+        return Settings.AVAILABLE_RECIPES.stream()
+                .map(io.jenkins.tools.pluginmodernizer.core.model.Recipe::getName)
+                .filter(name -> !name.equals(Settings.FETCH_METADATA_RECIPE.getName()))
+                .sorted()
+                .toList();
+    }
+
+    private List<SourceFile> parse(SyntheticPlugin plugin) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        Path base = plugin.getDirectory();
+        List<SourceFile> sources = new ArrayList<>();
+        sources.addAll(MavenParser.builder()
+                .build()
+                .parse(List.of(plugin.getPom()), base, ctx)
+                .toList());
+        sources.addAll(GroovyParser.builder()
+                .build()
+                .parse(List.of(plugin.getJenkinsfile()), base, ctx)
+                .toList());
+        sources.addAll(JavaParser.fromJavaVersion()
+                .dependsOn(SyntheticPlugin.stubs())
+                .build()
+                .parse(plugin.getJavaFiles(), base, ctx)
+                .toList());
+        return sources;
+    }
+
+    private RecipeResult measure(Environment environment, String name, List<SourceFile> sources) {
+        Recipe recipe;
+        try {
+            recipe = environment.activateRecipes(name);
+        } catch (RuntimeException e) {
+            return new RecipeResult(name, 0, 0, 0, 0, 0, 0, 0, String.valueOf(e.getMessage()));
+        }
+        try {
+            for (int i = 0; i < warmup; i++) {
+                run(recipe, sources);
+            }
+            long totalNanos = 0;
+            long minNanos = Long.MAX_VALUE;
+            long maxNanos = 0;
+            long totalAllocated = 0;
+            long peakHeap = 0;
+            int changedFiles = 0;
+            for (int i = 0; i < iterations; i++) {
+                System.gc();
+                resetPeakHeap();
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                RecipeRun run = run(recipe, sources);
+                long elapsed = System.nanoTime() - start;
+                totalAllocated += allocatedBytes() - allocatedBefore;
+                peakHeap = Math.max(peakHeap, peakHeap());
+                totalNanos += elapsed;
+                minNanos = Math.min(minNanos, elapsed);
+                maxNanos = Math.max(maxNanos, elapsed);
+                changedFiles = run.getChangeset().getAllResults().size();
+            }
+            return new RecipeResult(
+                    name,
+                    iterations,
+                    millis(totalNanos / iterations),
+                    millis(minNanos),
+                    millis(maxNanos),
+                    totalAllocated / iterations,
+                    peakHeap,
+                    changedFiles,
+                    null);
+        } catch (RuntimeException e) {
+            return new RecipeResult(name, 0, 0, 0, 0, 0, 0, 0, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static RecipeRun run(Recipe recipe, List<SourceFile> sources) {
+        return recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext());
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, which runs the recipe
+     * @return The allocated bytes or 0 if not supported by the JVM
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static double millis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,98 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Periodically sample the stack of a thread and attribute each sample to a category according to the innermost
+ * frame of a known class. Samples are taken at safepoints, which is precise enough to see where the time goes at
+ * the scale of a whole run.
+ */
+final class StackSampler {
+
+    static final String OTHER = "other";
+
+    /**
+     * Category of a frame by class name prefix. The first category matching the innermost frame wins
+     * @param name The category name
+     * @param prefixes The class name prefixes
+     */
+    record Category(String name, List<String> prefixes) {
+
+        boolean matches(String className) {
+            for (String prefix : prefixes) {
+                if (className.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final List<Category> categories;
+    private final Map<String, Long> samples = new LinkedHashMap<>();
+    private final long intervalNanos;
+    private volatile boolean running;
+    private Thread sampler;
+
+    /**
+     * Create a sampler
+     * @param categories The categories checked in order on each frame
+     * @param intervalMicros Interval between samples
+     */
+    StackSampler(List<Category> categories, long intervalMicros) {
+        this.categories = categories;
+        this.intervalNanos = TimeUnit.MICROSECONDS.toNanos(intervalMicros);
+        categories.forEach(category -> samples.put(category.name(), 0L));
+        samples.put(OTHER, 0L);
+    }
+
+    /**
+     * Start sampling a thread
+     * @param target The thread to sample
+     */
+    void start(Thread target) {
+        running = true;
+        sampler = Thread.ofPlatform().daemon().name("stack-sampler").start(() -> {
+            while (running && target.isAlive()) {
+                record(target.getStackTrace());
+                LockSupport.parkNanos(intervalNanos);
+            }
+        });
+    }
+
+    /**
+     * Stop sampling
+     * @return The number of samples per category
+     */
+    Map<String, Long> stop() {
+        running = false;
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return samples;
+    }
+
+    private void record(StackTraceElement[] stack) {
+        if (stack.length == 0) {
+            return;
+        }
+        samples.merge(categorize(stack), 1L, Long::sum);
+    }
+
+    private String categorize(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            for (Category category : categories) {
+                if (category.matches(frame.getClassName())) {
+                    return category.name();
+                }
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,66 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.StaticPomParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure parsing the POM fixture with {@link StaticPomParser} and reading its values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StaticPomParserBenchmark {
+
+    private Path directory;
+    private String pom;
+    private StaticPomParser parser;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("static-pom-parser-benchmark");
+        pom = Fixtures.copy("pom.xml", directory.resolve("pom.xml")).toString();
+        parser = new StaticPomParser(pom);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.delete(directory);
+    }
+
+    @Benchmark
+    public StaticPomParser parse() {
+        return new StaticPomParser(pom);
+    }
+
+    /**
+     * All getters used when building a plugin from its POM
+     */
+    @Benchmark
+    public void getters(Blackhole blackhole) {
+        blackhole.consume(parser.getPackaging());
+        blackhole.consume(parser.getJenkinsVersion());
+        blackhole.consume(parser.getBaseline());
+        blackhole.consume(parser.getGithubRepoProperty());
+        blackhole.consume(parser.getScmConnectionProperty());
+        blackhole.consume(parser.getArtifactId());
+    }
+}
@@ -0,0 +1,133 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
+import io.jenkins.tools.pluginmodernizer.core.model.RepoType;
+import java.util.concurrent.atomic.AtomicLong;
+import org.kohsuke.github.GHRepository;
+
+/**
+ * GitHub service that never reaches GitHub nor runs git. Every git or API operation only counts the call and
+ * optionally sleeps, so the orchestration around them can be measured on local plugins.
+ */
+final class StubGHService extends GHService {
+
+    private final long latencyMillis;
+    private final AtomicLong operations = new AtomicLong();
+
+    /**
+     * Create the stub
+     * @param latencyMillis Time spent by each git or API operation, to emulate the network
+     */
+    StubGHService(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Number of git or API operations
+     * @return The number of operations
+     */
+    long getOperations() {
+        return operations.get();
+    }
+
+    @Override
+    public void validate() {}
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public void connect() {}
+
+    @Override
+    public String getGithubOwner() {
+        return "synthetic";
+    }
+
+    @Override
+    public boolean isSshKeyAuth() {
+        return false;
+    }
+
+    @Override
+    public boolean isArchived(Plugin plugin) {
+        operation();
+        return false;
+    }
+
+    @Override
+    public boolean isForked(Plugin plugin, RepoType repoType) {
+        operation();
+        return false;
+    }
+
+    @Override
+    public GHRepository getRepository(Plugin plugin, RepoType repoType) {
+        operation();
+        // Handled by the modernizer like a repository that cannot be reached
+        throw new PluginProcessingException("No repository for synthetic plugins", plugin);
+    }
+
+    @Override
+    public void fork(Plugin plugin, RepoType repoType) {
+        operation();
+    }
+
+    @Override
+    public void sync(Plugin plugin, RepoType repoType) {
+        operation();
+    }
+
+    @Override
+    public void deleteFork(Plugin plugin) {
+        operation();
+    }
+
+    @Override
+    public void fetch(Plugin plugin, RepoType repoType) {
+        operation();
+    }
+
+    @Override
+    public void checkoutBranch(Plugin plugin, RepoType repoType) {
+        operation();
+    }
+
+    @Override
+    public void commitChanges(Plugin plugin, RepoType repoType) {
+        operation();
+    }
+
+    @Override
+    public void pushChanges(Plugin plugin, RepoType repoType) {
+        operation();
+    }
+
+    @Override
+    public void openPullRequest(Plugin plugin, RepoType repoType) {
+        operation();
+    }
+
+    @Override
+    public DiffStats getDiffStats(Plugin plugin, boolean dryRun) {
+        operation();
+        return new DiffStats();
+    }
+
+    private void operation() {
+        operations.incrementAndGet();
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.maven.shared.invoker.DefaultInvoker;
+import org.apache.maven.shared.invoker.InvocationOutputHandler;
+import org.apache.maven.shared.invoker.InvocationRequest;
+import org.apache.maven.shared.invoker.InvocationResult;
+import org.apache.maven.shared.utils.cli.CommandLineException;
+
+/**
+ * Maven invoker that never starts Maven. It answers the version check, writes the metadata the metadata recipe
+ * would have written and prints a fixed number of build log lines so the output handlers do their usual work.
+ */
+final class StubInvoker extends DefaultInvoker {
+
+    static final String MAVEN_VERSION = "3.9.9";
+
+    private static final String ACTIVE_RECIPES = "-Drewrite.activeRecipes=";
+
+    private final String metadata = MetadataMergeBenchmark.mergeFixtures();
+    private final int outputLines;
+    private final long latencyMillis;
+    private final AtomicLong invocations = new AtomicLong();
+
+    /**
+     * Create the stub
+     * @param outputLines Number of log lines printed by each build
+     * @param latencyMillis Time spent by each build, to emulate a real Maven
+     */
+    StubInvoker(int outputLines, long latencyMillis) {
+        this.outputLines = outputLines;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Number of Maven invocations, including the version check
+     * @return The number of invocations
+     */
+    long getInvocations() {
+        return invocations.get();
+    }
+
+    @Override
+    public InvocationResult execute(InvocationRequest request) {
+        invocations.incrementAndGet();
+        InvocationOutputHandler output = request.getOutputHandler(null);
+        try {
+            if (request.getArgs().contains("--version")) {
+                if (output != null) {
+                    output.consumeLine(MAVEN_VERSION);
+                }
+                return result(0);
+            }
+            if (request.getArgs().contains(ACTIVE_RECIPES + Settings.FETCH_METADATA_RECIPE.getName())) {
+                Path target = request.getPomFile().toPath().getParent().resolve("target");
+                Files.createDirectories(target);
+                Files.writeString(
+                        target.resolve(CacheManager.PLUGIN_METADATA_CACHE_KEY), metadata, StandardCharsets.UTF_8);
+            }
+            if (output != null) {
+                for (int i = 0; i < outputLines; i++) {
+                    output.consumeLine("[INFO] Synthetic build output line " + i);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pause(latencyMillis);
+        return result(0);
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static InvocationResult result(int exitCode) {
+        return new InvocationResult() {
+            @Override
+            public CommandLineException getExecutionException() {
+                return null;
+            }
+
+            @Override
+            public int getExitCode() {
+                return exitCode;
+            }
+        };
+    }
+}
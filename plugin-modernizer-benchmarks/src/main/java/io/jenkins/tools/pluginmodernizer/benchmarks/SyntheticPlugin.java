@@ -0,0 +1,271 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Source tree of a synthetic Jenkins plugin with an outdated setup that most recipes have something to change on:
+ * a pom with an old parent and BOM, a Jenkinsfile with old JDKs, main classes using legacy APIs and JUnit 4 tests.
+ */
+final class SyntheticPlugin {
+
+    static final String PACKAGE = "io.jenkins.plugins.synthetic";
+
+    private final Path directory;
+    private final List<Path> javaFiles = new ArrayList<>();
+
+    private SyntheticPlugin(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Write a synthetic plugin
+     * @param directory The root directory of the plugin
+     * @param mainFiles The number of main Java files
+     * @param testFiles The number of test Java files
+     * @return The synthetic plugin
+     * @throws IOException If the files cannot be written
+     */
+    static SyntheticPlugin write(Path directory, int mainFiles, int testFiles) throws IOException {
+        SyntheticPlugin plugin = new SyntheticPlugin(directory);
+        plugin.writeFile(Path.of("pom.xml"), pom());
+        plugin.writeFile(Path.of("Jenkinsfile"), jenkinsfile());
+        Path packagePath = Path.of(PACKAGE.replace('.', '/'));
+        for (int i = 0; i < mainFiles; i++) {
+            Path file = Path.of("src/main/java").resolve(packagePath).resolve("Synthetic" + i + ".java");
+            plugin.javaFiles.add(plugin.writeFile(file, mainSource(i)));
+        }
+        for (int i = 0; i < testFiles; i++) {
+            Path file = Path.of("src/test/java").resolve(packagePath).resolve("Synthetic" + i + "Test.java");
+            plugin.javaFiles.add(plugin.writeFile(file, testSource(i, mainFiles)));
+        }
+        return plugin;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    Path getPom() {
+        return directory.resolve("pom.xml");
+    }
+
+    Path getJenkinsfile() {
+        return directory.resolve("Jenkinsfile");
+    }
+
+    List<Path> getJavaFiles() {
+        return javaFiles;
+    }
+
+    /**
+     * Minimal sources of the test APIs used by the synthetic tests so they are type attributed without their jars
+     * @return The stub sources
+     */
+    static String[] stubs() {
+        return new String[] {
+            """
+            package org.junit;
+            public @interface Test {}
+            """,
+            """
+            package org.junit;
+            public @interface Before {}
+            """,
+            """
+            package org.junit;
+            public @interface Rule {}
+            """,
+            """
+            package org.junit;
+            public class Assert {
+                public static void assertEquals(Object expected, Object actual) {}
+                public static void assertTrue(boolean condition) {}
+                public static void assertNotNull(Object object) {}
+            }
+            """,
+            """
+            package org.jvnet.hudson.test;
+            public class JenkinsRule {
+                public Object createFreeStyleProject() { return null; }
+            }
+            """
+        };
+    }
+
+    private Path writeFile(Path relative, String content) throws IOException {
+        Path file = directory.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static String pom() {
+        // language=xml
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <modelVersion>4.0.0</modelVersion>
+                  <parent>
+                    <groupId>org.jenkins-ci.plugins</groupId>
+                    <artifactId>plugin</artifactId>
+                    <version>4.88</version>
+                    <relativePath />
+                  </parent>
+                  <groupId>io.jenkins.plugins</groupId>
+                  <artifactId>synthetic</artifactId>
+                  <version>${revision}${changelist}</version>
+                  <packaging>hpi</packaging>
+                  <name>Synthetic Plugin</name>
+                  <url>https://github.com/jenkinsci/synthetic-plugin</url>
+                  <developers>
+                    <developer>
+                      <id>synthetic</id>
+                    </developer>
+                  </developers>
+                  <scm>
+                    <connection>scm:git:git://github.com/jenkinsci/synthetic-plugin.git</connection>
+                    <developerConnection>scm:git:git@github.com:jenkinsci/synthetic-plugin.git</developerConnection>
+                    <url>https://github.com/jenkinsci/synthetic-plugin</url>
+                    <tag>${scmTag}</tag>
+                  </scm>
+                  <properties>
+                    <revision>1.0</revision>
+                    <changelist>-SNAPSHOT</changelist>
+                    <jenkins.version>2.452.4</jenkins.version>
+                    <java.level>8</java.level>
+                  </properties>
+                  <dependencyManagement>
+                    <dependencies>
+                      <dependency>
+                        <groupId>io.jenkins.tools.bom</groupId>
+                        <artifactId>bom-2.452.x</artifactId>
+                        <version>3435.v238d66a_043fb_</version>
+                        <type>pom</type>
+                        <scope>import</scope>
+                      </dependency>
+                    </dependencies>
+                  </dependencyManagement>
+                  <dependencies>
+                    <dependency>
+                      <groupId>org.jenkins-ci.plugins</groupId>
+                      <artifactId>structs</artifactId>
+                    </dependency>
+                    <dependency>
+                      <groupId>org.jenkins-ci.plugins.workflow</groupId>
+                      <artifactId>workflow-step-api</artifactId>
+                    </dependency>
+                  </dependencies>
+                  <repositories>
+                    <repository>
+                      <id>repo.jenkins-ci.org</id>
+                      <url>http://repo.jenkins-ci.org/public/</url>
+                    </repository>
+                  </repositories>
+                  <pluginRepositories>
+                    <pluginRepository>
+                      <id>repo.jenkins-ci.org</id>
+                      <url>http://repo.jenkins-ci.org/public/</url>
+                    </pluginRepository>
+                  </pluginRepositories>
+                </project>
+                """;
+    }
+
+    private static String jenkinsfile() {
+        return """
+                buildPlugin(
+                  useContainerAgent: true,
+                  configurations: [
+                    [platform: 'linux', jdk: 11],
+                    [platform: 'windows', jdk: 11],
+                ])
+                """;
+    }
+
+    private static String mainSource(int index) {
+        // language=java
+        return """
+                package %s;
+
+                import java.io.IOException;
+                import java.util.ArrayList;
+                import java.util.List;
+                import java.util.logging.Logger;
+
+                public class Synthetic%d {
+
+                    private static final Logger LOGGER = Logger.getLogger(Synthetic%d.class.getName());
+
+                    private final List<String> values = new ArrayList<String>();
+
+                    public void add(String value) throws IOException {
+                        if (value == null || value.trim().length() == 0) {
+                            throw new IOException("Empty value");
+                        }
+                        values.add(value);
+                        LOGGER.fine("Added " + value);
+                    }
+
+                    public String join() {
+                        StringBuffer buffer = new StringBuffer();
+                        for (int i = 0; i < values.size(); i++) {
+                            buffer.append(values.get(i));
+                            if (i < values.size() - 1) {
+                                buffer.append(",");
+                            }
+                        }
+                        return buffer.toString();
+                    }
+
+                    public int size() {
+                        return new Integer(values.size()).intValue();
+                    }
+                }
+                """.formatted(PACKAGE, index, index);
+    }
+
+    private static String testSource(int index, int mainFiles) {
+        String body;
+        if (mainFiles == 0) {
+            body = "Assert.assertNotNull(j.createFreeStyleProject());";
+        } else {
+            int tested = index % mainFiles;
+            body = String.join(
+                    "\n        ",
+                    "Synthetic%d synthetic = new Synthetic%d();".formatted(tested, tested),
+                    "synthetic.add(\"a\");",
+                    "synthetic.add(\"b\");",
+                    "Assert.assertEquals(\"a,b\", synthetic.join());",
+                    "Assert.assertTrue(synthetic.size() == 2);");
+        }
+        // language=java
+        return """
+                package %s;
+
+                import org.junit.Assert;
+                import org.junit.Before;
+                import org.junit.Rule;
+                import org.junit.Test;
+                import org.jvnet.hudson.test.JenkinsRule;
+
+                public class Synthetic%dTest {
+
+                    @Rule
+                    public JenkinsRule j = new JenkinsRule();
+
+                    @Before
+                    public void setUp() {}
+
+                    @Test
+                    public void shouldJoin() throws Exception {
+                        %s
+                    }
+                }
+                """.formatted(PACKAGE, index, body);
+    }
+}
@@ -49,6 +49,24 @@ public class DryRunCommand implements ICommand {
             description = "Disable collection and pushing of modernization metadata")
     private boolean skipMetadata;
 
+    /**
+     * Resume the previous run
+     */
+    @CommandLine.Option(
+            names = {"--resume"},
+            description =
+                    "Resume the previous run of the same recipe from its journal in the cache directory. Plugins it finished are skipped, plugins it was processing are processed again.")
+    private boolean resume;
+
+    /**
+     * Process the plugins by priority
+     */
+    @CommandLine.Option(
+            names = {"--prioritize"},
+            description =
+                    "Process the most valuable plugins first, by installations, health score and baseline, and the cheapest ones first among plugins of similar value, from the timings of previous runs.")
+    private boolean prioritize;
+
     /**
      * Environment options
      */
@@ -79,6 +97,8 @@ public class DryRunCommand implements ICommand {
         return builder.withDryRun(true)
                 .withRecipe(recipe)
                 .withSkipMetadata(skipMetadata)
+                .withResume(resume)
+                .withPrioritize(prioritize)
                 .build();
     }
 
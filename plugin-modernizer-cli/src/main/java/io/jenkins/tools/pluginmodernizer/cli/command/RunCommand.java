@@ -68,6 +68,24 @@ public class RunCommand implements ICommand {
             description = "Override the default behavior to allow PRs to plugins marked as opt-out")
     private boolean overrideOptOutPlugins;
 
+    /**
+     * Resume the previous run
+     */
+    @CommandLine.Option(
+            names = {"--resume"},
+            description =
+                    "Resume the previous run of the same recipe from its journal in the cache directory. Plugins it finished are skipped, plugins it was processing are processed again.")
+    private boolean resume;
+
+    /**
+     * Process the plugins by priority
+     */
+    @CommandLine.Option(
+            names = {"--prioritize"},
+            description =
+                    "Process the most valuable plugins first, by installations, health score and baseline, and the cheapest ones first among plugins of similar value, from the timings of previous runs.")
+    private boolean prioritize;
+
     @CommandLine.Option(
             names = {"--on-duplicate-pr"},
             description = "Strategy to apply when a pull request already exists. Default: SKIP.",
@@ -105,6 +123,8 @@ public class RunCommand implements ICommand {
                 .withDraft(draft)
                 .withRemoveForks(removeForks)
                 .withSkipMetadata(skipMetadata)
+                .withResume(resume)
+                .withPrioritize(prioritize)
                 .withOverrideOptOutPlugins(overrideOptOutPlugins)
                 .withDuplicatePrStrategy(duplicatePrStrategy)
                 .build();
@@ -2,6 +2,8 @@ package io.jenkins.tools.pluginmodernizer.cli.options;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.net.MalformedURLException;
 import java.net.URL;
 import picocli.CommandLine;
 
@@ -51,6 +53,12 @@ public class EnvOptions implements IOption {
             description = "GitHub API URL. Default to https://api.github.com")
     private URL githubApiUrl = Settings.GITHUB_API_URL;
 
+    @CommandLine.Option(
+            names = {"--jdk-mirror"},
+            description =
+                    "Local directory or URL mirroring the JDK archives; will override JDK_MIRROR environment variable. If not set via CLI option or environment variable, JDKs are downloaded from Adoptium.")
+    private String jdkMirror;
+
     @Override
     public void config(Config.Builder builder) {
         builder.withJenkinsUpdateCenter(jenkinsUpdateCenter)
@@ -58,6 +66,22 @@ public class EnvOptions implements IOption {
                 .withPluginHealthScore(pluginHealthScore)
                 .withPluginStatsInstallations(jenkinsPluginsStatsInstallationsUrl)
                 .withOptOutPlugins(optOutPluginsUrl)
-                .withGithubApiUrl(githubApiUrl);
+                .withGithubApiUrl(githubApiUrl)
+                .withJdkMirror(getJdkMirror());
+    }
+
+    /**
+     * Get the JDK mirror URL from the option
+     * @return The URL or null if not set
+     */
+    private URL getJdkMirror() {
+        if (jdkMirror == null || jdkMirror.isBlank()) {
+            return null;
+        }
+        try {
+            return Settings.toMirrorUrl(jdkMirror);
+        } catch (MalformedURLException e) {
+            throw new ModernizerException("Invalid JDK mirror: " + jdkMirror, e);
+        }
     }
 }
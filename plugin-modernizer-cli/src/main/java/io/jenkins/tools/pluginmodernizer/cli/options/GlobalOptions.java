@@ -60,6 +60,33 @@ public class GlobalOptions implements IOption {
             description = "Path to the Maven local repository.")
     private Path mavenLocalRepo = Settings.DEFAULT_MAVEN_LOCAL_REPO;
 
+    @CommandLine.Option(
+            names = {"--metrics-path"},
+            description = "Directory where the metrics of the run are exported as Prometheus text and JSON.")
+    private Path metricsPath;
+
+    @CommandLine.Option(
+            names = {"--jfr"},
+            description = "Record the run with JDK Flight Recorder to modernizer.jfr in the cache directory.")
+    private boolean jfr;
+
+    @CommandLine.Option(
+            names = {"--min-free-memory"},
+            description =
+                    "Memory in megabytes that must be available on the host to start a Maven build. Linux only.")
+    private long minFreeMemory;
+
+    @CommandLine.Option(
+            names = {"--queue-path"},
+            description =
+                    "Directory on a shared file system where the plugins are queued to be processed by several hosts.")
+    private Path queuePath;
+
+    @CommandLine.Option(
+            names = {"--worker"},
+            description = "Only process the plugins queued in --queue-path by a coordinator.")
+    private boolean worker;
+
     /**
      * Create a new config build for the global options
      */
@@ -73,9 +100,22 @@ public class GlobalOptions implements IOption {
                                 : cachePath)
                 .withMavenHome(mavenHome)
                 .withMavenLocalRepo(mavenLocalRepo)
+                .withMetricsPath(metricsPath)
+                .withJfr(jfr)
+                .withMinFreeMemory(minFreeMemory)
+                .withQueuePath(queuePath)
+                .withWorker(worker)
                 .withAllowDeprecatedPlugins(allowDeprecatedPlugins);
     }
 
+    /**
+     * Return if this process is a worker of a queue, processing the plugins submitted by a coordinator
+     * @return True for a worker
+     */
+    public boolean isWorker() {
+        return worker;
+    }
+
     /**
      * Get the version from the pom.properties
      * @return Version string
@@ -75,6 +75,11 @@ public final class PluginOptions implements IOption {
                         Stream.concat(plugins.stream(), pluginsFromFile.stream()))
                 .toList();
 
+        // Workers take their plugins from the queue
+        if (effectivePlugins.isEmpty() && GlobalOptions.getInstance().isWorker()) {
+            return effectivePlugins;
+        }
+
         // Use current folder as plugin if no plugin is provided
         if (effectivePlugins.isEmpty()) {
             try {
@@ -3,10 +3,15 @@ package io.jenkins.tools.pluginmodernizer.core;
 import com.google.inject.AbstractModule;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.impl.BuildGovernor;
+import io.jenkins.tools.pluginmodernizer.core.impl.BuildMemoStore;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import io.jenkins.tools.pluginmodernizer.core.impl.PluginModernizer;
+import io.jenkins.tools.pluginmodernizer.core.impl.PluginScheduler;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkDiscovery;
 import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import io.jenkins.tools.pluginmodernizer.core.utils.ProcFs;
 import org.apache.maven.shared.invoker.DefaultInvoker;
 import org.apache.maven.shared.invoker.Invoker;
 
@@ -22,10 +27,19 @@ public class GuiceModule extends AbstractModule {
     protected void configure() {
         bind(Invoker.class).to(DefaultInvoker.class);
         bind(Config.class).toInstance(config);
-        bind(CacheManager.class).toInstance(new CacheManager(config.getCachePath()));
-        bind(PluginService.class).toInstance(new PluginService());
+        CacheManager cacheManager = new CacheManager(config.getCachePath());
+        bind(CacheManager.class).toInstance(cacheManager);
+        bind(BuildMemoStore.class).toInstance(new BuildMemoStore(cacheManager));
+        PluginService pluginService = new PluginService();
+        bind(PluginService.class).toInstance(pluginService);
+        bind(PluginScheduler.class).toInstance(new PluginScheduler(cacheManager, pluginService));
         bind(GHService.class).toInstance(new GHService());
-        bind(JdkFetcher.class).toInstance(new JdkFetcher(config.getCachePath()));
+        bind(JdkFetcher.class)
+                .toInstance(new JdkFetcher(config.getCachePath(), cacheManager, config.getJdkMirror()));
+        bind(JdkDiscovery.class).toInstance(new JdkDiscovery());
+        ProcFs procFs = new ProcFs();
+        bind(ProcFs.class).toInstance(procFs);
+        bind(BuildGovernor.class).toInstance(new BuildGovernor(procFs));
         bind(PluginModernizer.class).toInstance(new PluginModernizer());
     }
 }
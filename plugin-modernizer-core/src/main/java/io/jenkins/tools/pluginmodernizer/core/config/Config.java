@@ -24,10 +24,18 @@ public class Config {
     private final URL pluginStatsInstallations;
     private final URL optOutPlugins;
     private final URL githubApiUrl;
+    private final URL jdkMirror;
     private final Path cachePath;
     private final Path mavenHome;
     private final Path mavenLocalRepo;
+    private final Path metricsPath;
+    private final boolean jfr;
+    private final long minFreeMemory;
     private final boolean skipMetadata;
+    private final boolean resume;
+    private final boolean prioritize;
+    private final Path queuePath;
+    private final boolean worker;
     private final boolean overrideOptOutPlugins;
     private final boolean dryRun;
     private final boolean draft;
@@ -54,10 +62,18 @@ public class Config {
             URL pluginStatsInstallations,
             URL optOutPlugins,
             URL githubApiUrl,
+            URL jdkMirror,
             Path cachePath,
             Path mavenHome,
             Path mavenLocalRepo,
+            Path metricsPath,
+            boolean jfr,
+            long minFreeMemory,
             boolean skipMetadata,
+            boolean resume,
+            boolean prioritize,
+            Path queuePath,
+            boolean worker,
             boolean overrideOptOutPlugins,
             boolean dryRun,
             boolean draft,
@@ -78,10 +94,18 @@ public class Config {
         this.pluginStatsInstallations = pluginStatsInstallations;
         this.optOutPlugins = optOutPlugins;
         this.githubApiUrl = githubApiUrl;
+        this.jdkMirror = jdkMirror;
         this.cachePath = cachePath;
         this.mavenHome = mavenHome;
         this.mavenLocalRepo = mavenLocalRepo;
+        this.metricsPath = metricsPath;
+        this.jfr = jfr;
+        this.minFreeMemory = minFreeMemory;
         this.skipMetadata = skipMetadata;
+        this.resume = resume;
+        this.prioritize = prioritize;
+        this.queuePath = queuePath;
+        this.worker = worker;
         this.overrideOptOutPlugins = overrideOptOutPlugins;
         this.dryRun = dryRun;
         this.draft = draft;
@@ -162,6 +186,14 @@ public class Config {
         return githubApiUrl;
     }
 
+    /**
+     * Return the directory or URL mirroring the JDK archives
+     * @return The mirror or null to download JDKs from Adoptium
+     */
+    public URL getJdkMirror() {
+        return jdkMirror;
+    }
+
     public Path getCachePath() {
         return cachePath.toAbsolutePath();
     }
@@ -180,10 +212,72 @@ public class Config {
         return mavenLocalRepo.toAbsolutePath();
     }
 
+    /**
+     * Return the directory where the metrics of the run are exported
+     * @return The directory or null if metrics are not exported
+     */
+    public Path getMetricsPath() {
+        if (metricsPath == null) {
+            return null;
+        }
+        return metricsPath.toAbsolutePath();
+    }
+
+    /**
+     * Return if a flight recording of the run is written next to the logs
+     * @return True if the run is recorded
+     */
+    public boolean isJfr() {
+        return jfr;
+    }
+
+    /**
+     * Return the memory that must be available on the host to start a Maven build
+     * @return The memory in megabytes, 0 to start builds regardless of the available memory
+     */
+    public long getMinFreeMemory() {
+        return minFreeMemory;
+    }
+
     public boolean isSkipMetadata() {
         return skipMetadata;
     }
 
+    /**
+     * Return if the run resumes the previous one from its journal
+     * @return True if the plugins finished by the previous run are skipped
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * Return if the plugins are processed by priority instead of in the given order
+     * @return True if the most valuable and cheapest plugins are processed first
+     */
+    public boolean isPrioritize() {
+        return prioritize;
+    }
+
+    /**
+     * Return the directory of the queue shared by the hosts processing the plugins
+     * @return The directory or null if the plugins are processed by this host alone
+     */
+    public Path getQueuePath() {
+        if (queuePath == null) {
+            return null;
+        }
+        return queuePath.toAbsolutePath();
+    }
+
+    /**
+     * Return if this host only processes the plugins of the queue submitted by a coordinator
+     * @return True for a worker, false for the coordinator
+     */
+    public boolean isWorker() {
+        return worker;
+    }
+
     public boolean isOverrideOptOutPlugins() {
         return overrideOptOutPlugins;
     }
@@ -237,10 +331,18 @@ public class Config {
         private URL pluginHealthScore = Settings.DEFAULT_HEALTH_SCORE_URL;
         private URL optOutPlugins = Settings.OPT_OUT_PLUGINS_URL;
         private URL githubApiUrl = Settings.GITHUB_API_URL;
+        private URL jdkMirror = Settings.DEFAULT_JDK_MIRROR;
         private Path cachePath = Settings.DEFAULT_CACHE_PATH;
         private Path mavenHome = Settings.DEFAULT_MAVEN_HOME;
         private Path mavenLocalRepo = Settings.DEFAULT_MAVEN_LOCAL_REPO;
+        private Path metricsPath;
+        private boolean jfr = false;
+        private long minFreeMemory = 0;
         private boolean skipMetadata = false;
+        private boolean resume = false;
+        private boolean prioritize = false;
+        private Path queuePath;
+        private boolean worker = false;
         private boolean overrideOptOutPlugins = false;
         private boolean dryRun = false;
         private boolean draft = false;
@@ -330,6 +432,13 @@ public class Config {
             return this;
         }
 
+        public Builder withJdkMirror(URL jdkMirror) {
+            if (jdkMirror != null) {
+                this.jdkMirror = jdkMirror;
+            }
+            return this;
+        }
+
         public Builder withCachePath(Path cachePath) {
             if (cachePath != null) {
                 this.cachePath = cachePath;
@@ -351,11 +460,46 @@ public class Config {
             return this;
         }
 
+        public Builder withMetricsPath(Path metricsPath) {
+            this.metricsPath = metricsPath;
+            return this;
+        }
+
+        public Builder withJfr(boolean jfr) {
+            this.jfr = jfr;
+            return this;
+        }
+
+        public Builder withMinFreeMemory(long minFreeMemory) {
+            this.minFreeMemory = minFreeMemory;
+            return this;
+        }
+
         public Builder withSkipMetadata(boolean skipMetadata) {
             this.skipMetadata = skipMetadata;
             return this;
         }
 
+        public Builder withResume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
+        public Builder withPrioritize(boolean prioritize) {
+            this.prioritize = prioritize;
+            return this;
+        }
+
+        public Builder withQueuePath(Path queuePath) {
+            this.queuePath = queuePath;
+            return this;
+        }
+
+        public Builder withWorker(boolean worker) {
+            this.worker = worker;
+            return this;
+        }
+
         public Builder withOverrideOptOutPlugins(boolean overrideOptOutPlugins) {
             this.overrideOptOutPlugins = overrideOptOutPlugins;
             return this;
@@ -402,10 +546,18 @@ public class Config {
                     pluginStatsInstallations,
                     optOutPlugins,
                     githubApiUrl,
+                    jdkMirror,
                     cachePath,
                     mavenHome,
                     mavenLocalRepo,
+                    metricsPath,
+                    jfr,
+                    minFreeMemory,
                     skipMetadata,
+                    resume,
+                    prioritize,
+                    queuePath,
+                    worker,
                     overrideOptOutPlugins,
                     dryRun,
                     draft,
@@ -13,6 +13,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -39,6 +40,11 @@ public class Settings {
 
     public static final URL GITHUB_API_URL;
 
+    /**
+     * Directory or URL mirroring the JDK archives. Null to download them from Adoptium
+     */
+    public static final URL DEFAULT_JDK_MIRROR;
+
     public static final Path DEFAULT_CACHE_PATH;
     public static final String CACHE_SUBDIR = "jenkins-plugin-modernizer-cli";
 
@@ -73,6 +79,17 @@ public class Settings {
 
     public static final String ADOPTIUM_GITHUB_API_URL = "https://api.github.com/repos/adoptium";
 
+    /**
+     * How long the resolved JDK releases are cached before querying the Adoptium API again
+     */
+    public static final Duration JDK_RELEASE_CACHE_TTL = Duration.ofDays(1);
+
+    /**
+     * How long a successful build of a source tree is remembered. Bounds the time SNAPSHOT or range dependencies
+     * resolved by a remembered build can change without the tree being built again
+     */
+    public static final Duration BUILD_MEMO_CACHE_TTL = Duration.ofDays(7);
+
     public static final ComparableVersion MAVEN_MINIMAL_VERSION = new ComparableVersion("3.9.11");
 
     public static final String REMEDIATION_PLUGIN_PARENT_VERSION;
@@ -138,6 +155,11 @@ public class Settings {
         } catch (MalformedURLException e) {
             throw new ModernizerException("Invalid URL format", e);
         }
+        try {
+            DEFAULT_JDK_MIRROR = getJdkMirror();
+        } catch (MalformedURLException e) {
+            throw new ModernizerException("Invalid URL format", e);
+        }
 
         REMEDIATION_PLUGIN_PARENT_VERSION = getRemediationPluginParentVersion();
 
@@ -307,6 +329,27 @@ public class Settings {
         return new URL("https://%s".formatted(host));
     }
 
+    private static URL getJdkMirror() throws MalformedURLException {
+        String mirror = System.getenv("JDK_MIRROR");
+        if (mirror == null || mirror.isBlank()) {
+            return null;
+        }
+        return toMirrorUrl(mirror);
+    }
+
+    /**
+     * Convert a mirror location to a URL
+     * @param mirror A URL or the path of a local directory
+     * @return The URL of the mirror
+     * @throws MalformedURLException If the URL is invalid
+     */
+    public static URL toMirrorUrl(String mirror) throws MalformedURLException {
+        if (mirror.matches("^[a-zA-Z][a-zA-Z0-9+.-]+://.*")) {
+            return new URL(mirror);
+        }
+        return Path.of(mirror).toAbsolutePath().toUri().toURL();
+    }
+
     private static @NotNull String getRemediationPluginParentVersion() {
         return readProperty("remediation.jenkins.plugin.parent.version", "versions.properties");
     }
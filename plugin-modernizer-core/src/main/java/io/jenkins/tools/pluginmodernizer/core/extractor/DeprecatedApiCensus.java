@@ -0,0 +1,98 @@
+package io.jenkins.tools.pluginmodernizer.core.extractor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Usages of deprecated APIs found in the code of a plugin, broken down per deprecated symbol.
+ * Methods and fields are identified by {@code <declaring type>#<name>} and types by their fully qualified name.
+ */
+public class DeprecatedApiCensus {
+
+    /**
+     * Kind of deprecated symbol
+     */
+    public enum Kind {
+        METHOD,
+        TYPE,
+        FIELD
+    }
+
+    /**
+     * Usages of deprecated methods and constructors
+     */
+    private Map<String, Integer> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Usages of deprecated types
+     */
+    private Map<String, Integer> types = new ConcurrentHashMap<>();
+
+    /**
+     * Usages of deprecated fields
+     */
+    private Map<String, Integer> fields = new ConcurrentHashMap<>();
+
+    /**
+     * Record a usage of a deprecated symbol
+     * @param kind The kind of symbol
+     * @param symbol The symbol
+     */
+    public void record(Kind kind, String symbol) {
+        getUsages(kind).merge(symbol, 1, Integer::sum);
+    }
+
+    /**
+     * Return the usages per symbol of the given kind
+     * @param kind The kind of symbol
+     * @return The number of usages per symbol
+     */
+    public Map<String, Integer> getUsages(Kind kind) {
+        return switch (kind) {
+            case METHOD -> methods;
+            case TYPE -> types;
+            case FIELD -> fields;
+        };
+    }
+
+    /**
+     * Return the number of usages of the given kind
+     * @param kind The kind of symbol
+     * @return The number of usages
+     */
+    public int getTotal(Kind kind) {
+        return getUsages(kind).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Return the number of usages of all deprecated symbols
+     * @return The number of usages
+     */
+    public int getTotal() {
+        return getTotal(Kind.METHOD) + getTotal(Kind.TYPE) + getTotal(Kind.FIELD);
+    }
+
+    public Map<String, Integer> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(Map<String, Integer> methods) {
+        this.methods = methods;
+    }
+
+    public Map<String, Integer> getTypes() {
+        return types;
+    }
+
+    public void setTypes(Map<String, Integer> types) {
+        this.types = types;
+    }
+
+    public Map<String, Integer> getFields() {
+        return fields;
+    }
+
+    public void setFields(Map<String, Integer> fields) {
+        this.fields = fields;
+    }
+}
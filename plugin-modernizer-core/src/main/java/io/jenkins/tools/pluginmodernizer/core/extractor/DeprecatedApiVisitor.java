@@ -0,0 +1,127 @@
+package io.jenkins.tools.pluginmodernizer.core.extractor;
+
+import java.util.List;
+import org.openrewrite.Cursor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+
+/**
+ * A visitor counting usages of deprecated methods, types and fields into a {@link DeprecatedApiCensus}.
+ * Usages are counted while visiting, so the census can be taken as part of another traversal of the tree.
+ * @param <P> The visitor parameter
+ */
+public class DeprecatedApiVisitor<P> extends JavaIsoVisitor<P> {
+
+    private static final String DEPRECATED = "java.lang.Deprecated";
+
+    /**
+     * The census to record usages to
+     */
+    private final DeprecatedApiCensus census;
+
+    /**
+     * Whether to mark usages of deprecated methods with a search result
+     */
+    private final boolean markMethodUsages;
+
+    /**
+     * Constructor
+     * @param census The census to record usages to
+     * @param markMethodUsages Whether to mark usages of deprecated methods with a search result
+     */
+    public DeprecatedApiVisitor(DeprecatedApiCensus census, boolean markMethodUsages) {
+        this.census = census;
+        this.markMethodUsages = markMethodUsages;
+    }
+
+    /**
+     * Return the census
+     * @return The census
+     */
+    public DeprecatedApiCensus getCensus() {
+        return census;
+    }
+
+    @Override
+    public J.Import visitImport(J.Import _import, P p) {
+        // Imports are not usages
+        return _import;
+    }
+
+    @Override
+    public J.Package visitPackage(J.Package pkg, P p) {
+        return pkg;
+    }
+
+    @Override
+    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, P p) {
+        J.MethodInvocation m = super.visitMethodInvocation(method, p);
+        return recordMethod(m.getMethodType()) && markMethodUsages ? SearchResult.found(m) : m;
+    }
+
+    @Override
+    public J.MemberReference visitMemberReference(J.MemberReference memberRef, P p) {
+        J.MemberReference m = super.visitMemberReference(memberRef, p);
+        return recordMethod(m.getMethodType()) && markMethodUsages ? SearchResult.found(m) : m;
+    }
+
+    @Override
+    public J.NewClass visitNewClass(J.NewClass newClass, P p) {
+        J.NewClass n = super.visitNewClass(newClass, p);
+        return recordMethod(n.getConstructorType()) && markMethodUsages ? SearchResult.found(n) : n;
+    }
+
+    @Override
+    public J.Identifier visitIdentifier(J.Identifier identifier, P p) {
+        J.Identifier i = super.visitIdentifier(identifier, p);
+        if (isDeclaredName(identifier)) {
+            return i;
+        }
+        JavaType.Variable fieldType = i.getFieldType();
+        if (fieldType != null) {
+            JavaType.FullyQualified owner = TypeUtils.asFullyQualified(fieldType.getOwner());
+            if (owner != null && isDeprecated(fieldType.getAnnotations())) {
+                census.record(
+                        DeprecatedApiCensus.Kind.FIELD, owner.getFullyQualifiedName() + "#" + fieldType.getName());
+            }
+            return i;
+        }
+        JavaType.Class type = TypeUtils.asClass(i.getType());
+        if (type != null && isDeprecated(type.getAnnotations())) {
+            census.record(DeprecatedApiCensus.Kind.TYPE, type.getFullyQualifiedName());
+        }
+        return i;
+    }
+
+    private boolean recordMethod(JavaType.Method method) {
+        if (method == null || !isDeprecated(method.getAnnotations())) {
+            return false;
+        }
+        census.record(
+                DeprecatedApiCensus.Kind.METHOD,
+                method.getDeclaringType().getFullyQualifiedName() + "#" + method.getName());
+        return true;
+    }
+
+    /**
+     * Names of declared classes and variables are declarations, not usages
+     */
+    private boolean isDeclaredName(J.Identifier identifier) {
+        Cursor parent = getCursor().getParentTreeCursor();
+        Object value = parent.getValue();
+        return (value instanceof J.ClassDeclaration classDeclaration && classDeclaration.getName() == identifier)
+                || (value instanceof J.VariableDeclarations.NamedVariable variable && variable.getName() == identifier);
+    }
+
+    private static boolean isDeprecated(List<JavaType.FullyQualified> annotations) {
+        for (JavaType.FullyQualified annotation : annotations) {
+            if (DEPRECATED.equals(annotation.getFullyQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
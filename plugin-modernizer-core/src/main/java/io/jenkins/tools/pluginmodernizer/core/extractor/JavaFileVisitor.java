@@ -1,20 +1,35 @@
 package io.jenkins.tools.pluginmodernizer.core.extractor;
 
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A visitor to extract metadata from Java files.
+ * Usages of deprecated APIs are counted in the same traversal, see {@link DeprecatedApiVisitor}.
  */
-public class JavaFileVisitor extends JavaIsoVisitor<PluginMetadata> {
+public class JavaFileVisitor extends DeprecatedApiVisitor<PluginMetadata> {
 
     /**
      * LOGGER.
      */
     private static final Logger LOG = LoggerFactory.getLogger(JavaFileVisitor.class);
 
+    /**
+     * Constructor with a new deprecated API census.
+     */
+    public JavaFileVisitor() {
+        this(new DeprecatedApiCensus());
+    }
+
+    /**
+     * Constructor.
+     * @param census the census to record usages of deprecated APIs to
+     */
+    public JavaFileVisitor(DeprecatedApiCensus census) {
+        super(census, false);
+    }
+
     @Override
     public J.Import visitImport(J.Import _import, PluginMetadata pluginMetadata) {
         _import = super.visitImport(_import, pluginMetadata);
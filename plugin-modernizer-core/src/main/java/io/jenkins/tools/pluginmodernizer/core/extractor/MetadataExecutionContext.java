@@ -13,6 +13,11 @@ public class MetadataExecutionContext {
     private PluginMetadata javaMetadata;
     private PluginMetadata commonMetadata;
 
+    /**
+     * Usages of deprecated APIs accumulated over all Java files.
+     */
+    private final DeprecatedApiCensus deprecatedApiCensus = new DeprecatedApiCensus();
+
     /**
      * Metadata file name for the merged metadata.
      */
@@ -77,4 +82,8 @@ public class MetadataExecutionContext {
         this.jenkinsFileMetadata = jenkinsFileMetadata;
         this.jenkinsFileMetadata.setKey(fileName);
     }
+
+    public DeprecatedApiCensus getDeprecatedApiCensus() {
+        return deprecatedApiCensus;
+    }
 }
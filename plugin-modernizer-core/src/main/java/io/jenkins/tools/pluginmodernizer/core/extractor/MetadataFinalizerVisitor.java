@@ -34,6 +34,7 @@ public class MetadataFinalizerVisitor extends TreeVisitor<Tree, MetadataExecutio
         merged = fromJson(merge(commonMetadata.toJson(), merged.toJson()), PluginMetadata.class);
         merged = fromJson(merge(javaMetadata.toJson(), merged.toJson()), PluginMetadata.class);
         merged = fromJson(merge(mergedMetadata.toJson(), merged.toJson()), PluginMetadata.class);
+        merged.setDeprecatedApiUsages(metadataContext.getDeprecatedApiCensus());
 
         LOG.debug("Merged metadata: {}", toJson(merged));
 
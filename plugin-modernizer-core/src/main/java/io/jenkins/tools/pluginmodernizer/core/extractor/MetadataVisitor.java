@@ -59,7 +59,8 @@ public class MetadataVisitor extends TreeVisitor<Tree, MetadataExecutionContext>
         // Extract metadata from java file
         else if (PathUtils.matchesGlob(sourceFile.getSourcePath(), "**/*.java")) {
             LOG.debug("Visiting Java file {}", sourceFile.getSourcePath());
-            PluginMetadata javaMetadata = new JavaFileVisitor().reduce(tree, commonMetadata);
+            PluginMetadata javaMetadata =
+                    new JavaFileVisitor(metadataContext.getDeprecatedApiCensus()).reduce(tree, commonMetadata);
             LOG.debug("Java metadata: {}", JsonUtils.toJson(javaMetadata));
             metadataContext.setJavaMetadata(javaMetadata);
             return tree;
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTiming;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import java.nio.file.Path;
 import java.util.HashMap;
@@ -86,6 +87,16 @@ public class ModernizationMetadata extends CacheEntry<ModernizationMetadata> {
      */
     private Integer removedDeprecatedApis;
 
+    /**
+     * Number of deprecated API usages before the migration
+     */
+    private Integer deprecatedApisBefore;
+
+    /**
+     * Number of deprecated API usages after the migration
+     */
+    private Integer deprecatedApisAfter;
+
     /**
      * The pull request URL to the modernized plugin if any
      */
@@ -116,6 +127,11 @@ public class ModernizationMetadata extends CacheEntry<ModernizationMetadata> {
      */
     private Integer changedFiles;
 
+    /**
+     * Wall-clock and CPU time of each processing phase
+     */
+    private List<PhaseTiming> phaseTimings;
+
     /**
      * Create a new modernization metadata
      * Store the metadata in the relative target directory of current folder
@@ -237,6 +253,25 @@ public class ModernizationMetadata extends CacheEntry<ModernizationMetadata> {
         this.removedDeprecatedApis = removedDeprecatedApis;
     }
 
+    /**
+     * Set the number of deprecated API usages before and after the migration and the number of removed usages
+     * @param before Number of usages before the migration
+     * @param after Number of usages after the migration
+     */
+    public void setDeprecatedApis(int before, int after) {
+        this.deprecatedApisBefore = before;
+        this.deprecatedApisAfter = after;
+        this.removedDeprecatedApis = Math.max(0, before - after);
+    }
+
+    public Integer getDeprecatedApisBefore() {
+        return deprecatedApisBefore;
+    }
+
+    public Integer getDeprecatedApisAfter() {
+        return deprecatedApisAfter;
+    }
+
     public Set<String> getTags() {
         return tags;
     }
@@ -348,4 +383,12 @@ public class ModernizationMetadata extends CacheEntry<ModernizationMetadata> {
     public void setChangedFiles(Integer changedFiles) {
         this.changedFiles = changedFiles;
     }
+
+    public List<PhaseTiming> getPhaseTimings() {
+        return phaseTimings;
+    }
+
+    public void setPhaseTimings(List<PhaseTiming> phaseTimings) {
+        this.phaseTimings = phaseTimings;
+    }
 }
@@ -91,6 +91,11 @@ public class PluginMetadata extends CacheEntry<PluginMetadata> {
      */
     private Map<String, String> properties;
 
+    /**
+     * Usages of deprecated APIs in the code of the plugin
+     */
+    private DeprecatedApiCensus deprecatedApiUsages;
+
     /**
      * Create a new plugin metadata
      * Store the metadata in the relative target directory of current folder
@@ -349,4 +354,12 @@ public class PluginMetadata extends CacheEntry<PluginMetadata> {
         }
         properties.put(key, value);
     }
+
+    public DeprecatedApiCensus getDeprecatedApiUsages() {
+        return deprecatedApiUsages;
+    }
+
+    public void setDeprecatedApiUsages(DeprecatedApiCensus deprecatedApiUsages) {
+        this.deprecatedApiUsages = deprecatedApiUsages;
+    }
 }
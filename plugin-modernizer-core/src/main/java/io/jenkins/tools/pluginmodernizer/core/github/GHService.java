@@ -2,12 +2,14 @@ package io.jenkins.tools.pluginmodernizer.core.github;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.jfr.GitHubOperationEvent;
 import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.RepoType;
 import io.jenkins.tools.pluginmodernizer.core.utils.JWTUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.MetricsUtils;
 import jakarta.inject.Inject;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -17,8 +19,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.StreamSupport;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.common.keyprovider.FileKeyPairProvider;
@@ -57,6 +62,7 @@ import org.eclipse.jgit.treewalk.FileTreeIterator;
 import org.kohsuke.github.GHApp;
 import org.kohsuke.github.GHAppInstallationToken;
 import org.kohsuke.github.GHBranchSync;
+import org.kohsuke.github.GHException;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHMyself;
@@ -74,11 +80,25 @@ public class GHService {
 
     private static final Logger LOG = LoggerFactory.getLogger(GHService.class);
 
+    /**
+     * Timer of the GitHub API and git operations, tagged by operation, type and outcome
+     */
+    public static final String OPERATION_TIMER = "modernizer.github.operations";
+
+    private static final String REST = "rest";
+    private static final String GIT = "git";
+
     /**
      * Allowed github tags for PR
      */
     private static final Set<String> ALLOWED_TAGS = Set.of("chore", "dependencies", "developer");
 
+    /**
+     * Number of plugin repositories from which listing all repositories of the organization is cheaper
+     * than getting each repository
+     */
+    static final int ARCHIVED_LISTING_THRESHOLD = 50;
+
     @Inject
     private Config config;
 
@@ -97,6 +117,11 @@ public class GHService {
      */
     private boolean sshKeyAuth = false;
 
+    /**
+     * Archived status of the plugin repositories already resolved, by repository name
+     */
+    private final Map<String, Boolean> archived = new ConcurrentHashMap<>();
+
     /**
      * Validate the configuration of the GHService
      */
@@ -237,6 +262,10 @@ public class GHService {
      * @return The GHRepository object
      */
     public GHRepository getRepository(Plugin plugin, RepoType repoType) {
+        return timed("getRepository", REST, plugin, () -> doGetRepository(plugin, repoType));
+    }
+
+    private GHRepository doGetRepository(Plugin plugin, RepoType repoType) {
         try {
             if (repoType == RepoType.PLUGIN) {
                 return github.getRepository(Settings.ORGANIZATION + "/" + plugin.getRepositoryName());
@@ -256,6 +285,10 @@ public class GHService {
      * @return The GHRepository object
      */
     public GHRepository getRepositoryFork(Plugin plugin, RepoType repoType) {
+        return timed("getRepositoryFork", REST, plugin, () -> doGetRepositoryFork(plugin, repoType));
+    }
+
+    private GHRepository doGetRepositoryFork(Plugin plugin, RepoType repoType) {
         if (config.isDryRun()) {
             throw new PluginProcessingException(
                     "Cannot get" + repoType.getType() + "fork repository in dry-run mode", plugin);
@@ -282,6 +315,10 @@ public class GHService {
         if (plugin.isLocal()) {
             return false;
         }
+        return timed("isForked", REST, plugin, () -> doIsForked(plugin, repoType));
+    }
+
+    private boolean doIsForked(Plugin plugin, RepoType repoType) {
         try {
             GHOrganization organization = getOrganization();
             if (organization != null) {
@@ -303,9 +340,54 @@ public class GHService {
         if (plugin.isLocal()) {
             return false;
         }
+        Boolean known = plugin.getRepositoryName() != null ? archived.get(plugin.getRepositoryName()) : null;
+        if (known != null) {
+            return known;
+        }
         return plugin.getRemoteRepository(this).isArchived();
     }
 
+    /**
+     * Resolve if the repositories of plugins are archived, so the following {@link #isArchived(Plugin)} calls
+     * don't query GitHub. From {@link #ARCHIVED_LISTING_THRESHOLD} plugins, the repositories of the organization are
+     * listed 100 per request instead of getting each repository. Repositories missing from the listing are
+     * resolved individually when checked
+     *
+     * @param plugins The plugins with their repository name
+     */
+    public void resolveArchived(List<Plugin> plugins) {
+        List<Plugin> unresolved = plugins.stream()
+                .filter(plugin -> !plugin.isLocal()
+                        && plugin.getRepositoryName() != null
+                        && !archived.containsKey(plugin.getRepositoryName()))
+                .toList();
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        if (unresolved.size() < ARCHIVED_LISTING_THRESHOLD) {
+            for (Plugin plugin : unresolved) {
+                try {
+                    archived.put(plugin.getRepositoryName(), plugin.getRemoteRepository(this).isArchived());
+                } catch (PluginProcessingException e) {
+                    // Checked again when processing the plugin
+                    LOG.debug("Unable to check if {} is archived: {}", plugin.getName(), e.getMessage());
+                }
+            }
+            return;
+        }
+        timed("listRepositories", REST, null, () -> {
+            try {
+                for (GHRepository repository : github.getOrganization(Settings.ORGANIZATION).listRepositories(100)) {
+                    archived.put(repository.getName(), repository.isArchived());
+                }
+            } catch (IOException | GHException e) {
+                // Checked individually when processing the plugins
+                LOG.warn("Unable to list repositories of {}: {}", Settings.ORGANIZATION, e.getMessage());
+            }
+            return null;
+        });
+    }
+
     /**
      * Fork repository to the organization or personal account
      *
@@ -313,6 +395,10 @@ public class GHService {
      * @param repoType The repo type to fork
      */
     public void fork(Plugin plugin, RepoType repoType) {
+        timed("fork", REST, plugin, () -> doFork(plugin, repoType));
+    }
+
+    private void doFork(Plugin plugin, RepoType repoType) {
         if (config.isDryRun()) {
             LOG.info("Skipping forking {} {} in dry-run mode", repoType.getType(), plugin);
             return;
@@ -517,6 +603,10 @@ public class GHService {
             LOG.info("Plugin {} is local. Not syncing {} repo", plugin, repoType.getType());
             return;
         }
+        timed("sync", REST, plugin, () -> doSync(plugin, repoType));
+    }
+
+    private void doSync(Plugin plugin, RepoType repoType) {
         if (config.isDryRun()) {
             LOG.info("Skipping sync {} {} in dry-run mode", repoType.getType(), plugin);
             return;
@@ -565,6 +655,10 @@ public class GHService {
             LOG.info("Plugin {} is local. Not deleting fork", plugin);
             return;
         }
+        timed("deleteFork", REST, plugin, () -> doDeleteFork(plugin));
+    }
+
+    private void doDeleteFork(Plugin plugin) {
         if (config.isDryRun()) {
             LOG.info("Skipping delete fork for plugin {} in dry-run mode", plugin);
             return;
@@ -616,7 +710,10 @@ public class GHService {
             LOG.info("Plugin {} is local. Not fetching {} repo", plugin, repoType.getType());
             return;
         }
+        timed("fetch", GIT, plugin, () -> doFetch(plugin, repoType));
+    }
 
+    private void doFetch(Plugin plugin, RepoType repoType) {
         // We always fetch from original repo to avoid forking when not necessary
         GHRepository repository = repoType.getRemoteRepository(plugin, this);
 
@@ -778,6 +875,10 @@ public class GHService {
             LOG.info("Plugin {} is local. Not checking out branch for {}", plugin, repoType.getType());
             return;
         }
+        timed("checkoutBranch", GIT, plugin, () -> doCheckoutBranch(plugin, repoType));
+    }
+
+    private void doCheckoutBranch(Plugin plugin, RepoType repoType) {
         String branchName = repoType.getBranchName(plugin, config.getRecipe());
         Path localRepository = repoType.getLocalRepository(plugin);
         GHRepository remoteRepository = repoType.getRemoteRepository(plugin, this);
@@ -810,6 +911,10 @@ public class GHService {
      * @param repoType The repo type to commit changes for
      */
     public void commitChanges(Plugin plugin, RepoType repoType) {
+        timed("commitChanges", GIT, plugin, () -> doCommitChanges(plugin, repoType));
+    }
+
+    private void doCommitChanges(Plugin plugin, RepoType repoType) {
         Path localRepository = repoType.getLocalRepository(plugin);
         // Collect local changes
         if ((plugin.isLocal() || config.isDryRun()) && repoType == RepoType.PLUGIN) {
@@ -914,6 +1019,10 @@ public class GHService {
      * @return The current user
      */
     public GHUser getCurrentUser() {
+        return timed("getCurrentUser", REST, null, this::doGetCurrentUser);
+    }
+
+    private GHUser doGetCurrentUser() {
         if (!isConnected()) {
             LOG.debug("Not able to get current user. GitHub client is not connected");
             return null;
@@ -991,6 +1100,10 @@ public class GHService {
      * @param repoType The repo type to push changes for
      */
     public void pushChanges(Plugin plugin, RepoType repoType) {
+        timed("pushChanges", GIT, plugin, () -> doPushChanges(plugin, repoType));
+    }
+
+    private void doPushChanges(Plugin plugin, RepoType repoType) {
         if (config.isDryRun()) {
             LOG.info("Skipping push changes for {} {} in dry-run mode", repoType.getType(), plugin);
             return;
@@ -1045,6 +1158,10 @@ public class GHService {
      * @param repoType The repo type to open a pull request for
      */
     public void openPullRequest(Plugin plugin, RepoType repoType) {
+        timed("openPullRequest", REST, plugin, () -> doOpenPullRequest(plugin, repoType));
+    }
+
+    private void doOpenPullRequest(Plugin plugin, RepoType repoType) {
 
         // Ensure to refresh client to target installation
         refreshToken(config.getGithubAppTargetInstallationId());
@@ -1236,6 +1353,10 @@ public class GHService {
      * @return DiffStats (no. of additions, deletions and changed files)
      */
     public DiffStats getDiffStats(Plugin plugin, boolean dryRun) {
+        return timed("getDiffStats", GIT, plugin, () -> doGetDiffStats(plugin, dryRun));
+    }
+
+    private DiffStats doGetDiffStats(Plugin plugin, boolean dryRun) {
         Path gitDirPath = Settings.DEFAULT_CACHE_PATH
                 .resolve(plugin.getName())
                 .resolve("sources")
@@ -1366,6 +1487,42 @@ public class GHService {
         }
     }
 
+    /**
+     * Time a GitHub API or git operation
+     * @param operation The operation name
+     * @param type The type of operation, REST API or git
+     * @param plugin The plugin or null if the operation is not related to a plugin
+     * @param action The operation
+     */
+    private void timed(String operation, String type, Plugin plugin, Runnable action) {
+        timed(operation, type, plugin, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Time a GitHub API or git operation
+     * @param operation The operation name
+     * @param type The type of operation, REST API or git
+     * @param plugin The plugin or null if the operation is not related to a plugin
+     * @param action The operation
+     * @param <T> The type of the result
+     * @return The result of the operation
+     */
+    private <T> T timed(String operation, String type, Plugin plugin, Supplier<T> action) {
+        GitHubOperationEvent event =
+                GitHubOperationEvent.begin(plugin != null ? plugin.getName() : null, operation, type);
+        boolean success = false;
+        try {
+            T result = MetricsUtils.time(OPERATION_TIMER, action, "operation", operation, "type", type);
+            success = true;
+            return result;
+        } finally {
+            event.end(success);
+        }
+    }
+
     /**
      * Set the SSH key authentication if needed
      */
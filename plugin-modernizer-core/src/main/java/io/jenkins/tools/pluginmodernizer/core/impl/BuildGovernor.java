@@ -0,0 +1,207 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.ProcFs;
+import io.micrometer.core.instrument.Metrics;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adaptive limit of the number of concurrent Maven builds, and of the threads and heap given to each of them.
+ * The limit follows an AIMD scheme: it grows by {@code 1/limit} after each build completing on a healthy host while
+ * other builds wait for a slot, and is halved when a build completes while the host is overloaded, short of memory, or
+ * much slower than usual.
+ * Each build gets its share of the CPUs as {@code -T} and of the available memory as maximum heap, split between the
+ * builds actually running or waiting, so a lone build gets the whole host and the builds running together stay within
+ * the host capacity.
+ */
+public class BuildGovernor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BuildGovernor.class);
+
+    /**
+     * Gauge of the current limit of concurrent builds
+     */
+    public static final String CONCURRENCY_GAUGE = "modernizer.maven.concurrency";
+
+    /**
+     * Bounds of the heap given to a build
+     */
+    static final long MIN_HEAP = 512L << 20;
+
+    static final long MAX_HEAP = 4096L << 20;
+
+    /**
+     * Load average per CPU above which the host is overloaded
+     */
+    static final double OVERLOADED = 1.0;
+
+    /**
+     * Share of available memory below which the host is short of memory
+     */
+    static final double LOW_MEMORY = 0.1;
+
+    /**
+     * A build taking longer than this factor of the average duration of its goal is slow
+     */
+    static final double SLOW = 3.0;
+
+    /**
+     * Builds shorter than this are never slow, their duration mostly varies with the JVM startup
+     */
+    static final Duration SLOW_MIN = Duration.ofSeconds(10);
+
+    /**
+     * Weight of the last build in the average duration of a goal
+     */
+    private static final double AVERAGE_WEIGHT = 0.3;
+
+    /**
+     * The capacity and load of the host
+     * @param cpus The number of CPUs
+     * @param totalMemory The physical memory in bytes or -1 if unknown
+     * @param availableMemory The memory available in bytes or -1 if unknown
+     * @param loadAverage The system load average of the last minute or -1 if unknown
+     */
+    public record HostState(int cpus, long totalMemory, long availableMemory, double loadAverage) {}
+
+    /**
+     * The resources given to a build
+     * @param threads The number of Maven threads
+     * @param heap The maximum heap in bytes or -1 to keep the default
+     * @param start The start time in nanoseconds
+     */
+    public record Allocation(int threads, long heap, long start) {}
+
+    private final Supplier<HostState> host;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<String, Double> averageDurations = new HashMap<>();
+    private volatile double limit = 1;
+    private int running;
+    private int waiting;
+
+    /**
+     * Govern the builds from the load of the host
+     * @param procFs The process accounting of the host
+     */
+    public BuildGovernor(ProcFs procFs) {
+        this(() -> {
+            int cpus = Runtime.getRuntime().availableProcessors();
+            double load = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+            return new HostState(
+                    cpus,
+                    procFs.getTotalMemory().orElse(-1),
+                    procFs.getAvailableMemory().orElse(-1),
+                    load);
+        });
+    }
+
+    /**
+     * Govern the builds from the given host state
+     * @param host The host state supplier
+     */
+    BuildGovernor(Supplier<HostState> host) {
+        this.host = host;
+        Metrics.gauge(CONCURRENCY_GAUGE, this, BuildGovernor::getLimit);
+    }
+
+    /**
+     * Wait for a build slot and return the resources of the build
+     * @return The allocation to give back with {@link #release(Allocation, String)}
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Allocation acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (running >= getLimit()) {
+                    released.await();
+                }
+            } finally {
+                waiting--;
+            }
+            running++;
+            HostState state = host.get();
+            int slots = getLimit();
+            // Builds beyond the limit wait, so at most the limit of builds share the host
+            int threads = Math.max(1, state.cpus() / Math.min(slots, running + waiting));
+            long heap = -1;
+            if (state.availableMemory() > 0) {
+                // Builds already running hold their memory, share the available one with the builds about to start
+                int starting = 1 + Math.clamp(slots - running, 0, waiting);
+                heap = Math.clamp(state.availableMemory() * 3 / 4 / starting, MIN_HEAP, MAX_HEAP);
+            }
+            return new Allocation(threads, heap, System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release the slot of a completed build and adapt the limit
+     * @param allocation The allocation of the build
+     * @param goal The goal of the build
+     */
+    public void release(Allocation allocation, String goal) {
+        double duration = System.nanoTime() - allocation.start();
+        lock.lock();
+        try {
+            running--;
+            HostState state = host.get();
+            Double average = averageDurations.get(goal);
+            boolean slow = average != null && duration > SLOW_MIN.toNanos() && duration > SLOW * average;
+            averageDurations.put(
+                    goal, average == null ? duration : AVERAGE_WEIGHT * duration + (1 - AVERAGE_WEIGHT) * average);
+            boolean overloaded = state.loadAverage() >= 0 && state.loadAverage() / state.cpus() > OVERLOADED;
+            boolean lowMemory = state.availableMemory() >= 0
+                    && state.totalMemory() > 0
+                    && state.availableMemory() < state.totalMemory() * LOW_MEMORY;
+            if (overloaded || lowMemory || slow) {
+                limit = Math.max(1, limit / 2);
+                LOG.debug(
+                        "Decreasing Maven builds to {} (overloaded: {}, low memory: {}, slow: {} after {} ms)",
+                        getLimit(),
+                        overloaded,
+                        lowMemory,
+                        slow,
+                        TimeUnit.NANOSECONDS.toMillis((long) duration));
+            } else if (waiting > 0) {
+                // Plugins processed one at a time never wait, they keep a single build using the whole host
+                limit = Math.min(state.cpus(), limit + 1 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the current number of builds allowed to run concurrently
+     * @return The limit
+     */
+    public int getLimit() {
+        return Math.max(1, (int) limit);
+    }
+
+    /**
+     * Return the number of builds waiting for a slot
+     * @return The number of waiting builds
+     */
+    int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
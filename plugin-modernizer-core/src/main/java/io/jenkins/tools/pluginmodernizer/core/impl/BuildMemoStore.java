@@ -0,0 +1,151 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.model.BuildMemo;
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.micrometer.core.instrument.Metrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.WorkingTreeIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remember the successful builds of plugins so a source tree is not built again with the same JDK and goals.
+ * The source tree is identified by a hash of the content of the git working tree, including uncommitted and
+ * untracked changes but not ignored files like the {@code target} directory.
+ * Failed builds are never remembered.
+ */
+public class BuildMemoStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BuildMemoStore.class);
+
+    /**
+     * Counter of the build memo lookups, tagged by goals and result
+     */
+    public static final String LOOKUP_COUNTER = "modernizer.build.memo";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Create a new store
+     * @param cacheManager The cache where memos are kept
+     */
+    public BuildMemoStore(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Return the hash of the source tree of a plugin
+     * @param plugin The plugin
+     * @return The hash or null if the plugin sources are not a git working tree
+     */
+    public String treeHash(Plugin plugin) {
+        return treeHash(plugin.getLocalRepository());
+    }
+
+    /**
+     * Return if a source tree was already built successfully with a JDK and goals
+     * @param plugin The plugin
+     * @param treeHash The hash of the source tree or null if unknown
+     * @param jdk The JDK of the build
+     * @param goals The Maven goals of the build
+     * @return True if the build can be skipped
+     */
+    public boolean isBuilt(Plugin plugin, String treeHash, JDK jdk, String goals) {
+        if (treeHash == null) {
+            return false;
+        }
+        BuildMemo memo = cacheManager.get(
+                BuildMemo.getPath(plugin.getName()),
+                BuildMemo.getKey(jdk.getMajor(), goals),
+                BuildMemo.class,
+                Settings.BUILD_MEMO_CACHE_TTL);
+        boolean built = memo != null && treeHash.equals(memo.getTreeHash());
+        Metrics.counter(LOOKUP_COUNTER, "goals", goals, "result", built ? "hit" : "miss")
+                .increment();
+        if (built) {
+            LOG.info(
+                    plugin.getMarker(),
+                    "Plugin {} sources {} already built with JDK {} and goals {}, saving about {} ms",
+                    plugin.getName(),
+                    treeHash,
+                    jdk.getMajor(),
+                    goals,
+                    memo.getDurationMillis());
+        }
+        return built;
+    }
+
+    /**
+     * Remember a successful build of a source tree
+     * @param plugin The plugin
+     * @param treeHash The hash of the source tree before the build or null if unknown
+     * @param jdk The JDK of the build
+     * @param goals The Maven goals of the build
+     * @param durationMillis The duration of the build
+     */
+    public void markBuilt(Plugin plugin, String treeHash, JDK jdk, String goals, long durationMillis) {
+        if (treeHash == null || plugin.hasErrors()) {
+            return;
+        }
+        BuildMemo memo = new BuildMemo(cacheManager, plugin.getName(), treeHash, jdk.getMajor(), goals);
+        memo.setDurationMillis(durationMillis);
+        memo.save();
+    }
+
+    /**
+     * Hash the content of a git working tree. Every file that is tracked or not ignored is hashed
+     * with its path, mode and blob id. Files unchanged since they were staged reuse the id of the index
+     * instead of being read again.
+     * @param directory A directory of the working tree
+     * @return The hash or null if the directory is not in a git working tree
+     */
+    static String treeHash(Path directory) {
+        FileRepositoryBuilder builder = new FileRepositoryBuilder().findGitDir(directory.toFile());
+        if (builder.getGitDir() == null) {
+            return null;
+        }
+        try (Repository repository = builder.build();
+                TreeWalk walk = new TreeWalk(repository)) {
+            int index = walk.addTree(new DirCacheIterator(repository.readDirCache()));
+            FileTreeIterator files = new FileTreeIterator(repository);
+            int work = walk.addTree(files);
+            files.setDirCacheIterator(walk, index);
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] id = new byte[ObjectId.OBJECT_ID_LENGTH];
+            while (walk.next()) {
+                WorkingTreeIterator file = walk.getTree(work, WorkingTreeIterator.class);
+                boolean tracked = walk.getTree(index, DirCacheIterator.class) != null;
+                // Deleted files are absent from the tree, ignored ones like target are not part of the sources
+                if (file == null || (!tracked && file.isEntryIgnored())) {
+                    continue;
+                }
+                if (walk.isSubtree()) {
+                    walk.enterSubtree();
+                    continue;
+                }
+                digest.update(walk.getPathString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(Integer.toOctalString(file.getEntryFileMode().getBits())
+                        .getBytes(StandardCharsets.UTF_8));
+                file.getEntryObjectId().copyRawTo(id, 0);
+                digest.update(id);
+            }
+            return ObjectId.fromRaw(digest.digest()).name();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOG.debug("Unable to hash the source tree at {}: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+}
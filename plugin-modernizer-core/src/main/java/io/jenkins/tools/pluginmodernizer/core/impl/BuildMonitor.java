@@ -0,0 +1,182 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.BuildUsage;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.utils.ProcFs;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sample the resources consumed by the Maven process tree of an invocation from {@code /proc}.
+ * The Maven process is the child of the tool running in the plugin directory, as set by the invoker,
+ * so concurrent invocations on other plugins are not accounted. Its forked JVMs, like Surefire ones, are included.
+ * CPU time of processes exiting between two samples is kept through the children CPU time of their parent.
+ */
+class BuildMonitor {
+
+    /**
+     * Interval between two samples
+     */
+    static final Duration INTERVAL = Duration.ofMillis(250);
+
+    private static final String ROW = "%-40s %-32s %10s %10s %10s";
+
+    private final ProcFs procFs;
+    private final long parentPid;
+    private final Path workingDirectory;
+    private final long start = System.nanoTime();
+    private Thread sampler;
+
+    private volatile boolean running = true;
+    private long rootPid = -1;
+    private long cpuMillis;
+    private long peakRssBytes;
+
+    private BuildMonitor(ProcFs procFs, long parentPid, Path workingDirectory) {
+        this.procFs = procFs;
+        this.parentPid = parentPid;
+        this.workingDirectory = normalize(workingDirectory);
+    }
+
+    /**
+     * Start monitoring the Maven process that the given process will start in a directory
+     * @param procFs The process accounting
+     * @param parentPid The process starting Maven
+     * @param workingDirectory The working directory of Maven
+     * @return The monitor
+     */
+    static BuildMonitor start(ProcFs procFs, long parentPid, Path workingDirectory) {
+        BuildMonitor monitor = new BuildMonitor(procFs, parentPid, workingDirectory);
+        if (procFs.isAvailable()) {
+            monitor.sampler = Thread.ofVirtual().name("build-monitor").start(monitor::run);
+        }
+        return monitor;
+    }
+
+    /**
+     * Stop monitoring once the invocation ended
+     * @param goal The goal of the invocation
+     * @return The resources consumed by the invocation
+     */
+    BuildUsage stop(String goal) {
+        long wall = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (sampler == null) {
+            return new BuildUsage(goal, wall, -1, -1);
+        }
+        running = false;
+        LockSupport.unpark(sampler);
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            return new BuildUsage(goal, wall, cpuMillis, peakRssBytes);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            sample();
+            LockSupport.parkNanos(INTERVAL.toNanos());
+        }
+    }
+
+    /**
+     * Take a sample of the process tree
+     */
+    synchronized void sample() {
+        if (rootPid < 0) {
+            rootPid = procFs.children(parentPid).stream()
+                    .filter(pid -> procFs.workingDirectory(pid)
+                            .map(BuildMonitor::normalize)
+                            .filter(workingDirectory::equals)
+                            .isPresent())
+                    .findFirst()
+                    .orElse(-1L);
+            if (rootPid < 0) {
+                return;
+            }
+        }
+        long cpu = 0;
+        long rss = 0;
+        long peakRss = 0;
+        Deque<Long> pending = new ArrayDeque<>(List.of(rootPid));
+        while (!pending.isEmpty()) {
+            long pid = pending.pop();
+            Optional<ProcFs.ProcessStat> stat = procFs.stat(pid);
+            if (stat.isEmpty()) {
+                continue;
+            }
+            cpu += stat.get().cpuMillis() + stat.get().childrenCpuMillis();
+            rss += stat.get().rssBytes();
+            peakRss = Math.max(peakRss, stat.get().peakRssBytes());
+            pending.addAll(procFs.children(pid));
+        }
+        cpuMillis = Math.max(cpuMillis, cpu);
+        peakRssBytes = Math.max(peakRssBytes, Math.max(rss, peakRss));
+    }
+
+    /**
+     * Format the totals of the Maven invocations and the ones with the highest peak RSS as a table
+     * @param plugins The processed plugins
+     * @param limit The maximum number of rows of the table
+     * @return The lines of the table, empty if no invocation was measured
+     */
+    static List<String> report(List<Plugin> plugins, int limit) {
+        List<Map.Entry<Plugin, BuildUsage>> usages = plugins.stream()
+                .flatMap(plugin -> plugin.getBuildUsages().stream()
+                        .filter(BuildUsage::isMeasured)
+                        .map(usage -> Map.entry(plugin, usage)))
+                .toList();
+        if (usages.isEmpty()) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(
+                Locale.ROOT,
+                "Maven builds: %d invocations, %s wall, %s CPU",
+                usages.size(),
+                seconds(usages.stream().mapToLong(e -> e.getValue().wallMillis()).sum()),
+                seconds(usages.stream().mapToLong(e -> e.getValue().cpuMillis()).sum())));
+        lines.add("Highest peak memory builds:");
+        lines.add(String.format(Locale.ROOT, ROW, "Plugin", "Goal", "Peak RSS", "CPU", "Wall"));
+        usages.stream()
+                .sorted(Comparator.comparingLong(
+                                (Map.Entry<Plugin, BuildUsage> entry) -> entry.getValue().peakRssBytes())
+                        .reversed())
+                .limit(limit)
+                .forEach(entry -> lines.add(String.format(
+                        Locale.ROOT,
+                        ROW,
+                        entry.getKey().getName(),
+                        entry.getValue().goal(),
+                        (entry.getValue().peakRssBytes() >> 20) + " MB",
+                        seconds(entry.getValue().cpuMillis()),
+                        seconds(entry.getValue().wallMillis()))));
+        return lines;
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.1fs", millis / 1000.0);
+    }
+
+    private static Path normalize(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+}
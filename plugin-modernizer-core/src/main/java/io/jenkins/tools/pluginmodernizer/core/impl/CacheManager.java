@@ -1,8 +1,12 @@
 package io.jenkins.tools.pluginmodernizer.core.impl;
 
+import io.jenkins.tools.pluginmodernizer.core.jfr.CacheAccessEvent;
 import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.SnapshotEncodable;
+import io.jenkins.tools.pluginmodernizer.core.utils.FileLocks;
 import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import io.micrometer.core.instrument.Metrics;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -10,6 +14,9 @@ import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,12 +31,48 @@ public class CacheManager {
     public static final String PLUGIN_METADATA_CACHE_KEY = "plugin-metadata.json";
     public static final String MODERNIZATION_METADATA_CACHE_KEY = "modernization-metadata.json";
     public static final String OPT_OUT_PLUGINS_CACHE_KEY = "opt-out-plugins.json";
+    public static final String JDK_RELEASE_CACHE_KEY = "jdk-release.json";
     private static final Logger LOG = LoggerFactory.getLogger(CacheManager.class);
 
+    /**
+     * Extension of the binary snapshot stored next to the JSON entry
+     */
+    public static final String SNAPSHOT_EXTENSION = ".bin";
+
+    /**
+     * Time to live of cache entries unless another one is given
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    /**
+     * Directory of the cache holding the locks of the shared feeds, kept apart from the entries
+     */
+    public static final String LOCKS_DIRECTORY = ".locks";
+
+    /**
+     * Keys of the remote feeds stored at the root of the cache and refreshed by every process sharing it
+     */
+    private static final Set<String> SHARED_FEEDS = Set.of(
+            UPDATE_CENTER_CACHE_KEY,
+            PLUGIN_VERSIONS_CACHE_KEY,
+            HEALTH_SCORE_KEY,
+            INSTALLATION_STATS_KEY,
+            OPT_OUT_PLUGINS_CACHE_KEY);
+
+    /**
+     * Counter of the cache requests, tagged by key and result
+     */
+    public static final String REQUEST_COUNTER = "modernizer.cache.requests";
+
     private final Path location;
     private final Clock clock;
     private final boolean expires;
 
+    /**
+     * Snapshots already mapped in memory with the modification time of their file
+     */
+    private final Map<Path, MappedSnapshot> snapshots = new ConcurrentHashMap<>();
+
     /**
      * Creates a new cache manager
      * @param cache The location of the cache
@@ -73,6 +116,7 @@ public class CacheManager {
      */
     public void wipe() {
         LOG.debug("Removing local data at {}", location.toAbsolutePath());
+        snapshots.clear();
         try {
             FileUtils.deleteDirectory(location.toFile());
         } catch (Exception e) {
@@ -81,7 +125,9 @@ public class CacheManager {
     }
 
     /**
-     * Put an object to the cache
+     * Put an object to the cache.
+     * The entry is written to a temporary file moved atomically in place, so processes sharing the cache never read
+     * a partially written entry. Writes of the shared feeds are also serialized with a lock in {@link #LOCKS_DIRECTORY}
      * @param entry The object to store
      */
     public void put(CacheEntry<? extends CacheEntry<?>> entry) {
@@ -92,7 +138,139 @@ public class CacheManager {
             throw new ModernizerException("Cache entry path is null");
         }
         Path fileToCache = location.resolve(entry.getPath()).resolve(entry.getKey());
-        JsonUtils.toJsonFile(entry, fileToCache);
+        Path directory = fileToCache.getParent();
+        CacheAccessEvent event = CacheAccessEvent.begin(CacheAccessEvent.WRITE, entry.getKey(), fileToCache.toString());
+        FileLocks.LockedAction<Void> write = () -> {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, entry.getKey(), ".tmp");
+            try {
+                JsonUtils.toJsonFile(entry, tmp);
+                FileLocks.moveAtomically(tmp, fileToCache);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            if (entry instanceof SnapshotEncodable) {
+                putSnapshot(entry);
+            }
+            return null;
+        };
+        try {
+            if (isSharedFeed(entry)) {
+                FileLocks.withLock(location.resolve(LOCKS_DIRECTORY).resolve(entry.getKey() + ".lock"), write);
+            } else {
+                write.run();
+            }
+            event.end("written");
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to write cache entry for key: " + entry.getKey(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModernizerException("Interrupted while writing cache entry for key: " + entry.getKey(), e);
+        }
+    }
+
+    /**
+     * Return if an entry is one of the feeds shared by all processes using the cache
+     * @param entry The entry
+     * @return True if the entry is a shared feed
+     */
+    private boolean isSharedFeed(CacheEntry<? extends CacheEntry<?>> entry) {
+        return SHARED_FEEDS.contains(entry.getKey())
+                && location.resolve(entry.getPath()).normalize().equals(location.normalize());
+    }
+
+    /**
+     * Write the binary snapshot of an entry next to its JSON file and map it.
+     * Failing to write the snapshot is not fatal, the JSON entry remains the source of truth.
+     * @param entry The entry to encode
+     * @return The mapped snapshot or null if the entry doesn't support snapshots or if it cannot be written
+     */
+    public CacheSnapshot putSnapshot(CacheEntry<? extends CacheEntry<?>> entry) {
+        if (!(entry instanceof SnapshotEncodable encodable)) {
+            return null;
+        }
+        if (entry.getKey() == null || entry.getPath() == null) {
+            throw new ModernizerException("Cache entry key or path is null");
+        }
+        Path snapshotFile = location.resolve(entry.getPath()).resolve(snapshotKey(entry.getKey()));
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path tmp = Files.createTempFile(snapshotFile.getParent(), entry.getKey(), ".tmp");
+            try {
+                encodable.toSnapshot().write(tmp);
+                FileLocks.moveAtomically(tmp, snapshotFile);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            snapshots.remove(snapshotFile);
+            LOG.debug("Cache snapshot written for key {} at {}", entry.getKey(), snapshotFile);
+            return getSnapshot(entry.getPath(), entry.getKey(), encodable.getSnapshotVersion());
+        } catch (IOException e) {
+            LOG.warn("Unable to write cache snapshot for key {}: {}", entry.getKey(), e.getMessage());
+            LOG.debug("Snapshot error", e);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the binary snapshot of a cache entry mapped in memory.
+     * <p>
+     * Follows the same expiration as {@link #get(Path, String, Class)}. Will return null if the snapshot
+     * doesn't exist, is expired, or was written by another format or schema version.
+     *
+     * @param path          subdirectory of the object
+     * @param cacheKey      key of the JSON entry, i.e. update-center.json
+     * @param schemaVersion expected schema version of the entry
+     * @return the mapped snapshot or null
+     */
+    public CacheSnapshot getSnapshot(Path path, String cacheKey, int schemaVersion) {
+        Path snapshotFile = location.resolve(path).resolve(snapshotKey(cacheKey));
+        try {
+            FileTime lastModifiedTime = Files.getLastModifiedTime(snapshotFile);
+            if (isExpired(lastModifiedTime, snapshotKey(cacheKey), DEFAULT_TTL)) {
+                return null;
+            }
+            MappedSnapshot mapped = snapshots.get(snapshotFile);
+            if (mapped == null || !mapped.lastModifiedTime().equals(lastModifiedTime)) {
+                mapped = new MappedSnapshot(lastModifiedTime, CacheSnapshot.map(snapshotFile));
+                snapshots.put(snapshotFile, mapped);
+                LOG.debug("Cache snapshot mapped for key {} at {}", cacheKey, snapshotFile);
+            }
+            if (mapped.snapshot().getSchemaVersion() != schemaVersion) {
+                LOG.debug(
+                        "Cache snapshot for key {} has schema version {} instead of {}. Will skip it",
+                        cacheKey,
+                        mapped.snapshot().getSchemaVersion(),
+                        schemaVersion);
+                return null;
+            }
+            return mapped.snapshot();
+        } catch (NoSuchFileException e) {
+            LOG.debug("Cache snapshot not found for cache {} at path {} and key {}", location, path, cacheKey);
+            return null;
+        } catch (ModernizerException e) {
+            // The JSON entry remains the source of truth, so a truncated or corrupt snapshot is only dropped
+            LOG.warn("Deleting invalid cache snapshot {}: {}", snapshotFile, e.getMessage());
+            snapshots.remove(snapshotFile);
+            try {
+                Files.deleteIfExists(snapshotFile);
+            } catch (IOException ioe) {
+                LOG.debug("Unable to delete invalid cache snapshot {}", snapshotFile, ioe);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to read cache snapshot for key: " + cacheKey, e);
+        }
+    }
+
+    /**
+     * Return the key of the binary snapshot for a cache key
+     * @param cacheKey The cache key
+     * @return The snapshot key
+     */
+    public static String snapshotKey(String cacheKey) {
+        String base = cacheKey.endsWith(".json") ? cacheKey.substring(0, cacheKey.length() - 5) : cacheKey;
+        return base + SNAPSHOT_EXTENSION;
     }
 
     /**
@@ -106,44 +284,124 @@ public class CacheManager {
      * @return the cached json object as a string or null
      */
     public <T extends CacheEntry<T>> T get(Path path, String cacheKey, Class<T> clazz) {
+        return get(path, cacheKey, clazz, DEFAULT_TTL);
+    }
+
+    /**
+     * Retrieves a json object from the cache.
+     * <p>
+     * Will return null if the key can't be found or if it hasn't been
+     * modified for the given time to live
+     *
+     * @param path     subdirectory of the object
+     * @param cacheKey key to lookup, i.e. update-center
+     * @param ttl      time to live of the entry
+     * @return the cached json object or null
+     */
+    public <T extends CacheEntry<T>> T get(Path path, String cacheKey, Class<T> clazz, Duration ttl) {
+        return get(path, cacheKey, clazz, ttl, true);
+    }
+
+    /**
+     * Retrieves a json object from the cache even if it's expired.
+     * Used to revalidate an expired entry against its remote resource.
+     *
+     * @param path     subdirectory of the object
+     * @param cacheKey key to lookup, i.e. update-center
+     * @return the cached json object or null if the key can't be found
+     */
+    public <T extends CacheEntry<T>> T getIgnoringExpiration(Path path, String cacheKey, Class<T> clazz) {
+        return get(path, cacheKey, clazz, DEFAULT_TTL, false);
+    }
+
+    private <T extends CacheEntry<T>> T get(
+            Path path, String cacheKey, Class<T> clazz, Duration ttl, boolean checkExpiration) {
         Path cachedPath = location.resolve(path).resolve(cacheKey);
+        CacheAccessEvent event = CacheAccessEvent.begin(CacheAccessEvent.READ, cacheKey, cachedPath.toString());
         try {
             FileTime lastModifiedTime = Files.getLastModifiedTime(cachedPath);
-            Duration between = Duration.between(lastModifiedTime.toInstant(), clock.instant());
-            long betweenHours = between.toHours();
-
-            if (betweenHours > 0L) {
-                LOG.debug(
-                        "Cache entry expired: {}{}",
-                        cacheKey,
-                        expires ? ". Will skip it" : ". Will accept it, because expiration is disabled");
-                if (expires) {
-                    return null;
-                }
+            if (checkExpiration && isExpired(lastModifiedTime, cacheKey, ttl)) {
+                countRequest(event, cacheKey, "expired");
+                return null;
             }
             LOG.debug("Cache entry found for cache {} at path {} and key {}", location, path, cacheKey);
             T entry = JsonUtils.fromJson(cachedPath, clazz);
             entry.setCacheManager(this);
+            countRequest(event, cacheKey, "hit");
             return entry;
         } catch (NoSuchFileException e) {
             LOG.debug("Cache entry not found for cache {} at path {} and key {}", location, path, cacheKey);
+            countRequest(event, cacheKey, "miss");
             return null;
         } catch (IOException e) {
             throw new ModernizerException("Failed to read cache entry for key: " + cacheKey, e);
         }
     }
 
+    /**
+     * Count a cache request by key and result (hit, miss or expired) and record its flight recorder event
+     * @param event The flight recorder event of the request
+     * @param cacheKey The key of the entry
+     * @param result The result of the request
+     */
+    private static void countRequest(CacheAccessEvent event, String cacheKey, String result) {
+        Metrics.counter(REQUEST_COUNTER, "key", cacheKey, "result", result).increment();
+        event.end(result);
+    }
+
+    /**
+     * Mark an entry and its snapshot as fresh without rewriting them.
+     * Used when the remote resource was not modified since the entry was downloaded
+     * @param entry The entry
+     */
+    public void touch(CacheEntry<? extends CacheEntry<?>> entry) {
+        FileTime now = FileTime.from(clock.instant());
+        Path directory = location.resolve(entry.getPath());
+        try {
+            Files.setLastModifiedTime(directory.resolve(entry.getKey()), now);
+            Path snapshotFile = directory.resolve(snapshotKey(entry.getKey()));
+            if (Files.exists(snapshotFile)) {
+                Files.setLastModifiedTime(snapshotFile, now);
+            }
+            LOG.debug("Cache entry refreshed for key {}", entry.getKey());
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to refresh cache entry for key: " + entry.getKey(), e);
+        }
+    }
+
+    /**
+     * Check if an entry is expired, i.e. it hasn't been modified for 1 hour
+     * @param lastModifiedTime The last modified time of the entry
+     * @param cacheKey The key of the entry
+     * @return True if the entry is expired and must be skipped
+     */
+    private boolean isExpired(FileTime lastModifiedTime, String cacheKey, Duration ttl) {
+        Duration between = Duration.between(lastModifiedTime.toInstant(), clock.instant());
+
+        if (between.compareTo(ttl) >= 0) {
+            LOG.debug(
+                    "Cache entry expired: {}{}",
+                    cacheKey,
+                    expires ? ". Will skip it" : ". Will accept it, because expiration is disabled");
+            return expires;
+        }
+        return false;
+    }
+
     /**
      * Removes a cache entry
      * @param cacheKey The key to remove
      */
     public void remove(Path path, String cacheKey) {
         Path fileToRemove = location.resolve(path).resolve(cacheKey);
+        Path snapshotToRemove = location.resolve(path).resolve(snapshotKey(cacheKey));
         try {
             if (Files.exists(fileToRemove)) {
                 Files.delete(fileToRemove);
                 LOG.debug("Cache entry removed for key: {} at location {}", cacheKey, location);
             }
+            snapshots.remove(snapshotToRemove);
+            Files.deleteIfExists(snapshotToRemove);
         } catch (IOException e) {
             throw new ModernizerException("Failed to remove cache entry for key: " + cacheKey, e);
         }
@@ -188,4 +446,11 @@ public class CacheManager {
     public Path root() {
         return Path.of(".");
     }
+
+    /**
+     * A snapshot mapped in memory
+     * @param lastModifiedTime The modification time of the file when it was mapped
+     * @param snapshot The snapshot
+     */
+    private record MappedSnapshot(FileTime lastModifiedTime, CacheSnapshot snapshot) {}
 }
@@ -0,0 +1,532 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read only, memory mapped binary table of records keyed by plugin name.
+ * <p>
+ * This is the second encoding of large cache entries stored by the {@link CacheManager}. The JSON file is still
+ * written next to it for inspection, but lookups are served from the mapped buffer without building the object graph.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * int    magic
+ * int    format version
+ * int    schema version of the entry
+ * int    record count (N)
+ * int    field count (F)
+ * byte[F] field types
+ * int[N] offset of each key in the heap, sorted by UTF-8 bytes
+ * N * record width: one fixed size slot per field (string and list offsets, int, double, boolean)
+ * heap: strings (int length + UTF-8 bytes) and lists (int count + int[count] string offsets)
+ * </pre>
+ * Strings are deduplicated in the heap, so repeated labels are stored only once.
+ */
+public final class CacheSnapshot {
+
+    /**
+     * Magic number of snapshot files ("PMCS")
+     */
+    public static final int MAGIC = 0x504D4353;
+
+    /**
+     * Version of the binary layout. Must be increased on any change of the layout
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * Offset marking a null string or list
+     */
+    private static final int NULL_OFFSET = -1;
+
+    /**
+     * Size of the fixed header before the field types
+     */
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    /**
+     * Type of field stored in a snapshot record
+     */
+    public enum FieldType {
+        STRING(Integer.BYTES),
+        STRING_LIST(Integer.BYTES),
+        INT(Integer.BYTES + 1),
+        DOUBLE(Double.BYTES + 1),
+        BOOLEAN(1);
+
+        private final int width;
+
+        FieldType(int width) {
+            this.width = width;
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int schemaVersion;
+    private final int size;
+    private final FieldType[] types;
+    private final int[] slots;
+    private final int keysStart;
+    private final int recordsStart;
+    private final int recordWidth;
+
+    private CacheSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new ModernizerException("Not a cache snapshot");
+        }
+        int format = buffer.getInt(4);
+        if (format != FORMAT_VERSION) {
+            throw new ModernizerException("Unsupported cache snapshot format " + format);
+        }
+        this.schemaVersion = buffer.getInt(8);
+        this.size = buffer.getInt(12);
+        int fieldCount = buffer.getInt(16);
+        if (size < 0 || fieldCount < 0) {
+            throw new ModernizerException("Corrupt cache snapshot header");
+        }
+        checkRange(HEADER_SIZE, fieldCount);
+        FieldType[] values = FieldType.values();
+        this.types = new FieldType[fieldCount];
+        this.slots = new int[fieldCount];
+        int width = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            int type = buffer.get(HEADER_SIZE + i);
+            if (type < 0 || type >= values.length) {
+                throw new ModernizerException("Unknown cache snapshot field type " + type);
+            }
+            types[i] = values[type];
+            slots[i] = width;
+            width += types[i].width;
+        }
+        this.recordWidth = width;
+        this.keysStart = HEADER_SIZE + fieldCount;
+        checkRange(keysStart, (long) size * Integer.BYTES + (long) size * recordWidth);
+        this.recordsStart = keysStart + size * Integer.BYTES;
+        checkHeap();
+    }
+
+    /**
+     * Map a snapshot file in memory
+     * @param file The snapshot file
+     * @return The snapshot
+     * @throws IOException If the file cannot be mapped
+     */
+    public static CacheSnapshot map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new CacheSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Wrap an existing buffer containing a snapshot
+     * @param buffer The buffer
+     * @return The snapshot
+     */
+    public static CacheSnapshot wrap(ByteBuffer buffer) {
+        return new CacheSnapshot(buffer.asReadOnlyBuffer());
+    }
+
+    /**
+     * Return the schema version of the entry that wrote this snapshot
+     * @return The schema version
+     */
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /**
+     * Return the number of records
+     * @return The number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the key of the given record
+     * @param record The record index
+     * @return The key
+     */
+    public String keyAt(int record) {
+        return readString(buffer.getInt(keysStart + record * Integer.BYTES));
+    }
+
+    /**
+     * Find a record by key using a binary search on the mapped keys
+     * @param key The key
+     * @return The record index or -1 if not found
+     */
+    public int find(String key) {
+        if (key == null) {
+            return -1;
+        }
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(buffer.getInt(keysStart + mid * Integer.BYTES), bytes);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read a string field
+     * @param record The record index
+     * @param field The field index
+     * @return The value or null
+     */
+    public String getString(int record, int field) {
+        return readString(buffer.getInt(slot(record, field, FieldType.STRING)));
+    }
+
+    /**
+     * Read a string list field
+     * @param record The record index
+     * @param field The field index
+     * @return The value or null
+     */
+    public List<String> getStringList(int record, int field) {
+        int offset = buffer.getInt(slot(record, field, FieldType.STRING_LIST));
+        if (offset == NULL_OFFSET) {
+            return null;
+        }
+        int count = buffer.getInt(offset);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer.getInt(offset + Integer.BYTES * (i + 1))));
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Check if a string list field contains the given value without decoding the list
+     * @param record The record index
+     * @param field The field index
+     * @param value The value to search
+     * @return True if the list contains the value
+     */
+    public boolean listContains(int record, int field, String value) {
+        int offset = buffer.getInt(slot(record, field, FieldType.STRING_LIST));
+        if (offset == NULL_OFFSET || value == null) {
+            return false;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int count = buffer.getInt(offset);
+        for (int i = 0; i < count; i++) {
+            int stringOffset = buffer.getInt(offset + Integer.BYTES * (i + 1));
+            if (stringOffset != NULL_OFFSET && compare(stringOffset, bytes) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read an int field
+     * @param record The record index
+     * @param field The field index
+     * @return The value or null
+     */
+    public Integer getInt(int record, int field) {
+        int position = slot(record, field, FieldType.INT);
+        return buffer.get(position) == 0 ? null : buffer.getInt(position + 1);
+    }
+
+    /**
+     * Read a double field
+     * @param record The record index
+     * @param field The field index
+     * @return The value or null
+     */
+    public Double getDouble(int record, int field) {
+        int position = slot(record, field, FieldType.DOUBLE);
+        return buffer.get(position) == 0 ? null : buffer.getDouble(position + 1);
+    }
+
+    /**
+     * Read a boolean field
+     * @param record The record index
+     * @param field The field index
+     * @return The value
+     */
+    public boolean getBoolean(int record, int field) {
+        return buffer.get(slot(record, field, FieldType.BOOLEAN)) != 0;
+    }
+
+    private int slot(int record, int field, FieldType expected) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Record " + record + " out of bounds for size " + size);
+        }
+        if (types[field] != expected) {
+            throw new ModernizerException("Field " + field + " is of type " + types[field] + " not " + expected);
+        }
+        return recordsStart + record * recordWidth + slots[field];
+    }
+
+    /**
+     * Check that every key, string and list lies inside the buffer, so a truncated or corrupted file is rejected
+     * once when mapped instead of failing the lookups
+     */
+    private void checkHeap() {
+        for (int record = 0; record < size; record++) {
+            int key = buffer.getInt(keysStart + record * Integer.BYTES);
+            if (key == NULL_OFFSET) {
+                throw new ModernizerException("Corrupt cache snapshot key of record " + record);
+            }
+            checkString(key);
+            for (int field = 0; field < types.length; field++) {
+                int offset = recordsStart + record * recordWidth + slots[field];
+                if (types[field] == FieldType.STRING) {
+                    checkString(buffer.getInt(offset));
+                } else if (types[field] == FieldType.STRING_LIST) {
+                    checkList(buffer.getInt(offset));
+                }
+            }
+        }
+    }
+
+    private void checkList(int offset) {
+        if (offset == NULL_OFFSET) {
+            return;
+        }
+        checkRange(offset, Integer.BYTES);
+        int count = buffer.getInt(offset);
+        checkRange(offset + Integer.BYTES, (long) count * Integer.BYTES);
+        for (int i = 0; i < count; i++) {
+            checkString(buffer.getInt(offset + Integer.BYTES * (i + 1)));
+        }
+    }
+
+    private void checkString(int offset) {
+        if (offset == NULL_OFFSET) {
+            return;
+        }
+        checkRange(offset, Integer.BYTES);
+        checkRange((long) offset + Integer.BYTES, buffer.getInt(offset));
+    }
+
+    private void checkRange(long start, long length) {
+        if (start < 0 || length < 0 || start + length > buffer.limit()) {
+            throw new ModernizerException("Truncated or corrupt cache snapshot at offset " + start);
+        }
+    }
+
+    private String readString(int offset) {
+        if (offset == NULL_OFFSET) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        byte[] bytes = new byte[length];
+        buffer.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compare the string at the given offset with the given UTF-8 bytes (unsigned lexicographic order)
+     */
+    private int compare(int offset, byte[] bytes) {
+        int length = buffer.getInt(offset);
+        int start = offset + Integer.BYTES;
+        int common = Math.min(length, bytes.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(start + i), bytes[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, bytes.length);
+    }
+
+    /**
+     * Build a snapshot from records
+     */
+    public static final class Writer {
+
+        private final int schemaVersion;
+        private final FieldType[] types;
+        private final Map<String, Object[]> records = new HashMap<>();
+
+        /**
+         * Create a new writer
+         * @param schemaVersion The schema version of the entry
+         * @param types The field types of each record
+         */
+        public Writer(int schemaVersion, FieldType... types) {
+            this.schemaVersion = schemaVersion;
+            this.types = types.clone();
+        }
+
+        /**
+         * Add or replace a record
+         * @param key The key
+         * @param values The values of the record, in the same order as the field types
+         * @return This writer
+         */
+        public Writer add(String key, Object... values) {
+            if (key == null) {
+                throw new ModernizerException("Snapshot record key is null");
+            }
+            if (values.length != types.length) {
+                throw new ModernizerException(
+                        "Expected " + types.length + " values for record " + key + " but got " + values.length);
+            }
+            records.put(key, values.clone());
+            return this;
+        }
+
+        /**
+         * Return the number of records
+         * @return The number of records
+         */
+        public int size() {
+            return records.size();
+        }
+
+        /**
+         * Encode the snapshot
+         * @return The encoded bytes
+         */
+        public byte[] toBytes() {
+            byte[][] keys = new byte[records.size()][];
+            int index = 0;
+            for (String key : records.keySet()) {
+                keys[index++] = key.getBytes(StandardCharsets.UTF_8);
+            }
+            Arrays.sort(keys, Arrays::compareUnsigned);
+
+            int recordWidth = 0;
+            for (FieldType type : types) {
+                recordWidth += type.width;
+            }
+            int heapStart = HEADER_SIZE + types.length + keys.length * Integer.BYTES + keys.length * recordWidth;
+            Heap heap = new Heap(heapStart);
+
+            ByteBuffer fixed = ByteBuffer.allocate(heapStart);
+            fixed.putInt(MAGIC);
+            fixed.putInt(FORMAT_VERSION);
+            fixed.putInt(schemaVersion);
+            fixed.putInt(keys.length);
+            fixed.putInt(types.length);
+            for (FieldType type : types) {
+                fixed.put((byte) type.ordinal());
+            }
+            for (byte[] key : keys) {
+                fixed.putInt(heap.string(new String(key, StandardCharsets.UTF_8)));
+            }
+            for (byte[] key : keys) {
+                Object[] values = records.get(new String(key, StandardCharsets.UTF_8));
+                for (int field = 0; field < types.length; field++) {
+                    writeValue(fixed, heap, types[field], values[field]);
+                }
+            }
+            byte[] heapBytes = heap.toBytes();
+            byte[] result = Arrays.copyOf(fixed.array(), heapStart + heapBytes.length);
+            System.arraycopy(heapBytes, 0, result, heapStart, heapBytes.length);
+            return result;
+        }
+
+        /**
+         * Write the snapshot to a file
+         * @param file The file
+         * @throws IOException If the file cannot be written
+         */
+        public void write(Path file) throws IOException {
+            Files.write(file, toBytes());
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void writeValue(ByteBuffer fixed, Heap heap, FieldType type, Object value) {
+            switch (type) {
+                case STRING -> fixed.putInt(value == null ? NULL_OFFSET : heap.string((String) value));
+                case STRING_LIST -> fixed.putInt(value == null ? NULL_OFFSET : heap.list((List<String>) value));
+                case INT -> {
+                    fixed.put((byte) (value == null ? 0 : 1));
+                    fixed.putInt(value == null ? 0 : ((Number) value).intValue());
+                }
+                case DOUBLE -> {
+                    fixed.put((byte) (value == null ? 0 : 1));
+                    fixed.putDouble(value == null ? 0 : ((Number) value).doubleValue());
+                }
+                case BOOLEAN -> fixed.put((byte) (Boolean.TRUE.equals(value) ? 1 : 0));
+            }
+        }
+    }
+
+    /**
+     * Heap of deduplicated strings and lists
+     */
+    private static final class Heap {
+
+        private final int start;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Heap(int start) {
+            this.start = start;
+        }
+
+        private int string(String value) {
+            if (value == null) {
+                return NULL_OFFSET;
+            }
+            return strings.computeIfAbsent(value, v -> {
+                int offset = start + bytes.size();
+                byte[] encoded = v.getBytes(StandardCharsets.UTF_8);
+                writeInt(encoded.length);
+                bytes.write(encoded, 0, encoded.length);
+                return offset;
+            });
+        }
+
+        private int list(List<String> values) {
+            int[] offsets = new int[values.size()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = string(values.get(i));
+            }
+            int offset = start + bytes.size();
+            writeInt(offsets.length);
+            for (int value : offsets) {
+                writeInt(value);
+            }
+            return offset;
+        }
+
+        private void writeInt(int value) {
+            try {
+                out.writeInt(value);
+            } catch (IOException e) {
+                throw new ModernizerException("Unable to encode snapshot", e);
+            }
+        }
+
+        private byte[] toBytes() {
+            return bytes.toByteArray();
+        }
+    }
+}
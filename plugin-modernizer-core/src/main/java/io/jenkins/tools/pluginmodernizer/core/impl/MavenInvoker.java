@@ -3,18 +3,27 @@ package io.jenkins.tools.pluginmodernizer.core.impl;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.jfr.MavenInvocationEvent;
+import io.jenkins.tools.pluginmodernizer.core.model.BuildUsage;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkDiscovery;
 import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
+import io.jenkins.tools.pluginmodernizer.core.utils.MetricsUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.ProcFs;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
@@ -32,6 +41,27 @@ public class MavenInvoker {
      */
     private static final Logger LOG = LoggerFactory.getLogger(MavenInvoker.class);
 
+    /**
+     * Timer of the Maven invocations, tagged by goal, JDK and outcome
+     */
+    public static final String INVOCATION_TIMER = "modernizer.maven.invocations";
+
+    /**
+     * Options opening JDK internals to the recipes of outdated plugins on JDK 17+
+     */
+    private static final String ADD_OPENS =
+            "--add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.io=ALL-UNNAMED --add-opens java.base/java.util=ALL-UNNAMED";
+
+    /**
+     * How long a build waits for the host to have enough free memory before being refused
+     */
+    private static final Duration ADMISSION_TIMEOUT = Duration.ofMinutes(5);
+
+    /**
+     * Interval between two checks of the free memory of the host
+     */
+    private static final Duration ADMISSION_INTERVAL = Duration.ofSeconds(5);
+
     /**
      * The configuration to use
      */
@@ -44,9 +74,27 @@ public class MavenInvoker {
     @Inject
     private JdkFetcher jdkFetcher;
 
+    /**
+     * The JDKs installed on the host
+     */
+    @Inject
+    private JdkDiscovery jdkDiscovery;
+
     @Inject
     private Invoker invoker;
 
+    /**
+     * The process accounting of the host
+     */
+    @Inject
+    private ProcFs procFs;
+
+    /**
+     * The limit of concurrent builds
+     */
+    @Inject
+    private BuildGovernor governor;
+
     /**
      * Get the maven version
      * @return The maven version
@@ -134,20 +182,21 @@ public class MavenInvoker {
      */
     private void invokeGoals(Plugin plugin, String... goals) {
         validatePom(plugin);
+        admit(plugin);
+        JDK jdk = plugin.getJDK();
+        String goal = getGoalTag(goals);
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        MavenInvocationEvent event =
+                MavenInvocationEvent.begin(plugin.getName(), goal, goals, jdk != null ? jdk.getMajor() : 0);
+        BuildMonitor monitor = BuildMonitor.start(procFs, ProcessHandle.current().pid(), plugin.getLocalRepository());
+        int exitCode = -1;
+        BuildGovernor.Allocation allocation = null;
         try {
             InvocationRequest request = createInvocationRequest(plugin, goals);
-            JDK jdk = plugin.getJDK();
             if (jdk != null) {
-                Path jdkPath = jdk.getHome(jdkFetcher);
+                Path jdkPath = jdk.getHome(jdkDiscovery, jdkFetcher);
                 request.setJavaHome(jdkPath.toFile());
                 LOG.debug("JDK home: {}", jdkPath);
-
-                // In order to rewrite on outdated plugins set add-opens
-                if (jdk.getMajor() >= 17) {
-                    LOG.debug("Adding --add-opens for JDK 17+");
-                    request.setMavenOpts(
-                            "--add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.io=ALL-UNNAMED --add-opens java.base/java.util=ALL-UNNAMED");
-                }
             }
             request.setBatchMode(true);
             request.setNoTransferProgress(false);
@@ -157,10 +206,123 @@ public class MavenInvoker {
             request.setOutputHandler((message) -> {
                 LOG.info(plugin.getMarker(), message);
             });
+
+            // Wait for a build slot and size the build to its share of the host
+            allocation = governor.acquire();
+            request.setThreads(String.valueOf(allocation.threads()));
+            String mavenOpts = getMavenOpts(System.getenv("MAVEN_OPTS"), jdk, allocation.heap());
+            if (mavenOpts != null) {
+                request.setMavenOpts(mavenOpts);
+            }
+            LOG.debug(
+                    plugin.getMarker(),
+                    "Running Maven with {} threads and MAVEN_OPTS {} ({} concurrent builds allowed)",
+                    allocation.threads(),
+                    mavenOpts,
+                    governor.getLimit());
             InvocationResult result = invoker.execute(request);
+            exitCode = result.getExitCode();
             handleInvocationResult(plugin, result);
         } catch (MavenInvocationException | InterruptedException | IOException e) {
             plugin.addError("Maven invocation failed", e);
+        } finally {
+            if (allocation != null) {
+                governor.release(allocation, goal);
+            }
+            BuildUsage usage = monitor.stop(goal);
+            plugin.addBuildUsage(usage);
+            if (usage.isMeasured()) {
+                LOG.debug(
+                        plugin.getMarker(),
+                        "Maven {} used {} ms of CPU and {} MB at peak",
+                        goal,
+                        usage.cpuMillis(),
+                        usage.peakRssBytes() >> 20);
+            }
+            event.end(exitCode, usage.cpuMillis(), usage.peakRssBytes());
+            sample.stop(Metrics.timer(
+                    INVOCATION_TIMER,
+                    "goal",
+                    goal,
+                    "jdk",
+                    jdk != null ? String.valueOf(jdk.getMajor()) : "default",
+                    "outcome",
+                    MetricsUtils.outcome(exitCode == 0)));
+        }
+    }
+
+    /**
+     * Return the MAVEN_OPTS of a build
+     * @param userOpts The MAVEN_OPTS of the environment, kept first, or null
+     * @param jdk The JDK of the build or null for the default one
+     * @param heap The maximum heap in bytes or -1 to keep the default. Ignored if the user opts set one
+     * @return The options or null if none
+     */
+    static String getMavenOpts(String userOpts, JDK jdk, long heap) {
+        List<String> opts = new ArrayList<>();
+        boolean userHeap = false;
+        if (userOpts != null && !userOpts.isBlank()) {
+            opts.add(userOpts.trim());
+            userHeap = userOpts.contains("-Xmx");
+        }
+        if (heap > 0 && !userHeap) {
+            opts.add("-Xmx%dm".formatted(heap >> 20));
+        }
+        // In order to rewrite on outdated plugins set add-opens
+        if (jdk != null && jdk.getMajor() >= 17) {
+            opts.add(ADD_OPENS);
+        }
+        return opts.isEmpty() ? null : String.join(" ", opts);
+    }
+
+    /**
+     * Return the goal of an invocation as a metric tag, without the version of plugin goals.
+     * For example {@code rewrite-maven-plugin:run} for the rewrite goal
+     * @param goals The goals and arguments of the invocation
+     * @return The first goal
+     */
+    static String getGoalTag(String... goals) {
+        for (String goal : goals) {
+            if (goal.startsWith("-")) {
+                continue;
+            }
+            String[] parts = goal.split(":");
+            return parts.length >= 3 ? parts[1] + ":" + parts[parts.length - 1] : goal;
+        }
+        return "none";
+    }
+
+    /**
+     * Wait for the host to have the configured free memory before starting a build.
+     * Do nothing if no minimum is configured or if the free memory is unknown
+     * @param plugin The plugin to build
+     */
+    private void admit(Plugin plugin) {
+        long required = config.getMinFreeMemory() << 20;
+        if (required <= 0 || !procFs.isAvailable()) {
+            return;
+        }
+        long deadline = System.nanoTime() + ADMISSION_TIMEOUT.toNanos();
+        OptionalLong available = procFs.getAvailableMemory();
+        while (available.isPresent() && available.getAsLong() < required) {
+            if (System.nanoTime() > deadline) {
+                String message = "Not enough free memory to start Maven: %d MB available, %d MB required"
+                        .formatted(available.getAsLong() >> 20, required >> 20);
+                plugin.addError(message);
+                throw new PluginProcessingException(message, plugin);
+            }
+            LOG.info(
+                    plugin.getMarker(),
+                    "Waiting for free memory to start Maven: {} MB available, {} MB required",
+                    available.getAsLong() >> 20,
+                    required >> 20);
+            try {
+                Thread.sleep(ADMISSION_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PluginProcessingException("Interrupted while waiting for free memory", e, plugin);
+            }
+            available = procFs.getAvailableMemory();
         }
     }
 
@@ -6,17 +6,33 @@ import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.extractor.ModernizationMetadata;
 import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.jfr.RunRecording;
 import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.RepoType;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkDiscovery;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
+import io.jenkins.tools.pluginmodernizer.core.utils.MetricsUtils;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
 import io.jenkins.tools.pluginmodernizer.core.utils.StaticPomParser;
 import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +41,27 @@ public class PluginModernizer {
 
     private static final Logger LOG = LoggerFactory.getLogger(PluginModernizer.class);
 
+    /**
+     * Number of rows of the tables of slowest plugins and phases and of largest builds printed at the end of the run
+     */
+    private static final int SLOWEST_LIMIT = 10;
+
+    /**
+     * Goals of the builds remembered by the build memo store
+     */
+    private static final String COMPILE_GOALS = "clean compile";
+
+    private static final String VERIFY_GOALS = "clean verify";
+
+    /**
+     * Reasons of the plugins skipped by the prefilter
+     */
+    private static final String NOT_IN_UPDATE_CENTER = "not found in update center";
+
+    private static final String DEPRECATED = "deprecated";
+
+    private static final String ARCHIVED = "archived";
+
     @Inject
     private Config config;
 
@@ -40,6 +77,18 @@ public class PluginModernizer {
     @Inject
     private CacheManager cacheManager;
 
+    @Inject
+    private JdkFetcher jdkFetcher;
+
+    @Inject
+    private JdkDiscovery jdkDiscovery;
+
+    @Inject
+    private BuildMemoStore buildMemos;
+
+    @Inject
+    private PluginScheduler scheduler;
+
     /**
      * Validate the configuration
      */
@@ -144,6 +193,9 @@ public class PluginModernizer {
 
         validate();
         cacheManager.init();
+        if (config.getMetricsPath() != null) {
+            MetricsUtils.enable();
+        }
 
         // Debug config
         LOG.debug("Plugins: {}", config.getPlugins());
@@ -162,31 +214,404 @@ public class PluginModernizer {
         LOG.debug("Java Version: {}", getJavaVersion());
         LOG.debug("Maven Home: {}", config.getMavenHome());
         LOG.debug("Maven Local Repository: {}", config.getMavenLocalRepo());
+        LOG.debug("Metrics Path: {}", config.getMetricsPath());
+        LOG.debug("Flight recording: {}", config.isJfr());
+        LOG.debug("Resume: {}", config.isResume());
+        LOG.debug("Prioritize: {}", config.isPrioritize());
+        LOG.debug("Queue: {} (worker: {})", config.getQueuePath(), config.isWorker());
         LOG.debug("Dry Run: {}", config.isDryRun());
         LOG.debug("Maven rewrite plugin version: {}", Settings.MAVEN_REWRITE_PLUGIN_VERSION);
 
-        // Fetch plugin versions
-        pluginService.getPluginVersionData();
-
         List<Plugin> plugins = config.getPlugins();
-        plugins.forEach(this::process);
-        printResults(plugins);
+
+        try {
+            // Record the run next to the modernizer logs
+            if (config.isJfr()) {
+                try (RunRecording ignored = RunRecording.start(config.getCachePath().resolve(RunRecording.FILE))) {
+                    run(plugins);
+                }
+            } else {
+                run(plugins);
+            }
+        } finally {
+            // The metrics of a failed run are the most useful ones
+            if (config.getMetricsPath() != null) {
+                try {
+                    MetricsUtils.export(config.getMetricsPath());
+                } catch (ModernizerException e) {
+                    LOG.warn("Unable to export metrics: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Process the plugins and print the results
+     * @param plugins The plugins to process
+     */
+    private void run(List<Plugin> plugins) {
+        try (RunJournal journal = RunJournal.open(
+                RunJournal.file(config.getCachePath(), getRunIdentity()), getRunIdentity(), config.isResume())) {
+            List<Plugin> pending = config.isResume() ? getPendingPlugins(plugins, journal) : plugins;
+
+            // Download JDKs in the background while plugins are processed
+            Thread provisioning = provisionJdks(pending);
+
+            // Fetch remote data
+            prefetch(pending);
+
+            // Ordered from the prefetched installations and health scores
+            if (config.isPrioritize()) {
+                pending = scheduler.schedule(pending);
+            }
+
+            // Skip ineligible plugins before the first clone
+            Prefiltered prefiltered = prefilter(pending, journal);
+
+            if (config.getQueuePath() != null) {
+                // The skipped plugins are not queued
+                Set<Plugin> queued = new HashSet<>(prefiltered.eligible());
+                List<Plugin> results = pending.stream()
+                        .filter(plugin -> !queued.contains(plugin))
+                        .collect(Collectors.toCollection(ArrayList::new));
+                results.addAll(processQueue(prefiltered, journal));
+                printResults(results);
+            } else {
+                prefiltered.eligible().forEach(plugin -> process(plugin, journal, prefiltered.isChecked(plugin)));
+                printResults(pending);
+            }
+
+            try {
+                provisioning.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The plugins left by the prefilter
+     * @param eligible The plugins not skipped, in the same order
+     * @param checked The names of the eligible plugins whose checks passed. The checks of the others failed, they are
+     *     done again and reported when processing the plugin
+     */
+    private record Prefiltered(List<Plugin> eligible, Set<String> checked) {
+
+        /**
+         * Return if the checks of a plugin passed during the prefilter
+         * @param plugin The plugin
+         * @return True if the processing of the plugin doesn't need to check it again
+         */
+        boolean isChecked(Plugin plugin) {
+            return checked.contains(plugin.getName());
+        }
+    }
+
+    /**
+     * Resolve the cheap eligibility checks of all plugins before any of them is fetched: presence in the update
+     * center, deprecation and archived repository. The update center checks are indexed lookups and the archived
+     * status of the repositories is resolved in bulk. What is skipped and why is printed before the first clone.
+     * A plugin whose checks fail, for example because a feed can't be fetched, is not skipped and is checked again
+     * when processed
+     * @param plugins The plugins
+     * @param journal The journal of the run
+     * @return The eligible plugins
+     */
+    private Prefiltered prefilter(List<Plugin> plugins, RunJournal journal) {
+        Map<Plugin, String> skipped = new LinkedHashMap<>();
+        Set<String> checked = new HashSet<>();
+        List<Plugin> listed = new ArrayList<>();
+        for (Plugin plugin : plugins) {
+            plugin.withConfig(config);
+            try {
+                if (!plugin.isLocal() && !pluginService.existsInUpdateCenter(plugin)) {
+                    skipped.put(plugin, NOT_IN_UPDATE_CENTER);
+                } else if (plugin.isDeprecated(pluginService) && !config.isAllowDeprecatedPlugins()) {
+                    skipped.put(plugin, DEPRECATED);
+                } else if (plugin.isLocal()) {
+                    checked.add(plugin.getName());
+                } else {
+                    plugin.withRepositoryName(pluginService.extractRepoName(plugin));
+                    listed.add(plugin);
+                }
+            } catch (ModernizerException e) {
+                // Reported when processing the plugin
+                LOG.debug("Unable to prefilter plugin {}: {}", plugin.getName(), e.getMessage());
+                plugin.removeErrors();
+            }
+        }
+        ghService.resolveArchived(listed);
+        for (Plugin plugin : listed) {
+            try {
+                if (plugin.isArchived(ghService)) {
+                    skipped.put(plugin, ARCHIVED);
+                } else {
+                    checked.add(plugin.getName());
+                }
+            } catch (ModernizerException e) {
+                // Reported when processing the plugin
+                LOG.debug("Unable to check if plugin {} is archived: {}", plugin.getName(), e.getMessage());
+            }
+        }
+
+        // Opted out plugins are still processed, only their pull request is not opened
+        if (!config.isDryRun() && !config.isFetchMetadataOnly() && !config.isOverrideOptOutPlugins()) {
+            try {
+                List<String> optedOut = pluginService.getOptOutPluginsData().getOptedOutPlugins();
+                List<String> withoutPullRequest = listed.stream()
+                        .filter(plugin -> !skipped.containsKey(plugin))
+                        .map(Plugin::getName)
+                        .filter(optedOut::contains)
+                        .toList();
+                if (!withoutPullRequest.isEmpty()) {
+                    LOG.info(
+                            "{} plugins opted out of pull requests and will be processed without opening one: {}",
+                            withoutPullRequest.size(),
+                            String.join(", ", withoutPullRequest));
+                }
+            } catch (ModernizerException e) {
+                // Only informative, the opt-out is checked again before opening each pull request
+                LOG.warn("Unable to list the plugins opted out of pull requests: {}", e.getMessage());
+            }
+        }
+
+        if (skipped.isEmpty()) {
+            return new Prefiltered(plugins, checked);
+        }
+        LOG.info("Skipping {} of {} plugins before fetching them:", skipped.size(), plugins.size());
+        skipped.values().stream().distinct().forEach(reason -> {
+            List<String> names = skipped.entrySet().stream()
+                    .filter(entry -> entry.getValue().equals(reason))
+                    .map(entry -> entry.getKey().getName())
+                    .toList();
+            LOG.info("  {} ({}): {}", reason, names.size(), String.join(", ", names));
+        });
+        skipped.forEach((plugin, reason) -> skip(plugin, reason, journal));
+        return new Prefiltered(
+                plugins.stream().filter(plugin -> !skipped.containsKey(plugin)).toList(), checked);
+    }
+
+    /**
+     * Record the outcome of a plugin skipped by the prefilter, as if it was skipped when processed
+     * @param plugin The plugin
+     * @param reason The reason of the skip
+     * @param journal The journal of the run
+     */
+    private void skip(Plugin plugin, String reason, RunJournal journal) {
+        PluginStages stages = new PluginStages(plugin, journal);
+        stages.start("prepare");
+        if (NOT_IN_UPDATE_CENTER.equals(reason)) {
+            // No error to avoid creating the plugin directory through the logging discriminator
+            stages.stop("skipped");
+            return;
+        }
+        plugin.addError(DEPRECATED.equals(reason) ? getDeprecatedError(plugin) : "Plugin is archived");
+        stages.stop(MetricsUtils.outcome(false));
+    }
+
+    /**
+     * Return the error of a deprecated plugin
+     * @param plugin The plugin
+     * @return The error message
+     */
+    private static String getDeprecatedError(Plugin plugin) {
+        return "Plugin is deprecated. Modernization is blocked by default for deprecated plugins.\n"
+                + "If you are a maintainer or understand the risks, you can bypass this restriction by adding:\n"
+                + "  --allow-deprecated-plugins\n"
+                + "Example:\n"
+                + "  java -jar ./plugin-modernizer-cli/target/jenkins-plugin-modernizer-999999-SNAPSHOT.jar run --plugins="
+                + plugin.getName() + " --recipe=<your-recipe> --allow-deprecated-plugins";
+    }
+
+    /**
+     * Process the plugins of the queue shared with other hosts until it's drained.
+     * The coordinator submits its plugins first and returns the outcome of all plugins processed by all hosts,
+     * after merging their metadata into its cache. A worker returns the outcome of the plugins it processed
+     * @param prefiltered The plugins to submit, ignored by workers
+     * @param journal The journal of the run
+     * @return The processed plugins
+     */
+    private List<Plugin> processQueue(Prefiltered prefiltered, RunJournal journal) {
+        List<Plugin> plugins = prefiltered.eligible();
+        WorkQueue queue = new WorkQueue(config.getQueuePath(), WorkQueue.workerId(), getRunIdentity());
+        if (!config.isWorker()) {
+            queue.submit(plugins);
+        }
+        Map<String, Plugin> submitted = new LinkedHashMap<>();
+        plugins.forEach(plugin -> submitted.put(plugin.getName(), plugin));
+        List<Plugin> processed = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            Optional<WorkQueue.Item> item = queue.claim();
+            if (item.isPresent()) {
+                Plugin plugin = submitted.getOrDefault(item.get().plugin(), item.get().toPlugin());
+                Thread heartbeat = queue.heartbeat(item.get());
+                try {
+                    process(plugin, journal, prefiltered.isChecked(plugin));
+                } finally {
+                    heartbeat.interrupt();
+                }
+                queue.complete(item.get(), plugin, cacheManager);
+                processed.add(plugin);
+                continue;
+            }
+            if (queue.isDrained()) {
+                break;
+            }
+            // Other hosts are still processing plugins, or the coordinator didn't submit them yet
+            if (queue.requeueStale() == 0) {
+                try {
+                    Thread.sleep(WorkQueue.POLL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        if (config.isWorker()) {
+            return processed;
+        }
+        // Keep the full outcome of the plugins processed by this host
+        Map<String, Plugin> local = new LinkedHashMap<>();
+        processed.forEach(plugin -> local.put(plugin.getName(), plugin));
+        return queue.collect(cacheManager).stream()
+                .map(plugin -> local.getOrDefault(plugin.getName(), plugin))
+                .toList();
+    }
+
+    /**
+     * Return the identity of the run in the journal. Only a run with the same identity can be resumed
+     * @return The identity
+     */
+    private String getRunIdentity() {
+        return config.getRecipe().getName() + (config.isDryRun() ? " (dry-run)" : "");
+    }
+
+    /**
+     * Return the plugins not finished by the resumed run.
+     * Plugins interrupted in the middle of their processing are processed again from the fetch of their sources,
+     * which resets the changes of the interrupted stages. Their metadata, and their builds of sources that are
+     * unchanged since the interrupted run, are reused from the cache.
+     * Plugins that failed are retried, their failure may come from the interruption itself or a transient error.
+     * @param plugins The plugins of the run
+     * @param journal The journal of the resumed run
+     * @return The plugins left to process
+     */
+    private List<Plugin> getPendingPlugins(List<Plugin> plugins, RunJournal journal) {
+        List<Plugin> pending = new ArrayList<>();
+        for (Plugin plugin : plugins) {
+            RunJournal.Progress progress = journal.getProgress(plugin.getName());
+            if (progress != null && progress.isFailed()) {
+                LOG.info("Plugin {} failed in the resumed run. Processing it again", plugin.getName());
+                pending.add(plugin);
+            } else if (progress != null && progress.isFinished()) {
+                LOG.info(
+                        "Plugin {} already processed by the resumed run ({}). Skipping.",
+                        plugin.getName(),
+                        progress.outcome());
+            } else {
+                if (progress != null) {
+                    LOG.info(
+                            "Plugin {} was interrupted during stage {}. Processing it again",
+                            plugin.getName(),
+                            progress.lastStage());
+                }
+                pending.add(plugin);
+            }
+        }
+        LOG.info(
+                "Resuming run: {} plugins already processed, {} left",
+                plugins.size() - pending.size(),
+                pending.size());
+        return pending;
+    }
+
+    /**
+     * Start downloading the JDKs needed by the plugins, resolved from their cached metadata, so builds don't
+     * download them one after another on demand. A build needing a JDK still being downloaded waits for it.
+     * @param plugins The plugins to process
+     * @return The provisioning thread
+     */
+    private Thread provisionJdks(List<Plugin> plugins) {
+        Set<Integer> versions = new TreeSet<>();
+        if (!config.isFetchMetadataOnly()) {
+            // Recipes are always applied with the latest JDK
+            versions.add(JDK.JAVA_25.getMajor());
+            plugins.forEach(plugin -> plugin.getCachedBuildJdks(cacheManager).stream()
+                    .map(JDK::getMajor)
+                    .forEach(versions::add));
+        }
+        versions.removeIf(major -> JDK.get(major).isInstalled(jdkDiscovery));
+        return Thread.ofVirtual().name("jdk-provisioning").start(() -> {
+            if (!versions.isEmpty()) {
+                jdkFetcher.provision(versions);
+            }
+        });
+    }
+
+    /**
+     * Download or revalidate all remote data needed by the plugins concurrently instead of lazily one after another.
+     * Plugin versions are mandatory, failure to fetch other data is only logged and will be retried when needed.
+     * @param plugins The plugins to process
+     */
+    private void prefetch(List<Plugin> plugins) {
+        boolean remote = plugins.stream().anyMatch(plugin -> !plugin.isLocal());
+        Map<String, Runnable> feeds = new LinkedHashMap<>();
+        feeds.put(CacheManager.PLUGIN_VERSIONS_CACHE_KEY, pluginService::getPluginVersionData);
+        feeds.put(CacheManager.OPT_OUT_PLUGINS_CACHE_KEY, pluginService::getOptOutPluginsData);
+        if (remote) {
+            feeds.put(CacheManager.UPDATE_CENTER_CACHE_KEY, pluginService::getUpdateCenterData);
+            feeds.put(CacheManager.HEALTH_SCORE_KEY, pluginService::getHealthScoreData);
+            feeds.put(CacheManager.INSTALLATION_STATS_KEY, pluginService::getPluginInstallationStatsData);
+        }
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            feeds.forEach((key, feed) -> futures.put(
+                    key,
+                    CompletableFuture.runAsync(
+                            () -> {
+                                long feedStart = System.nanoTime();
+                                feed.run();
+                                LOG.info(
+                                        "Remote data {} ready in {} ms",
+                                        key,
+                                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - feedStart));
+                            },
+                            executor)));
+        }
+        futures.forEach((key, future) -> {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (CacheManager.PLUGIN_VERSIONS_CACHE_KEY.equals(key)) {
+                    throw cause instanceof ModernizerException modernizerException
+                            ? modernizerException
+                            : new ModernizerException("Unable to fetch " + key, cause);
+                }
+                LOG.warn("Unable to prefetch {}: {}", key, cause.getMessage());
+            }
+        });
+        LOG.debug("Remote data prefetched in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     /**
      * Process a plugin
      * @param plugin The plugin to process
+     * @param journal The journal of the run
+     * @param prefiltered True if the plugin passed the eligibility checks of the prefilter
      */
-    private void process(Plugin plugin) {
+    private void process(Plugin plugin, RunJournal journal, boolean prefiltered) {
         boolean earlySkip = false;
+        PluginStages stages = new PluginStages(plugin, journal);
         try {
+            stages.start("prepare");
 
             // Set config
             plugin.withConfig(config);
 
             // Early validation: Check if plugin exists in update center before any operations that might create
             // directories
-            if (!plugin.isLocal() && !pluginService.existsInUpdateCenter(plugin)) {
+            if (!prefiltered && !plugin.isLocal() && !pluginService.existsInUpdateCenter(plugin)) {
                 // Use general LOG without plugin marker to avoid creating directories
                 LOG.info("Plugin {} not found in update center. Skipping.", plugin.getName());
                 // Don't add error to plugin object to avoid directory creation through logging discriminator
@@ -194,25 +619,22 @@ public class PluginModernizer {
                 return;
             }
 
-            // Determine repo name
-            plugin.withRepositoryName(pluginService.extractRepoName(plugin));
+            // Determine repo name, unless the prefilter already did
+            if (!prefiltered || plugin.getRepositoryName() == null) {
+                plugin.withRepositoryName(pluginService.extractRepoName(plugin));
+            }
 
             LOG.debug("Repository name: {}", plugin.getRepositoryName());
             LOG.debug("Plugin {} latest version: {}", plugin.getName(), pluginService.extractVersion(plugin));
             LOG.debug("Plugin {} health score: {}", plugin.getName(), pluginService.extractScore(plugin));
             LOG.debug("Plugin {} installations: {}", plugin.getName(), pluginService.extractInstallationStats(plugin));
             LOG.debug("Is API plugin {} : {}", plugin.getName(), plugin.isApiPlugin(pluginService));
-            if (plugin.isDeprecated(pluginService) && !config.isAllowDeprecatedPlugins()) {
+            if (!prefiltered && plugin.isDeprecated(pluginService) && !config.isAllowDeprecatedPlugins()) {
                 LOG.info("Plugin {} is deprecated. Skipping.", plugin.getName());
-                plugin.addError("Plugin is deprecated. Modernization is blocked by default for deprecated plugins.\n"
-                        + "If you are a maintainer or understand the risks, you can bypass this restriction by adding:\n"
-                        + "  --allow-deprecated-plugins\n"
-                        + "Example:\n"
-                        + "  java -jar ./plugin-modernizer-cli/target/jenkins-plugin-modernizer-999999-SNAPSHOT.jar run --plugins="
-                        + plugin.getName() + " --recipe=<your-recipe> --allow-deprecated-plugins");
+                plugin.addError(getDeprecatedError(plugin));
                 return;
             }
-            if (plugin.isArchived(ghService)) {
+            if (!prefiltered && plugin.isArchived(ghService)) {
                 LOG.info("Plugin {} is archived. Skipping.", plugin.getName());
                 plugin.addError("Plugin is archived");
                 return;
@@ -221,6 +643,7 @@ public class PluginModernizer {
                 LOG.info("Skipping verification for plugin {}", plugin.getName());
             }
 
+            stages.start("fetch");
             if (config.isRemoveForks()) {
                 plugin.deleteFork(ghService);
             }
@@ -234,6 +657,7 @@ public class PluginModernizer {
             }
 
             // Set the metadata from cache if available
+            stages.start("compile");
             plugin.loadMetadata(cacheManager);
 
             // Compile only if we are able to find metadata
@@ -249,12 +673,14 @@ public class PluginModernizer {
                 }
             }
 
+            stages.start("checkout");
             plugin.checkoutBranch(ghService);
 
             // Minimum JDK to run openrewrite
             plugin.withJDK(JDK.JAVA_25);
 
             // Collect metadata and move metadata from the target directory of the plugin to the common cache
+            stages.start("metadata");
             if (!plugin.hasMetadata() || config.isFetchMetadataOnly()) {
                 collectMetadata(plugin, true);
 
@@ -338,8 +764,12 @@ public class PluginModernizer {
             plugin.setJenkinsVersion(plugin.getMetadata().getJenkinsVersion());
             plugin.setEffectiveBaseline(
                     plugin.getMetadata().getJenkinsVersion().replaceAll("(\\d+\\.\\d+)\\.\\d+", "$1"));
+            if (plugin.getMetadata().getDeprecatedApiUsages() != null) {
+                plugin.setDeprecatedApiUsagesBefore(plugin.getMetadata().getDeprecatedApiUsages().getTotal());
+            }
 
             // Run OpenRewrite
+            stages.start("rewrite");
             plugin.runOpenRewrite(mavenInvoker);
             if (plugin.hasErrors()) {
                 LOG.warn(
@@ -350,6 +780,7 @@ public class PluginModernizer {
 
             // Verify plugin
             if (!config.isFetchMetadataOnly() && !config.isSkipVerification()) {
+                stages.start("verify");
                 JDK jdk = verifyPlugin(plugin);
                 LOG.info("Plugin {} verified successfully with JDK {}", plugin.getName(), jdk.getMajor());
             }
@@ -363,6 +794,7 @@ public class PluginModernizer {
 
             // Recollect metadata after modernization
             if (!config.isFetchMetadataOnly()) {
+                stages.start("recollect-metadata");
                 plugin.withJDK(JDK.JAVA_25);
                 plugin.clean(mavenInvoker);
                 collectMetadata(plugin, false);
@@ -372,6 +804,7 @@ public class PluginModernizer {
                         plugin.getMetadata().toJson());
 
                 // Clean target folder before committing changes
+                stages.start("commit");
                 if (!config.isDryRun()) {
                     plugin.clean(mavenInvoker);
                 }
@@ -384,9 +817,11 @@ public class PluginModernizer {
                 // Only fork/push/PR if we have any changes and the plugin hasn't opted out for receiving PRs or
                 // override the default behaviour
                 if (!plugin.getModifiedFiles().isEmpty() && (!isOptOutPlugin || config.isOverrideOptOutPlugins())) {
+                    stages.start("push");
                     plugin.fork(ghService);
                     plugin.sync(ghService);
                     plugin.push(ghService);
+                    stages.start("pull-request");
                     plugin.openPullRequest(ghService);
                 } else {
                     if (isOptOutPlugin) {
@@ -417,6 +852,7 @@ public class PluginModernizer {
             }
         } finally {
             if (!config.isSkipMetadata() && !earlySkip) {
+                stages.start("modernization-metadata");
                 try {
                     // collect the modernization metadata and push it to metadata repository if valid
                     collectModernizationMetadata(plugin);
@@ -436,6 +872,10 @@ public class PluginModernizer {
                     plugin.addError("Failed to collect modernization metadata for plugin " + plugin.getName(), e);
                 }
             }
+            stages.stop(earlySkip ? "skipped" : MetricsUtils.outcome(!plugin.hasErrors()));
+            if (!earlySkip) {
+                scheduler.recordCost(plugin);
+            }
         }
     }
 
@@ -512,11 +952,17 @@ public class PluginModernizer {
             modernizationMetadata.setPullRequestStatus("open");
         }
         modernizationMetadata.setDryRun(config.isDryRun());
+        // deprecated API usages counted during metadata collection before and after the recipes
+        if (plugin.getDeprecatedApiUsagesBefore() != null && plugin.getMetadata().getDeprecatedApiUsages() != null) {
+            modernizationMetadata.setDeprecatedApis(
+                    plugin.getDeprecatedApiUsagesBefore(), plugin.getMetadata().getDeprecatedApiUsages().getTotal());
+        }
         // get the diff stats for the plugin
         DiffStats diffStats = plugin.getDiffStats(ghService, config.isDryRun());
         modernizationMetadata.setAdditions(diffStats.additions());
         modernizationMetadata.setDeletions(diffStats.deletions());
         modernizationMetadata.setChangedFiles(diffStats.changedFiles());
+        modernizationMetadata.setPhaseTimings(plugin.getPhaseTimings());
         if (plugin.hasErrors() || plugin.hasPreconditionErrors()) {
             modernizationMetadata.setMigrationStatus("fail");
         } else {
@@ -558,8 +1004,15 @@ public class PluginModernizer {
         PluginMetadata metadata = plugin.getMetadata();
         JDK jdk = JDK.min(metadata.getJdks(), metadata.getJenkinsVersion());
         plugin.withJDK(jdk);
+        String treeHash = buildMemos.treeHash(plugin);
+        if (buildMemos.isBuilt(plugin, treeHash, jdk, COMPILE_GOALS)) {
+            return jdk;
+        }
+        long start = System.nanoTime();
         plugin.clean(mavenInvoker);
         plugin.compile(mavenInvoker);
+        buildMemos.markBuilt(
+                plugin, treeHash, jdk, COMPILE_GOALS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         return jdk;
     }
 
@@ -592,7 +1045,16 @@ public class PluginModernizer {
         plugin.withJDK(jdk);
         plugin.clean(mavenInvoker);
         plugin.format(mavenInvoker);
+
+        // Hash after formatting, which may change the sources
+        String treeHash = buildMemos.treeHash(plugin);
+        if (buildMemos.isBuilt(plugin, treeHash, jdk, VERIFY_GOALS)) {
+            return jdk;
+        }
+        long start = System.nanoTime();
         plugin.verify(mavenInvoker);
+        buildMemos.markBuilt(
+                plugin, treeHash, jdk, VERIFY_GOALS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         if (plugin.hasErrors()) {
             LOG.info("Plugin {} failed to verify with JDK {}", plugin.getName(), jdk.getMajor());
             plugin.withoutErrors();
@@ -649,6 +1111,8 @@ public class PluginModernizer {
             }
             LOG.info("*************");
         }
+        PluginStages.report(plugins, SLOWEST_LIMIT).forEach(LOG::info);
+        BuildMonitor.report(plugins, SLOWEST_LIMIT).forEach(LOG::info);
     }
 
     private void printModifiedFiles(Plugin plugin) {
@@ -0,0 +1,223 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.ProcessingCost;
+import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Order the plugins of a run so the most valuable pull requests are delivered first by interrupted or time-boxed runs.
+ * <p>
+ * The value of a plugin grows with its installations, with a low health score and with a baseline older than the
+ * minimum Jenkins version. The plugins are partitioned in {@link #TIERS} tiers of decreasing value, and inside a tier
+ * the plugins with the most value per predicted minute of processing come first. The cost of a plugin is predicted
+ * from the processing time of previous runs, or the median cost of the batch for plugins never processed.
+ * <p>
+ * Installations and health scores are only looked up for remote plugins. If they can't be fetched, the plugins are
+ * valued as if they had no installation and no score, the scheduling never fails the run.
+ */
+public class PluginScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PluginScheduler.class);
+
+    /**
+     * Number of value tiers of a batch
+     */
+    static final int TIERS = 4;
+
+    /**
+     * Value multiplier of a plugin whose baseline is older than the minimum Jenkins version
+     */
+    static final double STALE_BASELINE_FACTOR = 1.5;
+
+    /**
+     * A plugin with its value and predicted cost
+     * @param plugin The plugin
+     * @param value The value of processing the plugin
+     * @param costMillis The predicted cost in milliseconds or -1 if unknown
+     */
+    record Priority(Plugin plugin, double value, long costMillis) {
+
+        /**
+         * Return the value per minute of processing
+         * @param defaultCostMillis The cost of plugins with unknown cost
+         * @return The value per minute
+         */
+        double valuePerMinute(long defaultCostMillis) {
+            long cost = costMillis >= 0 ? costMillis : defaultCostMillis;
+            return value / Math.max(1.0, cost / 60_000.0);
+        }
+    }
+
+    private final CacheManager cacheManager;
+    private final PluginService pluginService;
+
+    /**
+     * True once a lookup failed during the current scheduling, so the next plugins don't fetch the feeds again
+     */
+    private boolean lookupFailed;
+
+    /**
+     * Create a new scheduler
+     * @param cacheManager The cache with the processing costs and metadata of previous runs
+     * @param pluginService The plugin service for installations and health scores
+     */
+    public PluginScheduler(CacheManager cacheManager, PluginService pluginService) {
+        this.cacheManager = cacheManager;
+        this.pluginService = pluginService;
+    }
+
+    /**
+     * Order plugins by priority
+     * @param plugins The plugins
+     * @return The plugins in processing order
+     */
+    public synchronized List<Plugin> schedule(List<Plugin> plugins) {
+        lookupFailed = false;
+        List<Priority> priorities = new ArrayList<>(plugins.size());
+        for (Plugin plugin : plugins) {
+            priorities.add(new Priority(plugin, value(plugin), cost(plugin)));
+        }
+        long defaultCost = medianCost(priorities);
+        priorities.sort(Comparator.comparingDouble(Priority::value).reversed());
+
+        List<Plugin> scheduled = new ArrayList<>(plugins.size());
+        int tierSize = Math.max(1, (priorities.size() + TIERS - 1) / TIERS);
+        for (int start = 0, tier = 1; start < priorities.size(); start += tierSize, tier++) {
+            List<Priority> partition =
+                    new ArrayList<>(priorities.subList(start, Math.min(start + tierSize, priorities.size())));
+            partition.sort(Comparator.comparingDouble((Priority priority) -> priority.valuePerMinute(defaultCost))
+                    .reversed());
+            long predicted = partition.stream()
+                    .mapToLong(priority -> priority.costMillis() >= 0 ? priority.costMillis() : defaultCost)
+                    .sum();
+            LOG.info(
+                    "Priority tier {}: {} plugins, about {} minutes, from {}",
+                    tier,
+                    partition.size(),
+                    Duration.ofMillis(predicted).toMinutes(),
+                    partition.get(0).plugin().getName());
+            for (Priority priority : partition) {
+                LOG.debug(
+                        "Plugin {} value {} predicted cost {} ms",
+                        priority.plugin().getName(),
+                        "%.2f".formatted(priority.value()),
+                        priority.costMillis());
+                scheduled.add(priority.plugin());
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Record the cost of the processing of a plugin for the next runs
+     * @param plugin The processed plugin
+     */
+    public void recordCost(Plugin plugin) {
+        long wallMillis =
+                plugin.getPhaseTimings().stream().mapToLong(PhaseTiming::wallMillis).sum();
+        if (wallMillis <= 0) {
+            return;
+        }
+        ProcessingCost cost = cacheManager.getIgnoringExpiration(
+                Path.of(plugin.getName()), ProcessingCost.CACHE_KEY, ProcessingCost.class);
+        if (cost == null) {
+            cost = new ProcessingCost(cacheManager, plugin.getName());
+        }
+        cost.record(wallMillis);
+        try {
+            cost.save();
+        } catch (ModernizerException e) {
+            // Only used to order the next runs
+            LOG.debug("Unable to record processing cost of plugin {}: {}", plugin.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Return the value of processing a plugin
+     * @param plugin The plugin
+     * @return The value, at least 1
+     */
+    double value(Plugin plugin) {
+        Integer installations = lookup(plugin, pluginService::extractInstallationStats);
+        double value = Math.log10(10 + (installations != null ? installations : 0));
+        // A low health score has more to gain from the modernization
+        Double score = lookup(plugin, pluginService::extractScore);
+        if (score != null) {
+            value *= 1 + (100 - Math.clamp(score, 0, 100)) / 100;
+        }
+        if (hasStaleBaseline(plugin)) {
+            value *= STALE_BASELINE_FACTOR;
+        }
+        return value;
+    }
+
+    /**
+     * Look up remote data of a plugin
+     * @param plugin The plugin
+     * @param lookup The lookup
+     * @param <T> The type of data
+     * @return The data or null if the plugin is local or the data is not available
+     */
+    private <T> T lookup(Plugin plugin, Function<Plugin, T> lookup) {
+        if (plugin.isLocal() || lookupFailed) {
+            return null;
+        }
+        try {
+            return lookup.apply(plugin);
+        } catch (ModernizerException e) {
+            // Only used to order the plugins
+            lookupFailed = true;
+            LOG.warn("Unable to get installations or health score, ordering without them: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Return the predicted cost of processing a plugin
+     * @param plugin The plugin
+     * @return The cost in milliseconds or -1 if the plugin was never processed
+     */
+    long cost(Plugin plugin) {
+        ProcessingCost cost = cacheManager.getIgnoringExpiration(
+                Path.of(plugin.getName()), ProcessingCost.CACHE_KEY, ProcessingCost.class);
+        return cost != null ? cost.getWallMillis() : -1;
+    }
+
+    /**
+     * Return if the baseline found by a previous run is older than the minimum Jenkins version
+     * @param plugin The plugin
+     * @return True if the baseline is known and stale
+     */
+    private boolean hasStaleBaseline(Plugin plugin) {
+        PluginMetadata metadata = cacheManager.getIgnoringExpiration(
+                Path.of(plugin.getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+        if (metadata == null || metadata.getJenkinsVersion() == null) {
+            return false;
+        }
+        return new ComparableVersion(metadata.getJenkinsVersion())
+                        .compareTo(new ComparableVersion(Settings.getJenkinsMinimumVersion()))
+                < 0;
+    }
+
+    private static long medianCost(List<Priority> priorities) {
+        long[] costs = priorities.stream()
+                .mapToLong(Priority::costMillis)
+                .filter(cost -> cost >= 0)
+                .sorted()
+                .toArray();
+        return costs.length == 0 ? 0 : costs[costs.length / 2];
+    }
+}
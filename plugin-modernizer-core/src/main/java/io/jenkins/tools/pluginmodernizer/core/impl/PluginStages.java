@@ -0,0 +1,189 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.BuildUsage;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time the successive stages of the processing of a plugin. Starting a stage ends the previous one,
+ * so early returns of the processing only need to stop the last stage.
+ * The wall-clock and CPU time of each stage are recorded on the plugin,
+ * and the stages and outcome in the run journal if any.
+ * The CPU time of a stage is the one of the processing thread plus the one of the Maven builds run during the stage,
+ * and is unknown if the CPU time of one of them could not be measured.
+ */
+class PluginStages {
+
+    /**
+     * Timer of the processing stages, tagged by stage
+     */
+    static final String STAGE_TIMER = "modernizer.plugin.stages";
+
+    /**
+     * Timer of the whole processing of a plugin, tagged by outcome
+     */
+    static final String PROCESS_TIMER = "modernizer.plugin.process";
+
+    private static final String PLUGIN_ROW = "%-40s %10s %10s  %s";
+    private static final String PHASE_ROW = "%-40s %-24s %10s %10s";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Plugin plugin;
+    private final RunJournal journal;
+    private final Timer.Sample process = Timer.start(Metrics.globalRegistry);
+    private String stage;
+    private long wallStart;
+    private long cpuStart;
+    private int buildsStart;
+
+    /**
+     * Create the stages of a plugin processing
+     * @param plugin The plugin
+     */
+    PluginStages(Plugin plugin) {
+        this(plugin, null);
+    }
+
+    /**
+     * Create the stages of a plugin processing recorded in a run journal
+     * @param plugin The plugin
+     * @param journal The run journal or null
+     */
+    PluginStages(Plugin plugin, RunJournal journal) {
+        this.plugin = plugin;
+        this.journal = journal;
+    }
+
+    /**
+     * End the current stage if any and start the given one
+     * @param stage The stage name
+     */
+    void start(String stage) {
+        end();
+        if (journal != null) {
+            journal.started(plugin.getName(), stage);
+        }
+        this.stage = stage;
+        this.cpuStart = cpuTime();
+        this.buildsStart = plugin.getBuildUsages().size();
+        this.wallStart = System.nanoTime();
+    }
+
+    /**
+     * Return the current stage
+     * @return The stage or null if no stage is running
+     */
+    String getStage() {
+        return stage;
+    }
+
+    /**
+     * End the current stage and the processing
+     * @param outcome The outcome of the processing
+     */
+    void stop(String outcome) {
+        end();
+        if (journal != null) {
+            journal.finished(plugin.getName(), outcome);
+        }
+        process.stop(Metrics.timer(PROCESS_TIMER, "outcome", outcome));
+    }
+
+    private void end() {
+        if (stage == null) {
+            return;
+        }
+        long wall = System.nanoTime() - wallStart;
+        long cpuEnd = cpuTime();
+        long cpu = cpuStart < 0 || cpuEnd < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(cpuEnd - cpuStart);
+        List<BuildUsage> builds = plugin.getBuildUsages();
+        for (BuildUsage build : builds.subList(Math.min(buildsStart, builds.size()), builds.size())) {
+            cpu = cpu < 0 || build.cpuMillis() < 0 ? -1 : cpu + build.cpuMillis();
+        }
+        Metrics.timer(STAGE_TIMER, "stage", stage).record(wall, TimeUnit.NANOSECONDS);
+        plugin.addPhaseTiming(new PhaseTiming(stage, TimeUnit.NANOSECONDS.toMillis(wall), cpu));
+        stage = null;
+    }
+
+    /**
+     * Format the slowest plugins and the slowest phases as tables
+     * @param plugins The processed plugins
+     * @param limit The maximum number of rows of each table
+     * @return The lines of the tables, empty if no phase was timed
+     */
+    static List<String> report(List<Plugin> plugins, int limit) {
+        List<Plugin> timed = plugins.stream()
+                .filter(plugin -> !plugin.getPhaseTimings().isEmpty())
+                .toList();
+        if (timed.isEmpty()) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("Slowest plugins:");
+        lines.add(String.format(Locale.ROOT, PLUGIN_ROW, "Plugin", "Wall", "CPU", "Slowest phase"));
+        timed.stream()
+                .map(plugin -> Map.entry(plugin, total(plugin.getPhaseTimings())))
+                .sorted(Comparator.comparingLong(
+                                (Map.Entry<Plugin, PhaseTiming> entry) -> entry.getValue().wallMillis())
+                        .reversed())
+                .limit(limit)
+                .forEach(entry -> {
+                    PhaseTiming slowest = entry.getKey().getPhaseTimings().stream()
+                            .max(Comparator.comparingLong(PhaseTiming::wallMillis))
+                            .orElseThrow();
+                    lines.add(String.format(
+                            Locale.ROOT,
+                            PLUGIN_ROW,
+                            entry.getKey().getName(),
+                            format(entry.getValue().wallMillis()),
+                            format(entry.getValue().cpuMillis()),
+                            slowest.phase() + " (" + format(slowest.wallMillis()) + ")"));
+                });
+        lines.add("Slowest phases:");
+        lines.add(String.format(Locale.ROOT, PHASE_ROW, "Plugin", "Phase", "Wall", "CPU"));
+        timed.stream()
+                .flatMap(plugin -> plugin.getPhaseTimings().stream().map(timing -> Map.entry(plugin, timing)))
+                .sorted(Comparator.comparingLong(
+                                (Map.Entry<Plugin, PhaseTiming> entry) -> entry.getValue().wallMillis())
+                        .reversed())
+                .limit(limit)
+                .forEach(entry -> lines.add(String.format(
+                        Locale.ROOT,
+                        PHASE_ROW,
+                        entry.getKey().getName(),
+                        entry.getValue().phase(),
+                        format(entry.getValue().wallMillis()),
+                        format(entry.getValue().cpuMillis()))));
+        return lines;
+    }
+
+    private static PhaseTiming total(List<PhaseTiming> timings) {
+        return timings.stream()
+                .map(timing -> new PhaseTiming("total", timing.wallMillis(), timing.cpuMillis()))
+                .reduce(PhaseTiming::plus)
+                .orElseThrow();
+    }
+
+    private static String format(long millis) {
+        return millis < 0 ? "n/a" : String.format(Locale.ROOT, "%.1fs", millis / 1000.0);
+    }
+
+    /**
+     * Return the CPU time of the current thread
+     * @return The CPU time in nanoseconds or -1 if not supported, as for virtual threads
+     */
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+}
@@ -0,0 +1,245 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.utils.MetricsUtils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durable journal of a run, recording the stages started by each plugin and the outcome of the finished ones.
+ * Every record is appended as a tab separated line and forced to disk before the stage runs, so the journal
+ * survives a crash or an interruption of the tool. A record torn by a crash is dropped when the journal is resumed.
+ * <p>
+ * The first line identifies the run, a journal is only resumed by a run with the same identity. Each run identity has
+ * its own file, locked by the process writing it, so processes sharing a cache directory don't overwrite the journal
+ * of each other.
+ */
+class RunJournal implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RunJournal.class);
+
+    /**
+     * Prefix of the journal files in the cache directory
+     */
+    static final String PREFIX = "run-journal-";
+
+    private static final String RUN = "run";
+    private static final String STAGE = "stage";
+    private static final String DONE = "done";
+
+    /**
+     * The progress of a plugin in the journal
+     * @param lastStage The last stage started or null if none
+     * @param outcome The outcome if the plugin was finished, otherwise null
+     */
+    record Progress(String lastStage, String outcome) {
+
+        /**
+         * Return if the plugin was finished
+         * @return True if the plugin has an outcome
+         */
+        boolean isFinished() {
+            return outcome != null;
+        }
+
+        /**
+         * Return if the plugin failed
+         * @return True if the plugin finished with a failure
+         */
+        boolean isFailed() {
+            return MetricsUtils.FAILURE.equals(outcome);
+        }
+    }
+
+    private final FileChannel channel;
+    private final Map<String, Progress> progress;
+
+    private RunJournal(FileChannel channel, Map<String, Progress> progress) {
+        this.channel = channel;
+        this.progress = progress;
+    }
+
+    /**
+     * Return the journal file of a run
+     * @param directory The cache directory
+     * @param run The identity of the run
+     * @return The journal file
+     */
+    static Path file(Path directory, String run) {
+        String name = run.replaceAll("[^A-Za-z0-9._]+", "-").replaceAll("^-|-$", "");
+        return directory.resolve(PREFIX + name + ".tsv");
+    }
+
+    /**
+     * Open the journal of a run. If another process holds the journal, the run is not journaled
+     * @param file The journal file
+     * @param run The identity of the run, for example its recipe
+     * @param resume True to keep the progress of a previous journal of the same run, false to start over
+     * @return The journal
+     */
+    static RunJournal open(Path file, String run, boolean resume) {
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            boolean exists = Files.isRegularFile(file);
+            channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Released when the channel is closed
+            if (!lock(channel)) {
+                LOG.warn(
+                        "Journal {} is used by another process of the same run. This run won't be journaled{}",
+                        file,
+                        resume ? " nor resumed" : "");
+                channel.close();
+                return new RunJournal(null, new HashMap<>());
+            }
+            Map<String, Progress> previous = new HashMap<>();
+            long valid = -1;
+            if (resume && exists) {
+                // Only keep complete records, the last one may have been torn by a crash
+                byte[] content = read(channel);
+                int end = content.length;
+                while (end > 0 && content[end - 1] != '\n') {
+                    end--;
+                }
+                List<String> lines = new String(content, 0, end, StandardCharsets.UTF_8)
+                        .lines()
+                        .toList();
+                String journalRun = lines.isEmpty() ? null : field(lines.get(0), RUN);
+                if (run.equals(journalRun)) {
+                    lines.stream().skip(1).forEach(line -> read(line, previous));
+                    valid = end;
+                } else {
+                    LOG.warn("Journal {} is of another run ({}), unable to resume. Starting over", file, journalRun);
+                }
+            } else if (resume) {
+                LOG.warn("No journal found at {}, unable to resume. Starting over", file);
+            }
+            RunJournal journal = new RunJournal(channel, previous);
+            if (valid >= 0) {
+                channel.truncate(valid);
+                channel.position(valid);
+            } else {
+                channel.truncate(0);
+                journal.write(RUN, run);
+            }
+            return journal;
+        } catch (IOException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ce) {
+                    e.addSuppressed(ce);
+                }
+            }
+            throw new ModernizerException("Unable to open run journal " + file, e);
+        }
+    }
+
+    /**
+     * Return the progress of a plugin recorded by the previous run or by this one
+     * @param plugin The plugin name
+     * @return The progress or null if the plugin was never started
+     */
+    synchronized Progress getProgress(String plugin) {
+        return progress.get(plugin);
+    }
+
+    /**
+     * Record the start of a stage of a plugin
+     * @param plugin The plugin name
+     * @param stage The stage
+     */
+    synchronized void started(String plugin, String stage) {
+        write(STAGE, plugin, stage);
+        progress.put(plugin, new Progress(stage, null));
+    }
+
+    /**
+     * Record the end of the processing of a plugin
+     * @param plugin The plugin name
+     * @param outcome The outcome of the processing
+     */
+    synchronized void finished(String plugin, String outcome) {
+        write(DONE, plugin, outcome);
+        Progress current = progress.get(plugin);
+        progress.put(plugin, new Progress(current != null ? current.lastStage() : null, outcome));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Unable to close run journal: {}", e.getMessage());
+        }
+    }
+
+    private void write(String... fields) {
+        if (channel == null) {
+            return;
+        }
+        ByteBuffer record = StandardCharsets.UTF_8.encode(String.join("\t", fields) + "\n");
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // The journal only speeds up resuming, never fail the run on it
+            LOG.warn("Unable to write run journal: {}", e.getMessage());
+        }
+    }
+
+    private static boolean lock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            // Held by this process
+            return false;
+        }
+    }
+
+    private static byte[] read(FileChannel channel) throws IOException {
+        // Read through the locked channel, another handle may not read a locked file on all platforms
+        ByteBuffer content = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        while (content.hasRemaining()) {
+            if (channel.read(content, content.position()) < 0) {
+                break;
+            }
+        }
+        return content.array();
+    }
+
+    private static void read(String line, Map<String, Progress> progress) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 3 || fields[1].isEmpty() || fields[2].isEmpty()) {
+            return;
+        }
+        if (STAGE.equals(fields[0])) {
+            progress.put(fields[1], new Progress(fields[2], null));
+        } else if (DONE.equals(fields[0])) {
+            Progress current = progress.get(fields[1]);
+            progress.put(fields[1], new Progress(current != null ? current.lastStage() : null, fields[2]));
+        }
+    }
+
+    private static String field(String line, String type) {
+        String[] fields = line.split("\t", 2);
+        return fields.length == 2 && type.equals(fields[0]) ? fields[1] : null;
+    }
+}
@@ -0,0 +1,462 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.extractor.ModernizationMetadata;
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.model.BuildUsage;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
+import io.jenkins.tools.pluginmodernizer.core.utils.FileLocks;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.MetricsUtils;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of plugins on a file system shared by the hosts processing them.
+ * The coordinator submits the plugins, then every host, coordinator included, claims the next pending plugin
+ * as soon as it's done with the previous one, so faster hosts take more plugins.
+ * <p>
+ * A plugin is claimed by moving its entry from {@code pending} to {@code claimed} atomically, so only one host
+ * gets it. The host refreshes the modification time of the claim while processing the plugin. Claims not refreshed
+ * for {@link #STALE} are of a host that died and are moved back to {@code pending}.
+ * The outcome of a plugin is written to {@code done} and its metadata copied to {@code results}, from where the
+ * coordinator merges it into its own cache.
+ * <p>
+ * Each submission writes a new version of the {@code submitted} marker. A host that opens a drained queue only
+ * stops after a new submission is drained, so the marker left by a previous batch in a reused queue doesn't stop it.
+ * <p>
+ * The queue belongs to a single run, identified by its recipe and dry-run mode and written to the {@code run} file.
+ * A coordinator of another run moves the outcomes of the previous run to {@code previous} before submitting its
+ * plugins, and is refused while plugins of the previous run are still pending or claimed. So are the workers of
+ * another run.
+ */
+class WorkQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkQueue.class);
+
+    /**
+     * Interval between two checks of the queue when no plugin is pending
+     */
+    static final Duration POLL = Duration.ofSeconds(5);
+
+    /**
+     * Age of a claim after which its host is considered dead
+     */
+    static final Duration STALE = Duration.ofMinutes(5);
+
+    private static final String PENDING = "pending";
+    private static final String CLAIMED = "claimed";
+    private static final String DONE = "done";
+    private static final String RESULTS = "results";
+    private static final String SUBMITTED = "submitted";
+    private static final String RUN = "run";
+    private static final String PREVIOUS = "previous";
+    private static final String RESULT_EXTENSION = ".json";
+
+    /**
+     * A plugin of the queue
+     * @param entry The name of the entry, the submission order followed by the plugin name
+     * @param plugin The plugin name
+     * @param location The location of a local plugin or null
+     */
+    record Item(String entry, String plugin, Path location) {
+
+        /**
+         * Return the plugin to process
+         * @return The plugin
+         */
+        Plugin toPlugin() {
+            return location != null ? Plugin.build(plugin, location) : Plugin.build(plugin);
+        }
+    }
+
+    /**
+     * The outcome of the processing of a plugin
+     * @param plugin The plugin name
+     * @param worker The host that processed it
+     * @param outcome The outcome
+     * @param repository The repository name or null if not resolved
+     * @param location The location of a local plugin or null
+     * @param errors The error messages
+     * @param modifiedFiles The files modified by the recipe
+     * @param phaseTimings The timings of the processing phases
+     * @param buildUsages The resources consumed by the Maven builds
+     */
+    record Result(
+            String plugin,
+            String worker,
+            String outcome,
+            String repository,
+            String location,
+            List<String> errors,
+            Set<String> modifiedFiles,
+            List<PhaseTiming> phaseTimings,
+            List<BuildUsage> buildUsages) {}
+
+    private final Path root;
+    private final String worker;
+    private final String run;
+    private final CacheManager results;
+
+    /**
+     * Version of the submission marker when this host opened the queue, or null if none
+     */
+    private final String openedSubmission;
+
+    /**
+     * True once this host saw plugins pending or claimed, so it takes part in the current submission
+     */
+    private boolean joined;
+
+    /**
+     * Open a queue
+     * @param root The directory of the queue
+     * @param worker The identity of this host
+     * @param run The identity of the run, for example its recipe
+     */
+    WorkQueue(Path root, String worker, String run) {
+        this.root = root;
+        this.worker = worker;
+        this.run = run;
+        // The results are only merged once, whatever the time the batch took
+        this.results = new CacheManager(root.resolve(RESULTS), Clock.systemDefaultZone(), false);
+        try {
+            for (String directory : List.of(PENDING, CLAIMED, DONE, RESULTS)) {
+                Files.createDirectories(root.resolve(directory));
+            }
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to create queue at " + root, e);
+        }
+        this.openedSubmission = getSubmission();
+    }
+
+    /**
+     * Return the identity of this process
+     * @return The host name and process id
+     */
+    static String workerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "localhost";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * Submit plugins to the queue. Plugins already pending, claimed or done, for example submitted by a previous
+     * coordinator of the same run, are not submitted again
+     * @param plugins The plugins in processing order
+     */
+    void submit(List<Plugin> plugins) {
+        try {
+            String queuedRun = getRun();
+            if (queuedRun != null && !queuedRun.equals(run)) {
+                archive(queuedRun);
+            }
+            // Hosts don't stop on the marker of a previous submission while this one is queued
+            Files.deleteIfExists(root.resolve(SUBMITTED));
+            Path runFile = Files.createTempFile(root, RUN, ".tmp");
+            Files.writeString(runFile, run, StandardCharsets.UTF_8);
+            FileLocks.moveAtomically(runFile, root.resolve(RUN));
+            Set<String> queued = Stream.of(PENDING, CLAIMED, DONE)
+                    .flatMap(directory -> list(directory).stream())
+                    .map(entry -> plugin(entry.replace(RESULT_EXTENSION, "")))
+                    .collect(Collectors.toSet());
+            int sequence = Stream.of(PENDING, CLAIMED, DONE)
+                    .flatMap(directory -> list(directory).stream())
+                    .mapToInt(entry -> Integer.parseInt(entry.substring(0, entry.indexOf('-'))))
+                    .max()
+                    .orElse(0);
+            int submitted = 0;
+            for (Plugin plugin : plugins) {
+                if (queued.add(plugin.getName())) {
+                    String entry = "%06d-%s".formatted(++sequence, plugin.getName());
+                    String location = plugin.isLocal()
+                            ? plugin.getLocalRepository().toAbsolutePath().toString()
+                            : "";
+                    Path tmp = Files.createTempFile(root, entry, ".tmp");
+                    Files.writeString(tmp, location, StandardCharsets.UTF_8);
+                    FileLocks.moveAtomically(tmp, root.resolve(PENDING).resolve(entry));
+                    submitted++;
+                }
+            }
+            Path tmp = Files.createTempFile(root, SUBMITTED, ".tmp");
+            Files.writeString(tmp, worker + "\t" + UUID.randomUUID(), StandardCharsets.UTF_8);
+            FileLocks.moveAtomically(tmp, root.resolve(SUBMITTED));
+            LOG.info(
+                    "Submitted {} plugins to queue {}, {} were already queued",
+                    submitted,
+                    root,
+                    plugins.size() - submitted);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to submit plugins to queue " + root, e);
+        }
+    }
+
+    /**
+     * Claim the next pending plugin
+     * @return The plugin or empty if none is pending
+     */
+    Optional<Item> claim() {
+        List<String> pending = list(PENDING);
+        if (!pending.isEmpty()) {
+            checkRun();
+        }
+        for (String entry : pending) {
+            Path claim = root.resolve(CLAIMED).resolve(entry);
+            try {
+                Files.move(root.resolve(PENDING).resolve(entry), claim, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                // Claimed by another host
+                continue;
+            } catch (IOException e) {
+                throw new ModernizerException("Unable to claim " + entry + " in queue " + root, e);
+            }
+            try {
+                Files.setLastModifiedTime(claim, FileTime.from(Instant.now()));
+                String location = Files.readString(claim, StandardCharsets.UTF_8).trim();
+                LOG.debug("Claimed {} from queue {}", entry, root);
+                return Optional.of(new Item(entry, plugin(entry), location.isEmpty() ? null : Path.of(location)));
+            } catch (IOException e) {
+                throw new ModernizerException("Unable to read claim " + claim, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Refresh the claim of a plugin until the returned thread is interrupted
+     * @param item The claimed plugin
+     * @return The heartbeat thread
+     */
+    Thread heartbeat(Item item) {
+        Path claim = root.resolve(CLAIMED).resolve(item.entry());
+        return Thread.ofVirtual().name("queue-heartbeat").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(STALE.dividedBy(5).toNanos());
+                try {
+                    Files.setLastModifiedTime(claim, FileTime.from(Instant.now()));
+                } catch (IOException e) {
+                    LOG.warn("Unable to refresh claim {}: {}", claim, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Record the outcome of a claimed plugin and publish its metadata
+     * @param item The claimed plugin
+     * @param plugin The processed plugin
+     * @param cacheManager The cache where the plugin metadata was written
+     */
+    void complete(Item item, Plugin plugin, CacheManager cacheManager) {
+        Path name = Path.of(plugin.getName());
+        PluginMetadata metadata =
+                cacheManager.get(name, CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+        if (metadata != null) {
+            metadata.copy(results, name, CacheManager.PLUGIN_METADATA_CACHE_KEY);
+        }
+        ModernizationMetadata modernizationMetadata = plugin.getModernizationMetadata();
+        if (modernizationMetadata != null) {
+            modernizationMetadata.copy(results, name, CacheManager.MODERNIZATION_METADATA_CACHE_KEY);
+        }
+        Result result = new Result(
+                plugin.getName(),
+                worker,
+                MetricsUtils.outcome(!plugin.hasErrors()),
+                plugin.getRepositoryName(),
+                plugin.isLocal() ? plugin.getLocalRepository().toAbsolutePath().toString() : null,
+                plugin.hasErrors()
+                        ? plugin.getErrors().stream()
+                                .map(PluginProcessingException::getMessage)
+                                .toList()
+                        : List.of(),
+                plugin.getModifiedFiles(),
+                plugin.getPhaseTimings(),
+                plugin.getBuildUsages());
+        try {
+            Path tmp = Files.createTempFile(root, item.entry(), ".tmp");
+            JsonUtils.toJsonFile(result, tmp);
+            FileLocks.moveAtomically(tmp, root.resolve(DONE).resolve(item.entry() + RESULT_EXTENSION));
+            Files.deleteIfExists(root.resolve(CLAIMED).resolve(item.entry()));
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to complete " + item.entry() + " in queue " + root, e);
+        }
+    }
+
+    /**
+     * Move the claims of dead hosts back to the pending plugins
+     * @return The number of plugins moved back
+     */
+    int requeueStale() {
+        int requeued = 0;
+        Instant limit = Instant.now().minus(STALE);
+        for (String entry : list(CLAIMED)) {
+            Path claim = root.resolve(CLAIMED).resolve(entry);
+            try {
+                if (Files.getLastModifiedTime(claim).toInstant().isBefore(limit)) {
+                    Files.move(claim, root.resolve(PENDING).resolve(entry), StandardCopyOption.ATOMIC_MOVE);
+                    LOG.warn("Claim {} of queue {} is stale. Queuing it again", entry, root);
+                    requeued++;
+                }
+            } catch (NoSuchFileException e) {
+                // Completed or requeued by another host
+            } catch (IOException e) {
+                LOG.warn("Unable to requeue stale claim {}: {}", claim, e.getMessage());
+            }
+        }
+        return requeued;
+    }
+
+    /**
+     * Return if all plugins were submitted and processed.
+     * A queue already drained when this host opened it is of a previous submission, and is only drained again
+     * once a new submission is processed
+     * @return True if there is nothing left to process
+     */
+    boolean isDrained() {
+        if (!list(PENDING).isEmpty() || !list(CLAIMED).isEmpty()) {
+            joined = true;
+            return false;
+        }
+        String submission = getSubmission();
+        return submission != null && (joined || !submission.equals(openedSubmission));
+    }
+
+    /**
+     * Return the outcomes of the processed plugins as plugins and merge their metadata into a cache
+     * @param cacheManager The cache to merge the metadata into
+     * @return The processed plugins in submission order
+     */
+    List<Plugin> collect(CacheManager cacheManager) {
+        List<Plugin> plugins = new ArrayList<>();
+        for (String entry : list(DONE)) {
+            Result result = JsonUtils.fromJson(root.resolve(DONE).resolve(entry), Result.class);
+            Path name = Path.of(result.plugin());
+            Plugin plugin = result.location() != null
+                    ? Plugin.build(result.plugin(), Path.of(result.location()))
+                    : Plugin.build(result.plugin());
+            if (result.repository() != null) {
+                plugin.withRepositoryName(result.repository());
+            }
+            // Attached to the plugin so its outcome is reported like the ones processed by this host
+            PluginMetadata metadata = results.get(name, CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+            if (metadata != null) {
+                plugin.setMetadata(metadata.copy(cacheManager, name, CacheManager.PLUGIN_METADATA_CACHE_KEY));
+            }
+            ModernizationMetadata modernizationMetadata =
+                    results.get(name, CacheManager.MODERNIZATION_METADATA_CACHE_KEY, ModernizationMetadata.class);
+            if (modernizationMetadata != null) {
+                plugin.setModernizationMetadata(modernizationMetadata.copy(
+                        cacheManager, name, CacheManager.MODERNIZATION_METADATA_CACHE_KEY));
+            }
+            if (result.modifiedFiles() != null) {
+                plugin.addModifiedFiles(result.modifiedFiles());
+            }
+            result.errors().forEach(plugin::addError);
+            result.phaseTimings().forEach(plugin::addPhaseTiming);
+            result.buildUsages().forEach(plugin::addBuildUsage);
+            plugins.add(plugin);
+        }
+        return plugins;
+    }
+
+    /**
+     * Move the outcomes of the previous run of the queue to {@code previous}, so they are neither reported nor
+     * merged as outcomes of this run
+     * @param queuedRun The identity of the previous run
+     * @throws IOException If the outcomes cannot be moved
+     */
+    private void archive(String queuedRun) throws IOException {
+        if (!list(PENDING).isEmpty() || !list(CLAIMED).isEmpty()) {
+            throw new ModernizerException("Queue " + root + " is still processing run " + queuedRun
+                    + ". Wait for it to finish or use another queue for run " + run);
+        }
+        Path archive = root.resolve(PREVIOUS).resolve(String.valueOf(System.currentTimeMillis()));
+        Files.createDirectories(archive);
+        for (String directory : List.of(DONE, RESULTS, RUN)) {
+            Files.move(root.resolve(directory), archive.resolve(directory));
+        }
+        for (String directory : List.of(DONE, RESULTS)) {
+            Files.createDirectories(root.resolve(directory));
+        }
+        LOG.info("Moved the outcomes of run {} of queue {} to {}", queuedRun, root, archive);
+    }
+
+    /**
+     * Refuse to process the plugins of another run
+     */
+    private void checkRun() {
+        String queuedRun = getRun();
+        if (queuedRun != null && !queuedRun.equals(run)) {
+            throw new ModernizerException(
+                    "Queue " + root + " is processing run " + queuedRun + ". This host runs " + run);
+        }
+    }
+
+    /**
+     * Return the identity of the run of the queued plugins
+     * @return The identity or null if nothing was submitted
+     */
+    private String getRun() {
+        try {
+            return Files.readString(root.resolve(RUN), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to read run of queue " + root, e);
+        }
+    }
+
+    /**
+     * Return the version of the last submission
+     * @return The version or null if nothing was submitted
+     */
+    private String getSubmission() {
+        try {
+            return Files.readString(root.resolve(SUBMITTED), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to read submission of queue " + root, e);
+        }
+    }
+
+    private List<String> list(String directory) {
+        try (Stream<Path> entries = Files.list(root.resolve(directory))) {
+            return entries.map(path -> path.getFileName().toString())
+                    .filter(entry -> !entry.endsWith(".tmp"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to list queue " + root.resolve(directory), e);
+        }
+    }
+
+    private static String plugin(String entry) {
+        return entry.substring(entry.indexOf('-') + 1);
+    }
+}
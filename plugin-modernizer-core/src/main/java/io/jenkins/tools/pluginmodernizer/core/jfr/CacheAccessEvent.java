@@ -0,0 +1,64 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a read or a write of a cache entry
+ */
+@Name(CacheAccessEvent.NAME)
+@Label("Cache Access")
+@Category({RunRecording.CATEGORY, "Cache"})
+@Description("Read or write of an entry of the local cache")
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+
+    public static final String NAME = "io.jenkins.tools.pluginmodernizer.CacheAccess";
+
+    public static final String READ = "read";
+    public static final String WRITE = "write";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Key")
+    private String key;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Result")
+    @Description("hit, miss or expired for reads, written for writes")
+    private String result;
+
+    /**
+     * Start timing an access
+     * @param operation The operation, read or write
+     * @param key The key of the entry
+     * @param path The file of the entry
+     * @return The event
+     */
+    public static CacheAccessEvent begin(String operation, String key, String path) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.begin();
+        event.operation = operation;
+        event.key = key;
+        event.path = path;
+        return event;
+    }
+
+    /**
+     * End the access and commit the event
+     * @param result The result of the access
+     */
+    public void end(String result) {
+        if (shouldCommit()) {
+            this.result = result;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a GitHub API or git operation
+ */
+@Name(GitHubOperationEvent.NAME)
+@Label("GitHub Operation")
+@Category({RunRecording.CATEGORY, "GitHub"})
+@Description("GitHub REST API call or git operation on a plugin repository")
+@StackTrace(false)
+public class GitHubOperationEvent extends Event {
+
+    public static final String NAME = "io.jenkins.tools.pluginmodernizer.GitHubOperation";
+
+    @Label("Plugin")
+    private String plugin;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Type")
+    @Description("rest or git")
+    private String type;
+
+    @Label("Success")
+    private boolean success;
+
+    /**
+     * Start timing an operation
+     * @param plugin The plugin name or null if the operation is not related to a plugin
+     * @param operation The operation name
+     * @param type The type of operation
+     * @return The event
+     */
+    public static GitHubOperationEvent begin(String plugin, String operation, String type) {
+        GitHubOperationEvent event = new GitHubOperationEvent();
+        event.begin();
+        event.plugin = plugin;
+        event.operation = operation;
+        event.type = type;
+        return event;
+    }
+
+    /**
+     * End the operation and commit the event
+     * @param success If the operation succeeded
+     */
+    public void end(boolean success) {
+        if (shouldCommit()) {
+            this.success = success;
+            commit();
+        }
+    }
+}
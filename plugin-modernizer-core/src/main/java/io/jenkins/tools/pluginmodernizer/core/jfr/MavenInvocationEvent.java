@@ -0,0 +1,83 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a Maven invocation on a plugin. Its duration is the one of the Maven process.
+ */
+@Name(MavenInvocationEvent.NAME)
+@Label("Maven Invocation")
+@Category({RunRecording.CATEGORY, "Maven"})
+@Description("Maven goals invoked on a plugin")
+@StackTrace(false)
+public class MavenInvocationEvent extends Event {
+
+    public static final String NAME = "io.jenkins.tools.pluginmodernizer.MavenInvocation";
+
+    @Label("Plugin")
+    private String plugin;
+
+    @Label("Goal")
+    private String goal;
+
+    @Label("Arguments")
+    private String arguments;
+
+    @Label("JDK")
+    @Description("Major version of the JDK, 0 for the JDK running the tool")
+    private int jdk;
+
+    @Label("Exit Code")
+    @Description("Exit code of Maven, -1 if Maven could not be invoked")
+    private int exitCode;
+
+    @Label("CPU Time")
+    @Description("CPU time of Maven and its forked JVMs, -1 if not measured")
+    @Timespan(Timespan.MILLISECONDS)
+    private long cpuTime;
+
+    @Label("Peak RSS")
+    @Description("Peak resident set size of Maven and its forked JVMs, -1 if not measured")
+    @DataAmount
+    private long peakRss;
+
+    /**
+     * Start timing an invocation
+     * @param plugin The plugin name
+     * @param goal The goal
+     * @param arguments The goals and arguments of the invocation
+     * @param jdk The JDK major version or 0 for the default one
+     * @return The event
+     */
+    public static MavenInvocationEvent begin(String plugin, String goal, String[] arguments, int jdk) {
+        MavenInvocationEvent event = new MavenInvocationEvent();
+        event.begin();
+        event.plugin = plugin;
+        event.goal = goal;
+        event.arguments = String.join(" ", arguments);
+        event.jdk = jdk;
+        return event;
+    }
+
+    /**
+     * End the invocation and commit the event
+     * @param exitCode The exit code of Maven or -1 if it could not be invoked
+     * @param cpuTime The CPU time of the Maven process tree in milliseconds or -1 if not measured
+     * @param peakRss The peak RSS of the Maven process tree in bytes or -1 if not measured
+     */
+    public void end(int exitCode, long cpuTime, long peakRss) {
+        if (shouldCommit()) {
+            this.exitCode = exitCode;
+            this.cpuTime = cpuTime;
+            this.peakRss = peakRss;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Flight Recorder recording of a modernization run.
+ * Uses the low overhead default JDK configuration with the events of the tool enabled regardless of their duration.
+ */
+public class RunRecording implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RunRecording.class);
+
+    /**
+     * Category of the events of the tool
+     */
+    public static final String CATEGORY = "Plugin Modernizer";
+
+    /**
+     * Name of the recording file, written next to the modernizer logs
+     */
+    public static final String FILE = "modernizer.jfr";
+
+    private static final List<String> EVENTS =
+            List.of(MavenInvocationEvent.NAME, GitHubOperationEvent.NAME, CacheAccessEvent.NAME);
+
+    private final Recording recording;
+    private final Path destination;
+
+    private RunRecording(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    /**
+     * Start recording
+     * @param destination The file where the recording is written when closed
+     * @return The recording
+     */
+    public static RunRecording start(Path destination) {
+        try {
+            Files.createDirectories(destination.toAbsolutePath().getParent());
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("plugin-modernizer");
+            recording.setToDisk(true);
+            recording.setDestination(destination);
+            for (String event : EVENTS) {
+                recording.enable(event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            LOG.debug("Flight recording started to {}", destination);
+            return new RunRecording(recording, destination);
+        } catch (IOException | ParseException e) {
+            throw new ModernizerException("Unable to start flight recording to " + destination, e);
+        }
+    }
+
+    /**
+     * Return the file of the recording
+     * @return The file
+     */
+    public Path getDestination() {
+        return destination;
+    }
+
+    /**
+     * Stop the recording and write it to its destination
+     */
+    @Override
+    public void close() {
+        recording.stop();
+        recording.close();
+        LOG.info("Flight recording written to {}", destination);
+    }
+}
@@ -0,0 +1,86 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.nio.file.Path;
+
+/**
+ * The last successful build of a plugin with a JDK and a set of Maven goals, with the hash of the source tree built.
+ * Cached so the same tree is not built again with the same JDK and goals, for example when a run is re-executed.
+ * Only the last tree is kept per JDK and goals, so the memos of a plugin don't grow with every modernization.
+ */
+public class BuildMemo extends CacheEntry<BuildMemo> {
+
+    /**
+     * Hash of the source tree that was built
+     */
+    private String treeHash;
+
+    /**
+     * Major version of the JDK used to build
+     */
+    private int jdk;
+
+    /**
+     * The Maven goals that succeeded
+     */
+    private String goals;
+
+    /**
+     * Duration of the build in milliseconds
+     */
+    private long durationMillis;
+
+    /**
+     * Create a new build memo
+     * @param cacheManager The cache manager
+     * @param plugin The name of the plugin
+     * @param treeHash The hash of the source tree
+     * @param jdk The major version of the JDK
+     * @param goals The Maven goals
+     */
+    public BuildMemo(CacheManager cacheManager, String plugin, String treeHash, int jdk, String goals) {
+        super(cacheManager, BuildMemo.class, getKey(jdk, goals), getPath(plugin));
+        this.treeHash = treeHash;
+        this.jdk = jdk;
+        this.goals = goals;
+    }
+
+    /**
+     * Return the path of the build memos of a plugin
+     * @param plugin The name of the plugin
+     * @return The path
+     */
+    public static Path getPath(String plugin) {
+        return Path.of(plugin, "builds");
+    }
+
+    /**
+     * Return the key of the memo of the builds with a JDK and goals
+     * @param jdk The major version of the JDK
+     * @param goals The Maven goals
+     * @return The key
+     */
+    public static String getKey(int jdk, String goals) {
+        return "jdk%d-%s.json".formatted(jdk, goals.replaceAll("[^A-Za-z0-9.-]+", "_"));
+    }
+
+    public String getTreeHash() {
+        return treeHash;
+    }
+
+    public int getJdk() {
+        return jdk;
+    }
+
+    public String getGoals() {
+        return goals;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
@@ -0,0 +1,20 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+/**
+ * Resources consumed by the Maven process tree of an invocation on a plugin.
+ * CPU time and peak RSS are sampled from {@code /proc} and are -1 when not measurable.
+ * @param goal The goal of the invocation
+ * @param wallMillis The wall-clock time in milliseconds
+ * @param cpuMillis The user and system CPU time of Maven and its forked JVMs in milliseconds
+ * @param peakRssBytes The peak resident set size of Maven and its forked JVMs in bytes
+ */
+public record BuildUsage(String goal, long wallMillis, long cpuMillis, long peakRssBytes) {
+
+    /**
+     * Return if the resources of the process tree were measured
+     * @return True if CPU time and peak RSS are known
+     */
+    public boolean isMeasured() {
+        return cpuMillis >= 0 && peakRssBytes >= 0;
+    }
+}
@@ -20,6 +20,16 @@ public abstract class CacheEntry<T extends CacheEntry<T>> {
      */
     private String path;
 
+    /**
+     * ETag of the remote resource this entry was downloaded from, if any
+     */
+    private String etag;
+
+    /**
+     * Last-Modified value of the remote resource this entry was downloaded from, if any
+     */
+    private String lastModified;
+
     /**
      * Cache manager
      */
@@ -189,6 +199,38 @@ public abstract class CacheEntry<T extends CacheEntry<T>> {
         this.path = path.toString();
     }
 
+    /**
+     * Return the ETag of the remote resource this entry was downloaded from
+     * @return The ETag or null
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Set the ETag of the remote resource this entry was downloaded from
+     * @param etag The ETag
+     */
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    /**
+     * Return the Last-Modified value of the remote resource this entry was downloaded from
+     * @return The Last-Modified value or null
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Set the Last-Modified value of the remote resource this entry was downloaded from
+     * @param lastModified The Last-Modified value
+     */
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
     /**
      * Return the absolute path of the object
      * @return The absolute path
@@ -0,0 +1,105 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+
+/**
+ * Lookup index of {@link DetachedPlugins} by package and class name.
+ * Only plugins detached before the given Jenkins version are indexed, so resolving an import is a hash probe
+ * instead of a scan of all detached plugins with version comparisons.
+ */
+public final class DetachedPluginsIndex {
+
+    /**
+     * Indexes are immutable and only depend on the Jenkins version
+     */
+    private static final Map<String, DetachedPluginsIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Index of an unknown Jenkins version, no plugin is known to be detached before it
+     */
+    private static final DetachedPluginsIndex EMPTY = new DetachedPluginsIndex(Map.of(), Map.of());
+
+    private final Map<String, Set<DetachedPlugins>> byPackage;
+    private final Map<String, Set<DetachedPlugins>> byClass;
+
+    private DetachedPluginsIndex(String jenkinsVersion) {
+        ComparableVersion version = new ComparableVersion(jenkinsVersion);
+        Map<String, Set<DetachedPlugins>> packages = new HashMap<>();
+        Map<String, Set<DetachedPlugins>> classes = new HashMap<>();
+        for (DetachedPlugins plugin : DetachedPlugins.values()) {
+            if (version.compareTo(new ComparableVersion(plugin.getLastCoreRelease())) <= 0) {
+                continue;
+            }
+            for (String packageName : plugin.getPackageName()) {
+                packages.computeIfAbsent(packageName, k -> EnumSet.noneOf(DetachedPlugins.class))
+                        .add(plugin);
+            }
+            for (String className : plugin.getClassNames()) {
+                classes.computeIfAbsent(className, k -> EnumSet.noneOf(DetachedPlugins.class))
+                        .add(plugin);
+            }
+        }
+        this.byPackage = freeze(packages);
+        this.byClass = freeze(classes);
+    }
+
+    private DetachedPluginsIndex(
+            Map<String, Set<DetachedPlugins>> byPackage, Map<String, Set<DetachedPlugins>> byClass) {
+        this.byPackage = byPackage;
+        this.byClass = byClass;
+    }
+
+    /**
+     * Return the index of plugins detached before the given Jenkins version
+     * @param jenkinsVersion The Jenkins version or null if unknown
+     * @return The index, built once per version, or an empty index if the version is unknown
+     */
+    public static DetachedPluginsIndex forJenkinsVersion(String jenkinsVersion) {
+        if (jenkinsVersion == null) {
+            return EMPTY;
+        }
+        return INDEXES.computeIfAbsent(jenkinsVersion, DetachedPluginsIndex::new);
+    }
+
+    /**
+     * Return the detached plugins providing an imported class, either by class name or by package
+     * @param importedClass The fully qualified imported class
+     * @return The detached plugins or an empty set
+     */
+    public Set<DetachedPlugins> lookup(String importedClass) {
+        Set<DetachedPlugins> plugins = byClass.get(importedClass);
+        int lastDot = importedClass.lastIndexOf('.');
+        if (lastDot < 0 || byPackage.isEmpty()) {
+            return plugins != null ? plugins : Set.of();
+        }
+        Set<DetachedPlugins> fromPackage = byPackage.get(importedClass.substring(0, lastDot));
+        if (fromPackage == null) {
+            return plugins != null ? plugins : Set.of();
+        }
+        if (plugins == null) {
+            return fromPackage;
+        }
+        Set<DetachedPlugins> union = EnumSet.copyOf(plugins);
+        union.addAll(fromPackage);
+        return union;
+    }
+
+    /**
+     * Return the number of package and class names in the index
+     * @return The number of indexed names
+     */
+    public int size() {
+        return byPackage.size() + byClass.size();
+    }
+
+    private static Map<String, Set<DetachedPlugins>> freeze(Map<String, Set<DetachedPlugins>> map) {
+        map.replaceAll((name, plugins) -> Collections.unmodifiableSet(plugins));
+        return Map.copyOf(map);
+    }
+}
@@ -1,6 +1,7 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheSnapshot;
 import java.io.Serializable;
 import java.nio.file.Path;
 import java.util.Map;
@@ -10,7 +11,15 @@ import java.util.Map;
  * We are storing only the data we are interested in (like plugins).
  * Further implementation can consider ignoring plugin with deprecation
  */
-public class HealthScoreData extends CacheEntry<HealthScoreData> {
+public class HealthScoreData extends CacheEntry<HealthScoreData> implements SnapshotEncodable {
+
+    /**
+     * Schema version of the binary snapshot
+     */
+    public static final int SNAPSHOT_VERSION = 1;
+
+    // Fields of the binary snapshot records
+    public static final int FIELD_SCORE = 0;
 
     /**
      * Plugins in the health score mapped by their name
@@ -29,6 +38,20 @@ public class HealthScoreData extends CacheEntry<HealthScoreData> {
         return plugins;
     }
 
+    @Override
+    public int getSnapshotVersion() {
+        return SNAPSHOT_VERSION;
+    }
+
+    @Override
+    public CacheSnapshot.Writer toSnapshot() {
+        CacheSnapshot.Writer writer = new CacheSnapshot.Writer(SNAPSHOT_VERSION, CacheSnapshot.FieldType.DOUBLE);
+        if (plugins != null) {
+            plugins.forEach((name, plugin) -> writer.add(name, plugin != null ? plugin.value() : null));
+        }
+        return writer;
+    }
+
     /**
      * A health score plugin record with what we need
      */
@@ -1,6 +1,7 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkDiscovery;
 import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -125,14 +126,29 @@ public enum JDK {
     }
 
     /**
-     * Get the JDK home for this enum
+     * Get the JDK home for this enum. The pinned SDKMAN JDK is preferred, then any installed JDK of the same major
+     * version, and only then the JDK is downloaded
+     * @param jdkDiscovery The installed JDKs
      * @param jdkFetcher The JDK fetcher use to download the JDK
      * @return The JDK home
      * @throws IOException If an error occurs
      * @throws InterruptedException If an error occurs
      */
-    public Path getHome(JdkFetcher jdkFetcher) throws IOException, InterruptedException {
-        return Files.isDirectory(getDefaultSdkMan()) ? getDefaultSdkMan() : jdkFetcher.getJdkPath(major);
+    public Path getHome(JdkDiscovery jdkDiscovery, JdkFetcher jdkFetcher) throws IOException, InterruptedException {
+        if (Files.isDirectory(getDefaultSdkMan())) {
+            return getDefaultSdkMan();
+        }
+        Path installed = jdkDiscovery.find(major);
+        return installed != null ? installed : jdkFetcher.getJdkPath(major);
+    }
+
+    /**
+     * Check if this JDK is already installed on the host and therefore never downloaded
+     * @param jdkDiscovery The installed JDKs
+     * @return True if installed
+     */
+    public boolean isInstalled(JdkDiscovery jdkDiscovery) {
+        return Files.isDirectory(getDefaultSdkMan()) || jdkDiscovery.isInstalled(major);
     }
 
     /**
@@ -0,0 +1,68 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.nio.file.Path;
+
+/**
+ * The JDK archive of the latest release of a JDK version for the current OS and architecture.
+ * Cached so JDKs can be provisioned without querying the Adoptium API on every run.
+ */
+public class JdkRelease extends CacheEntry<JdkRelease> {
+
+    /**
+     * Name of the archive
+     */
+    private String name;
+
+    /**
+     * Download URL of the archive
+     */
+    private String url;
+
+    /**
+     * Download URL of the SHA-256 checksum of the archive. Null if not published
+     */
+    private String checksumUrl;
+
+    /**
+     * Create a new release entry
+     * @param cacheManager The cache manager
+     * @param jdkVersion The version of the JDK
+     */
+    public JdkRelease(CacheManager cacheManager, int jdkVersion) {
+        super(cacheManager, JdkRelease.class, CacheManager.JDK_RELEASE_CACHE_KEY, getPath(jdkVersion));
+    }
+
+    /**
+     * Return the path of the cache entry for a JDK version
+     * @param jdkVersion The version of the JDK
+     * @return The path
+     */
+    public static Path getPath(int jdkVersion) {
+        return Path.of("jdk-releases", String.valueOf(jdkVersion));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getChecksumUrl() {
+        return checksumUrl;
+    }
+
+    public void setChecksumUrl(String checksumUrl) {
+        this.checksumUrl = checksumUrl;
+    }
+}
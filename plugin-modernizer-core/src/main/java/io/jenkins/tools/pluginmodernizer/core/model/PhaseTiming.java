@@ -0,0 +1,21 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+/**
+ * The time spent by the tool in a processing phase of a plugin.
+ * CPU time is the one of the thread processing the plugin plus the one of the Maven builds run during the phase.
+ * @param phase The phase name
+ * @param wallMillis The wall-clock time in milliseconds
+ * @param cpuMillis The CPU time in milliseconds or -1 if not measurable on the processing thread or a Maven build
+ */
+public record PhaseTiming(String phase, long wallMillis, long cpuMillis) {
+
+    /**
+     * Add the time of another run of the same phase
+     * @param other The other timing
+     * @return The sum of both timings
+     */
+    public PhaseTiming plus(PhaseTiming other) {
+        long cpu = cpuMillis < 0 || other.cpuMillis < 0 ? -1 : cpuMillis + other.cpuMillis;
+        return new PhaseTiming(phase, wallMillis + other.wallMillis, cpu);
+    }
+}
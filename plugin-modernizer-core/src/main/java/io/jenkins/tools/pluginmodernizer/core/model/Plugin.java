@@ -21,17 +21,18 @@ import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathFactory;
 import org.kohsuke.github.GHRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -103,6 +104,11 @@ public class Plugin {
      */
     private String jenkinsVersion;
 
+    /**
+     * Number of deprecated API usages before modernization
+     */
+    private Integer deprecatedApiUsagesBefore;
+
     /**
      * Flag to indicate if the plugin has any commits to be pushed
      */
@@ -150,6 +156,16 @@ public class Plugin {
      */
     private final Set<String> tags = new HashSet<>();
 
+    /**
+     * Time spent in each processing phase, in processing order
+     */
+    private final Map<String, PhaseTiming> phaseTimings = new LinkedHashMap<>();
+
+    /**
+     * Resources consumed by each Maven invocation
+     */
+    private final List<BuildUsage> buildUsages = new LinkedList<>();
+
     private Plugin() {}
 
     /**
@@ -504,6 +520,38 @@ public class Plugin {
         errors.clear();
     }
 
+    /**
+     * Record the time spent in a processing phase. The time of a phase run several times is summed
+     * @param timing The timing of the phase
+     */
+    public void addPhaseTiming(PhaseTiming timing) {
+        phaseTimings.merge(timing.phase(), timing, PhaseTiming::plus);
+    }
+
+    /**
+     * Get the time spent in each processing phase
+     * @return The timings in processing order
+     */
+    public List<PhaseTiming> getPhaseTimings() {
+        return List.copyOf(phaseTimings.values());
+    }
+
+    /**
+     * Record the resources consumed by a Maven invocation
+     * @param usage The resources of the invocation
+     */
+    public void addBuildUsage(BuildUsage usage) {
+        buildUsages.add(usage);
+    }
+
+    /**
+     * Get the resources consumed by the Maven invocations
+     * @return The resources of each invocation, in invocation order
+     */
+    public List<BuildUsage> getBuildUsages() {
+        return Collections.unmodifiableList(buildUsages);
+    }
+
     /**
      * Add a tag to the plugin
      * @param tag Tag to add
@@ -765,9 +813,6 @@ public class Plugin {
      */
     public void collectMetadata(MavenInvoker maven) {
 
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xpath = xPathFactory.newXPath();
-
         // Static parse of the pom file and check for pattern preventing minimal build
         Path pom = getLocalRepository().resolve("pom.xml");
         if (!getLocalRepository().resolve("target").toFile().mkdir()) {
@@ -778,9 +823,7 @@ public class Plugin {
         // Collect precondition errors
         PluginMetadata pluginMetadata = new PluginMetadata();
         pluginMetadata.setCacheManager(buildPluginTargetDirectoryCacheManager());
-        pluginMetadata.setErrors(Arrays.stream(PreconditionError.values())
-                .filter(error -> error.isApplicable(document, xpath))
-                .collect(Collectors.toSet()));
+        pluginMetadata.setErrors(PreconditionError.evaluate(document));
 
         if (!pluginMetadata.getErrors().isEmpty()) {
             LOG.debug("Precondition errors found for plugin {}", name);
@@ -1068,6 +1111,28 @@ public class Plugin {
         setMetadata(cacheManager.get(Path.of(getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class));
     }
 
+    /**
+     * Return the JDKs needed to build this plugin according to the metadata cached by a previous run.
+     * That is the JDK used to compile it and the JDK used to verify it.
+     * @param cacheManager The cache manager
+     * @return The JDKs or an empty set if no metadata with JDKs was cached
+     */
+    public Set<JDK> getCachedBuildJdks(CacheManager cacheManager) {
+        PluginMetadata cached = cacheManager.getIgnoringExpiration(
+                Path.of(getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+        if (cached == null || cached.getJdks() == null || cached.getJdks().isEmpty()) {
+            return Set.of();
+        }
+        String jenkinsVersion = cached.getJenkinsVersion();
+        JDK jdk = JDK.min(cached.getJdks(), jenkinsVersion);
+        Set<JDK> jdks = EnumSet.of(jdk);
+        while (JDK.hasNext(jdk) && !jdk.supported(jenkinsVersion)) {
+            jdk = jdk.next();
+        }
+        jdks.add(jdk);
+        return jdks;
+    }
+
     /**
      * Get the modernization metadata of the plugin
      * @return Modernization metadata
@@ -1179,6 +1244,22 @@ public class Plugin {
         this.jenkinsVersion = jenkinsVersion;
     }
 
+    /**
+     * Get the number of deprecated API usages before modernization
+     * @return the number of usages or null if unknown
+     */
+    public Integer getDeprecatedApiUsagesBefore() {
+        return deprecatedApiUsagesBefore;
+    }
+
+    /**
+     * Set the number of deprecated API usages before modernization
+     * @param deprecatedApiUsagesBefore the number of usages
+     */
+    public void setDeprecatedApiUsagesBefore(Integer deprecatedApiUsagesBefore) {
+        this.deprecatedApiUsagesBefore = deprecatedApiUsagesBefore;
+    }
+
     /**
      * Add a modified file to the plugin
      * @param files The files to add
@@ -1,15 +1,26 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheSnapshot;
+import io.jenkins.tools.pluginmodernizer.core.utils.StringIntMap;
 import java.nio.file.Path;
 import java.util.Map;
 
-public class PluginInstallationStatsData extends CacheEntry<PluginInstallationStatsData> {
+public class PluginInstallationStatsData extends CacheEntry<PluginInstallationStatsData>
+        implements SnapshotEncodable {
+
+    /**
+     * Schema version of the binary snapshot
+     */
+    public static final int SNAPSHOT_VERSION = 1;
+
+    // Fields of the binary snapshot records
+    public static final int FIELD_INSTALLATIONS = 0;
 
     /**
      * Plugins in the installation stats mapped by their name
      */
-    private Map<String, Integer> plugins;
+    private StringIntMap plugins;
 
     public PluginInstallationStatsData(CacheManager cacheManager) {
         super(cacheManager, PluginInstallationStatsData.class, CacheManager.INSTALLATION_STATS_KEY, Path.of("."));
@@ -20,6 +31,25 @@ public class PluginInstallationStatsData extends CacheEntry<PluginInstallationSt
     }
 
     public void setPlugins(Map<String, Integer> plugins) {
-        this.plugins = plugins;
+        if (plugins == null || plugins instanceof StringIntMap) {
+            this.plugins = (StringIntMap) plugins;
+            return;
+        }
+        this.plugins = new StringIntMap(plugins.size());
+        this.plugins.putAll(plugins);
+    }
+
+    @Override
+    public int getSnapshotVersion() {
+        return SNAPSHOT_VERSION;
+    }
+
+    @Override
+    public CacheSnapshot.Writer toSnapshot() {
+        CacheSnapshot.Writer writer = new CacheSnapshot.Writer(SNAPSHOT_VERSION, CacheSnapshot.FieldType.INT);
+        if (plugins != null) {
+            plugins.forEachInt((name, installations) -> writer.add(name, installations));
+        }
+        return writer;
     }
 }
@@ -3,13 +3,22 @@ package io.jenkins.tools.pluginmodernizer.core.model;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.function.BiFunction;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 /**
@@ -24,7 +33,8 @@ public enum PreconditionError {
      * No pom file found
      */
     NO_POM(
-            (document, xpath) -> document == null,
+            null,
+            values -> false, // Only applicable when the document itself is missing
             plugin -> false, // No remediation function available if pom is missing
             "No pom file found"),
 
@@ -32,27 +42,8 @@ public enum PreconditionError {
      * If the plugin is using an older java level bellow 8
      */
     OLDER_JAVA_LEVEL(
-            (document, xpath) -> {
-                if (document == null) {
-                    return false;
-                }
-                try {
-                    String javaLevel = (String) xpath.evaluate(
-                            "//*[local-name()='project']/*[local-name()='properties']/*[local-name()='java.level']",
-                            document,
-                            XPathConstants.STRING);
-                    if (javaLevel == null) {
-                        return false;
-                    }
-                    // Change to 8
-                    if (javaLevel.equals("5") || javaLevel.equals("6") || javaLevel.equals("7")) {
-                        return true;
-                    }
-                    return false;
-                } catch (Exception e) {
-                    return false;
-                }
-            },
+            "properties/java.level",
+            values -> !values.isEmpty() && Set.of("5", "6", "7").contains(values.get(0)),
             plugin -> {
                 try {
                     String content =
@@ -75,20 +66,8 @@ public enum PreconditionError {
      * Parent with 1.x doesn't work because of unfixed versionRange
      */
     PARENT_POM_1X(
-            (document, xpath) -> {
-                if (document == null) {
-                    return false;
-                }
-                try {
-                    Double parentVersion = (Double) xpath.evaluate(
-                            "count(//*[local-name()='project']/*[local-name()='parent']/*[local-name()='version' and starts-with(., '1.')])",
-                            document,
-                            XPathConstants.NUMBER);
-                    return parentVersion != null && !parentVersion.equals(0.0);
-                } catch (Exception e) {
-                    return false;
-                }
-            },
+            "parent/version",
+            values -> values.stream().anyMatch(version -> version.startsWith("1.")),
             plugin -> {
                 try {
                     String content =
@@ -117,28 +96,10 @@ public enum PreconditionError {
      * If the plugin has HTTP repositories preventing modernization
      */
     MAVEN_REPOSITORIES_HTTP(
-            (document, xpath) -> {
-                if (document == null) {
-                    return false;
-                }
-                try {
-                    NodeList repositoryUrls = (NodeList) xpath.evaluate(
-                            "//*[local-name()='project']/*[local-name()='repositories']/*[local-name()='repository']/*[local-name()='url']",
-                            document,
-                            XPathConstants.NODESET);
-
-                    int nonHttpsCount = 0;
-                    for (int i = 0; i < repositoryUrls.getLength(); i++) {
-                        String url = repositoryUrls.item(i).getTextContent().trim();
-                        if (!url.startsWith("https") && !url.startsWith("${") && !url.startsWith("file://")) {
-                            nonHttpsCount++;
-                        }
-                    }
-                    return nonHttpsCount > 0;
-                } catch (Exception e) {
-                    return false;
-                }
-            },
+            "repositories/repository/url",
+            values -> values.stream()
+                    .map(String::trim)
+                    .anyMatch(url -> !url.startsWith("https") && !url.startsWith("${") && !url.startsWith("file://")),
             plugin -> {
                 try {
                     String content =
@@ -156,10 +117,23 @@ public enum PreconditionError {
             },
             "Found non-https repository URL in pom file preventing maven older than 3.8.1");
 
+    private static final Logger LOG = LoggerFactory.getLogger(PreconditionError.class);
+
+    /**
+     * Root element of a pom file
+     */
+    private static final String PROJECT_ELEMENT = "project";
+
+    /**
+     * Path of the evaluated elements relative to the project element (for example "parent/version").
+     * Null when the rule does not depend on the document content
+     */
+    private final String path;
+
     /**
-     * Predicate to check if the flag is applicable for the given Document and XPath
+     * Predicate to check if the flag is applicable for the text values found at the path
      */
-    private final BiFunction<Document, XPath, Boolean> isApplicable;
+    private final Predicate<List<String>> isApplicable;
 
     /**
      * Remediation function to fix the error transforming plugin before OpenRewrite
@@ -175,24 +149,72 @@ public enum PreconditionError {
     /**
      * Constructor
      *
-     * @param isApplicable Predicate to check if the flag is applicable for the given XML document
+     * @param path Path of the evaluated elements relative to the project element
+     * @param isApplicable Predicate to check if the flag is applicable for the values found at the path
+     * @param remediation Remediation function
+     * @param error Error message
      */
     PreconditionError(
-            BiFunction<Document, XPath, Boolean> isApplicable, Function<Plugin, Boolean> remediation, String error) {
+            String path, Predicate<List<String>> isApplicable, Function<Plugin, Boolean> remediation, String error) {
+        this.path = path;
         this.isApplicable = isApplicable;
         this.remediation = remediation;
         this.error = error;
     }
 
     /**
-     * Check if the flag is applicable for the given Document and XPath
+     * Check if the flag is applicable for the given Document
      *
-     * @param Document the XML document
-     * @param xpath    the XPath object
+     * @param document the XML document
      * @return true if the flag is applicable, false otherwise
      */
-    public boolean isApplicable(Document Document, XPath xpath) {
-        return isApplicable.apply(Document, xpath);
+    public boolean isApplicable(Document document) {
+        return evaluate(document).contains(this);
+    }
+
+    /**
+     * Evaluate all precondition errors in a single pass over the given document.
+     * All rule paths are merged into a tree built once, so the document is only walked once
+     * regardless of the number of rules.
+     *
+     * @param document the XML document. Can be null if no pom was found
+     * @return the set of applicable precondition errors
+     */
+    public static Set<PreconditionError> evaluate(Document document) {
+        if (document == null) {
+            return EnumSet.of(NO_POM);
+        }
+        long start = System.nanoTime();
+        Map<PreconditionError, List<String>> values = new EnumMap<>(PreconditionError.class);
+        Element root = document.getDocumentElement();
+        if (root != null && PROJECT_ELEMENT.equals(localName(root))) {
+            PathIndex.ROOT.collect(root, values);
+        }
+        LOG.debug("Precondition document traversal took {} us", (System.nanoTime() - start) / 1000);
+
+        Set<PreconditionError> errors = EnumSet.noneOf(PreconditionError.class);
+        for (PreconditionError error : values()) {
+            if (error.path == null) {
+                continue;
+            }
+            long ruleStart = System.nanoTime();
+            boolean applicable;
+            try {
+                applicable = error.isApplicable.test(values.getOrDefault(error, List.of()));
+            } catch (Exception e) {
+                LOG.debug("Failed to evaluate precondition {}: {}", error, e.getMessage());
+                applicable = false;
+            }
+            LOG.debug(
+                    "Precondition {} evaluated in {} us (applicable: {})",
+                    error,
+                    (System.nanoTime() - ruleStart) / 1000,
+                    applicable);
+            if (applicable) {
+                errors.add(error);
+            }
+        }
+        return errors;
     }
 
     /**
@@ -212,4 +234,63 @@ public enum PreconditionError {
     public String getError() {
         return error;
     }
+
+    /**
+     * Return the local name of a node, falling back to the node name for non namespace aware documents
+     * @param node the node
+     * @return the local name
+     */
+    private static String localName(Node node) {
+        return node.getLocalName() != null ? node.getLocalName() : node.getNodeName();
+    }
+
+    /**
+     * Tree of element names built once from the path of every rule.
+     * Walking a document only descends into elements that are part of at least one rule path.
+     */
+    private static final class PathIndex {
+
+        private static final PathIndex ROOT = build();
+
+        private final Map<String, PathIndex> children = new HashMap<>();
+        private final List<PreconditionError> rules = new ArrayList<>();
+
+        private static PathIndex build() {
+            PathIndex root = new PathIndex();
+            for (PreconditionError error : PreconditionError.values()) {
+                if (error.path == null) {
+                    continue;
+                }
+                PathIndex current = root;
+                for (String segment : error.path.split("/")) {
+                    current = current.children.computeIfAbsent(segment, k -> new PathIndex());
+                }
+                current.rules.add(error);
+            }
+            return root;
+        }
+
+        private void collect(Element element, Map<PreconditionError, List<String>> values) {
+            NodeList nodes = element.getChildNodes();
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Node node = nodes.item(i);
+                if (node.getNodeType() != Node.ELEMENT_NODE) {
+                    continue;
+                }
+                PathIndex child = children.get(localName(node));
+                if (child == null) {
+                    continue;
+                }
+                if (!child.rules.isEmpty()) {
+                    String text = node.getTextContent();
+                    for (PreconditionError rule : child.rules) {
+                        values.computeIfAbsent(rule, k -> new ArrayList<>()).add(text);
+                    }
+                }
+                if (!child.children.isEmpty()) {
+                    child.collect((Element) node, values);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import java.nio.file.Path;
+
+/**
+ * The wall-clock time the processing of a plugin took in previous runs, used to predict the cost of the next one.
+ * Each run is averaged with the previous ones, weighting recent runs more, so a plugin whose build got faster or
+ * slower converges to its new cost within a few runs.
+ */
+public class ProcessingCost extends CacheEntry<ProcessingCost> {
+
+    /**
+     * Key of the processing cost of a plugin
+     */
+    public static final String CACHE_KEY = "processing-cost.json";
+
+    /**
+     * Weight of the last run in the average
+     */
+    private static final double LAST_RUN_WEIGHT = 0.5;
+
+    /**
+     * Average wall-clock time of the processing in milliseconds
+     */
+    private long wallMillis;
+
+    /**
+     * Number of runs averaged
+     */
+    private int runs;
+
+    /**
+     * Create a new processing cost
+     * @param cacheManager The cache manager
+     * @param plugin The name of the plugin
+     */
+    public ProcessingCost(CacheManager cacheManager, String plugin) {
+        super(cacheManager, ProcessingCost.class, CACHE_KEY, Path.of(plugin));
+    }
+
+    /**
+     * Average the wall-clock time of a run with the previous ones
+     * @param wallMillis The wall-clock time of the run in milliseconds
+     */
+    public void record(long wallMillis) {
+        this.wallMillis = runs == 0
+                ? wallMillis
+                : Math.round(LAST_RUN_WEIGHT * wallMillis + (1 - LAST_RUN_WEIGHT) * this.wallMillis);
+        this.runs++;
+    }
+
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheSnapshot;
+
+/**
+ * A large cache entry that can also be stored as a memory mapped binary snapshot.
+ * The {@link io.jenkins.tools.pluginmodernizer.core.impl.CacheManager} writes the snapshot next to the JSON file
+ * each time the entry is put in the cache.
+ */
+public interface SnapshotEncodable {
+
+    /**
+     * Return the schema version of the snapshot. Must be increased each time the fields of the snapshot change
+     * @return The schema version
+     */
+    int getSnapshotVersion();
+
+    /**
+     * Encode the entry to a snapshot
+     * @return The snapshot writer holding the records
+     */
+    CacheSnapshot.Writer toSnapshot();
+}
@@ -1,6 +1,7 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheSnapshot;
 import java.io.Serializable;
 import java.nio.file.Path;
 import java.util.List;
@@ -11,7 +12,21 @@ import java.util.Map;
  * We are storing only the data we are interested in (like plugins).
  * Further implementation can consider ignoring plugin with deprecation
  */
-public class UpdateCenterData extends CacheEntry<UpdateCenterData> {
+public class UpdateCenterData extends CacheEntry<UpdateCenterData> implements SnapshotEncodable {
+
+    /**
+     * Schema version of the binary snapshot
+     */
+    public static final int SNAPSHOT_VERSION = 1;
+
+    // Fields of the binary snapshot records
+    public static final int FIELD_VERSION = 0;
+    public static final int FIELD_SCM = 1;
+    public static final int FIELD_DEFAULT_BRANCH = 2;
+    public static final int FIELD_GAV = 3;
+    public static final int FIELD_LABELS = 4;
+    public static final int FIELD_IN_UPDATE_CENTER = 5;
+    public static final int FIELD_DEPRECATION_URL = 6;
 
     /**
      * Plugins in the update center mapped by their name
@@ -43,6 +58,49 @@ public class UpdateCenterData extends CacheEntry<UpdateCenterData> {
         return deprecations;
     }
 
+    @Override
+    public int getSnapshotVersion() {
+        return SNAPSHOT_VERSION;
+    }
+
+    /**
+     * Encode plugins and deprecations into a single table keyed by plugin name.
+     * Deprecated plugins that are no longer in the update center are stored with only their deprecation URL.
+     * @return The snapshot writer
+     */
+    @Override
+    public CacheSnapshot.Writer toSnapshot() {
+        CacheSnapshot.Writer writer = new CacheSnapshot.Writer(
+                SNAPSHOT_VERSION,
+                CacheSnapshot.FieldType.STRING,
+                CacheSnapshot.FieldType.STRING,
+                CacheSnapshot.FieldType.STRING,
+                CacheSnapshot.FieldType.STRING,
+                CacheSnapshot.FieldType.STRING_LIST,
+                CacheSnapshot.FieldType.BOOLEAN,
+                CacheSnapshot.FieldType.STRING);
+        Map<String, UpdateCenterPlugin> plugins = this.plugins != null ? this.plugins : Map.of();
+        Map<String, DeprecatedPlugin> deprecations = this.deprecations != null ? this.deprecations : Map.of();
+        plugins.forEach((name, plugin) -> {
+            DeprecatedPlugin deprecation = deprecations.get(name);
+            writer.add(
+                    name,
+                    plugin.version(),
+                    plugin.scm(),
+                    plugin.defaultBranch(),
+                    plugin.gav(),
+                    plugin.labels(),
+                    true,
+                    deprecation != null ? deprecation.url() : null);
+        });
+        deprecations.forEach((name, deprecation) -> {
+            if (!plugins.containsKey(name)) {
+                writer.add(name, null, null, null, null, null, false, deprecation.url());
+            }
+        });
+        return writer;
+    }
+
     /**
      * An update center plugin record with what we need
      * @param name Plugin name
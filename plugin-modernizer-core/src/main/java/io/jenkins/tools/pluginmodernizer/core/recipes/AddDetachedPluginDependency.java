@@ -1,9 +1,9 @@
 package io.jenkins.tools.pluginmodernizer.core.recipes;
 
 import io.jenkins.tools.pluginmodernizer.core.model.DetachedPlugins;
+import io.jenkins.tools.pluginmodernizer.core.model.DetachedPluginsIndex;
 import java.util.HashSet;
 import java.util.Set;
-import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.ScanningRecipe;
@@ -57,23 +57,15 @@ public class AddDetachedPluginDependency extends ScanningRecipe<Set<String>> {
      */
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(Set<String> acc) {
+        DetachedPluginsIndex index = DetachedPluginsIndex.forJenkinsVersion(jenkinsVersion);
         return new JavaIsoVisitor<>() {
             @Override
             public J.Import visitImport(J.Import importStmt, ExecutionContext ctx) {
                 String importedClass = importStmt.getTypeName();
-                String importedPackage = importedClass.substring(0, importedClass.lastIndexOf('.'));
-
-                LOG.info("Detected import: {}", importedClass);
-                for (DetachedPlugins plugin : DetachedPlugins.values()) {
-                    if (plugin.getPackageName().contains(importedPackage)
-                            || plugin.getClassNames().contains(importedClass)) {
-                        // Only add if jenkins version past lastCoreRelease
-                        if (new ComparableVersion(jenkinsVersion)
-                                        .compareTo(new ComparableVersion(plugin.getLastCoreRelease()))
-                                > 0) {
-                            LOG.info("Detected usage of detached plugin: {}", plugin.getPluginId());
-                            acc.add(plugin.getPluginId());
-                        }
+                LOG.debug("Detected import: {}", importedClass);
+                for (DetachedPlugins plugin : index.lookup(importedClass)) {
+                    if (acc.add(plugin.getPluginId())) {
+                        LOG.info("Detected usage of detached plugin: {}", plugin.getPluginId());
                     }
                 }
                 return super.visitImport(importStmt, ctx);
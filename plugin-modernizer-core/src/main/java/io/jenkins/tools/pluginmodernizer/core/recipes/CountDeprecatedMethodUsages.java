@@ -1,24 +1,29 @@
 package io.jenkins.tools.pluginmodernizer.core.recipes;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import io.jenkins.tools.pluginmodernizer.core.extractor.DeprecatedApiCensus;
+import io.jenkins.tools.pluginmodernizer.core.extractor.DeprecatedApiVisitor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.search.FindDeprecatedMethods;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.marker.SearchResult;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+/**
+ * Count and mark usages of deprecated methods in a single traversal.
+ * See {@link DeprecatedApiVisitor} for the census of deprecated types and fields.
+ */
 public class CountDeprecatedMethodUsages extends Recipe {
 
-    private static final Logger LOG = LoggerFactory.getLogger(CountDeprecatedMethodUsages.class);
-
-    private final AtomicInteger totalDeprecatedCount = new AtomicInteger();
+    private final DeprecatedApiCensus census = new DeprecatedApiCensus();
 
     public int getTotalDeprecatedCount() {
-        return totalDeprecatedCount.get();
+        return census.getTotal(DeprecatedApiCensus.Kind.METHOD);
+    }
+
+    /**
+     * Return the census of deprecated API usages found by this recipe
+     * @return The census
+     */
+    public DeprecatedApiCensus getCensus() {
+        return census;
     }
 
     @Override
@@ -33,34 +38,6 @@ public class CountDeprecatedMethodUsages extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        // FindDeprecatedMethods recipe with full wildcard pattern
-        Recipe findDeprecated = new FindDeprecatedMethods("*..* *(..)", false);
-
-        return new TreeVisitor<>() {
-            @Override
-            public Tree visit(Tree tree, ExecutionContext ctx) {
-                // Apply the FindDeprecatedMethods visitor
-                Tree result = findDeprecated.getVisitor().visit(tree, ctx);
-
-                AtomicInteger perFileCount = new AtomicInteger();
-
-                new TreeVisitor<Tree, ExecutionContext>() {
-                    @Override
-                    public Tree visit(Tree innerTree, ExecutionContext innerCtx) {
-                        if (innerTree instanceof J
-                                && (innerTree)
-                                        .getMarkers()
-                                        .findFirst(SearchResult.class)
-                                        .isPresent()) {
-                            perFileCount.incrementAndGet();
-                        }
-                        return super.visit(innerTree, innerCtx);
-                    }
-                }.visit(result, ctx);
-
-                totalDeprecatedCount.addAndGet(perFileCount.get());
-                return result;
-            }
-        };
+        return new DeprecatedApiVisitor<>(census, true);
     }
 }
@@ -5,9 +5,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.ChangeMethodName;
@@ -34,6 +36,16 @@ public class MigrateAcegiSecurityToSpringSecurity extends Recipe {
      */
     private static final Logger LOG = LoggerFactory.getLogger(MigrateAcegiSecurityToSpringSecurity.class);
 
+    /**
+     * Only visit files referencing acegi or spring security, or the Jenkins APIs migrated to their 2 variant
+     */
+    private static final Set<String> PACKAGES = Set.of("org.acegisecurity", "org.springframework.security");
+
+    private static final Set<String> TYPES =
+            Set.of("jenkins.model.Jenkins", "jenkins.security.SecurityListener", "hudson.security.SecurityRealm");
+
+    private static final Set<String> METHOD_NAMES = Set.of("fireAuthenticated");
+
     @Override
     public String getDisplayName() {
         return "Migrate Acegi Security to Spring Security";
@@ -46,7 +58,7 @@ public class MigrateAcegiSecurityToSpringSecurity extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<>() {
+        return Preconditions.check(new UsesAnyReference(PACKAGES, TYPES, METHOD_NAMES), new JavaIsoVisitor<>() {
             @Override
             public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
                 // ChangePackage will take care for the most of the migration so don't need to add separate migrations
@@ -410,6 +422,6 @@ public class MigrateAcegiSecurityToSpringSecurity extends Recipe {
 
                 return cu;
             }
-        };
+        });
     }
 }
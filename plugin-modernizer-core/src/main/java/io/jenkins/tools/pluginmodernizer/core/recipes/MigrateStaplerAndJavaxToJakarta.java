@@ -3,6 +3,7 @@ package io.jenkins.tools.pluginmodernizer.core.recipes;
 import java.util.HashSet;
 import java.util.Set;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
 import org.openrewrite.ScanningRecipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.ChangeMethodName;
@@ -20,6 +21,17 @@ public class MigrateStaplerAndJavaxToJakarta extends ScanningRecipe<Set<String>>
      */
     private static final Logger LOG = LoggerFactory.getLogger(MigrateStaplerAndJavaxToJakarta.class);
 
+    /**
+     * Packages whose references require the migration
+     */
+    private static final Set<String> PACKAGES = Set.of("javax.servlet");
+
+    /**
+     * Stapler types whose references require the migration
+     */
+    private static final Set<String> TYPES = Set.of(
+            "org.kohsuke.stapler.Stapler", "org.kohsuke.stapler.StaplerRequest", "org.kohsuke.stapler.StaplerResponse");
+
     @Override
     public String getDisplayName() {
         return "Migrate Stapler types and methods and javax to jakarta";
@@ -59,8 +71,10 @@ public class MigrateStaplerAndJavaxToJakarta extends ScanningRecipe<Set<String>>
      */
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(Set<String> acc) {
-
-        return new JavaIsoVisitor<>() {
+        if (!acc.isEmpty()) {
+            return TreeVisitor.noop();
+        }
+        return Preconditions.check(new UsesAnyReference(PACKAGES, TYPES, Set.of()), new JavaIsoVisitor<>() {
 
             @Override
             public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
@@ -104,6 +118,6 @@ public class MigrateStaplerAndJavaxToJakarta extends ScanningRecipe<Set<String>>
                 }
                 return super.visitMethodInvocation(method, ctx);
             }
-        };
+        });
     }
 }
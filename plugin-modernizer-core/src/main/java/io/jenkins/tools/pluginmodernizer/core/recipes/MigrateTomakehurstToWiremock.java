@@ -2,9 +2,14 @@ package io.jenkins.tools.pluginmodernizer.core.recipes;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.marker.SearchResult;
 import org.openrewrite.maven.MavenIsoVisitor;
+import org.openrewrite.maven.tree.Dependency;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Pom;
 import org.openrewrite.xml.ChangeTagValueVisitor;
 import org.openrewrite.xml.tree.Xml;
 import org.slf4j.Logger;
@@ -22,6 +27,11 @@ public class MigrateTomakehurstToWiremock extends Recipe {
      */
     private static final Logger LOG = LoggerFactory.getLogger(MigrateTomakehurstToWiremock.class);
 
+    /**
+     * The group ID to migrate
+     */
+    private static final String TOMAKEHURST_GROUP_ID = "com.github.tomakehurst";
+
     @Override
     public String getDisplayName() {
         return "Migrate from com.github.tomakehurst to org.wiremock";
@@ -34,14 +44,13 @@ public class MigrateTomakehurstToWiremock extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new MavenIsoVisitor<>() {
+        return Preconditions.check(new UsesTomakehurst(), new MavenIsoVisitor<>() {
             @Override
             public Xml.Tag visitTag(Xml.Tag tag, ExecutionContext ctx) {
-                String wiremockVersion = Settings.getWiremockVersion();
                 if (isDependencyTag()) {
                     String groupId = tag.getChildValue("groupId").orElse("");
                     String artifactId = tag.getChildValue("artifactId").orElse("");
-                    if (groupId.equals("com.github.tomakehurst")
+                    if (groupId.equals(TOMAKEHURST_GROUP_ID)
                             && (artifactId.equals("wiremock") || artifactId.equals("wiremock-jre8-standalone"))) {
 
                         // Update groupId
@@ -62,7 +71,7 @@ public class MigrateTomakehurstToWiremock extends Recipe {
                         // Update version
                         if (tag.getChild("version").isPresent()) {
                             doAfterVisit(new ChangeTagValueVisitor<>(
-                                    tag.getChild("version").get(), wiremockVersion));
+                                    tag.getChild("version").get(), Settings.getWiremockVersion()));
                         }
                         maybeUpdateModel();
 
@@ -71,6 +80,28 @@ public class MigrateTomakehurstToWiremock extends Recipe {
                 }
                 return super.visitTag(tag, ctx);
             }
-        };
+        });
+    }
+
+    /**
+     * Precondition on the requested model of the POM, so documents without a WireMock dependency are not visited
+     */
+    private static class UsesTomakehurst extends MavenIsoVisitor<ExecutionContext> {
+        @Override
+        public Xml.Document visitDocument(Xml.Document document, ExecutionContext ctx) {
+            if (document.getMarkers().findFirst(MavenResolutionResult.class).isEmpty()) {
+                return document;
+            }
+            Pom requested = getResolutionResult().getPom().getRequested();
+            boolean found = requested.getDependencies().stream().anyMatch(UsesTomakehurst::isTomakehurst)
+                    || requested.getProfiles().stream()
+                            .flatMap(profile -> profile.getDependencies().stream())
+                            .anyMatch(UsesTomakehurst::isTomakehurst);
+            return found ? SearchResult.found(document) : document;
+        }
+
+        private static boolean isTomakehurst(Dependency dependency) {
+            return TOMAKEHURST_GROUP_ID.equals(dependency.getGroupId());
+        }
     }
 }
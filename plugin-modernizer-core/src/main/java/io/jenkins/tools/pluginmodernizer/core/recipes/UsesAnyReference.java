@@ -0,0 +1,128 @@
+package io.jenkins.tools.pluginmodernizer.core.recipes;
+
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+
+/**
+ * Precondition that marks compilation units whose imports or types in use reference one of the given packages, types
+ * or method names.
+ * The visitor does not descend into the compilation unit. It checks the imports, then the types and methods in use,
+ * which OpenRewrite collects with a single walk of the tree and caches on the compilation unit. A recipe wrapped with
+ * this precondition only runs its own visitors on files it can change.
+ */
+public class UsesAnyReference extends JavaIsoVisitor<ExecutionContext> {
+
+    /**
+     * Packages, including their sub packages
+     */
+    private final Set<String> packages;
+
+    /**
+     * Fully qualified type names
+     */
+    private final Set<String> types;
+
+    /**
+     * Simple method names, matched on methods of any type
+     */
+    private final Set<String> methodNames;
+
+    /**
+     * Constructor
+     * @param packages Packages, including their sub packages
+     * @param types Fully qualified type names
+     * @param methodNames Simple method names
+     */
+    public UsesAnyReference(Set<String> packages, Set<String> types, Set<String> methodNames) {
+        this.packages = Set.copyOf(packages);
+        this.types = Set.copyOf(types);
+        this.methodNames = Set.copyOf(methodNames);
+    }
+
+    /**
+     * Precondition on packages only
+     * @param packages Packages, including their sub packages
+     * @return The precondition
+     */
+    public static UsesAnyReference packages(String... packages) {
+        return new UsesAnyReference(Set.of(packages), Set.of(), Set.of());
+    }
+
+    /**
+     * Precondition on types only
+     * @param types Fully qualified type names
+     * @return The precondition
+     */
+    public static UsesAnyReference types(String... types) {
+        return new UsesAnyReference(Set.of(), Set.of(types), Set.of());
+    }
+
+    @Override
+    public J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile sourceFile) {
+            return references(sourceFile) ? SearchResult.found(sourceFile) : sourceFile;
+        }
+        return (J) tree;
+    }
+
+    /**
+     * Check if the source file references one of the packages, types or method names
+     * @param sourceFile The source file
+     * @return True if referenced
+     */
+    boolean references(JavaSourceFile sourceFile) {
+        for (J.Import anImport : sourceFile.getImports()) {
+            String typeName = anImport.getTypeName();
+            if (matchesType(typeName) || matchesPackage(anImport.getPackageName())) {
+                return true;
+            }
+            if (anImport.isStatic() && methodNames.contains(anImport.getQualid().getSimpleName())) {
+                return true;
+            }
+        }
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(type);
+            if (fullyQualified != null && matchesType(fullyQualified.getFullyQualifiedName())) {
+                return true;
+            }
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            if (methodNames.contains(method.getName())
+                    || matchesType(method.getDeclaringType().getFullyQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesType(String fullyQualifiedName) {
+        if (types.contains(fullyQualifiedName)) {
+            return true;
+        }
+        int lastDot = fullyQualifiedName.lastIndexOf('.');
+        return lastDot > 0 && matchesPackage(fullyQualifiedName.substring(0, lastDot));
+    }
+
+    private boolean matchesPackage(String packageName) {
+        if (packages.isEmpty()) {
+            return false;
+        }
+        String candidate = packageName;
+        while (!candidate.isEmpty()) {
+            if (packages.contains(candidate)) {
+                return true;
+            }
+            int lastDot = candidate.lastIndexOf('.');
+            candidate = lastDot > 0 ? candidate.substring(0, lastDot) : "";
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package io.jenkins.tools.pluginmodernizer.core.recipes.code;
 
+import io.jenkins.tools.pluginmodernizer.core.recipes.UsesAnyReference;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.NlsRewrite;
 import org.openrewrite.Preconditions;
@@ -16,6 +17,8 @@ import org.openrewrite.java.tree.J;
  */
 public class ReplaceRemovedSSHLauncherConstructor extends Recipe {
 
+    private static final String SSH_LAUNCHER = "hudson.plugins.sshslaves.SSHLauncher";
+
     @Override
     public @NlsRewrite.DisplayName String getDisplayName() {
         return "Replace a remove SSHLauncher constructor";
@@ -28,8 +31,10 @@ public class ReplaceRemovedSSHLauncherConstructor extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        // Only run on test files
-        return Preconditions.check(new IsLikelyTest(), new UseDataBoundConstructor());
+        // Only run on test files using SSHLauncher
+        return Preconditions.check(
+                Preconditions.and(new IsLikelyTest().getVisitor(), UsesAnyReference.types(SSH_LAUNCHER)),
+                new UseDataBoundConstructor());
     }
 
     /**
@@ -39,7 +44,7 @@ public class ReplaceRemovedSSHLauncherConstructor extends Recipe {
         // We will replace by the @DataBoundConstructor
         JavaTemplate newConstructorTemplate = JavaTemplate.builder(
                         "new SSHLauncher(#{any(java.lang.String)}, #{any(int)}, null)")
-                .imports("hudson.plugins.sshslaves.SSHLauncher")
+                .imports(SSH_LAUNCHER)
                 .javaParser(JavaParser.fromJavaVersion().classpath("ssh-slaves"))
                 .build();
 
@@ -49,10 +54,7 @@ public class ReplaceRemovedSSHLauncherConstructor extends Recipe {
             if (newClass.getConstructorType() == null) {
                 return newClass;
             }
-            if (!newClass.getConstructorType()
-                    .getDeclaringType()
-                    .getFullyQualifiedName()
-                    .equals("hudson.plugins.sshslaves.SSHLauncher")) {
+            if (!newClass.getConstructorType().getDeclaringType().getFullyQualifiedName().equals(SSH_LAUNCHER)) {
                 return newClass;
             }
             // Replace removed 6 arguments constructor with 3 arguments constructor
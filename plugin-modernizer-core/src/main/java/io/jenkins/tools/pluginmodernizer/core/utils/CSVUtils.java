@@ -1,21 +1,28 @@
 package io.jenkins.tools.pluginmodernizer.core.utils;
 
-import com.google.gson.JsonSyntaxException;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.URL;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.function.ObjIntConsumer;
 
 public class CSVUtils {
 
-    private static final Logger LOG = LoggerFactory.getLogger(CSVUtils.class);
+    /**
+     * Size of the char buffer used to read CSV streams
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Expected number of rows in stats feeds (roughly the number of plugins)
+     */
+    private static final int EXPECTED_ROWS = 4096;
 
     private CSVUtils() {
         // Hide constructor
@@ -27,23 +34,7 @@ public class CSVUtils {
      * @return The object
      */
     public static String fromUrl(URL url) {
-        try {
-            HttpClient client = HttpClient.newBuilder()
-                    .followRedirects(HttpClient.Redirect.NORMAL)
-                    .build();
-            HttpRequest request =
-                    HttpRequest.newBuilder().GET().uri(url.toURI()).build();
-            LOG.debug("Fetching data from: {}", url);
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ModernizerException(
-                        "Failed to get CSV data. Received response code: " + response.statusCode() + " from " + url);
-            }
-            LOG.debug("Fetched data from: {}", url);
-            return response.body();
-        } catch (IOException | JsonSyntaxException | URISyntaxException | InterruptedException e) {
-            throw new ModernizerException("Unable to fetch data from " + url, e);
-        }
+        return HttpUtils.fetch(url, body -> new String(body.readAllBytes(), StandardCharsets.UTF_8));
     }
 
     /**
@@ -52,16 +43,137 @@ public class CSVUtils {
      * @return The parsed stats
      */
     public static Map<String, Integer> parseStats(String data) {
-        Map<String, Integer> stats = new HashMap<>();
-        String[] lines = data.split("\n");
-        for (String line : lines) {
-            String[] columns = line.split(",");
-            if (columns.length == 2) {
-                String pluginName = columns[0].trim().replace("\"", "");
-                Integer installations = Integer.parseInt(columns[1].trim().replace("\"", ""));
-                stats.put(pluginName, installations);
-            }
+        StringIntMap stats = new StringIntMap();
+        try {
+            parseStats(new StringReader(data), stats::putInt);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to parse CSV stats", e);
         }
         return stats;
     }
+
+    /**
+     * Parse a 2 column CSV stats from a stream
+     * @param inputStream The CSV stream (UTF-8). Not closed by this method
+     * @return The parsed stats
+     * @throws IOException If the stream cannot be read
+     */
+    public static StringIntMap parseStats(InputStream inputStream) throws IOException {
+        StringIntMap stats = new StringIntMap(EXPECTED_ROWS);
+        parseStats(new InputStreamReader(inputStream, StandardCharsets.UTF_8), stats::putInt);
+        return stats;
+    }
+
+    /**
+     * Parse a 2 column CSV stats (name, count) char by char.
+     * Quotes are ignored and both columns are trimmed. Rows without exactly 2 columns are skipped.
+     * Counts are parsed in place, so the only allocation per row is the name passed to the consumer.
+     * @param reader The CSV reader. Not closed by this method
+     * @param consumer Consumer of each name and count
+     * @throws IOException If the reader cannot be read
+     */
+    public static void parseStats(Reader reader, ObjIntConsumer<String> consumer) throws IOException {
+        StatsParser parser = new StatsParser(consumer);
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                parser.accept(buffer[i]);
+            }
+        }
+        parser.endOfRow();
+    }
+
+    /**
+     * State of the stats parser for the current row
+     */
+    private static final class StatsParser {
+
+        private final ObjIntConsumer<String> consumer;
+        private char[] name = new char[64];
+        private int nameLength;
+        private int column;
+        private long value;
+        private boolean negative;
+        private boolean digits;
+        private boolean numberEnded;
+        private boolean invalid;
+        private boolean extraContent;
+        private int line = 1;
+
+        private StatsParser(ObjIntConsumer<String> consumer) {
+            this.consumer = consumer;
+        }
+
+        private void accept(char c) {
+            switch (c) {
+                case '\n' -> {
+                    endOfRow();
+                    line++;
+                }
+                case '\r', '"' -> {
+                    // Ignored
+                }
+                case ',' -> column++;
+                default -> {
+                    if (column == 0) {
+                        appendName(c);
+                    } else if (column == 1) {
+                        appendDigit(c);
+                    } else if (!Character.isWhitespace(c)) {
+                        extraContent = true;
+                    }
+                }
+            }
+        }
+
+        private void appendName(char c) {
+            if (nameLength == 0 && Character.isWhitespace(c)) {
+                return;
+            }
+            if (nameLength == name.length) {
+                name = Arrays.copyOf(name, name.length * 2);
+            }
+            name[nameLength++] = c;
+        }
+
+        private void appendDigit(char c) {
+            if (c >= '0' && c <= '9' && !numberEnded) {
+                value = value * 10 + (c - '0');
+                digits = true;
+                if (value > Integer.MAX_VALUE) {
+                    invalid = true;
+                }
+            } else if (c == '-' && !digits && !negative) {
+                negative = true;
+            } else if (Character.isWhitespace(c)) {
+                numberEnded = digits || negative;
+            } else {
+                invalid = true;
+            }
+        }
+
+        private void endOfRow() {
+            if (column == 1 || (column > 1 && !extraContent)) {
+                if (invalid || (negative && !digits)) {
+                    throw new ModernizerException("Invalid count in CSV stats at line " + line);
+                }
+                if (digits) {
+                    int length = nameLength;
+                    while (length > 0 && Character.isWhitespace(name[length - 1])) {
+                        length--;
+                    }
+                    consumer.accept(new String(name, 0, length), (int) (negative ? -value : value));
+                }
+            }
+            nameLength = 0;
+            column = 0;
+            value = 0;
+            negative = false;
+            digits = false;
+            numberEnded = false;
+            invalid = false;
+            extraContent = false;
+        }
+    }
 }
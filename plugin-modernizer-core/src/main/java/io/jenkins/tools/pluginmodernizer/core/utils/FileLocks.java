@@ -0,0 +1,97 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Locks on files of the cache shared by several modernizer processes.
+ * A {@link FileLock} is held by the whole JVM, so threads of the same process are serialized with an in-process lock
+ * before acquiring it.
+ */
+public final class FileLocks {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileLocks.class);
+
+    /**
+     * In-process locks per lock file
+     */
+    private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private FileLocks() {
+        // Hide constructor
+    }
+
+    /**
+     * Run an action while holding an exclusive lock on a file. The lock file is created if needed and kept afterward,
+     * so it must be placed out of the directories whose content is published, like git working trees.
+     * @param lockFile The lock file
+     * @param action The action to run
+     * @param <T> The type of the result
+     * @return The result of the action
+     * @throws IOException If the lock cannot be acquired or the action fails
+     * @throws InterruptedException If interrupted while waiting for the lock or running the action
+     */
+    public static <T> T withLock(Path lockFile, LockedAction<T> action) throws IOException, InterruptedException {
+        Path key = lockFile.toAbsolutePath().normalize();
+        ReentrantLock lock = LOCKS.computeIfAbsent(key, path -> new ReentrantLock());
+        lock.lockInterruptibly();
+        try {
+            Path parent = key.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(key, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock fileLock = channel.tryLock();
+                if (fileLock == null) {
+                    LOG.info("Waiting for another process holding {}", key);
+                    fileLock = channel.lock();
+                }
+                try (FileLock ignored = fileLock) {
+                    return action.run();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move a file or directory atomically, or replace the target if the file system doesn't support atomic moves
+     * @param source The file to move
+     * @param target The target file
+     * @throws IOException If the move fails
+     */
+    public static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * An action run while holding a lock
+     * @param <T> The type of the result
+     */
+    @FunctionalInterface
+    public interface LockedAction<T> {
+        /**
+         * Run the action
+         * @return The result
+         * @throws IOException If an I/O error occurs
+         * @throws InterruptedException If interrupted
+         */
+        T run() throws IOException, InterruptedException;
+    }
+}
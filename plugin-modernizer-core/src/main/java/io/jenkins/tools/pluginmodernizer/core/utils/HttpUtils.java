@@ -0,0 +1,128 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import com.google.gson.JsonParseException;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared HTTP client used to download remote datasets
+ */
+public final class HttpUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpUtils.class);
+
+    /**
+     * Single HTTP/2 client shared by all downloads so connections are reused and multiplexed
+     */
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    private HttpUtils() {
+        // Hide constructor
+    }
+
+    /**
+     * Return the shared HTTP client
+     * @return The HTTP client
+     */
+    public static HttpClient getClient() {
+        return CLIENT;
+    }
+
+    /**
+     * Download a resource and parse its body
+     * @param url The URL to download from
+     * @param parser The parser of the body
+     * @param <T> The type of the parsed body
+     * @return The parsed body
+     */
+    public static <T> T fetch(URL url, BodyParser<T> parser) {
+        return fetch(url, null, null, parser).body();
+    }
+
+    /**
+     * Download a resource only if it was modified since the given validators were received.
+     * Validators are sent as If-None-Match and If-Modified-Since headers when not null.
+     * @param url The URL to download from
+     * @param etag The ETag of the cached copy or null
+     * @param lastModified The Last-Modified value of the cached copy or null
+     * @param parser The parser of the body
+     * @param <T> The type of the parsed body
+     * @return The response, with a null body if the resource was not modified
+     */
+    public static <T> ConditionalResponse<T> fetch(URL url, String etag, String lastModified, BodyParser<T> parser) {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder().GET().uri(url.toURI());
+            if (etag != null) {
+                builder.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                builder.header("If-Modified-Since", lastModified);
+            }
+            LOG.debug("Fetching data from: {}", url);
+            HttpResponse<InputStream> response =
+                    CLIENT.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                String newEtag = response.headers().firstValue("ETag").orElse(null);
+                String newLastModified = response.headers().firstValue("Last-Modified").orElse(null);
+                if (response.statusCode() == 304) {
+                    LOG.debug("Data not modified at: {}", url);
+                    return new ConditionalResponse<>(
+                            null,
+                            true,
+                            newEtag != null ? newEtag : etag,
+                            newLastModified != null ? newLastModified : lastModified);
+                }
+                if (response.statusCode() != 200) {
+                    throw new ModernizerException(
+                            "Failed to get data. Received response code: " + response.statusCode() + " from " + url);
+                }
+                T result = parser.parse(body);
+                LOG.debug("Fetched data from: {}", url);
+                return new ConditionalResponse<>(result, false, newEtag, newLastModified);
+            }
+        } catch (IOException | JsonParseException | URISyntaxException e) {
+            throw new ModernizerException("Unable to fetch data from " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModernizerException("Unable to fetch data from " + url, e);
+        }
+    }
+
+    /**
+     * Parse the body of a response
+     * @param <T> The type of the parsed body
+     */
+    @FunctionalInterface
+    public interface BodyParser<T> {
+        /**
+         * Parse the body
+         * @param body The body stream. Closed by the caller
+         * @return The parsed body
+         * @throws IOException If the body cannot be read
+         */
+        T parse(InputStream body) throws IOException;
+    }
+
+    /**
+     * Response of a conditional download
+     * @param body The parsed body or null if not modified
+     * @param notModified True if the server answered 304 Not Modified
+     * @param etag The ETag of the resource if any
+     * @param lastModified The Last-Modified value of the resource if any
+     * @param <T> The type of the parsed body
+     */
+    public record ConditionalResponse<T>(T body, boolean notModified, String etag, String lastModified) {}
+}
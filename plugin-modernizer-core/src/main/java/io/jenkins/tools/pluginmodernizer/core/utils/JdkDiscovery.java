@@ -0,0 +1,299 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Discover the JDKs already installed on the host so they are used instead of being downloaded.
+ * JDKs are searched in SDKMAN candidates, Maven toolchains, {@code JAVA_HOME_<N>} environment variables and
+ * {@code /usr/lib/jvm}. The index is built once on first use and kept for the whole run.
+ */
+public class JdkDiscovery {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdkDiscovery.class);
+
+    /**
+     * Environment variables like JAVA_HOME_17 or JAVA_HOME_17_X64 set by CI images
+     */
+    private static final Pattern JAVA_HOME_ENV = Pattern.compile("JAVA_HOME_(\\d+)(_\\w+)?");
+
+    /**
+     * JAVA_VERSION of the release file, like 1.8.0_432 or 17.0.9
+     */
+    private static final Pattern RELEASE_VERSION = Pattern.compile("(1\\.)?(\\d+).*");
+
+    /**
+     * Default location of system JDKs on Linux
+     */
+    private static final Path SYSTEM_JVM_DIRECTORY = Path.of("/usr/lib/jvm");
+
+    /**
+     * Where a JDK was found. Declared in order of preference
+     */
+    public enum Source {
+        TOOLCHAINS,
+        ENVIRONMENT,
+        SDKMAN,
+        SYSTEM
+    }
+
+    /**
+     * An installed JDK
+     * @param major The major version
+     * @param version The full version
+     * @param home The JDK home
+     * @param source Where the JDK was found
+     */
+    public record InstalledJdk(int major, ComparableVersion version, Path home, Source source) {}
+
+    /**
+     * Order of preference of JDKs of the same major version: explicit configuration first, then latest update
+     */
+    private static final Comparator<InstalledJdk> PREFERENCE = Comparator.comparing(InstalledJdk::source)
+            .thenComparing(InstalledJdk::version, Comparator.reverseOrder());
+
+    private final Path userHome;
+    private final Map<String, String> environment;
+    private final Path systemJvmDirectory;
+
+    /**
+     * JDKs per major version ordered by preference. Null until discovered
+     */
+    private volatile Map<Integer, List<InstalledJdk>> index;
+
+    /**
+     * Discover JDKs of the current user and host
+     */
+    public JdkDiscovery() {
+        this(Path.of(System.getProperty("user.home", "")), System.getenv(), SYSTEM_JVM_DIRECTORY);
+    }
+
+    /**
+     * Discover JDKs from the given locations
+     * @param userHome The user home containing .sdkman and .m2/toolchains.xml
+     * @param environment The environment variables
+     * @param systemJvmDirectory The directory of system JDKs
+     */
+    public JdkDiscovery(Path userHome, Map<String, String> environment, Path systemJvmDirectory) {
+        this.userHome = userHome;
+        this.environment = environment;
+        this.systemJvmDirectory = systemJvmDirectory;
+    }
+
+    /**
+     * Get the preferred installed JDK home for a major version
+     * @param major The major version
+     * @return The JDK home or null if no JDK of this version is installed
+     */
+    public Path find(int major) {
+        List<InstalledJdk> jdks = getIndex().get(major);
+        return jdks == null ? null : jdks.get(0).home();
+    }
+
+    /**
+     * Check if a JDK of a major version is installed
+     * @param major The major version
+     * @return True if installed
+     */
+    public boolean isInstalled(int major) {
+        return getIndex().containsKey(major);
+    }
+
+    /**
+     * Get all installed JDKs per major version ordered by preference
+     * @return The installed JDKs
+     */
+    public Map<Integer, List<InstalledJdk>> getIndex() {
+        Map<Integer, List<InstalledJdk>> result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = discover();
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Search all sources
+     * @return The JDKs per major version
+     */
+    private Map<Integer, List<InstalledJdk>> discover() {
+        List<InstalledJdk> found = new ArrayList<>();
+        Set<Path> seen = new HashSet<>();
+        for (Path home : toolchainHomes()) {
+            add(found, seen, home, Source.TOOLCHAINS);
+        }
+        environment.entrySet().stream()
+                .filter(entry -> JAVA_HOME_ENV.matcher(entry.getKey()).matches())
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> add(found, seen, Path.of(entry.getValue()), Source.ENVIRONMENT));
+        String sdkmanDir = environment.get("SDKMAN_DIR");
+        Path sdkman = sdkmanDir != null ? Path.of(sdkmanDir) : userHome.resolve(".sdkman");
+        for (Path home : children(sdkman.resolve("candidates").resolve("java"))) {
+            add(found, seen, home, Source.SDKMAN);
+        }
+        for (Path home : children(systemJvmDirectory)) {
+            add(found, seen, home, Source.SYSTEM);
+        }
+
+        Map<Integer, List<InstalledJdk>> result = new TreeMap<>();
+        for (InstalledJdk jdk : found) {
+            result.computeIfAbsent(jdk.major(), major -> new ArrayList<>()).add(jdk);
+        }
+        result.replaceAll((major, jdks) -> jdks.stream().sorted(PREFERENCE).toList());
+        result.forEach((major, jdks) -> LOG.debug(
+                "Found {} installed JDK(s) for Java {}, using {}", jdks.size(), major, jdks.get(0).home()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Add a JDK if the home contains a JDK not already seen
+     * @param found The JDKs found
+     * @param seen The real paths of the JDKs already found
+     * @param home The candidate home
+     * @param source The source of the candidate
+     */
+    private void add(List<InstalledJdk> found, Set<Path> seen, Path home, Source source) {
+        InstalledJdk jdk = inspect(home, source);
+        if (jdk == null) {
+            return;
+        }
+        try {
+            if (seen.add(home.toRealPath())) {
+                found.add(jdk);
+            }
+        } catch (IOException e) {
+            LOG.debug("Unable to resolve JDK home {}: {}", home, e.getMessage());
+        }
+    }
+
+    /**
+     * Read the version of a JDK home from its release file. JREs are ignored since plugins must be compiled
+     * @param home The candidate home
+     * @param source The source of the candidate
+     * @return The JDK or null if the home is not a JDK
+     */
+    static InstalledJdk inspect(Path home, Source source) {
+        // Homes of macOS bundles
+        if (Files.isDirectory(home.resolve("Contents").resolve("Home"))) {
+            home = home.resolve("Contents").resolve("Home");
+        }
+        Path release = home.resolve("release");
+        if (!Files.isRegularFile(release) || !isExecutable(home, "java") || !isExecutable(home, "javac")) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(release)) {
+            properties.load(input);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.debug("Unable to read {}: {}", release, e.getMessage());
+            return null;
+        }
+        String version = properties.getProperty("JAVA_VERSION", "").replace("\"", "").trim();
+        Matcher matcher = RELEASE_VERSION.matcher(version);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int major = Integer.parseInt(matcher.group(2));
+        return new InstalledJdk(major, new ComparableVersion(version), home, source);
+    }
+
+    /**
+     * Check if the JDK contains an executable tool
+     * @param home The JDK home
+     * @param tool The tool name
+     * @return True if the tool exists
+     */
+    private static boolean isExecutable(Path home, String tool) {
+        Path bin = home.resolve("bin");
+        return Files.isRegularFile(bin.resolve(tool)) || Files.isRegularFile(bin.resolve(tool + ".exe"));
+    }
+
+    /**
+     * Read the JDK homes declared in the Maven toolchains of the user
+     * @return The JDK homes
+     */
+    @SuppressFBWarnings(value = "XXE_DOCUMENT", justification = "DTDs are disallowed")
+    private List<Path> toolchainHomes() {
+        Path toolchains = userHome.resolve(".m2").resolve("toolchains.xml");
+        if (!Files.isRegularFile(toolchains)) {
+            return List.of();
+        }
+        List<Path> homes = new ArrayList<>();
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setXIncludeAware(false);
+            factory.setExpandEntityReferences(false);
+            Document document = factory.newDocumentBuilder().parse(toolchains.toFile());
+            NodeList nodes = document.getElementsByTagName("toolchain");
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Element toolchain = (Element) nodes.item(i);
+                if (!"jdk".equals(text(toolchain, "type"))) {
+                    continue;
+                }
+                String jdkHome = text(toolchain, "jdkHome");
+                if (jdkHome != null && !jdkHome.isBlank()) {
+                    homes.add(Path.of(jdkHome.replace("${user.home}", userHome.toString())));
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Unable to read JDK toolchains from {}: {}", toolchains, e.getMessage());
+        }
+        return homes;
+    }
+
+    /**
+     * Get the trimmed text of the first descendant with the given tag
+     * @param element The element
+     * @param tag The tag
+     * @return The text or null if absent
+     */
+    private static String text(Element element, String tag) {
+        NodeList nodes = element.getElementsByTagName(tag);
+        return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent().trim();
+    }
+
+    /**
+     * List the directories of a parent directory sorted by name
+     * @param parent The parent directory
+     * @return The child directories or an empty list if the parent doesn't exist
+     */
+    private static List<Path> children(Path parent) {
+        if (!Files.isDirectory(parent)) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(parent)) {
+            return stream.filter(Files::isDirectory).sorted().toList();
+        } catch (IOException e) {
+            LOG.debug("Unable to list {}: {}", parent, e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -6,20 +6,46 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.model.JdkRelease;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
 import java.net.URI;
-import java.net.http.HttpClient;
+import java.net.URL;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
@@ -31,15 +57,123 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A utility class for fetching the latest JDK releases from the Adoptium GitHub repository.
+ * The archive resolved for each JDK version is cached for {@link Settings#JDK_RELEASE_CACHE_TTL}, so warm runs make
+ * no API call. A mirror (local directory or URL) holding the archives can be configured to work offline.
+ * Archives are extracted while they are downloaded. The downloaded bytes are kept in a partial file
+ * so an interrupted download is resumed with an HTTP range request, and the archive is verified against
+ * the SHA-256 checksum published with the release.
  */
 @SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "false, positive")
 public class JdkFetcher {
     private static final Logger LOG = LoggerFactory.getLogger(JdkFetcher.class);
 
+    /**
+     * Timer of the JDK installations, tagged by JDK and outcome
+     */
+    public static final String INSTALLATION_TIMER = "modernizer.jdk.installations";
+
+    /**
+     * Timer of the JDK provisioning done ahead of the builds
+     */
+    public static final String PROVISIONING_TIMER = "modernizer.jdk.provisioning";
+
+    /**
+     * Number of attempts to download a JDK archive, resuming from the bytes already received
+     */
+    private static final int MAX_DOWNLOAD_ATTEMPTS = 3;
+
     private final Path cacheDir;
 
+    /**
+     * Cache of the resolved releases
+     */
+    private final CacheManager cacheManager;
+
+    /**
+     * Base URL of the Adoptium GitHub API
+     */
+    private final String apiUrl;
+
+    /**
+     * Directory or URL mirroring the JDK archives, or null
+     */
+    private final URL mirror;
+
     public JdkFetcher(Path cacheDir) {
+        this(cacheDir, new CacheManager(cacheDir), null);
+    }
+
+    /**
+     * Constructor
+     * @param cacheDir The cache directory
+     * @param cacheManager The cache manager storing the resolved releases
+     * @param mirror The directory or URL mirroring the JDK archives, or null to download them from Adoptium
+     */
+    public JdkFetcher(Path cacheDir, CacheManager cacheManager, URL mirror) {
+        this(cacheDir, cacheManager, Settings.ADOPTIUM_GITHUB_API_URL, mirror);
+    }
+
+    /**
+     * Constructor
+     * @param cacheDir The cache directory
+     * @param cacheManager The cache manager storing the resolved releases
+     * @param apiUrl The base URL of the Adoptium GitHub API
+     * @param mirror The directory or URL mirroring the JDK archives, or null to download them from Adoptium
+     */
+    JdkFetcher(Path cacheDir, CacheManager cacheManager, String apiUrl, URL mirror) {
         this.cacheDir = cacheDir;
+        this.cacheManager = cacheManager;
+        this.apiUrl = apiUrl;
+        this.mirror = mirror;
+    }
+
+    /**
+     * Download the given JDK versions concurrently, ahead of the builds needing them.
+     * Failures are only logged, the JDK will be downloaded again on demand by {@link #getJdkPath(int)}.
+     *
+     * @param jdkVersions The versions of the JDKs (e.g., 8, 17).
+     */
+    public void provision(Collection<Integer> jdkVersions) {
+        List<Integer> missing = jdkVersions.stream()
+                .distinct()
+                .sorted()
+                .filter(jdkVersion -> Files.notExists(getJdkDirectoryPath(jdkVersion)))
+                .toList();
+        if (missing.isEmpty()) {
+            LOG.debug("All JDKs {} already provisioned", jdkVersions);
+            return;
+        }
+        LOG.info("Provisioning JDKs {}", missing);
+        long start = System.nanoTime();
+        Map<Integer, CompletableFuture<Path>> futures = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            missing.forEach(jdkVersion -> futures.put(
+                    jdkVersion,
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                try {
+                                    return getJdkPath(jdkVersion);
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    throw new ModernizerException(
+                                            "Interrupted while provisioning JDK " + jdkVersion, e);
+                                }
+                            },
+                            executor)));
+        }
+        futures.forEach((jdkVersion, future) -> {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                LOG.warn("Unable to provision JDK {}: {}", jdkVersion, cause.getMessage());
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+        Metrics.timer(PROVISIONING_TIMER).record(elapsed, TimeUnit.NANOSECONDS);
+        LOG.info("JDKs provisioned in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
     }
 
     /**
@@ -52,11 +186,33 @@ public class JdkFetcher {
      * @throws InterruptedException If the operation is interrupted.
      */
     public Path getJdkPath(int jdkVersion) throws IOException, InterruptedException {
-        Path jdkPath = getJdkDirectoryPath(jdkVersion);
-        if (Files.notExists(jdkPath)) {
-            downloadAndSetupJdk(jdkVersion, jdkPath);
+        Path installPath = getJdkDirectoryPath(jdkVersion);
+        // JDKs are installed atomically, an existing directory is complete
+        if (Files.notExists(installPath)) {
+            // Serialize installation with other threads and other processes sharing the cache
+            FileLocks.withLock(installPath.resolveSibling(installPath.getFileName() + ".lock"), () -> {
+                if (Files.notExists(installPath)) {
+                    Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+                    boolean success = false;
+                    try {
+                        downloadAndSetupJdk(jdkVersion, installPath);
+                        success = true;
+                    } finally {
+                        sample.stop(Metrics.timer(
+                                INSTALLATION_TIMER,
+                                "jdk",
+                                String.valueOf(jdkVersion),
+                                "outcome",
+                                MetricsUtils.outcome(success)));
+                    }
+                } else {
+                    LOG.debug("JDK {} was installed concurrently", jdkVersion);
+                }
+                return null;
+            });
         }
 
+        Path jdkPath = installPath;
         if (!Files.isDirectory(jdkPath.resolve("bin"))) {
             Path macOsHome = jdkPath.resolve("Contents").resolve("Home");
             if (Files.isDirectory(macOsHome)) {
@@ -70,8 +226,10 @@ public class JdkFetcher {
     }
 
     /**
-     * Downloads and extracts the JDK for the specified version. The method determines the appropriate extraction
-     * method based on the operating system.
+     * Downloads and extracts the JDK for the specified version. Interrupted downloads are resumed
+     * up to {@link #MAX_DOWNLOAD_ATTEMPTS} times. The JDK is extracted to a staging directory moved atomically
+     * to the extraction directory once verified, so the extraction directory never holds a partial JDK.
+     * Must be called while holding the lock of the JDK.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
      * @param extractionDir The directory where the JDK will be extracted.
@@ -79,21 +237,117 @@ public class JdkFetcher {
      * @throws InterruptedException If the operation is interrupted.
      */
     private void downloadAndSetupJdk(int jdkVersion, Path extractionDir) throws IOException, InterruptedException {
-        LOG.info("Downloading the JDK...");
-        Path downloadedFile = downloadJdk(jdkVersion);
-        LOG.info("Download successful");
+        JdkRelease archive = resolveRelease(jdkVersion);
+        String checksum = fetchChecksum(archive);
+        Path partFile = cacheDir.resolve(".jdks").resolve(archive.getName() + ".part");
+        String stagingPrefix = extractionDir.getFileName() + "-staging-";
+        deleteStagingDirectories(extractionDir.getParent(), stagingPrefix);
+        Path staging = Files.createTempDirectory(extractionDir.getParent(), stagingPrefix);
+        LOG.info("Downloading and extracting JDK {} from {}", jdkVersion, archive.getUrl());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    String actual = downloadAndExtract(archive, partFile, staging);
+                    if (checksum != null && !checksum.equalsIgnoreCase(actual)) {
+                        Files.deleteIfExists(partFile);
+                        throw new ModernizerException("Checksum mismatch for %s. Expected %s but was %s"
+                                .formatted(archive.getName(), checksum, actual));
+                    }
+                    break;
+                } catch (IOException e) {
+                    if (attempt >= MAX_DOWNLOAD_ATTEMPTS) {
+                        throw e;
+                    }
+                    LOG.warn(
+                            "Download of {} failed after {} bytes (attempt {}/{}), resuming: {}",
+                            archive.getName(),
+                            Files.exists(partFile) ? Files.size(partFile) : 0,
+                            attempt,
+                            MAX_DOWNLOAD_ATTEMPTS,
+                            e.getMessage());
+                }
+            }
+            FileLocks.moveAtomically(staging, extractionDir);
+        } finally {
+            deleteDirectory(staging);
+        }
+        Files.deleteIfExists(partFile);
+        LOG.info("Download and extraction of JDK {} successful", jdkVersion);
+    }
 
-        LOG.info("Extracting...");
-        Files.createDirectories(extractionDir);
-        String os = getOSName();
-        if (os.contains("windows")) {
-            extractZip(downloadedFile, extractionDir);
-        } else if (os.contains("linux") || os.contains("mac")) {
-            extractTarGz(downloadedFile, extractionDir);
-            LOG.info("Setting executable permissions for files in bin directory");
+    /**
+     * Download the archive and extract it while it is received. Bytes already present in the partial file
+     * are replayed and only the remaining bytes are requested from the server.
+     *
+     * @param archive The archive to download
+     * @param partFile The partial file keeping the bytes received so far
+     * @param extractionDir The directory where the JDK will be extracted.
+     * @return The SHA-256 checksum of the whole archive
+     * @throws IOException          If an I/O error occurs.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    private String downloadAndExtract(JdkRelease archive, Path partFile, Path extractionDir)
+            throws IOException, InterruptedException {
+        MessageDigest digest = newSha256();
+        URI uri = URI.create(archive.getUrl());
+        if ("file".equals(uri.getScheme())) {
+            try (InputStream in = new DigestInputStream(Files.newInputStream(Path.of(uri)), digest)) {
+                extract(archive, in, extractionDir);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        long offset = Files.exists(partFile) ? Files.size(partFile) : 0;
+        HttpRequest.Builder builder = HttpRequest.newBuilder().GET().uri(uri);
+        if (offset > 0) {
+            builder.header("Range", "bytes=" + offset + "-");
+        }
+        HttpResponse<InputStream> response =
+                HttpUtils.getClient().send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            InputStream remote = body;
+            if (response.statusCode() == 206 && offset > 0) {
+                LOG.info("Resuming download of {} from byte {}", archive.getName(), offset);
+            } else if (response.statusCode() == 416 && offset > 0) {
+                LOG.debug("Archive {} already fully downloaded", archive.getName());
+                remote = InputStream.nullInputStream();
+            } else if (response.statusCode() == 200) {
+                offset = 0;
+            } else {
+                throw new ModernizerException("Failed to download %s. Received response code: %d"
+                        .formatted(archive.getUrl(), response.statusCode()));
+            }
+            try (OutputStream part = Files.newOutputStream(
+                            partFile,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE,
+                            offset > 0 ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+                    InputStream received = offset > 0 ? Files.newInputStream(partFile) : InputStream.nullInputStream();
+                    InputStream in = new DigestInputStream(
+                            new SequenceInputStream(received, new CopyingInputStream(remote, part)), digest)) {
+                extract(archive, in, extractionDir);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    /**
+     * Extract an archive and read it to the end.
+     *
+     * @param archive The archive
+     * @param in The stream of the archive
+     * @param extractionDir The directory where the JDK will be extracted.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void extract(JdkRelease archive, InputStream in, Path extractionDir) throws IOException {
+        if (archive.getName().toLowerCase().endsWith(".zip")) {
+            extractZip(in, extractionDir);
+        } else {
+            extractTarGz(in, extractionDir);
+            LOG.debug("Setting executable permissions for files in bin directory");
             setJavaBinariesPermissions(extractionDir);
         }
-        LOG.info("Extraction successful");
+        // Trailing bytes after the last entry are still part of the checksum
+        in.transferTo(OutputStream.nullOutputStream());
     }
 
     /**
@@ -107,81 +361,109 @@ public class JdkFetcher {
     }
 
     /**
-     * Downloads the JDK for the specified version from the appropriate URL and saves it to the local directory.
+     * Resolves the archive to download for a specified JDK version and OS, from the mirror if configured
+     * or else from the cache or the Adoptium API. An expired cached release is used if the API cannot be reached.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The path to the downloaded JDK file.
-     * @throws IOException          If an I/O error occurs.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return The archive.
      */
-    @SuppressFBWarnings(value = "URLCONNECTION_SSRF_FD", justification = "false positive")
-    private Path downloadJdk(int jdkVersion) throws IOException, InterruptedException {
-        String downloadUrl = fetchLatestReleaseUrl(jdkVersion);
-        if (downloadUrl != null) {
-            Path downloadPath = cacheDir.resolve(".jdks").resolve("jdk" + jdkVersion + getExtension(downloadUrl));
-            Path parentPath = downloadPath.getParent();
-            if (parentPath != null) {
-                Files.createDirectories(parentPath);
-            }
-
-            try (InputStream in = URI.create(downloadUrl).toURL().openStream()) {
-                Files.copy(in, downloadPath, StandardCopyOption.REPLACE_EXISTING);
+    private JdkRelease resolveRelease(int jdkVersion) {
+        if (mirror != null) {
+            return getMirrorRelease(jdkVersion);
+        }
+        Path path = JdkRelease.getPath(jdkVersion);
+        JdkRelease cached = cacheManager.get(
+                path, CacheManager.JDK_RELEASE_CACHE_KEY, JdkRelease.class, Settings.JDK_RELEASE_CACHE_TTL);
+        if (isCurrentPlatform(cached, jdkVersion)) {
+            LOG.debug("Using cached release {} for JDK {}", cached.getName(), jdkVersion);
+            return cached;
+        }
+        try {
+            JdkRelease release = fetchLatestRelease(jdkVersion);
+            cacheManager.put(release);
+            return release;
+        } catch (ModernizerException e) {
+            JdkRelease expired =
+                    cacheManager.getIgnoringExpiration(path, CacheManager.JDK_RELEASE_CACHE_KEY, JdkRelease.class);
+            if (!isCurrentPlatform(expired, jdkVersion)) {
+                throw e;
             }
-            return downloadPath;
+            LOG.warn(
+                    "Unable to fetch releases of JDK {}. Using previously resolved {}: {}",
+                    jdkVersion,
+                    expired.getName(),
+                    e.getMessage());
+            return expired;
         }
-        return null;
     }
 
     /**
-     * Determines the file extension based on the URL.
+     * Check if a cached release is an archive for the current OS and architecture.
      *
-     * @param url The URL of the JDK download.
-     * @return The file extension (e.g., ".zip" or ".tar.gz").
+     * @param release The cached release or null.
+     * @param jdkVersion The version of the JDK (e.g., "8").
+     * @return True if the release can be used.
      */
-    private String getExtension(String url) {
-        return url.toLowerCase().endsWith(".zip") ? ".zip" : ".tar.gz";
+    private boolean isCurrentPlatform(JdkRelease release, int jdkVersion) {
+        return release != null
+                && release.getName() != null
+                && release.getName().toLowerCase().contains(buildJDKFileName(jdkVersion).toLowerCase());
     }
 
     /**
-     * Fetches the latest release download URL for a specified JDK version and OS.
+     * Resolves the archive of a JDK version in the mirror. The mirror holds one archive per version named
+     * {@code <file name><extension>} (e.g., {@code OpenJDK17U-jdk_x64_linux_hotspot_17.tar.gz}),
+     * with its {@code .sha256.txt} checksum next to it. The checksum is optional in a local directory.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The download URL of the latest release, or null if not found.
-     * @throws IOException          If an I/O error occurs.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return The archive.
      */
-    private String fetchLatestReleaseUrl(int jdkVersion) throws IOException, InterruptedException {
-        String latestUrl =
-                String.format("%s/temurin%s-binaries/releases", Settings.ADOPTIUM_GITHUB_API_URL, jdkVersion);
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request =
-                HttpRequest.newBuilder().uri(URI.create(latestUrl)).build();
-
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() == 200) {
-            JsonArray releases = JsonParser.parseString(response.body()).getAsJsonArray();
-            for (JsonElement releaseElement : releases) {
-                JsonObject release = releaseElement.getAsJsonObject();
-                JsonArray assets = release.getAsJsonArray("assets");
-                String url = getDownloadUrl(assets, jdkVersion);
-                if (url != null) {
-                    return url;
-                }
+    private JdkRelease getMirrorRelease(int jdkVersion) {
+        String name = buildJDKFileName(jdkVersion) + (getOSName().contains("windows") ? ".zip" : ".tar.gz");
+        URI base = URI.create(mirror.toString().endsWith("/") ? mirror.toString() : mirror + "/");
+        JdkRelease release = new JdkRelease(cacheManager, jdkVersion);
+        release.setName(name);
+        release.setUrl(base.resolve(name).toString());
+        URI checksum = base.resolve(name + ".sha256.txt");
+        if (!"file".equals(checksum.getScheme()) || Files.exists(Path.of(checksum))) {
+            release.setChecksumUrl(checksum.toString());
+        }
+        return release;
+    }
+
+    /**
+     * Fetches the latest release archive for a specified JDK version and OS.
+     *
+     * @param jdkVersion The version of the JDK (e.g., "8").
+     * @return The archive of the latest release.
+     * @throws ModernizerException If the releases cannot be fetched or no archive matches.
+     */
+    private JdkRelease fetchLatestRelease(int jdkVersion) {
+        String latestUrl = String.format("%s/temurin%s-binaries/releases", apiUrl, jdkVersion);
+        JsonArray releases = HttpUtils.fetch(
+                toUrl(latestUrl),
+                body -> JsonParser.parseReader(new InputStreamReader(body, StandardCharsets.UTF_8))
+                        .getAsJsonArray());
+        for (JsonElement releaseElement : releases) {
+            JsonObject release = releaseElement.getAsJsonObject();
+            JsonArray assets = release.getAsJsonArray("assets");
+            JdkRelease archive = getArchive(assets, jdkVersion);
+            if (archive != null) {
+                return archive;
             }
-        } else {
-            LOG.error("Failed to fetch releases. HTTP Status Code: {}", response.statusCode());
         }
-        return null;
+        throw new ModernizerException(
+                "No release found for JDK " + jdkVersion + " matching " + buildJDKFileName(jdkVersion));
     }
 
     /**
-     * Finds the download URL for the JDK based on the JDK version and operating system.
+     * Finds the archive for the JDK based on the JDK version and operating system.
      *
      * @param assets     A JSON array of assets from a GitHub release.
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The download URL if a matching asset is found, otherwise null.
+     * @return The archive if a matching asset is found, otherwise null.
      */
-    private String getDownloadUrl(JsonArray assets, int jdkVersion) {
+    private JdkRelease getArchive(JsonArray assets, int jdkVersion) {
         String jdkFileName = buildJDKFileName(jdkVersion);
         for (JsonElement element : assets) {
             JsonObject asset = element.getAsJsonObject();
@@ -189,12 +471,70 @@ public class JdkFetcher {
             if (name.toLowerCase().contains(jdkFileName.toLowerCase())
                     && (name.toLowerCase().endsWith(".zip")
                             || name.toLowerCase().endsWith(".tar.gz"))) {
+                JdkRelease release = new JdkRelease(cacheManager, jdkVersion);
+                release.setName(name);
+                release.setUrl(asset.get("browser_download_url").getAsString());
+                release.setChecksumUrl(getChecksumUrl(assets, name));
+                return release;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the download URL of the SHA-256 checksum published next to an archive.
+     *
+     * @param assets A JSON array of assets from a GitHub release.
+     * @param archiveName The name of the archive.
+     * @return The checksum URL or null if the release has no checksum for this archive.
+     */
+    private String getChecksumUrl(JsonArray assets, String archiveName) {
+        String checksumName = archiveName + ".sha256.txt";
+        for (JsonElement element : assets) {
+            JsonObject asset = element.getAsJsonObject();
+            if (checksumName.equals(asset.get("name").getAsString())) {
                 return asset.get("browser_download_url").getAsString();
             }
         }
         return null;
     }
 
+    /**
+     * Fetches the expected SHA-256 checksum of an archive.
+     *
+     * @param archive The archive.
+     * @return The checksum in hexadecimal or null if no checksum is published.
+     */
+    private String fetchChecksum(JdkRelease archive) throws IOException {
+        if (archive.getChecksumUrl() == null) {
+            LOG.warn("No checksum published for {}. The archive will not be verified", archive.getName());
+            return null;
+        }
+        // Format is "<checksum>  <file name>"
+        URI uri = URI.create(archive.getChecksumUrl());
+        String content = "file".equals(uri.getScheme())
+                ? Files.readString(Path.of(uri))
+                : HttpUtils.fetch(toUrl(archive.getChecksumUrl()), body -> new String(
+                        body.readAllBytes(), StandardCharsets.UTF_8));
+        return content.trim().split("\\s+")[0];
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new ModernizerException("Invalid URL " + url, e);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ModernizerException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Constructs the JDK file name based on the version and operating system.
      *
@@ -255,14 +595,14 @@ public class JdkFetcher {
     }
 
     /**
-     * Extracts a ZIP file to the specified directory without nested directories.
+     * Extracts a ZIP stream to the specified directory without nested directories.
      *
-     * @param zipFile     The path to the ZIP file.
+     * @param in            The ZIP stream. Left open.
      * @param extractionDir The directory to extract the files into.
      * @throws IOException If an I/O error occurs.
      */
-    private void extractZip(Path zipFile, Path extractionDir) throws IOException {
-        try (ZipInputStream zipIn = new ZipInputStream(Files.newInputStream(zipFile))) {
+    private void extractZip(InputStream in, Path extractionDir) throws IOException {
+        try (ZipInputStream zipIn = new ZipInputStream(new NonClosingInputStream(in))) {
             ZipEntry entry;
             while ((entry = zipIn.getNextEntry()) != null) {
                 if (!entry.isDirectory()) {
@@ -271,19 +611,17 @@ public class JdkFetcher {
                 zipIn.closeEntry();
             }
         }
-        Files.delete(zipFile);
     }
 
     /**
-     * Extracts a TAR.GZ file to the specified directory without nested directories.
+     * Extracts a TAR.GZ stream to the specified directory without nested directories.
      *
-     * @param tarGzFile   The path to the TAR.GZ file.
+     * @param in            The TAR.GZ stream. Left open.
      * @param extractionDir The directory to extract the files into.
      * @throws IOException If an I/O error occurs.
      */
-    private void extractTarGz(Path tarGzFile, Path extractionDir) throws IOException {
-        try (InputStream fileStream = Files.newInputStream(tarGzFile);
-                InputStream gzipStream = new GZIPInputStream(fileStream);
+    private void extractTarGz(InputStream in, Path extractionDir) throws IOException {
+        try (InputStream gzipStream = new GZIPInputStream(new NonClosingInputStream(in));
                 TarArchiveInputStream tarStream = new TarArchiveInputStream(gzipStream)) {
 
             TarArchiveEntry entry;
@@ -293,7 +631,6 @@ public class JdkFetcher {
                 }
             }
         }
-        Files.delete(tarGzFile);
     }
 
     /**
@@ -354,4 +691,91 @@ public class JdkFetcher {
             LOG.error("Failed to list files in directory {}: {}", binDir, e.getMessage());
         }
     }
+
+    /**
+     * Deletes staging directories left by an interrupted installation.
+     *
+     * @param directory The directory holding the staging directories.
+     * @param prefix The prefix of the staging directories.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void deleteStagingDirectories(Path directory, String prefix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.filter(candidate -> candidate.getFileName().toString().startsWith(prefix))
+                    .toList()) {
+                LOG.debug("Deleting stale staging directory {}", path);
+                deleteDirectory(path);
+            }
+        }
+    }
+
+    /**
+     * Deletes a directory and its content if it exists.
+     *
+     * @param directory The directory to delete.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void deleteDirectory(Path directory) throws IOException {
+        if (Files.notExists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * An input stream copying all bytes read to an output stream
+     */
+    private static final class CopyingInputStream extends FilterInputStream {
+
+        private final OutputStream copy;
+
+        private CopyingInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                copy.write(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must be copied too
+            int length = (int) Math.min(n, 8192);
+            return Math.max(0, read(new byte[length], 0, length));
+        }
+    }
+
+    /**
+     * An input stream ignoring close so archive streams can be closed before the underlying stream is drained
+     */
+    private static final class NonClosingInputStream extends FilterInputStream {
+
+        private NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // Closed by the owner of the underlying stream
+        }
+    }
 }
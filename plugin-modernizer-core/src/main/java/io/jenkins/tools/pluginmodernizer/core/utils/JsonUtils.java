@@ -8,18 +8,25 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
@@ -31,12 +38,20 @@ public class JsonUtils {
 
     private static final Gson gson;
 
+    /**
+     * Buffer size used when streaming remote feeds
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     private JsonUtils() {
         // Hide constructor
     }
 
     static {
-        gson = new Gson();
+        gson = new GsonBuilder()
+                .registerTypeAdapter(UpdateCenterData.UpdateCenterPlugin.class, new UpdateCenterPluginAdapter())
+                .registerTypeAdapter(PluginVersionData.PluginVersionPlugin.class, new PluginVersionPluginAdapter())
+                .create();
     }
 
     /**
@@ -165,13 +180,26 @@ public class JsonUtils {
      * @return The object
      */
     public static <T> T fromJson(Path path, Class<T> clazz) {
-        try {
-            return gson.fromJson(FileUtils.readFileToString(path.toFile(), StandardCharsets.UTF_8), clazz);
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            return gson.fromJson(reader, clazz);
         } catch (IOException e) {
             throw new ModernizerException("Unable to read JSON file due to IO error", e);
         }
     }
 
+    /**
+     * Convert a JSON stream to an object without buffering the whole content
+     * @param inputStream The input stream. Not closed by this method
+     * @param clazz The class of the object
+     * @param <T> The type of the object
+     * @return The object
+     */
+    public static <T> T fromJson(InputStream inputStream, Class<T> clazz) {
+        JsonReader reader = new JsonReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), STREAM_BUFFER_SIZE));
+        return gson.fromJson(reader, clazz);
+    }
+
     /**
      * Download JSON data from a URL and convert it to an object
      * @param url The URL to download from
@@ -180,23 +208,7 @@ public class JsonUtils {
      * @param <T> The type of the object
      */
     public static <T> T fromUrl(URL url, Class<T> clazz) {
-        try {
-            HttpClient client = HttpClient.newBuilder()
-                    .followRedirects(HttpClient.Redirect.NORMAL)
-                    .build();
-            HttpRequest request =
-                    HttpRequest.newBuilder().GET().uri(url.toURI()).build();
-            LOG.debug("Fetching data from: {}", url);
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ModernizerException(
-                        "Failed to get JSON data. Received response code: " + response.statusCode());
-            }
-            LOG.debug("Fetched data from: {}", url);
-            return JsonUtils.fromJson(response.body(), clazz);
-        } catch (IOException | JsonSyntaxException | URISyntaxException | InterruptedException e) {
-            throw new ModernizerException("Unable to fetch data from " + url, e);
-        }
+        return HttpUtils.fetch(url, body -> fromJson(body, clazz));
     }
 
     /**
@@ -264,4 +276,139 @@ public class JsonUtils {
         JsonElement jsonElement = JsonParser.parseString(uglyJson);
         return gson.toJson(jsonElement);
     }
+
+    /**
+     * Read a nullable string value
+     * @param in The reader
+     * @return The string or null
+     * @throws IOException If an error occurs
+     */
+    private static String nextNullableString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Streaming adapter for update center plugins.
+     * Only keep the fields we use and skip everything else (dependencies, developers, etc.) without materializing them.
+     * Repeated values like labels and default branch are interned.
+     */
+    private static final class UpdateCenterPluginAdapter extends TypeAdapter<UpdateCenterData.UpdateCenterPlugin> {
+
+        @Override
+        public void write(JsonWriter out, UpdateCenterData.UpdateCenterPlugin plugin) throws IOException {
+            if (plugin == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeIfPresent(out, "name", plugin.name());
+            writeIfPresent(out, "version", plugin.version());
+            writeIfPresent(out, "scm", plugin.scm());
+            writeIfPresent(out, "defaultBranch", plugin.defaultBranch());
+            writeIfPresent(out, "gav", plugin.gav());
+            if (plugin.labels() != null) {
+                out.name("labels").beginArray();
+                for (String label : plugin.labels()) {
+                    out.value(label);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public UpdateCenterData.UpdateCenterPlugin read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String name = null;
+            String version = null;
+            String scm = null;
+            String defaultBranch = null;
+            String gav = null;
+            List<String> labels = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name" -> name = StringInterner.intern(nextNullableString(in));
+                    case "version" -> version = nextNullableString(in);
+                    case "scm" -> scm = nextNullableString(in);
+                    case "defaultBranch" -> defaultBranch = StringInterner.intern(nextNullableString(in));
+                    case "gav" -> gav = nextNullableString(in);
+                    case "labels" -> labels = readLabels(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new UpdateCenterData.UpdateCenterPlugin(name, version, scm, defaultBranch, gav, labels);
+        }
+
+        private static List<String> readLabels(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<String> labels = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                labels.add(StringInterner.intern(nextNullableString(in)));
+            }
+            in.endArray();
+            return List.copyOf(labels);
+        }
+
+        private static void writeIfPresent(JsonWriter out, String name, String value) throws IOException {
+            if (value != null) {
+                out.name(name).value(value);
+            }
+        }
+    }
+
+    /**
+     * Streaming adapter for plugin versions.
+     * The feed contains dozens of fields for every release of every plugin, we only keep name and version.
+     */
+    private static final class PluginVersionPluginAdapter extends TypeAdapter<PluginVersionData.PluginVersionPlugin> {
+
+        @Override
+        public void write(JsonWriter out, PluginVersionData.PluginVersionPlugin plugin) throws IOException {
+            if (plugin == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (plugin.name() != null) {
+                out.name("name").value(plugin.name());
+            }
+            if (plugin.version() != null) {
+                out.name("version").value(plugin.version());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public PluginVersionData.PluginVersionPlugin read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String name = null;
+            String version = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name" -> name = StringInterner.intern(nextNullableString(in));
+                    case "version" -> version = nextNullableString(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new PluginVersionData.PluginVersionPlugin(name, version);
+        }
+    }
 }
@@ -0,0 +1,189 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics of a modernization run.
+ * Components record on the Micrometer global registry, which discards everything until {@link #enable()} adds a
+ * registry, so recording costs nothing when metrics are not exported.
+ */
+public final class MetricsUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsUtils.class);
+
+    /**
+     * Name of the file with the metrics in the Prometheus text format
+     */
+    public static final String PROMETHEUS_FILE = "metrics.prom";
+
+    /**
+     * Name of the file with the metrics as JSON
+     */
+    public static final String JSON_FILE = "metrics.json";
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+
+    private static PrometheusMeterRegistry registry;
+
+    private MetricsUtils() {
+        // Hide constructor
+    }
+
+    /**
+     * A meter as exported to JSON
+     * @param name The meter name
+     * @param type The meter type
+     * @param baseUnit The base unit or null
+     * @param tags The tags of the meter
+     * @param measurements The value of each statistic, null when not a finite number
+     */
+    public record MeterData(
+            String name, String type, String baseUnit, Map<String, String> tags, Map<String, Double> measurements) {}
+
+    /**
+     * Start collecting the metrics recorded on the global registry. Does nothing if already enabled
+     * @return The registry collecting the metrics
+     */
+    public static synchronized MeterRegistry enable() {
+        if (registry == null) {
+            registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            Metrics.addRegistry(registry);
+        }
+        return registry;
+    }
+
+    /**
+     * Stop collecting metrics and discard the ones collected so far
+     */
+    public static synchronized void disable() {
+        if (registry != null) {
+            Metrics.removeRegistry(registry);
+            registry.close();
+            registry = null;
+        }
+    }
+
+    /**
+     * Return the outcome tag value
+     * @param success If the operation succeeded
+     * @return The outcome
+     */
+    public static String outcome(boolean success) {
+        return success ? SUCCESS : FAILURE;
+    }
+
+    /**
+     * Time an operation and tag it with its outcome, a failure being an exception thrown by the operation
+     * @param name The timer name
+     * @param action The operation
+     * @param tags The tags, as key value pairs
+     * @param <T> The type of the result
+     * @return The result of the operation
+     */
+    public static <T> T time(String name, Supplier<T> action, String... tags) {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        boolean success = false;
+        try {
+            T result = action.get();
+            success = true;
+            return result;
+        } finally {
+            sample.stop(Metrics.timer(name, withOutcome(tags, success)));
+        }
+    }
+
+    /**
+     * Time an operation and tag it with its outcome, a failure being an exception thrown by the operation
+     * @param name The timer name
+     * @param action The operation
+     * @param tags The tags, as key value pairs
+     */
+    public static void time(String name, Runnable action, String... tags) {
+        time(
+                name,
+                () -> {
+                    action.run();
+                    return null;
+                },
+                tags);
+    }
+
+    /**
+     * Export the collected metrics to the given directory in the Prometheus text format and as JSON.
+     * Does nothing if metrics are not enabled
+     * @param directory The directory
+     */
+    public static synchronized void export(Path directory) {
+        if (registry == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(PROMETHEUS_FILE), registry.scrape(), StandardCharsets.UTF_8);
+            JsonUtils.toJsonFile(snapshot(registry), directory.resolve(JSON_FILE));
+            LOG.info("Metrics exported to {}", directory);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to export metrics to " + directory, e);
+        }
+    }
+
+    /**
+     * Return the meters of a registry sorted by name
+     * @param registry The registry
+     * @return The meters
+     */
+    public static List<MeterData> snapshot(MeterRegistry registry) {
+        return registry.getMeters().stream()
+                .sorted(Comparator.comparing((Meter meter) -> meter.getId().getName())
+                        .thenComparing(meter -> meter.getId().getTags().toString()))
+                .map(MetricsUtils::toData)
+                .toList();
+    }
+
+    private static MeterData toData(Meter meter) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : meter.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        Map<String, Double> measurements = new LinkedHashMap<>();
+        meter.measure().forEach(measurement -> {
+            double value = measurement.getValue();
+            String statistic = measurement.getStatistic().getTagValueRepresentation();
+            measurements.put(statistic, Double.isFinite(value) ? value : null);
+        });
+        return new MeterData(
+                meter.getId().getName(),
+                meter.getId().getType().name().toLowerCase(Locale.ROOT),
+                meter.getId().getBaseUnit(),
+                tags,
+                measurements);
+    }
+
+    private static String[] withOutcome(String[] tags, boolean success) {
+        String[] all = new String[tags.length + 2];
+        System.arraycopy(tags, 0, all, 0, tags.length);
+        all[tags.length] = "outcome";
+        all[tags.length + 1] = outcome(success);
+        return all;
+    }
+}
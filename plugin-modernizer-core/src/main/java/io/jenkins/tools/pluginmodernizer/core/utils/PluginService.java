@@ -4,6 +4,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheSnapshot;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.HealthScoreData;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.OptOutPluginsData;
@@ -12,7 +14,12 @@ import io.jenkins.tools.pluginmodernizer.core.model.PluginInstallationStatsData;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,15 +70,13 @@ public class PluginService {
             }
             return githubRepo.replaceAll(Settings.ORGANIZATION + "/", "");
         }
-        UpdateCenterData updateCenterData = getUpdateCenterData();
-        UpdateCenterData.UpdateCenterPlugin updateCenterPlugin =
-                updateCenterData.getPlugins().get(plugin.getName());
-        if (updateCenterPlugin == null) {
+        if (!existsInUpdateCenter(plugin)) {
             plugin.addError("Plugin not found in update center");
             plugin.raiseLastError();
             return null;
         }
-        String scmUrl = updateCenterPlugin.scm();
+        String scmUrl = getUpdateCenterString(
+                plugin.getName(), UpdateCenterData.FIELD_SCM, UpdateCenterData.UpdateCenterPlugin::scm);
         int lastSlashIndex = scmUrl.lastIndexOf('/');
         if (lastSlashIndex != -1 && lastSlashIndex < scmUrl.length() - 1) {
             return scmUrl.substring(lastSlashIndex + 1).replaceAll(".git$", "");
@@ -88,6 +93,10 @@ public class PluginService {
      * @return True if plugin exists in the update center
      */
     public boolean existsInUpdateCenter(Plugin plugin) {
+        CacheSnapshot snapshot = getUpdateCenterSnapshot();
+        if (snapshot != null) {
+            return findUpdateCenterRecord(snapshot, plugin.getName()) != -1;
+        }
         UpdateCenterData updateCenterData = getUpdateCenterData();
         return updateCenterData.getPlugins().containsKey(plugin.getName());
     }
@@ -98,6 +107,13 @@ public class PluginService {
      * @return True if deprecated
      */
     public boolean isDeprecated(Plugin plugin) {
+        CacheSnapshot snapshot = getUpdateCenterSnapshot();
+        if (snapshot != null) {
+            int record = snapshot.find(plugin.getName());
+            return record != -1
+                    && (snapshot.getString(record, UpdateCenterData.FIELD_DEPRECATION_URL) != null
+                            || snapshot.listContains(record, UpdateCenterData.FIELD_LABELS, "deprecated"));
+        }
         // Some old plugin are under a deprecations list
         UpdateCenterData updateCenterData = getUpdateCenterData();
         if (updateCenterData.getDeprecations().containsKey(plugin.getName())) {
@@ -117,12 +133,7 @@ public class PluginService {
      * @return True if for adoption
      */
     public boolean isForAdoption(Plugin plugin) {
-        UpdateCenterData updateCenterData = getUpdateCenterData();
-        UpdateCenterData.UpdateCenterPlugin updateCenterPlugin =
-                updateCenterData.getPlugins().get(plugin.getName());
-        return updateCenterPlugin != null
-                && updateCenterPlugin.labels() != null
-                && updateCenterPlugin.labels().contains("adopt-this-plugin");
+        return hasUpdateCenterLabel(plugin.getName(), "adopt-this-plugin");
     }
 
     /**
@@ -131,15 +142,8 @@ public class PluginService {
      * @return True if API plugin
      */
     public boolean isApiPlugin(Plugin plugin) {
-        UpdateCenterData updateCenterData = getUpdateCenterData();
-        UpdateCenterData.UpdateCenterPlugin updateCenterPlugin =
-                updateCenterData.getPlugins().get(plugin.getName());
-
         // Let's consider only recent convention that API plugins have a labels and end with -api
-        return updateCenterPlugin != null
-                && updateCenterPlugin.labels() != null
-                && updateCenterPlugin.labels().contains("api-plugin")
-                && plugin.getName().endsWith("-api");
+        return hasUpdateCenterLabel(plugin.getName(), "api-plugin") && plugin.getName().endsWith("-api");
     }
 
     /**
@@ -151,15 +155,92 @@ public class PluginService {
         if (plugin.isLocal()) {
             return null;
         }
-        UpdateCenterData updateCenterData = getUpdateCenterData();
-        UpdateCenterData.UpdateCenterPlugin updateCenterPlugin =
-                updateCenterData.getPlugins().get(plugin.getName());
-        if (updateCenterPlugin == null) {
+        if (!existsInUpdateCenter(plugin)) {
             plugin.addError("Plugin not found in update center");
             plugin.raiseLastError();
             return null;
         }
-        return updateCenterPlugin.version();
+        return getUpdateCenterString(
+                plugin.getName(), UpdateCenterData.FIELD_VERSION, UpdateCenterData.UpdateCenterPlugin::version);
+    }
+
+    /**
+     * Check if a plugin of the update center has the given label
+     * @param name Plugin name
+     * @param label Label
+     * @return True if the plugin exists and has the label
+     */
+    private boolean hasUpdateCenterLabel(String name, String label) {
+        CacheSnapshot snapshot = getUpdateCenterSnapshot();
+        if (snapshot != null) {
+            int record = findUpdateCenterRecord(snapshot, name);
+            return record != -1 && snapshot.listContains(record, UpdateCenterData.FIELD_LABELS, label);
+        }
+        UpdateCenterData.UpdateCenterPlugin updateCenterPlugin = getUpdateCenterData().getPlugins().get(name);
+        return updateCenterPlugin != null
+                && updateCenterPlugin.labels() != null
+                && updateCenterPlugin.labels().contains(label);
+    }
+
+    /**
+     * Read a string field of a plugin in the update center
+     * @param name Plugin name
+     * @param field Field of the snapshot record
+     * @param fallback Accessor used when no snapshot is available
+     * @return The value or null if the plugin doesn't exist
+     */
+    private String getUpdateCenterString(
+            String name, int field, Function<UpdateCenterData.UpdateCenterPlugin, String> fallback) {
+        CacheSnapshot snapshot = getUpdateCenterSnapshot();
+        if (snapshot != null) {
+            int record = findUpdateCenterRecord(snapshot, name);
+            return record != -1 ? snapshot.getString(record, field) : null;
+        }
+        UpdateCenterData.UpdateCenterPlugin updateCenterPlugin = getUpdateCenterData().getPlugins().get(name);
+        return updateCenterPlugin != null ? fallback.apply(updateCenterPlugin) : null;
+    }
+
+    /**
+     * Find the record of a plugin listed in the update center. Deprecated only entries are ignored
+     * @param snapshot The update center snapshot
+     * @param name Plugin name
+     * @return The record or -1
+     */
+    private int findUpdateCenterRecord(CacheSnapshot snapshot, String name) {
+        int record = snapshot.find(name);
+        return record != -1 && snapshot.getBoolean(record, UpdateCenterData.FIELD_IN_UPDATE_CENTER) ? record : -1;
+    }
+
+    /**
+     * Return the memory mapped snapshot of the update center
+     * @return The snapshot or null if not available
+     */
+    private CacheSnapshot getUpdateCenterSnapshot() {
+        return getSnapshot(
+                CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.SNAPSHOT_VERSION, this::getUpdateCenterData);
+    }
+
+    /**
+     * Return the memory mapped snapshot of a cache entry stored at the cache root.
+     * Load the entry (from JSON cache or remote) and write its snapshot when missing.
+     * @param cacheKey The cache key of the entry
+     * @param schemaVersion The schema version of the snapshot
+     * @param loader Load the entry
+     * @return The snapshot or null if not available
+     */
+    private CacheSnapshot getSnapshot(
+            String cacheKey, int schemaVersion, Supplier<? extends CacheEntry<? extends CacheEntry<?>>> loader) {
+        CacheSnapshot snapshot = cacheManager.getSnapshot(cacheManager.root(), cacheKey, schemaVersion);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        CacheEntry<? extends CacheEntry<?>> entry = loader.get();
+        // Loading might have refreshed the entry and its snapshot
+        snapshot = cacheManager.getSnapshot(cacheManager.root(), cacheKey, schemaVersion);
+        if (snapshot == null && entry != null) {
+            snapshot = cacheManager.putSnapshot(entry);
+        }
+        return snapshot;
     }
 
     /**
@@ -167,16 +248,11 @@ public class PluginService {
      * @return Update center data
      */
     public UpdateCenterData getUpdateCenterData() {
-        UpdateCenterData updateCenterData =
-                cacheManager.get(cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
-        // Download and update cache
-        if (updateCenterData == null) {
-            updateCenterData = downloadUpdateCenterData();
-            updateCenterData.setKey(CacheManager.UPDATE_CENTER_CACHE_KEY);
-            updateCenterData.setPath(cacheManager.root());
-            cacheManager.put(updateCenterData);
-        }
-        return updateCenterData;
+        return getRemoteData(
+                CacheManager.UPDATE_CENTER_CACHE_KEY,
+                UpdateCenterData.class,
+                config.getJenkinsUpdateCenter(),
+                body -> JsonUtils.fromJson(body, UpdateCenterData.class));
     }
 
     /**
@@ -184,16 +260,11 @@ public class PluginService {
      * @return Health score data
      */
     public HealthScoreData getHealthScoreData() {
-        HealthScoreData healthScoreData =
-                cacheManager.get(cacheManager.root(), CacheManager.HEALTH_SCORE_KEY, HealthScoreData.class);
-        // Download and update cache
-        if (healthScoreData == null) {
-            healthScoreData = downloadHealthScoreData();
-            healthScoreData.setKey(CacheManager.HEALTH_SCORE_KEY);
-            healthScoreData.setPath(cacheManager.root());
-            cacheManager.put(healthScoreData);
-        }
-        return healthScoreData;
+        return getRemoteData(
+                CacheManager.HEALTH_SCORE_KEY,
+                HealthScoreData.class,
+                config.getPluginHealthScore(),
+                body -> JsonUtils.fromJson(body, HealthScoreData.class));
     }
 
     /**
@@ -201,16 +272,11 @@ public class PluginService {
      * @return Opt out plugins data
      */
     public OptOutPluginsData getOptOutPluginsData() {
-        OptOutPluginsData optOutPluginsData =
-                cacheManager.get(cacheManager.root(), CacheManager.OPT_OUT_PLUGINS_CACHE_KEY, OptOutPluginsData.class);
-        // Download and update cache
-        if (optOutPluginsData == null) {
-            optOutPluginsData = downloadOptOutPluginsData();
-            optOutPluginsData.setKey(CacheManager.OPT_OUT_PLUGINS_CACHE_KEY);
-            optOutPluginsData.setPath(cacheManager.root());
-            cacheManager.put(optOutPluginsData);
-        }
-        return optOutPluginsData;
+        return getRemoteData(
+                CacheManager.OPT_OUT_PLUGINS_CACHE_KEY,
+                OptOutPluginsData.class,
+                config.getOptOutPlugins(),
+                body -> JsonUtils.fromJson(body, OptOutPluginsData.class));
     }
 
     /**
@@ -241,9 +307,18 @@ public class PluginService {
      * Retrieve installation stats data from the given URL
      */
     public PluginInstallationStatsData downloadInstallationStatsData() {
-        String data = CSVUtils.fromUrl(config.getPluginStatsInstallations());
+        return HttpUtils.fetch(config.getPluginStatsInstallations(), this::parseInstallationStats);
+    }
+
+    /**
+     * Parse installation stats from a CSV stream
+     * @param body The CSV stream
+     * @return Installation stats data
+     * @throws IOException If the stream cannot be read
+     */
+    private PluginInstallationStatsData parseInstallationStats(InputStream body) throws IOException {
         PluginInstallationStatsData pluginInstallationStatsData = new PluginInstallationStatsData(cacheManager);
-        pluginInstallationStatsData.setPlugins(CSVUtils.parseStats(data));
+        pluginInstallationStatsData.setPlugins(CSVUtils.parseStats(body));
         return pluginInstallationStatsData;
     }
 
@@ -253,6 +328,14 @@ public class PluginService {
      * @return Installation stats
      */
     public Integer extractInstallationStats(Plugin plugin) {
+        CacheSnapshot snapshot = getSnapshot(
+                CacheManager.INSTALLATION_STATS_KEY,
+                PluginInstallationStatsData.SNAPSHOT_VERSION,
+                this::getPluginInstallationStatsData);
+        if (snapshot != null) {
+            int record = snapshot.find(plugin.getName());
+            return record != -1 ? snapshot.getInt(record, PluginInstallationStatsData.FIELD_INSTALLATIONS) : null;
+        }
         PluginInstallationStatsData pluginInstallationStatsData = getPluginInstallationStatsData();
         return pluginInstallationStatsData.getPlugins().get(plugin.getName());
     }
@@ -266,6 +349,12 @@ public class PluginService {
         if (plugin.isLocal()) {
             return null;
         }
+        CacheSnapshot snapshot =
+                getSnapshot(CacheManager.HEALTH_SCORE_KEY, HealthScoreData.SNAPSHOT_VERSION, this::getHealthScoreData);
+        if (snapshot != null) {
+            int record = snapshot.find(plugin.getName());
+            return record != -1 ? snapshot.getDouble(record, HealthScoreData.FIELD_SCORE) : null;
+        }
         HealthScoreData healthScoreData = getHealthScoreData();
         HealthScoreData.HealthScorePlugin healthScorePlugin =
                 healthScoreData.getPlugins().get(plugin.getName());
@@ -310,16 +399,11 @@ public class PluginService {
      * @return Plugin version data
      */
     public PluginVersionData getPluginVersionData() {
-        PluginVersionData pluginVersionData =
-                cacheManager.get(cacheManager.root(), CacheManager.PLUGIN_VERSIONS_CACHE_KEY, PluginVersionData.class);
-        // Download and update cache
-        if (pluginVersionData == null) {
-            pluginVersionData = downloadPluginVersionData(config);
-            pluginVersionData.setKey(CacheManager.PLUGIN_VERSIONS_CACHE_KEY);
-            pluginVersionData.setPath(cacheManager.root());
-            cacheManager.put(pluginVersionData);
-        }
-        return pluginVersionData;
+        return getRemoteData(
+                CacheManager.PLUGIN_VERSIONS_CACHE_KEY,
+                PluginVersionData.class,
+                config.getJenkinsPluginVersions(),
+                body -> JsonUtils.fromJson(body, PluginVersionData.class));
     }
 
     /**
@@ -327,16 +411,47 @@ public class PluginService {
      * @return Plugin installation stats data
      */
     public PluginInstallationStatsData getPluginInstallationStatsData() {
-        PluginInstallationStatsData pluginInstallationStatsData = cacheManager.get(
-                cacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class);
-        // Download and update cache
-        if (pluginInstallationStatsData == null) {
-            pluginInstallationStatsData = downloadInstallationStatsData();
-            pluginInstallationStatsData.setKey(CacheManager.INSTALLATION_STATS_KEY);
-            pluginInstallationStatsData.setPath(cacheManager.root());
-            cacheManager.put(pluginInstallationStatsData);
+        return getRemoteData(
+                CacheManager.INSTALLATION_STATS_KEY,
+                PluginInstallationStatsData.class,
+                config.getPluginStatsInstallations(),
+                this::parseInstallationStats);
+    }
+
+    /**
+     * Retrieve remote data from cache if it exists or from the given URL.
+     * An expired cache entry is revalidated with its ETag and Last-Modified values and reused if the remote
+     * resource was not modified.
+     * @param cacheKey The cache key
+     * @param clazz The class of the data
+     * @param url The URL of the remote resource
+     * @param parser The parser of the remote resource
+     * @return The data
+     * @param <T> The type of the data
+     */
+    private <T extends CacheEntry<T>> T getRemoteData(
+            String cacheKey, Class<T> clazz, URL url, HttpUtils.BodyParser<T> parser) {
+        T data = cacheManager.get(cacheManager.root(), cacheKey, clazz);
+        if (data != null) {
+            return data;
         }
-        return pluginInstallationStatsData;
+        T expired = cacheManager.getIgnoringExpiration(cacheManager.root(), cacheKey, clazz);
+        HttpUtils.ConditionalResponse<T> response = expired != null
+                ? HttpUtils.fetch(url, expired.getEtag(), expired.getLastModified(), parser)
+                : HttpUtils.fetch(url, null, null, parser);
+        if (response.notModified() && expired != null) {
+            LOG.debug("Remote data for {} not modified since last download. Reusing cache entry", cacheKey);
+            cacheManager.touch(expired);
+            return expired;
+        }
+        // Download and update cache
+        data = response.body();
+        data.setKey(cacheKey);
+        data.setPath(cacheManager.root());
+        data.setEtag(response.etag());
+        data.setLastModified(response.lastModified());
+        cacheManager.put(data);
+        return data;
     }
 
     /**
@@ -0,0 +1,179 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read process and memory accounting from the Linux {@code /proc} file system.
+ * Every method degrades to an empty result when {@code /proc} is not available, like on macOS or Windows,
+ * or when a process exited while being read.
+ */
+public class ProcFs {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProcFs.class);
+
+    /**
+     * Clock ticks per second of the CPU times of {@code /proc/<pid>/stat}. USER_HZ is 100 on all Linux platforms
+     */
+    static final long CLOCK_TICKS = 100;
+
+    /**
+     * The accounting of a process
+     * @param pid The process id
+     * @param parentPid The parent process id
+     * @param cpuMillis The user and system CPU time of the process
+     * @param childrenCpuMillis The user and system CPU time of its children that exited and were waited for
+     * @param rssBytes The resident set size
+     * @param peakRssBytes The peak resident set size
+     */
+    public record ProcessStat(
+            long pid, long parentPid, long cpuMillis, long childrenCpuMillis, long rssBytes, long peakRssBytes) {}
+
+    private final Path root;
+
+    /**
+     * Read the {@code /proc} of the host
+     */
+    public ProcFs() {
+        this(Path.of("/proc"));
+    }
+
+    /**
+     * Read a {@code /proc} like directory
+     * @param root The root directory
+     */
+    public ProcFs(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Return if process accounting is available
+     * @return True on Linux
+     */
+    public boolean isAvailable() {
+        return Files.isReadable(root.resolve("meminfo"));
+    }
+
+    /**
+     * Return the memory available for starting new processes without swapping
+     * @return The available memory in bytes, empty if unknown
+     */
+    public OptionalLong getAvailableMemory() {
+        return readMemInfo("MemAvailable:");
+    }
+
+    /**
+     * Return the physical memory of the host
+     * @return The total memory in bytes, empty if unknown
+     */
+    public OptionalLong getTotalMemory() {
+        return readMemInfo("MemTotal:");
+    }
+
+    private OptionalLong readMemInfo(String field) {
+        try (Stream<String> lines = Files.lines(root.resolve("meminfo"))) {
+            return lines.filter(line -> line.startsWith(field))
+                    .mapToLong(ProcFs::parseKiloBytes)
+                    .findFirst();
+        } catch (IOException e) {
+            LOG.debug("Unable to read {} of memory info: {}", field, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Return the accounting of a process
+     * @param pid The process id
+     * @return The accounting, empty if the process doesn't exist
+     */
+    public Optional<ProcessStat> stat(long pid) {
+        Path directory = root.resolve(Long.toString(pid));
+        try {
+            // The command name between parentheses may contain spaces
+            String stat = Files.readString(directory.resolve("stat"));
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+            long rss = 0;
+            long peakRss = 0;
+            for (String line : Files.readAllLines(directory.resolve("status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    rss = parseKiloBytes(line);
+                } else if (line.startsWith("VmHWM:")) {
+                    peakRss = parseKiloBytes(line);
+                }
+            }
+            return Optional.of(new ProcessStat(
+                    pid,
+                    Long.parseLong(fields[1]),
+                    ticksToMillis(Long.parseLong(fields[11]) + Long.parseLong(fields[12])),
+                    ticksToMillis(Long.parseLong(fields[13]) + Long.parseLong(fields[14])),
+                    rss,
+                    Math.max(rss, peakRss)));
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Return the direct children of a process
+     * @param pid The process id
+     * @return The children process ids
+     */
+    public List<Long> children(long pid) {
+        Path children = root.resolve(Long.toString(pid))
+                .resolve("task")
+                .resolve(Long.toString(pid))
+                .resolve("children");
+        try {
+            if (Files.isReadable(children)) {
+                String content = Files.readString(children).trim();
+                return content.isEmpty()
+                        ? List.of()
+                        : Stream.of(content.split("\\s+")).map(Long::parseLong).toList();
+            }
+            // Kernels without CONFIG_PROC_CHILDREN, scan the parent of every process
+            List<Long> found = new ArrayList<>();
+            try (Stream<Path> processes = Files.list(root)) {
+                processes
+                        .map(path -> path.getFileName().toString())
+                        .filter(name -> name.chars().allMatch(Character::isDigit))
+                        .map(Long::parseLong)
+                        .forEach(child -> stat(child)
+                                .filter(stat -> stat.parentPid() == pid)
+                                .ifPresent(stat -> found.add(child)));
+            }
+            return found;
+        } catch (IOException | RuntimeException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Return the working directory of a process
+     * @param pid The process id
+     * @return The working directory, empty if not readable
+     */
+    public Optional<Path> workingDirectory(long pid) {
+        try {
+            return Optional.of(Files.readSymbolicLink(root.resolve(Long.toString(pid)).resolve("cwd")));
+        } catch (IOException | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static long ticksToMillis(long ticks) {
+        return ticks * 1000 / CLOCK_TICKS;
+    }
+
+    private static long parseKiloBytes(String line) {
+        String[] parts = line.trim().split("\\s+");
+        return Long.parseLong(parts[1]) * 1024;
+    }
+}
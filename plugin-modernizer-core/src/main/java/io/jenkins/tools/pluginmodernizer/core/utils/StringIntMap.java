@@ -0,0 +1,202 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open addressing hash map from string to primitive int.
+ * Values are stored in an int array so no {@link Integer} is allocated per entry. The {@link java.util.Map} view is
+ * kept for compatibility (JSON serialization, existing callers) and boxes values only when accessed through it.
+ * Null keys and null values are not supported.
+ */
+public final class StringIntMap extends AbstractMap<String, Integer> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private String[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Create an empty map
+     */
+    public StringIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty map able to hold the given number of entries without resizing
+     * @param expectedSize The expected number of entries
+     */
+    public StringIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2 - 1) << 1);
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Return the value of a key
+     * @param key The key
+     * @param defaultValue The value to return when the key is absent
+     * @return The value or the default value
+     */
+    public int getInt(String key, int defaultValue) {
+        int slot = find(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Set the value of a key
+     * @param key The key
+     * @param value The value
+     */
+    public void putInt(String key, int value) {
+        if (key == null) {
+            throw new NullPointerException("Null keys are not supported");
+        }
+        int slot = slot(key);
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    /**
+     * Iterate over all entries without boxing values
+     * @param consumer The consumer of each key and value
+     */
+    public void forEachInt(ObjIntConsumer<String> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String string && find(string) >= 0;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        if (!(key instanceof String string)) {
+            return null;
+        }
+        int slot = find(string);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public Integer put(String key, Integer value) {
+        Objects.requireNonNull(value, "Null values are not supported");
+        Integer previous = get(key);
+        putInt(key, value);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        int index = from;
+                        while (index < keys.length && keys[index] == null) {
+                            index++;
+                        }
+                        return index;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Integer> entry = new SimpleImmutableEntry<>(keys[next], values[next]);
+                        next = advance(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int find(String key) {
+        if (key == null) {
+            return -1;
+        }
+        int slot = slot(key);
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new String[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            String key = oldKeys[i];
+            if (key != null) {
+                int slot = slot(key);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
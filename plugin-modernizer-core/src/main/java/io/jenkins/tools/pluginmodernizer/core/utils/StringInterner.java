@@ -0,0 +1,40 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small string pool used while loading large remote datasets.
+ * Values like labels, default branches or plugin names are repeated thousands of times in the
+ * update center and plugin versions feeds. Keeping a single instance of each reduces heap usage.
+ * Unlike {@link String#intern()} the pool is local to the application and never touches the JVM string table.
+ */
+public final class StringInterner {
+
+    private static final Map<String, String> POOL = new ConcurrentHashMap<>();
+
+    private StringInterner() {
+        // Hide constructor
+    }
+
+    /**
+     * Return the canonical instance of the given string
+     * @param value The value. Can be null
+     * @return The canonical instance or null if the value is null
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = POOL.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Return the number of pooled strings
+     * @return The number of pooled strings
+     */
+    public static int size() {
+        return POOL.size();
+    }
+}
@@ -0,0 +1,107 @@
+package io.jenkins.tools.pluginmodernizer.core.extractor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+
+/**
+ * Tests for {@link DeprecatedApiVisitor}.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class DeprecatedApiVisitorTest {
+
+    // language=java
+    private static final String LEGACY = """
+            package legacy;
+
+            @Deprecated
+            public class OldType {
+                @Deprecated
+                public static final String OLD_FIELD = "old";
+                public static final String NEW_FIELD = "new";
+
+                @Deprecated
+                public static void oldMethod() {}
+
+                public static void newMethod() {}
+            }
+            """;
+
+    // language=java
+    private static final String USAGES = """
+            package usage;
+
+            import legacy.OldType;
+            import java.util.function.Supplier;
+
+            public class Usage {
+                private OldType type;
+
+                void call() {
+                    OldType.oldMethod();
+                    OldType.oldMethod();
+                    OldType.newMethod();
+                    String value = OldType.OLD_FIELD + OldType.NEW_FIELD;
+                    Runnable runnable = OldType::oldMethod;
+                }
+            }
+            """;
+
+    @Test
+    public void shouldCountUsagesPerSymbol() {
+        DeprecatedApiCensus census = new DeprecatedApiCensus();
+        DeprecatedApiVisitor<Integer> visitor = new DeprecatedApiVisitor<>(census, false);
+        parse(LEGACY, USAGES).forEach(source -> visitor.visit(source, 0));
+
+        assertEquals(Map.of("legacy.OldType#oldMethod", 3), census.getUsages(DeprecatedApiCensus.Kind.METHOD));
+        assertEquals(Map.of("legacy.OldType#OLD_FIELD", 1), census.getUsages(DeprecatedApiCensus.Kind.FIELD));
+        // Field type and the qualifiers of the static calls, but neither the import nor the declaration
+        assertEquals(Map.of("legacy.OldType", 7), census.getUsages(DeprecatedApiCensus.Kind.TYPE));
+        assertEquals(11, census.getTotal());
+    }
+
+    @Test
+    public void shouldNotCountWithoutDeprecatedUsages() {
+        DeprecatedApiCensus census = new DeprecatedApiCensus();
+        DeprecatedApiVisitor<Integer> visitor = new DeprecatedApiVisitor<>(census, false);
+        // language=java
+        parse("""
+                        public class Clean {
+                            void call() {
+                                System.out.println("clean");
+                            }
+                        }
+                        """)
+                .forEach(source -> visitor.visit(source, 0));
+        assertEquals(0, census.getTotal());
+    }
+
+    @Test
+    public void shouldSerializeCensusWithMetadata() {
+        DeprecatedApiCensus census = new DeprecatedApiCensus();
+        census.record(DeprecatedApiCensus.Kind.METHOD, "a.B#c");
+        census.record(DeprecatedApiCensus.Kind.METHOD, "a.B#c");
+        census.record(DeprecatedApiCensus.Kind.TYPE, "a.B");
+        PluginMetadata metadata = new PluginMetadata();
+        metadata.setDeprecatedApiUsages(census);
+
+        PluginMetadata loaded = JsonUtils.fromJson(metadata.toJson(), PluginMetadata.class);
+        assertEquals(3, loaded.getDeprecatedApiUsages().getTotal());
+        assertEquals(2, loaded.getDeprecatedApiUsages().getTotal(DeprecatedApiCensus.Kind.METHOD));
+    }
+
+    private static List<SourceFile> parse(String... sources) {
+        return JavaParser.fromJavaVersion()
+                .build()
+                .parse(new InMemoryExecutionContext(Throwable::printStackTrace), sources)
+                .toList();
+    }
+}
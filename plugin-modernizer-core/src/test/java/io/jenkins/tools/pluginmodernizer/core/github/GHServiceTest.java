@@ -31,6 +31,7 @@ import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.jgit.api.CloneCommand;
@@ -53,6 +54,7 @@ import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHRepositoryForkBuilder;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.PagedIterable;
+import org.kohsuke.github.PagedIterator;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -224,6 +226,56 @@ public class GHServiceTest {
         assertFalse(service.isArchived(plugin));
     }
 
+    @Test
+    public void shouldResolveArchivedOnce() throws Exception {
+        // Mock
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        doReturn("fake-repo").when(plugin).getRepositoryName();
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(true).when(repository).isArchived();
+
+        // Test
+        service.resolveArchived(List.of(plugin));
+        service.resolveArchived(List.of(plugin));
+        assertTrue(service.isArchived(plugin));
+
+        // Verify
+        verify(repository, times(1)).isArchived();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldResolveArchivedFromOrganizationListing() throws Exception {
+        // Mock
+        GHOrganization organization = Mockito.mock(GHOrganization.class);
+        PagedIterable<GHRepository> repositories = Mockito.mock(PagedIterable.class);
+        PagedIterator<GHRepository> iterator = Mockito.mock(PagedIterator.class);
+        GHRepository archived = Mockito.mock(GHRepository.class);
+        GHRepository active = Mockito.mock(GHRepository.class);
+        doReturn("plugin-0-plugin").when(archived).getName();
+        doReturn(true).when(archived).isArchived();
+        doReturn("plugin-1-plugin").when(active).getName();
+        doReturn(false).when(active).isArchived();
+        doReturn(organization).when(github).getOrganization(eq(Settings.ORGANIZATION));
+        doReturn(repositories).when(organization).listRepositories(eq(100));
+        doReturn(iterator).when(repositories).iterator();
+        doReturn(true, true, false).when(iterator).hasNext();
+        doReturn(archived, active).when(iterator).next();
+        List<Plugin> plugins = new ArrayList<>();
+        for (int i = 0; i < GHService.ARCHIVED_LISTING_THRESHOLD; i++) {
+            plugins.add(Plugin.build("plugin-" + i).withRepositoryName("plugin-" + i + "-plugin"));
+        }
+
+        // Test
+        service.resolveArchived(plugins);
+        assertTrue(service.isArchived(plugins.get(0)));
+        assertFalse(service.isArchived(plugins.get(1)));
+
+        // Verify a single listing
+        verify(github, times(1)).getOrganization(eq(Settings.ORGANIZATION));
+        verify(github, never()).getRepository(anyString());
+    }
+
     @Test
     public void shouldFailToGetForkRepositoryInDryRunMode() throws Exception {
 
@@ -0,0 +1,172 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class BuildGovernorTest {
+
+    private static final long GB = 1L << 30;
+
+    private static final BuildGovernor.HostState HEALTHY = new BuildGovernor.HostState(8, 16 * GB, 12 * GB, 2.0);
+
+    @Test
+    public void shouldIncreaseConcurrencyOnHealthyHost() throws Exception {
+        BuildGovernor governor = new BuildGovernor(() -> HEALTHY);
+        assertEquals(1, governor.getLimit());
+        releaseWhileWaiting(governor);
+        assertEquals(2, governor.getLimit());
+        raiseLimit(governor, 8);
+        assertEquals(8, governor.getLimit());
+        releaseWhileWaiting(governor);
+        assertEquals(8, governor.getLimit());
+    }
+
+    @Test
+    public void shouldNotIncreaseConcurrencyOfSequentialBuilds() throws Exception {
+        BuildGovernor governor = new BuildGovernor(() -> HEALTHY);
+        for (int i = 0; i < 50; i++) {
+            governor.release(governor.acquire(), "verify");
+        }
+        assertEquals(1, governor.getLimit());
+    }
+
+    @Test
+    public void shouldHalveConcurrencyOnOverloadedHost() throws Exception {
+        AtomicReference<BuildGovernor.HostState> host = new AtomicReference<>(HEALTHY);
+        BuildGovernor governor = new BuildGovernor(host::get);
+        raiseLimit(governor, 8);
+
+        host.set(new BuildGovernor.HostState(8, 16 * GB, 12 * GB, 16.0));
+        governor.release(governor.acquire(), "verify");
+        assertEquals(4, governor.getLimit());
+
+        host.set(new BuildGovernor.HostState(8, 16 * GB, GB, 2.0));
+        governor.release(governor.acquire(), "verify");
+        assertEquals(2, governor.getLimit());
+    }
+
+    @Test
+    public void shouldHalveConcurrencyOnSlowBuild() throws Exception {
+        BuildGovernor governor = new BuildGovernor(() -> HEALTHY);
+        raiseLimit(governor, 8);
+        for (int i = 0; i < 50; i++) {
+            governor.release(took(governor.acquire(), 20), "verify");
+        }
+        assertEquals(8, governor.getLimit());
+        // Another goal has its own average
+        governor.release(took(governor.acquire(), 100), "rewrite-maven-plugin:run");
+        assertEquals(8, governor.getLimit());
+        governor.release(took(governor.acquire(), 100), "verify");
+        assertEquals(4, governor.getLimit());
+    }
+
+    @Test
+    public void shouldShareHostBetweenBuilds() throws Exception {
+        BuildGovernor governor = new BuildGovernor(() -> new BuildGovernor.HostState(8, 16 * GB, 4 * GB, 2.0));
+        BuildGovernor.Allocation single = governor.acquire();
+        assertEquals(8, single.threads());
+        assertEquals(3 * GB, single.heap());
+        governor.release(single, "compile");
+        releaseWhileWaiting(governor);
+        assertEquals(2, governor.getLimit());
+
+        // A lone build gets the whole host whatever the limit
+        BuildGovernor.Allocation first = governor.acquire();
+        assertEquals(8, first.threads());
+        assertEquals(3 * GB, first.heap());
+        // The second build shares the CPUs, and gets what the first one left of the memory
+        BuildGovernor.Allocation second = governor.acquire();
+        assertEquals(4, second.threads());
+        assertEquals(3 * GB, second.heap());
+        // A third build waits, so the next one still shares the host with a single build
+        CompletableFuture<BuildGovernor.Allocation> third = acquireAsync(governor);
+        awaitWaiting(governor);
+        governor.release(first, "compile");
+        assertEquals(4, third.get(10, TimeUnit.SECONDS).threads());
+        governor.release(second, "compile");
+        governor.release(third.get(), "compile");
+    }
+
+    @Test
+    public void shouldBoundHeap() throws Exception {
+        BuildGovernor governor = new BuildGovernor(() -> HEALTHY);
+        BuildGovernor.Allocation allocation = governor.acquire();
+        assertEquals(BuildGovernor.MAX_HEAP, allocation.heap());
+        governor.release(allocation, "compile");
+    }
+
+    @Test
+    public void shouldKeepDefaultHeapWhenMemoryIsUnknown() throws Exception {
+        BuildGovernor governor = new BuildGovernor(() -> new BuildGovernor.HostState(2, -1, -1, -1));
+        BuildGovernor.Allocation allocation = governor.acquire();
+        assertEquals(2, allocation.threads());
+        assertEquals(-1, allocation.heap());
+        governor.release(allocation, "compile");
+        // An unknown load is not an overload
+        releaseWhileWaiting(governor);
+        assertEquals(2, governor.getLimit());
+    }
+
+    /**
+     * Release all the slots while a build waits for one, so the first release raises the limit
+     */
+    private static void releaseWhileWaiting(BuildGovernor governor) throws Exception {
+        List<BuildGovernor.Allocation> running = new ArrayList<>();
+        while (running.size() < governor.getLimit()) {
+            running.add(governor.acquire());
+        }
+        CompletableFuture<BuildGovernor.Allocation> waiting = acquireAsync(governor);
+        awaitWaiting(governor);
+        for (BuildGovernor.Allocation allocation : running) {
+            governor.release(allocation, "compile");
+        }
+        governor.release(waiting.get(10, TimeUnit.SECONDS), "compile");
+    }
+
+    private static void raiseLimit(BuildGovernor governor, int limit) throws Exception {
+        for (int i = 0; i < 1000 && governor.getLimit() < limit; i++) {
+            releaseWhileWaiting(governor);
+        }
+    }
+
+    private static CompletableFuture<BuildGovernor.Allocation> acquireAsync(BuildGovernor governor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return governor.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void awaitWaiting(BuildGovernor governor) throws InterruptedException {
+        while (governor.getWaiting() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static BuildGovernor.Allocation took(BuildGovernor.Allocation allocation, int seconds) {
+        return new BuildGovernor.Allocation(
+                allocation.threads(), allocation.heap(), System.nanoTime() - TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    public void shouldWaitForSlot() throws Exception {
+        BuildGovernor governor = new BuildGovernor(() -> HEALTHY);
+        BuildGovernor.Allocation first = governor.acquire();
+        CompletableFuture<BuildGovernor.Allocation> second = acquireAsync(governor);
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        governor.release(first, "compile");
+        governor.release(second.get(10, TimeUnit.SECONDS), "compile");
+    }
+}
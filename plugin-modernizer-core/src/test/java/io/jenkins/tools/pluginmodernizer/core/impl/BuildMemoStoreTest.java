@@ -0,0 +1,110 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class BuildMemoStoreTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path sources;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        sources = tempDir.resolve("sources");
+        Files.createDirectories(sources.resolve("src"));
+        Files.writeString(sources.resolve("pom.xml"), "<project/>");
+        Files.writeString(sources.resolve(".gitignore"), "target/\n");
+        Files.writeString(sources.resolve("src/Foo.java"), "class Foo {}");
+        try (Git git = Git.init().setDirectory(sources.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit()
+                    .setMessage("Initial commit")
+                    .setAuthor("test", "test@example.com")
+                    .setCommitter("test", "test@example.com")
+                    .setSign(false)
+                    .call();
+        }
+    }
+
+    @Test
+    public void shouldHashWorkingTree() throws Exception {
+        String hash = BuildMemoStore.treeHash(sources);
+        assertNotNull(hash);
+        assertEquals(40, hash.length());
+        assertEquals(hash, BuildMemoStore.treeHash(sources.resolve("src")));
+
+        // Ignored build outputs are not part of the sources
+        Files.createDirectories(sources.resolve("target/classes"));
+        Files.writeString(sources.resolve("target/classes/Foo.class"), "binary");
+        assertEquals(hash, BuildMemoStore.treeHash(sources));
+
+        // Uncommitted changes are
+        Files.writeString(sources.resolve("src/Foo.java"), "class Foo { int bar; }");
+        String modified = BuildMemoStore.treeHash(sources);
+        assertNotEquals(hash, modified);
+
+        // And untracked files
+        Files.writeString(sources.resolve("src/Bar.java"), "class Bar {}");
+        assertNotEquals(modified, BuildMemoStore.treeHash(sources));
+
+        // Reverting the changes gives back the same hash
+        Files.delete(sources.resolve("src/Bar.java"));
+        Files.writeString(sources.resolve("src/Foo.java"), "class Foo {}");
+        assertEquals(hash, BuildMemoStore.treeHash(sources));
+    }
+
+    @Test
+    public void shouldNotHashOutsideGitWorkingTree() throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve("not-git"));
+        assertNull(BuildMemoStore.treeHash(directory));
+    }
+
+    @Test
+    public void shouldRememberSuccessfulBuilds() throws Exception {
+        CacheManager cacheManager = new CacheManager(tempDir.resolve("cache"));
+        cacheManager.init();
+        BuildMemoStore store = new BuildMemoStore(cacheManager);
+        Plugin plugin = Plugin.build("memo-plugin", sources);
+        String hash = store.treeHash(plugin);
+
+        assertFalse(store.isBuilt(plugin, hash, JDK.JAVA_17, "clean verify"));
+        store.markBuilt(plugin, hash, JDK.JAVA_17, "clean verify", 1000);
+        assertTrue(store.isBuilt(plugin, hash, JDK.JAVA_17, "clean verify"));
+
+        // Another JDK, other goals or another tree must be built
+        assertFalse(store.isBuilt(plugin, hash, JDK.JAVA_21, "clean verify"));
+        assertFalse(store.isBuilt(plugin, hash, JDK.JAVA_17, "clean compile"));
+        Files.writeString(sources.resolve("src/Foo.java"), "class Foo { int bar; }");
+        assertFalse(store.isBuilt(plugin, store.treeHash(plugin), JDK.JAVA_17, "clean verify"));
+
+        // Unknown trees are never built
+        store.markBuilt(plugin, null, JDK.JAVA_17, "clean compile", 1000);
+        assertFalse(store.isBuilt(plugin, null, JDK.JAVA_17, "clean compile"));
+    }
+
+    @Test
+    public void shouldNotRememberFailedBuilds() throws Exception {
+        CacheManager cacheManager = new CacheManager(tempDir.resolve("cache"));
+        cacheManager.init();
+        BuildMemoStore store = new BuildMemoStore(cacheManager);
+        Plugin plugin = Plugin.build("failed-plugin", sources);
+        String hash = store.treeHash(plugin);
+        plugin.addError("Build failed");
+
+        store.markBuilt(plugin, hash, JDK.JAVA_17, "clean verify", 1000);
+        assertFalse(store.isBuilt(plugin, hash, JDK.JAVA_17, "clean verify"));
+    }
+}
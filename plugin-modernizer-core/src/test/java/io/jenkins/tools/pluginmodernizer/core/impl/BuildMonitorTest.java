@@ -0,0 +1,78 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static io.jenkins.tools.pluginmodernizer.core.utils.ProcFsTest.writeProcess;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.BuildUsage;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.utils.ProcFs;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class BuildMonitorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldMeasureMavenProcessTree() throws Exception {
+        Path proc = Files.createDirectories(tempDir.resolve("proc"));
+        Path plugin = Files.createDirectories(tempDir.resolve("plugin"));
+        Path other = Files.createDirectories(tempDir.resolve("other"));
+        Files.writeString(proc.resolve("meminfo"), "MemAvailable:    8000000 kB\n");
+        writeProcess(proc, 1, 0, 0, 0, 0, 0, List.of(99L, 100L));
+        // Maven of another plugin
+        writeProcess(proc, 99, 1, 900, 0, 900 * 1024, 900 * 1024, List.of());
+        Files.createSymbolicLink(proc.resolve("99").resolve("cwd"), other);
+        // Maven and its Surefire fork
+        writeProcess(proc, 100, 1, 100, 20, 100 * 1024, 150 * 1024, List.of(101L));
+        Files.createSymbolicLink(proc.resolve("100").resolve("cwd"), plugin);
+        writeProcess(proc, 101, 100, 50, 0, 300 * 1024, 300 * 1024, List.of());
+
+        BuildMonitor monitor = BuildMonitor.start(new ProcFs(proc), 1, plugin);
+        monitor.sample();
+
+        // The fork exited and was waited for by Maven
+        FileUtils.deleteDirectory(proc.resolve("101").toFile());
+        writeProcess(proc, 100, 1, 110, 70, 120 * 1024, 150 * 1024, List.of());
+        monitor.sample();
+
+        BuildUsage usage = monitor.stop("verify");
+        assertEquals("verify", usage.goal());
+        assertTrue(usage.isMeasured());
+        assertEquals(1800, usage.cpuMillis());
+        assertEquals(400L * 1024 * 1024, usage.peakRssBytes());
+    }
+
+    @Test
+    public void shouldNotMeasureWithoutProcFs() {
+        BuildMonitor monitor = BuildMonitor.start(new ProcFs(tempDir.resolve("missing")), 1, tempDir);
+        BuildUsage usage = monitor.stop("compile");
+        assertFalse(usage.isMeasured());
+        assertTrue(usage.wallMillis() >= 0);
+    }
+
+    @Test
+    public void shouldReportLargestBuilds() {
+        Plugin small = Plugin.build("small-plugin");
+        small.addBuildUsage(new BuildUsage("compile", 10000, 20000, 512L * 1024 * 1024));
+        Plugin large = Plugin.build("large-plugin");
+        large.addBuildUsage(new BuildUsage("verify", 60000, 180000, 4096L * 1024 * 1024));
+        large.addBuildUsage(new BuildUsage("clean", 1000, -1, -1));
+
+        List<String> lines = BuildMonitor.report(List.of(small, large), 10);
+        assertEquals(5, lines.size());
+        assertEquals("Maven builds: 2 invocations, 70.0s wall, 200.0s CPU", lines.get(0));
+        assertTrue(lines.get(3).startsWith("large-plugin"), lines.get(3));
+        assertTrue(lines.get(3).contains("4096 MB"), lines.get(3));
+        assertTrue(lines.get(4).startsWith("small-plugin"), lines.get(4));
+        assertTrue(BuildMonitor.report(List.of(Plugin.build("skipped-plugin")), 10).isEmpty());
+    }
+}
@@ -5,6 +5,8 @@ import static java.time.temporal.ChronoUnit.MINUTES;
 import static org.junit.jupiter.api.Assertions.*;
 
 import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -12,6 +14,13 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -69,6 +78,61 @@ public class CacheManagerTest {
         assertNotNull(entry);
     }
 
+    @Test
+    public void cacheReturnsJsonStringWithinCustomTimeToLive() {
+        String cacheKey = "testKey";
+        CacheManager managerWithExpiredEntries = cacheManagerWithExpiredEntries();
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        managerWithExpiredEntries.put(value);
+
+        assertNull(managerWithExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+        assertNotNull(managerWithExpiredEntries.get(
+                cacheManager.root(), cacheKey, TestCacheEntry.class, Duration.ofDays(1)));
+        assertNull(managerWithExpiredEntries.get(
+                cacheManager.root(), cacheKey, TestCacheEntry.class, Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void testConcurrentPutsLeaveCompleteEntry() throws Exception {
+        String cacheKey = "shared.json";
+        CacheManager other = new CacheManager(cachePath);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                CacheManager manager = i % 2 == 0 ? cacheManager : other;
+                futures.add(executor.submit(() -> manager.put(
+                        new TestCacheEntry(manager, TestCacheEntry.class, cacheKey, manager.root()))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertNotNull(cacheManager.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+        try (Stream<Path> files = Files.list(cachePath)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void testPutLeavesOnlyEntryInItsDirectory() throws Exception {
+        cacheManager.put(new TestCacheEntry(
+                cacheManager, TestCacheEntry.class, CacheManager.PLUGIN_METADATA_CACHE_KEY, Path.of("git")));
+        try (Stream<Path> files = Files.list(cachePath.resolve("git"))) {
+            assertEquals(
+                    List.of(CacheManager.PLUGIN_METADATA_CACHE_KEY),
+                    files.map(file -> file.getFileName().toString()).toList());
+        }
+
+        // The lock of a shared feed is kept apart from the entries
+        cacheManager.put(new TestCacheEntry(
+                cacheManager, TestCacheEntry.class, CacheManager.UPDATE_CENTER_CACHE_KEY, cacheManager.root()));
+        assertTrue(Files.exists(cachePath.resolve(CacheManager.UPDATE_CENTER_CACHE_KEY)));
+        try (Stream<Path> files = Files.list(cachePath)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".lock")));
+        }
+    }
+
     private CacheManager cacheManagerWithoutExpiredEntries() {
         Clock fiftyNineMinutesInTheFuture =
                 Clock.fixed(systemUTC().instant().plus(59, MINUTES), ZoneId.systemDefault());
@@ -150,4 +214,104 @@ public class CacheManagerTest {
         cacheManager.remove(cacheManager.root(), cacheKey);
         assertFalse(Files.exists(fileToRemove));
     }
+
+    @Test
+    void testPutWritesSnapshotForEncodableEntries() {
+        UpdateCenterData updateCenterData = updateCenterData();
+        cacheManager.put(updateCenterData);
+
+        assertTrue(Files.exists(cachePath.resolve(CacheManager.UPDATE_CENTER_CACHE_KEY)));
+        assertTrue(Files.exists(cachePath.resolve("update-center.bin")));
+
+        CacheSnapshot snapshot = cacheManager.getSnapshot(
+                cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.SNAPSHOT_VERSION);
+        assertNotNull(snapshot);
+        assertEquals(2, snapshot.size());
+
+        int foo = snapshot.find("foo");
+        assertEquals("https://github.com/jenkinsci/foo-plugin", snapshot.getString(foo, UpdateCenterData.FIELD_SCM));
+        assertEquals("1.0", snapshot.getString(foo, UpdateCenterData.FIELD_VERSION));
+        assertEquals(List.of("pipeline", "api-plugin"), snapshot.getStringList(foo, UpdateCenterData.FIELD_LABELS));
+        assertTrue(snapshot.getBoolean(foo, UpdateCenterData.FIELD_IN_UPDATE_CENTER));
+        assertNull(snapshot.getString(foo, UpdateCenterData.FIELD_DEPRECATION_URL));
+
+        int old = snapshot.find("old");
+        assertFalse(snapshot.getBoolean(old, UpdateCenterData.FIELD_IN_UPDATE_CENTER));
+        assertEquals("https://example.com/old", snapshot.getString(old, UpdateCenterData.FIELD_DEPRECATION_URL));
+
+        // Same mapping is reused while the file is not modified
+        assertSame(
+                snapshot,
+                cacheManager.getSnapshot(
+                        cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.SNAPSHOT_VERSION));
+    }
+
+    @Test
+    void testGetSnapshotWithOtherSchemaVersion() {
+        cacheManager.put(updateCenterData());
+        assertNull(cacheManager.getSnapshot(
+                cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.SNAPSHOT_VERSION + 1));
+    }
+
+    @Test
+    void testGetSnapshotIgnoresInvalidFile() throws IOException {
+        Files.writeString(cachePath.resolve("update-center.bin"), "not a snapshot");
+        assertNull(cacheManager.getSnapshot(
+                cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.SNAPSHOT_VERSION));
+    }
+
+    @Test
+    void testGetSnapshotDeletesCorruptFile() throws IOException {
+        cacheManager.put(updateCenterData());
+        Path snapshotFile = cachePath.resolve("update-center.bin");
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        Files.write(snapshotFile, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertNull(cacheManager.getSnapshot(
+                cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.SNAPSHOT_VERSION));
+        assertFalse(Files.exists(snapshotFile));
+        assertNotNull(
+                cacheManager.get(cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class));
+    }
+
+    @Test
+    void testGetSnapshotWhenExpired() {
+        cacheManager.put(updateCenterData());
+        assertNull(cacheManagerWithExpiredEntries()
+                .getSnapshot(
+                        cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.SNAPSHOT_VERSION));
+    }
+
+    @Test
+    void testRemoveDeletesSnapshot() {
+        cacheManager.put(updateCenterData());
+        assertTrue(Files.exists(cachePath.resolve("update-center.bin")));
+        cacheManager.remove(cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY);
+        assertFalse(Files.exists(cachePath.resolve("update-center.bin")));
+        assertFalse(Files.exists(cachePath.resolve(CacheManager.UPDATE_CENTER_CACHE_KEY)));
+    }
+
+    private UpdateCenterData updateCenterData() {
+        // language=json
+        String json = """
+                {
+                  "plugins": {
+                    "foo": {
+                      "name": "foo",
+                      "version": "1.0",
+                      "scm": "https://github.com/jenkinsci/foo-plugin",
+                      "labels": ["pipeline", "api-plugin"]
+                    }
+                  },
+                  "deprecations": {
+                    "old": {"url": "https://example.com/old"}
+                  }
+                }
+                """;
+        UpdateCenterData updateCenterData = JsonUtils.fromJson(json, UpdateCenterData.class);
+        updateCenterData.setCacheManager(cacheManager);
+        updateCenterData.setKey(CacheManager.UPDATE_CENTER_CACHE_KEY);
+        updateCenterData.setPath(cacheManager.root());
+        return updateCenterData;
+    }
 }
@@ -0,0 +1,117 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class CacheSnapshotTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldLookupAllFieldTypes() {
+        CacheSnapshot.Writer writer = new CacheSnapshot.Writer(
+                3,
+                CacheSnapshot.FieldType.STRING,
+                CacheSnapshot.FieldType.STRING_LIST,
+                CacheSnapshot.FieldType.INT,
+                CacheSnapshot.FieldType.DOUBLE,
+                CacheSnapshot.FieldType.BOOLEAN);
+        writer.add("foo", "1.0", List.of("pipeline", "scm"), 42, 99.5, true);
+        writer.add("bar", null, null, null, null, false);
+        CacheSnapshot snapshot = CacheSnapshot.wrap(ByteBuffer.wrap(writer.toBytes()));
+
+        assertEquals(3, snapshot.getSchemaVersion());
+        assertEquals(2, snapshot.size());
+        assertEquals(-1, snapshot.find("baz"));
+        assertEquals(-1, snapshot.find(null));
+
+        int foo = snapshot.find("foo");
+        assertEquals("foo", snapshot.keyAt(foo));
+        assertEquals("1.0", snapshot.getString(foo, 0));
+        assertEquals(List.of("pipeline", "scm"), snapshot.getStringList(foo, 1));
+        assertTrue(snapshot.listContains(foo, 1, "scm"));
+        assertFalse(snapshot.listContains(foo, 1, "sc"));
+        assertEquals(42, snapshot.getInt(foo, 2));
+        assertEquals(99.5, snapshot.getDouble(foo, 3));
+        assertTrue(snapshot.getBoolean(foo, 4));
+
+        int bar = snapshot.find("bar");
+        assertNull(snapshot.getString(bar, 0));
+        assertNull(snapshot.getStringList(bar, 1));
+        assertFalse(snapshot.listContains(bar, 1, "scm"));
+        assertNull(snapshot.getInt(bar, 2));
+        assertNull(snapshot.getDouble(bar, 3));
+        assertFalse(snapshot.getBoolean(bar, 4));
+
+        assertThrows(ModernizerException.class, () -> snapshot.getInt(foo, 0));
+    }
+
+    @Test
+    public void shouldFindKeysInUtf8Order() throws Exception {
+        CacheSnapshot.Writer writer = new CacheSnapshot.Writer(1, CacheSnapshot.FieldType.INT);
+        List<String> keys = List.of("zeta", "Alpha", "é-plugin", "a", "ab", "日本-plugin", "a-b");
+        for (int i = 0; i < keys.size(); i++) {
+            writer.add(keys.get(i), i);
+        }
+        Path file = tempDir.resolve("keys.bin");
+        writer.write(file);
+
+        CacheSnapshot snapshot = CacheSnapshot.map(file);
+        assertEquals(keys.size(), snapshot.size());
+        for (int i = 0; i < keys.size(); i++) {
+            int record = snapshot.find(keys.get(i));
+            assertNotEquals(-1, record, keys.get(i));
+            assertEquals(i, snapshot.getInt(record, 0));
+        }
+    }
+
+    @Test
+    public void shouldStoreRepeatedStringsOnce() {
+        CacheSnapshot.Writer unique = new CacheSnapshot.Writer(1, CacheSnapshot.FieldType.STRING_LIST);
+        CacheSnapshot.Writer repeated = new CacheSnapshot.Writer(1, CacheSnapshot.FieldType.STRING_LIST);
+        for (int i = 0; i < 100; i++) {
+            unique.add("plugin-" + i, List.of("label-number-" + i));
+            repeated.add("plugin-" + i, List.of("label-number-0"));
+        }
+        assertTrue(repeated.toBytes().length < unique.toBytes().length);
+    }
+
+    @Test
+    public void shouldRejectInvalidContent() {
+        assertThrows(ModernizerException.class, () -> CacheSnapshot.wrap(ByteBuffer.wrap(new byte[] {1, 2, 3})));
+        ByteBuffer otherFormat =
+                ByteBuffer.wrap(new CacheSnapshot.Writer(1, CacheSnapshot.FieldType.INT).toBytes());
+        otherFormat.putInt(4, CacheSnapshot.FORMAT_VERSION + 1);
+        assertThrows(ModernizerException.class, () -> CacheSnapshot.wrap(otherFormat));
+    }
+
+    @Test
+    public void shouldRejectTruncatedOrCorruptContent() {
+        CacheSnapshot.Writer writer =
+                new CacheSnapshot.Writer(1, CacheSnapshot.FieldType.STRING, CacheSnapshot.FieldType.STRING_LIST);
+        writer.add("foo", "1.0", List.of("pipeline", "scm"));
+        writer.add("bar", "2.0", List.of("scm"));
+        byte[] bytes = writer.toBytes();
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(ModernizerException.class, () -> CacheSnapshot.wrap(ByteBuffer.wrap(truncated)));
+        }
+        ByteBuffer moreRecords = ByteBuffer.wrap(bytes.clone());
+        moreRecords.putInt(12, 1000);
+        assertThrows(ModernizerException.class, () -> CacheSnapshot.wrap(moreRecords));
+        ByteBuffer unknownType = ByteBuffer.wrap(bytes.clone());
+        unknownType.put(20, (byte) 42);
+        assertThrows(ModernizerException.class, () -> CacheSnapshot.wrap(unknownType));
+    }
+}
@@ -0,0 +1,40 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class MavenInvokerTest {
+
+    @Test
+    public void shouldTagGoal() {
+        assertEquals("verify", MavenInvoker.getGoalTag("-B", "verify", "-DskipTests"));
+        assertEquals(
+                "rewrite-maven-plugin:run",
+                MavenInvoker.getGoalTag("org.openrewrite.maven:rewrite-maven-plugin:6.0.0:run", "-Denforcer.skip"));
+        assertEquals("none", MavenInvoker.getGoalTag("-v"));
+    }
+
+    @Test
+    public void shouldSizeHeap() {
+        assertEquals("-Xmx2048m", MavenInvoker.getMavenOpts(null, JDK.JAVA_11, 2048L << 20));
+        assertNull(MavenInvoker.getMavenOpts(" ", JDK.JAVA_11, -1));
+        assertEquals("-Xmx1024m", MavenInvoker.getMavenOpts(null, null, 1024L << 20));
+    }
+
+    @Test
+    public void shouldKeepUserOptions() {
+        assertEquals("-Dfoo=bar -Xmx512m", MavenInvoker.getMavenOpts("-Dfoo=bar", JDK.JAVA_11, 512L << 20));
+        assertEquals("-Xmx8g", MavenInvoker.getMavenOpts("-Xmx8g", JDK.JAVA_11, 512L << 20));
+    }
+
+    @Test
+    public void shouldOpenJdkInternals() {
+        String opts = MavenInvoker.getMavenOpts(null, JDK.JAVA_17, 512L << 20);
+        assertTrue(opts.startsWith("-Xmx512m --add-opens java.base/java.lang=ALL-UNNAMED"), opts);
+    }
+}
@@ -9,9 +9,12 @@ import static org.mockito.Mockito.*;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkDiscovery;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
 import java.net.URL;
 import java.nio.file.Path;
@@ -21,6 +24,7 @@ import java.util.List;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -42,15 +46,31 @@ class PluginModernizerTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private JdkFetcher jdkFetcher;
+
+    @Mock
+    private JdkDiscovery jdkDiscovery;
+
+    @Mock
+    private BuildMemoStore buildMemos;
+
+    @Mock
+    private PluginScheduler scheduler;
+
     @Mock
     private Logger LOG;
 
     @InjectMocks
     private PluginModernizer pluginModernizer;
 
+    @TempDir
+    private Path cacheDir;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(config.getCachePath()).thenReturn(cacheDir);
     }
 
     @Test
@@ -174,7 +194,7 @@ class PluginModernizerTest {
         when(config.getJenkinsPluginVersions()).thenReturn(new URL("https://plugin-versions-url.com"));
         when(config.getPluginHealthScore()).thenReturn(new URL("https://health-score-url.com"));
         when(config.getPluginStatsInstallations()).thenReturn(new URL("https://stats-installations-url.com"));
-        when(config.getCachePath()).thenReturn(Paths.get("cache-path"));
+        when(config.getCachePath()).thenReturn(cacheDir);
         when(config.getMavenHome()).thenReturn(Paths.get("maven-home"));
         when(config.getMavenLocalRepo()).thenReturn(Paths.get("maven-local-repo"));
         when(config.isDryRun()).thenReturn(true);
@@ -256,6 +276,80 @@ class PluginModernizerTest {
         verify(pluginService).extractRepoName(plugin);
     }
 
+    @Test
+    void testPrefilterSkipsArchivedPluginBeforeFetching() throws Exception {
+        // Setup
+        Plugin plugin = Plugin.build("archived-plugin");
+        plugin.withConfig(config);
+        when(config.getPlugins()).thenReturn(Arrays.asList(plugin));
+        when(pluginService.existsInUpdateCenter(plugin)).thenReturn(true);
+        when(pluginService.extractRepoName(plugin)).thenReturn("archived-plugin");
+        when(ghService.isArchived(plugin)).thenReturn(true);
+        when(config.isDryRun()).thenReturn(true);
+
+        // Mock recipe
+        Recipe mockRecipe = mock(Recipe.class);
+        when(mockRecipe.getName()).thenReturn("MockRecipe");
+        when(config.getRecipe()).thenReturn(mockRecipe);
+
+        // Create a spy
+        PluginModernizer pluginModernizerSpy = spy(pluginModernizer);
+
+        // Mock dependencies
+        doNothing().when(pluginModernizerSpy).validate();
+        doNothing().when(cacheManager).init();
+
+        // Mock getPluginVersionData to return a non-null value
+        PluginVersionData mockVersionData = mock(PluginVersionData.class);
+        when(pluginService.getPluginVersionData()).thenReturn(mockVersionData);
+
+        // Execute
+        pluginModernizerSpy.start();
+
+        // Verify the archived status was resolved in bulk and the plugin never fetched
+        verify(ghService).resolveArchived(List.of(plugin));
+        verify(ghService, times(1)).isArchived(plugin);
+        verify(ghService, never()).fetch(eq(plugin), any());
+        assertEquals("Plugin is archived", plugin.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testPrefilterFailureChecksPluginWhenProcessing() throws Exception {
+        // Setup
+        Plugin plugin = Plugin.build("existing-plugin");
+        plugin.withConfig(config);
+        when(config.getPlugins()).thenReturn(Arrays.asList(plugin));
+        when(pluginService.existsInUpdateCenter(plugin))
+                .thenThrow(new ModernizerException("Unable to fetch update center"))
+                .thenReturn(true);
+        when(pluginService.extractRepoName(plugin)).thenReturn("jenkinsci/existing-plugin-plugin");
+        when(config.isFetchMetadataOnly()).thenReturn(true);
+
+        // Mock recipe
+        Recipe mockRecipe = mock(Recipe.class);
+        when(mockRecipe.getName()).thenReturn("MockRecipe");
+        when(config.getRecipe()).thenReturn(mockRecipe);
+
+        // Create a spy
+        PluginModernizer pluginModernizerSpy = spy(pluginModernizer);
+
+        // Mock dependencies
+        doNothing().when(pluginModernizerSpy).validate();
+        doNothing().when(cacheManager).init();
+
+        // Mock getPluginVersionData to return a non-null value
+        PluginVersionData mockVersionData = mock(PluginVersionData.class);
+        when(pluginService.getPluginVersionData()).thenReturn(mockVersionData);
+
+        // Execute
+        pluginModernizerSpy.start();
+
+        // Verify the failed prefilter didn't abort the run and the plugin was checked again when processed
+        verify(pluginService, times(2)).existsInUpdateCenter(plugin);
+        verify(pluginService).extractRepoName(plugin);
+        verify(ghService).isArchived(plugin);
+    }
+
     @Test
     void testProcessSkipsLocalPlugin() throws Exception {
         // Setup - local plugins should skip the update center check
@@ -0,0 +1,129 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class PluginSchedulerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private CacheManager cacheManager;
+    private PluginService pluginService;
+    private PluginScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager = new CacheManager(tempDir);
+        cacheManager.init();
+        pluginService = mock(PluginService.class);
+        when(pluginService.extractInstallationStats(any())).thenReturn(null);
+        when(pluginService.extractScore(any())).thenReturn(null);
+        scheduler = new PluginScheduler(cacheManager, pluginService);
+    }
+
+    @Test
+    public void shouldValueInstallationsHealthAndBaseline() {
+        Plugin unknown = Plugin.build("unknown");
+        assertEquals(1.0, scheduler.value(unknown), 0.001);
+
+        Plugin popular = Plugin.build("popular");
+        when(pluginService.extractInstallationStats(popular)).thenReturn(99_990);
+        assertEquals(5.0, scheduler.value(popular), 0.001);
+
+        // A low health score doubles the value at most
+        when(pluginService.extractScore(popular)).thenReturn(50.0);
+        assertEquals(7.5, scheduler.value(popular), 0.001);
+
+        PluginMetadata metadata = new PluginMetadata(cacheManager, popular);
+        metadata.setJenkinsVersion("2.100");
+        metadata.save();
+        assertEquals(7.5 * PluginScheduler.STALE_BASELINE_FACTOR, scheduler.value(popular), 0.001);
+
+        metadata.setJenkinsVersion(Settings.getJenkinsMinimumVersion());
+        metadata.save();
+        assertEquals(7.5, scheduler.value(popular), 0.001);
+    }
+
+    @Test
+    public void shouldValueWithoutRemoteData() {
+        Plugin local = Plugin.build("local-plugin", tempDir);
+        assertEquals(1.0, scheduler.value(local), 0.001);
+        verify(pluginService, never()).extractInstallationStats(local);
+        verify(pluginService, never()).extractScore(local);
+
+        // A feed failure doesn't fail the run, and is not retried for the next plugins
+        when(pluginService.extractInstallationStats(any())).thenThrow(new ModernizerException("Unable to fetch"));
+        List<Plugin> plugins = List.of(Plugin.build("git"), Plugin.build("jobcacher"));
+        assertEquals(2, scheduler.schedule(plugins).size());
+        verify(pluginService, times(1)).extractInstallationStats(any());
+        verify(pluginService, never()).extractScore(any());
+    }
+
+    @Test
+    public void shouldAverageRecordedCosts() {
+        Plugin plugin = Plugin.build("git");
+        assertEquals(-1, scheduler.cost(plugin));
+
+        plugin.addPhaseTiming(new PhaseTiming("fetch", 1000, 100));
+        plugin.addPhaseTiming(new PhaseTiming("verify", 3000, 2000));
+        scheduler.recordCost(plugin);
+        assertEquals(4000, scheduler.cost(plugin));
+
+        Plugin next = Plugin.build("git");
+        next.addPhaseTiming(new PhaseTiming("verify", 2000, 1500));
+        scheduler.recordCost(next);
+        assertEquals(3000, scheduler.cost(plugin));
+
+        // Plugins without timings are not recorded
+        scheduler.recordCost(Plugin.build("git"));
+        assertEquals(3000, scheduler.cost(plugin));
+    }
+
+    @Test
+    public void shouldScheduleValuableTiersFirstAndCheapestInTier() {
+        List<Plugin> plugins = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Plugin plugin = Plugin.build("plugin-" + i);
+            when(pluginService.extractInstallationStats(plugin)).thenReturn(i * 1000);
+            plugins.add(plugin);
+        }
+        // plugin-7 and plugin-6 are the most valuable, but plugin-6 is much cheaper
+        recordCost(plugins.get(7), 60 * 60_000);
+        recordCost(plugins.get(6), 60_000);
+
+        List<String> scheduled =
+                scheduler.schedule(plugins).stream().map(Plugin::getName).toList();
+        assertEquals(8, scheduled.size());
+        assertEquals(List.of("plugin-6", "plugin-7"), scheduled.subList(0, 2));
+        assertEquals(List.of("plugin-0", "plugin-1"), scheduled.subList(6, 8).stream().sorted().toList());
+    }
+
+    @Test
+    public void shouldScheduleEmptyBatch() {
+        assertTrue(scheduler.schedule(List.of()).isEmpty());
+    }
+
+    private void recordCost(Plugin plugin, long wallMillis) {
+        Plugin processed = Plugin.build(plugin.getName());
+        processed.addPhaseTiming(new PhaseTiming("verify", wallMillis, wallMillis));
+        scheduler.recordCost(processed);
+    }
+}
@@ -0,0 +1,87 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.BuildUsage;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class PluginStagesTest {
+
+    @Test
+    public void shouldRecordPhaseTimings() {
+        Plugin plugin = Plugin.build("stages-plugin");
+        PluginStages stages = new PluginStages(plugin);
+        stages.start("fetch");
+        assertEquals("fetch", stages.getStage());
+        stages.start("compile");
+        stages.start("fetch");
+        stages.stop("success");
+        assertNull(stages.getStage());
+
+        List<PhaseTiming> timings = plugin.getPhaseTimings();
+        assertEquals(2, timings.size());
+        assertEquals("fetch", timings.get(0).phase());
+        assertEquals("compile", timings.get(1).phase());
+        assertTrue(timings.get(0).wallMillis() >= 0);
+    }
+
+    @Test
+    public void shouldAddCpuTimeOfMavenBuilds() {
+        Plugin plugin = Plugin.build("stages-plugin");
+        plugin.addBuildUsage(new BuildUsage("validate", 100, 1000, 1 << 20));
+        PluginStages stages = new PluginStages(plugin);
+        stages.start("verify");
+        plugin.addBuildUsage(new BuildUsage("verify", 60000, 90000, 1 << 30));
+        stages.start("rewrite");
+        plugin.addBuildUsage(new BuildUsage("rewrite", 10000, -1, -1));
+        stages.stop("success");
+
+        List<PhaseTiming> timings = plugin.getPhaseTimings();
+        // Only the builds of the stage are added to the processing thread
+        assertTrue(timings.get(0).cpuMillis() >= 90000, timings.get(0).toString());
+        assertTrue(timings.get(0).cpuMillis() < 91000, timings.get(0).toString());
+        assertEquals(-1, timings.get(1).cpuMillis());
+    }
+
+    @Test
+    public void shouldSumTimingsOfRepeatedPhase() {
+        PhaseTiming timing = new PhaseTiming("verify", 100, 10).plus(new PhaseTiming("verify", 50, 5));
+        assertEquals(new PhaseTiming("verify", 150, 15), timing);
+        assertEquals(-1, timing.plus(new PhaseTiming("verify", 1, -1)).cpuMillis());
+    }
+
+    @Test
+    public void shouldReportSlowestPluginsAndPhases() {
+        Plugin fast = Plugin.build("fast-plugin");
+        fast.addPhaseTiming(new PhaseTiming("fetch", 1000, 100));
+        fast.addPhaseTiming(new PhaseTiming("verify", 2000, 200));
+        Plugin slow = Plugin.build("slow-plugin");
+        slow.addPhaseTiming(new PhaseTiming("fetch", 500, 50));
+        slow.addPhaseTiming(new PhaseTiming("verify", 60000, -1));
+        Plugin skipped = Plugin.build("skipped-plugin");
+
+        List<String> lines = PluginStages.report(List.of(fast, slow, skipped), 2);
+        assertEquals(8, lines.size());
+        assertEquals("Slowest plugins:", lines.get(0));
+        assertTrue(lines.get(2).startsWith("slow-plugin"), lines.get(2));
+        assertTrue(lines.get(2).contains("60.5s"), lines.get(2));
+        assertTrue(lines.get(2).contains("n/a"), lines.get(2));
+        assertTrue(lines.get(2).contains("verify (60.0s)"), lines.get(2));
+        assertTrue(lines.get(3).startsWith("fast-plugin"), lines.get(3));
+        assertEquals("Slowest phases:", lines.get(4));
+        assertTrue(lines.get(6).startsWith("slow-plugin"), lines.get(6));
+        assertTrue(lines.get(7).startsWith("fast-plugin"), lines.get(7));
+        assertTrue(lines.get(7).contains("verify"), lines.get(7));
+    }
+
+    @Test
+    public void shouldNotReportWithoutTimings() {
+        assertTrue(PluginStages.report(List.of(Plugin.build("skipped-plugin")), 10).isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class RunJournalTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldResumeProgressOfSameRun() {
+        Path file = RunJournal.file(tempDir, "AddPluginsBom");
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", false)) {
+            journal.started("git", "prepare");
+            journal.started("git", "fetch");
+            journal.finished("git", "success");
+            journal.started("git-client", "prepare");
+            journal.started("git-client", "verify");
+        }
+
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", true)) {
+            assertEquals(new RunJournal.Progress("fetch", "success"), journal.getProgress("git"));
+            assertTrue(journal.getProgress("git").isFinished());
+            assertEquals(new RunJournal.Progress("verify", null), journal.getProgress("git-client"));
+            assertFalse(journal.getProgress("git-client").isFinished());
+            assertNull(journal.getProgress("jobcacher"));
+            journal.started("git-client", "prepare");
+            journal.finished("git-client", "failure");
+        }
+
+        // Records of the resumed run are appended
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", true)) {
+            assertEquals("success", journal.getProgress("git").outcome());
+            assertEquals(new RunJournal.Progress("prepare", "failure"), journal.getProgress("git-client"));
+            assertTrue(journal.getProgress("git-client").isFailed());
+            assertFalse(journal.getProgress("git").isFailed());
+        }
+    }
+
+    @Test
+    public void shouldKeepOneJournalPerRun() {
+        assertEquals(tempDir.resolve("run-journal-AddPluginsBom.tsv"), RunJournal.file(tempDir, "AddPluginsBom"));
+        assertEquals(
+                tempDir.resolve("run-journal-AddPluginsBom-dry-run.tsv"),
+                RunJournal.file(tempDir, "AddPluginsBom (dry-run)"));
+    }
+
+    @Test
+    public void shouldNotJournalWhenUsedByAnotherRun() {
+        Path file = RunJournal.file(tempDir, "AddPluginsBom");
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", false)) {
+            journal.started("git", "prepare");
+            journal.finished("git", "success");
+            // A concurrent run doesn't truncate the journal, and journals nothing
+            try (RunJournal concurrent = RunJournal.open(file, "AddPluginsBom", false)) {
+                concurrent.started("jobcacher", "prepare");
+                assertNull(concurrent.getProgress("git"));
+            }
+            journal.started("git-client", "prepare");
+        }
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", true)) {
+            assertEquals(new RunJournal.Progress("prepare", "success"), journal.getProgress("git"));
+            assertEquals(new RunJournal.Progress("prepare", null), journal.getProgress("git-client"));
+            assertNull(journal.getProgress("jobcacher"));
+        }
+    }
+
+    @Test
+    public void shouldStartOverWithoutResume() {
+        Path file = RunJournal.file(tempDir, "AddPluginsBom");
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", false)) {
+            journal.started("git", "prepare");
+            journal.finished("git", "success");
+        }
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", false)) {
+            assertNull(journal.getProgress("git"));
+        }
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", true)) {
+            assertNull(journal.getProgress("git"));
+        }
+    }
+
+    @Test
+    public void shouldNotResumeAnotherRun() {
+        Path file = RunJournal.file(tempDir, "AddPluginsBom");
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", false)) {
+            journal.started("git", "prepare");
+            journal.finished("git", "success");
+        }
+        try (RunJournal journal = RunJournal.open(file, "AddCodeOwners", true)) {
+            assertNull(journal.getProgress("git"));
+        }
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", true)) {
+            assertNull(journal.getProgress("git"));
+        }
+    }
+
+    @Test
+    public void shouldResumeWithoutJournal() {
+        try (RunJournal journal = RunJournal.open(RunJournal.file(tempDir.resolve("missing"), "run"), "run", true)) {
+            assertNull(journal.getProgress("git"));
+        }
+    }
+
+    @Test
+    public void shouldIgnoreTornRecord() throws Exception {
+        Path file = RunJournal.file(tempDir, "AddPluginsBom");
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", false)) {
+            journal.started("git", "verify");
+        }
+        // Interrupted while writing the outcome
+        Files.writeString(file, "done\tgit\tsucc", StandardOpenOption.APPEND);
+
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", true)) {
+            assertEquals(new RunJournal.Progress("verify", null), journal.getProgress("git"));
+            journal.finished("git", "success");
+        }
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", true)) {
+            assertEquals(new RunJournal.Progress("verify", "success"), journal.getProgress("git"));
+        }
+    }
+
+    @Test
+    public void shouldJournalPluginStages() {
+        Path file = RunJournal.file(tempDir, "AddPluginsBom");
+        Plugin plugin = Plugin.build("journal-plugin");
+        try (RunJournal journal = RunJournal.open(file, "AddPluginsBom", false)) {
+            PluginStages stages = new PluginStages(plugin, journal);
+            stages.start("prepare");
+            stages.start("fetch");
+            assertEquals(new RunJournal.Progress("fetch", null), journal.getProgress("journal-plugin"));
+            stages.stop("skipped");
+            assertEquals(new RunJournal.Progress("fetch", "skipped"), journal.getProgress("journal-plugin"));
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTiming;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class WorkQueueTest {
+
+    private static final String RUN = "AddPluginsBom";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldClaimInSubmissionOrder() throws Exception {
+        Path local = Files.createDirectories(tempDir.resolve("local-plugin"));
+        WorkQueue queue = new WorkQueue(tempDir.resolve("queue"), "coordinator", RUN);
+        assertFalse(queue.isDrained());
+        queue.submit(List.of(Plugin.build("git"), Plugin.build("local-plugin", local), Plugin.build("jobcacher")));
+
+        WorkQueue.Item first = queue.claim().orElseThrow();
+        assertEquals("git", first.plugin());
+        assertNull(first.location());
+        WorkQueue.Item second = queue.claim().orElseThrow();
+        assertEquals("local-plugin", second.plugin());
+        assertEquals(local.toAbsolutePath(), second.location());
+        assertTrue(second.toPlugin().isLocal());
+        assertEquals("jobcacher", queue.claim().orElseThrow().plugin());
+        assertTrue(queue.claim().isEmpty());
+        assertFalse(queue.isDrained());
+    }
+
+    @Test
+    public void shouldClaimEachPluginOnce() throws Exception {
+        Path root = tempDir.resolve("queue");
+        List<Plugin> plugins = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            plugins.add(Plugin.build("plugin-" + i));
+        }
+        new WorkQueue(root, "coordinator", RUN).submit(plugins);
+
+        List<String> claimed = Collections.synchronizedList(new ArrayList<>());
+        try (ExecutorService workers = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                WorkQueue queue = new WorkQueue(root, "worker-" + i, RUN);
+                futures.add(workers.submit(() -> {
+                    Optional<WorkQueue.Item> item;
+                    while ((item = queue.claim()).isPresent()) {
+                        claimed.add(item.get().plugin());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(50, claimed.size());
+        assertEquals(50, claimed.stream().distinct().count());
+    }
+
+    @Test
+    public void shouldCollectCompletedPlugins() throws Exception {
+        Path root = tempDir.resolve("queue");
+        WorkQueue coordinator = new WorkQueue(root, "coordinator", RUN);
+        coordinator.submit(List.of(Plugin.build("git"), Plugin.build("jobcacher")));
+
+        // A worker with its own cache
+        CacheManager workerCache = new CacheManager(tempDir.resolve("worker-cache"));
+        workerCache.init();
+        WorkQueue worker = new WorkQueue(root, "worker", RUN);
+        WorkQueue.Item item = worker.claim().orElseThrow();
+        Plugin git = item.toPlugin().withRepositoryName("git-plugin");
+        PluginMetadata metadata = new PluginMetadata(workerCache, git);
+        metadata.setPluginName("git");
+        metadata.save();
+        git.addPhaseTiming(new PhaseTiming("verify", 1000, 800));
+        git.addModifiedFiles(List.of("pom.xml"));
+        worker.complete(item, git, workerCache);
+
+        item = worker.claim().orElseThrow();
+        Plugin jobcacher = item.toPlugin();
+        jobcacher.addError("Build failed");
+        worker.complete(item, jobcacher, workerCache);
+        assertTrue(coordinator.isDrained());
+
+        CacheManager coordinatorCache = new CacheManager(tempDir.resolve("coordinator-cache"));
+        coordinatorCache.init();
+        List<Plugin> plugins = coordinator.collect(coordinatorCache);
+        assertEquals(List.of("git", "jobcacher"), plugins.stream().map(Plugin::getName).toList());
+        assertFalse(plugins.get(0).hasErrors());
+        assertEquals(List.of(new PhaseTiming("verify", 1000, 800)), plugins.get(0).getPhaseTimings());
+        assertEquals("git-plugin", plugins.get(0).getRepositoryName());
+        assertEquals(Set.of("pom.xml"), plugins.get(0).getModifiedFiles());
+        assertTrue(plugins.get(1).hasErrors());
+        assertEquals("Build failed", plugins.get(1).getErrors().get(0).getMessage());
+        PluginMetadata merged =
+                coordinatorCache.get(Path.of("git"), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+        assertNotNull(merged);
+        assertEquals("git", merged.getPluginName());
+        // Reported like the plugins processed by the coordinator
+        assertNotNull(plugins.get(0).getMetadata());
+        assertEquals("git", plugins.get(0).getMetadata().getPluginName());
+        assertNull(plugins.get(1).getMetadata());
+    }
+
+    @Test
+    public void shouldCollectResultsOlderThanCacheExpiration() throws Exception {
+        Path root = tempDir.resolve("queue");
+        WorkQueue coordinator = new WorkQueue(root, "coordinator", RUN);
+        coordinator.submit(List.of(Plugin.build("git")));
+        CacheManager workerCache = new CacheManager(tempDir.resolve("worker-cache"));
+        workerCache.init();
+        WorkQueue.Item item = coordinator.claim().orElseThrow();
+        Plugin git = item.toPlugin();
+        PluginMetadata metadata = new PluginMetadata(workerCache, git);
+        metadata.setPluginName("git");
+        metadata.save();
+        coordinator.complete(item, git, workerCache);
+
+        // The batch took longer than the cache expiration
+        Files.setLastModifiedTime(
+                root.resolve("results").resolve("git").resolve(CacheManager.PLUGIN_METADATA_CACHE_KEY),
+                FileTime.from(Instant.now().minus(CacheManager.DEFAULT_TTL).minus(Duration.ofHours(1))));
+
+        CacheManager coordinatorCache = new CacheManager(tempDir.resolve("coordinator-cache"));
+        coordinatorCache.init();
+        List<Plugin> plugins = coordinator.collect(coordinatorCache);
+        assertNotNull(plugins.get(0).getMetadata());
+        assertNotNull(
+                coordinatorCache.get(Path.of("git"), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class));
+    }
+
+    @Test
+    public void shouldNotDrainPreviousSubmissionOfReusedQueue() throws Exception {
+        Path root = tempDir.resolve("queue");
+        WorkQueue previous = new WorkQueue(root, "coordinator", RUN);
+        previous.submit(List.of(Plugin.build("git")));
+        WorkQueue.Item item = previous.claim().orElseThrow();
+        previous.complete(item, item.toPlugin(), new CacheManager(tempDir.resolve("cache")));
+        assertTrue(previous.isDrained());
+
+        // A worker started before the next coordinator waits for its submission
+        WorkQueue worker = new WorkQueue(root, "worker", RUN);
+        assertFalse(worker.isDrained());
+        new WorkQueue(root, "coordinator", RUN).submit(List.of(Plugin.build("git"), Plugin.build("credentials")));
+        assertFalse(worker.isDrained());
+        item = worker.claim().orElseThrow();
+        assertEquals("credentials", item.plugin());
+        worker.complete(item, item.toPlugin(), new CacheManager(tempDir.resolve("cache")));
+        assertTrue(worker.isDrained());
+
+        // Also when the submission has nothing new
+        WorkQueue late = new WorkQueue(root, "late", RUN);
+        assertFalse(late.isDrained());
+        new WorkQueue(root, "coordinator", RUN).submit(List.of(Plugin.build("git")));
+        assertTrue(late.isDrained());
+    }
+
+    @Test
+    public void shouldClaimEachPluginOnceAcrossProcesses() throws Exception {
+        Path root = tempDir.resolve("queue");
+        List<Plugin> plugins = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            plugins.add(Plugin.build("plugin-" + i));
+        }
+        WorkQueue coordinator = new WorkQueue(root, "coordinator", RUN);
+        coordinator.submit(plugins);
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processes = new ArrayList<>();
+        List<Path> outputs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Path output = tempDir.resolve("worker-" + i + ".txt");
+            outputs.add(output);
+            processes.add(new ProcessBuilder(
+                            java,
+                            "-cp",
+                            System.getProperty("java.class.path"),
+                            Worker.class.getName(),
+                            root.toString(),
+                            "worker-" + i,
+                            tempDir.resolve("cache-" + i).toString(),
+                            output.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(tempDir.resolve("worker-" + i + ".log").toFile())
+                    .start());
+        }
+        // Start claiming together once every process is ready
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (!outputs.stream().allMatch(Files::exists)) {
+            assertTrue(System.nanoTime() < deadline, "Worker processes didn't start");
+            Thread.sleep(10);
+        }
+        Files.createFile(root.resolve(Worker.START));
+        for (int i = 0; i < processes.size(); i++) {
+            Path log = tempDir.resolve("worker-" + i + ".log");
+            assertTrue(processes.get(i).waitFor(1, TimeUnit.MINUTES), "Worker " + i + " didn't finish");
+            assertEquals(0, processes.get(i).exitValue(), () -> readLog(log));
+        }
+
+        List<String> claimed = new ArrayList<>();
+        for (Path output : outputs) {
+            claimed.addAll(Files.readAllLines(output));
+        }
+        assertEquals(60, claimed.size());
+        assertEquals(60, claimed.stream().distinct().count());
+        assertTrue(coordinator.isDrained());
+        CacheManager coordinatorCache = new CacheManager(tempDir.resolve("coordinator-cache"));
+        coordinatorCache.init();
+        assertEquals(
+                plugins.stream().map(Plugin::getName).sorted().toList(),
+                coordinator.collect(coordinatorCache).stream()
+                        .map(Plugin::getName)
+                        .sorted()
+                        .toList());
+    }
+
+    /**
+     * A worker process claiming and completing plugins until none is pending
+     */
+    public static class Worker {
+
+        static final String START = "start";
+
+        /**
+         * Entry point
+         * @param args The queue, the worker identity, its cache and the file listing the claimed plugins
+         * @throws Exception If the queue fails
+         */
+        public static void main(String[] args) throws Exception {
+            Path root = Path.of(args[0]);
+            WorkQueue queue = new WorkQueue(root, args[1], RUN);
+            CacheManager cacheManager = new CacheManager(Path.of(args[2]));
+            cacheManager.init();
+            Path output = Files.createFile(Path.of(args[3]));
+            while (!Files.exists(root.resolve(START))) {
+                Thread.sleep(10);
+            }
+            Optional<WorkQueue.Item> item;
+            while ((item = queue.claim()).isPresent()) {
+                Files.writeString(output, item.get().plugin() + "\n", StandardOpenOption.APPEND);
+                queue.complete(item.get(), item.get().toPlugin(), cacheManager);
+            }
+        }
+    }
+
+    private static String readLog(Path log) {
+        try {
+            return Files.readString(log);
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void shouldNotSubmitQueuedPluginsAgain() throws Exception {
+        Path root = tempDir.resolve("queue");
+        WorkQueue queue = new WorkQueue(root, "coordinator", RUN);
+        queue.submit(List.of(Plugin.build("git"), Plugin.build("jobcacher")));
+        WorkQueue.Item item = queue.claim().orElseThrow();
+        queue.complete(item, item.toPlugin(), new CacheManager(tempDir.resolve("cache")));
+
+        // A new coordinator of the same queue only submits the new plugins, after the previous ones
+        new WorkQueue(root, "coordinator", RUN).submit(List.of(Plugin.build("git"), Plugin.build("credentials")));
+        assertEquals("jobcacher", queue.claim().orElseThrow().plugin());
+        WorkQueue.Item credentials = queue.claim().orElseThrow();
+        assertEquals("credentials", credentials.plugin());
+        assertTrue(credentials.entry().startsWith("000003-"));
+        assertTrue(queue.claim().isEmpty());
+    }
+
+    @Test
+    public void shouldResetQueueReusedByAnotherRun() throws Exception {
+        Path root = tempDir.resolve("queue");
+        CacheManager workerCache = new CacheManager(tempDir.resolve("worker-cache"));
+        workerCache.init();
+        WorkQueue previous = new WorkQueue(root, "coordinator", RUN);
+        previous.submit(List.of(Plugin.build("git"), Plugin.build("jobcacher")));
+        WorkQueue.Item item = previous.claim().orElseThrow();
+        Plugin git = item.toPlugin();
+        PluginMetadata metadata = new PluginMetadata(workerCache, git);
+        metadata.setPluginName("git");
+        metadata.save();
+        previous.complete(item, git, workerCache);
+
+        // Refused while the previous run is still processing
+        WorkQueue other = new WorkQueue(root, "coordinator", "UpgradeParentVersion (dry-run)");
+        assertThrows(ModernizerException.class, () -> other.submit(List.of(Plugin.build("git"))));
+        WorkQueue.Item jobcacher = previous.claim().orElseThrow();
+        previous.complete(jobcacher, jobcacher.toPlugin(), workerCache);
+
+        // The plugins processed by the previous run are processed again, and its outcomes are not collected
+        other.submit(List.of(Plugin.build("git")));
+        CacheManager coordinatorCache = new CacheManager(tempDir.resolve("coordinator-cache"));
+        coordinatorCache.init();
+        assertTrue(other.collect(coordinatorCache).isEmpty());
+        assertNull(coordinatorCache.get(Path.of("git"), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class));
+        assertThrows(ModernizerException.class, () -> new WorkQueue(root, "worker", RUN).claim());
+        item = other.claim().orElseThrow();
+        assertEquals("git", item.plugin());
+        other.complete(item, item.toPlugin(), workerCache);
+        assertEquals(List.of("git"), other.collect(coordinatorCache).stream().map(Plugin::getName).toList());
+    }
+
+    @Test
+    public void shouldRequeueStaleClaims() throws Exception {
+        Path root = tempDir.resolve("queue");
+        WorkQueue queue = new WorkQueue(root, "coordinator", RUN);
+        queue.submit(List.of(Plugin.build("git"), Plugin.build("jobcacher")));
+        WorkQueue.Item dead = queue.claim().orElseThrow();
+        queue.claim().orElseThrow();
+        assertEquals(0, queue.requeueStale());
+
+        // The host of the first claim stopped refreshing it
+        Files.setLastModifiedTime(
+                root.resolve("claimed").resolve(dead.entry()),
+                FileTime.from(Instant.now().minus(WorkQueue.STALE).minusSeconds(1)));
+        assertEquals(1, queue.requeueStale());
+        assertEquals("git", queue.claim().orElseThrow().plugin());
+    }
+}
@@ -0,0 +1,66 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class RunRecordingTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldRecordEvents() throws Exception {
+        Path file = tempDir.resolve("logs").resolve(RunRecording.FILE);
+        try (RunRecording recording = RunRecording.start(file)) {
+            assertEquals(file, recording.getDestination());
+            MavenInvocationEvent.begin(
+                            "recorded-plugin", "rewrite-maven-plugin:run", new String[] {"clean", "-B"}, 21)
+                    .end(1, 1500, 512 * 1024 * 1024);
+            GitHubOperationEvent.begin("recorded-plugin", "pushChanges", "git").end(true);
+            CacheAccessEvent.begin(CacheAccessEvent.READ, "update-center.json", "cache/update-center.json")
+                    .end("hit");
+        }
+        assertTrue(Files.isRegularFile(file));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        RecordedEvent maven = find(events, MavenInvocationEvent.NAME, "recorded-plugin")
+                .orElseThrow();
+        assertEquals("rewrite-maven-plugin:run", maven.getString("goal"));
+        assertEquals("clean -B", maven.getString("arguments"));
+        assertEquals(21, maven.getInt("jdk"));
+        assertEquals(1, maven.getInt("exitCode"));
+        assertEquals(512 * 1024 * 1024, maven.getLong("peakRss"));
+
+        RecordedEvent git = find(events, GitHubOperationEvent.NAME, "recorded-plugin")
+                .orElseThrow();
+        assertEquals("pushChanges", git.getString("operation"));
+        assertTrue(git.getBoolean("success"));
+
+        RecordedEvent cache = events.stream()
+                .filter(event -> event.getEventType().getName().equals(CacheAccessEvent.NAME))
+                .filter(event -> "update-center.json".equals(event.getString("key")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(CacheAccessEvent.READ, cache.getString("operation"));
+        assertEquals("hit", cache.getString("result"));
+    }
+
+    private static Optional<RecordedEvent> find(List<RecordedEvent> events, String type, String plugin) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .filter(event -> plugin.equals(event.getString("plugin")))
+                .findFirst();
+    }
+}
@@ -0,0 +1,77 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class DetachedPluginsIndexTest {
+
+    @Test
+    public void shouldLookupByClassAndPackage() {
+        DetachedPluginsIndex index = DetachedPluginsIndex.forJenkinsVersion("2.440.3");
+        assertEquals(Set.of(DetachedPlugins.MAILER), index.lookup("hudson.tasks.Mailer"));
+        assertEquals(Set.of(DetachedPlugins.MATRIX_PROJECT), index.lookup("hudson.matrix.MatrixConfiguration"));
+        assertEquals(Set.of(), index.lookup("hudson.model.FreeStyleProject"));
+        assertEquals(Set.of(), index.lookup("NoPackage"));
+    }
+
+    @Test
+    public void shouldOnlyIndexPluginsDetachedBeforeVersion() {
+        DetachedPluginsIndex old = DetachedPluginsIndex.forJenkinsVersion("1.400");
+        assertEquals(Set.of(DetachedPlugins.SUBVERSION), old.lookup("hudson.scm.SubversionSCM"));
+        assertEquals(Set.of(), old.lookup("hudson.tasks.Mailer"));
+        assertTrue(old.size() < DetachedPluginsIndex.forJenkinsVersion("2.440.3").size());
+    }
+
+    @Test
+    public void shouldNotIndexPluginsForUnknownVersion() {
+        DetachedPluginsIndex unknown = DetachedPluginsIndex.forJenkinsVersion(null);
+        assertEquals(0, unknown.size());
+        assertEquals(Set.of(), unknown.lookup("hudson.tasks.Mailer"));
+    }
+
+    @Test
+    public void shouldReuseIndexForSameVersion() {
+        assertSame(
+                DetachedPluginsIndex.forJenkinsVersion("2.346.3"), DetachedPluginsIndex.forJenkinsVersion("2.346.3"));
+    }
+
+    @Test
+    public void shouldMatchScanOfAllDetachedPlugins() {
+        Set<String> imports = new HashSet<>();
+        for (DetachedPlugins plugin : DetachedPlugins.values()) {
+            imports.addAll(plugin.getClassNames());
+            plugin.getPackageName().forEach(name -> imports.add(name + ".Foo"));
+        }
+        for (String version : new String[] {"1.300", "1.500", "2.346.3", "2.440.3", "2.479.1"}) {
+            DetachedPluginsIndex index = DetachedPluginsIndex.forJenkinsVersion(version);
+            for (String importedClass : imports) {
+                assertEquals(scan(version, importedClass), index.lookup(importedClass), version + " " + importedClass);
+            }
+        }
+    }
+
+    /**
+     * Lookup by scanning all detached plugins
+     */
+    private static Set<DetachedPlugins> scan(String jenkinsVersion, String importedClass) {
+        String importedPackage = importedClass.substring(0, importedClass.lastIndexOf('.'));
+        ComparableVersion version = new ComparableVersion(jenkinsVersion);
+        Set<DetachedPlugins> result = EnumSet.noneOf(DetachedPlugins.class);
+        for (DetachedPlugins plugin : DetachedPlugins.values()) {
+            if ((plugin.getPackageName().contains(importedPackage)
+                            || plugin.getClassNames().contains(importedClass))
+                    && version.compareTo(new ComparableVersion(plugin.getLastCoreRelease())) > 0) {
+                result.add(plugin);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.w3c.dom.Document;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class PreconditionErrorTest {
+
+    @Test
+    public void shouldReportNoPomWhenDocumentIsMissing() {
+        assertEquals(Set.of(PreconditionError.NO_POM), PreconditionError.evaluate(null));
+    }
+
+    @Test
+    public void shouldNotReportErrorsOnModernPom() throws Exception {
+        // language=xml
+        Document document = parse("""
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <parent>
+                    <groupId>org.jenkins-ci.plugins</groupId>
+                    <artifactId>plugin</artifactId>
+                    <version>5.9</version>
+                  </parent>
+                  <properties>
+                    <java.level>8</java.level>
+                  </properties>
+                  <repositories>
+                    <repository>
+                      <id>repo.jenkins-ci.org</id>
+                      <url>https://repo.jenkins-ci.org/public/</url>
+                    </repository>
+                  </repositories>
+                </project>
+                """);
+        assertTrue(PreconditionError.evaluate(document).isEmpty());
+    }
+
+    @Test
+    public void shouldReportAllErrorsInSinglePass() throws Exception {
+        // language=xml
+        Document document = parse("""
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <parent>
+                    <groupId>org.jenkins-ci.plugins</groupId>
+                    <artifactId>plugin</artifactId>
+                    <version>1.580.1</version>
+                  </parent>
+                  <properties>
+                    <java.level>6</java.level>
+                  </properties>
+                  <repositories>
+                    <repository>
+                      <id>local</id>
+                      <url>${project.baseUri}/repo</url>
+                    </repository>
+                    <repository>
+                      <id>repo.jenkins-ci.org</id>
+                      <url> http://repo.jenkins-ci.org/public/ </url>
+                    </repository>
+                  </repositories>
+                </project>
+                """);
+        assertEquals(
+                Set.of(
+                        PreconditionError.OLDER_JAVA_LEVEL,
+                        PreconditionError.PARENT_POM_1X,
+                        PreconditionError.MAVEN_REPOSITORIES_HTTP),
+                PreconditionError.evaluate(document));
+        assertTrue(PreconditionError.PARENT_POM_1X.isApplicable(document));
+        assertFalse(PreconditionError.NO_POM.isApplicable(document));
+    }
+
+    @Test
+    public void shouldIgnoreNestedElementsOutsideOfRulePaths() throws Exception {
+        // language=xml
+        Document document = parse("""
+                <project>
+                  <profiles>
+                    <profile>
+                      <repositories>
+                        <repository>
+                          <url>http://example.com/repo</url>
+                        </repository>
+                      </repositories>
+                    </profile>
+                  </profiles>
+                  <dependencies>
+                    <dependency>
+                      <version>1.0</version>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """);
+        assertTrue(PreconditionError.evaluate(document).isEmpty());
+    }
+
+    private Document parse(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
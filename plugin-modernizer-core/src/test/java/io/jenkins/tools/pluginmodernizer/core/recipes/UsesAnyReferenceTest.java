@@ -0,0 +1,92 @@
+package io.jenkins.tools.pluginmodernizer.core.recipes;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openrewrite.test.RewriteTest;
+
+/**
+ * Test for {@link UsesAnyReference}.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class UsesAnyReferenceTest implements RewriteTest {
+
+    @Test
+    void shouldMatchImportInSubPackage() {
+        rewriteRun(
+                spec -> spec.recipe(toRecipe(() -> UsesAnyReference.packages("java.util.concurrent"))),
+                // language=java
+                java("""
+                        import java.util.concurrent.atomic.AtomicInteger;
+
+                        class Foo {
+                            AtomicInteger counter = new AtomicInteger();
+                        }
+                        """, """
+                        /*~~>*/import java.util.concurrent.atomic.AtomicInteger;
+
+                        class Foo {
+                            AtomicInteger counter = new AtomicInteger();
+                        }
+                        """));
+    }
+
+    @Test
+    void shouldMatchFullyQualifiedTypeWithoutImport() {
+        rewriteRun(
+                spec -> spec.recipe(toRecipe(() -> UsesAnyReference.types("java.util.List"))),
+                // language=java
+                java("""
+                        class Foo {
+                            java.util.List<String> names;
+                        }
+                        """, """
+                        /*~~>*/class Foo {
+                            java.util.List<String> names;
+                        }
+                        """));
+    }
+
+    @Test
+    void shouldMatchMethodName() {
+        rewriteRun(
+                spec -> spec.recipe(
+                        toRecipe(() -> new UsesAnyReference(Set.of(), Set.of(), Set.of("fireAuthenticated")))),
+                // language=java
+                java("""
+                        class Foo {
+                            void fireAuthenticated() {}
+                            void login() {
+                                fireAuthenticated();
+                            }
+                        }
+                        """, """
+                        /*~~>*/class Foo {
+                            void fireAuthenticated() {}
+                            void login() {
+                                fireAuthenticated();
+                            }
+                        }
+                        """));
+    }
+
+    @Test
+    void shouldNotMatchUnrelatedFile() {
+        rewriteRun(
+                spec -> spec.recipe(toRecipe(
+                        () -> new UsesAnyReference(Set.of("javax.servlet"), Set.of("java.util.Map"), Set.of("login")))),
+                // language=java
+                java("""
+                        import java.util.List;
+                        import java.util.concurrent.atomic.AtomicInteger;
+
+                        class Foo {
+                            List<AtomicInteger> counters;
+                        }
+                        """));
+    }
+}
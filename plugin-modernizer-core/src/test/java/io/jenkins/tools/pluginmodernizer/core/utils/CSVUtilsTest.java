@@ -0,0 +1,71 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class CSVUtilsTest {
+
+    @Test
+    public void shouldParseQuotedStats() {
+        Map<String, Integer> stats = CSVUtils.parseStats("\"valid-plugin\",\"1\"\n\"valid-plugin2\",\"12345\"\n");
+        assertEquals(Map.of("valid-plugin", 1, "valid-plugin2", 12345), stats);
+    }
+
+    @Test
+    public void shouldTrimColumnsAndHandleWindowsLineEndings() {
+        Map<String, Integer> stats = CSVUtils.parseStats("  foo , 42 \r\nbar,7\r\n");
+        assertEquals(Map.of("foo", 42, "bar", 7), stats);
+    }
+
+    @Test
+    public void shouldSkipRowsWithoutTwoColumns() {
+        Map<String, Integer> stats = CSVUtils.parseStats("header\n\nfoo,1\nbar,2,3\nbaz,\n");
+        assertEquals(Map.of("foo", 1), stats);
+    }
+
+    @Test
+    public void shouldParseLastRowWithoutNewLine() {
+        Map<String, Integer> stats = CSVUtils.parseStats("foo,1\nbar,2");
+        assertEquals(Map.of("foo", 1, "bar", 2), stats);
+    }
+
+    @Test
+    public void shouldFailOnInvalidCount() {
+        ModernizerException exception =
+                assertThrows(ModernizerException.class, () -> CSVUtils.parseStats("foo,1\nbar,2x\n"));
+        assertEquals("Invalid count in CSV stats at line 2", exception.getMessage());
+        assertThrows(ModernizerException.class, () -> CSVUtils.parseStats("foo,99999999999\n"));
+    }
+
+    @Test
+    public void shouldParseStream() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            csv.append('"').append("plugin-").append(i).append("\",\"").append(i).append("\"\n");
+        }
+        StringIntMap stats =
+                CSVUtils.parseStats(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(10_000, stats.size());
+        assertEquals(9_999, stats.getInt("plugin-9999", -1));
+        assertEquals(-1, stats.getInt("plugin-10000", -1));
+    }
+
+    @Test
+    public void shouldStreamRowsToConsumer() throws Exception {
+        List<String> rows = new ArrayList<>();
+        CSVUtils.parseStats(
+                new StringReader("2024-01,10\n2024-02,20\n"), (name, value) -> rows.add(name + "=" + value));
+        assertEquals(List.of("2024-01=10", "2024-02=20"), rows);
+    }
+}
@@ -0,0 +1,113 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * Tests for {@link JdkDiscovery}.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class JdkDiscoveryTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldDiscoverFromAllSources() throws Exception {
+        Path home = tempDir.resolve("home");
+        Path sdkmanJdk = createJdk(home.resolve(".sdkman/candidates/java/21.0.5-tem"), "21.0.5");
+        Path toolchainJdk = createJdk(tempDir.resolve("toolchain-17"), "17.0.9");
+        Path envJdk = createJdk(tempDir.resolve("hostedtoolcache/11"), "11.0.25");
+        Path systemJdk = createJdk(tempDir.resolve("jvm/java-8-openjdk"), "1.8.0_432");
+        writeToolchains(home, toolchainJdk);
+
+        JdkDiscovery discovery =
+                new JdkDiscovery(home, Map.of("JAVA_HOME_11_X64", envJdk.toString()), tempDir.resolve("jvm"));
+
+        assertEquals(sdkmanJdk, discovery.find(21));
+        assertEquals(toolchainJdk, discovery.find(17));
+        assertEquals(envJdk, discovery.find(11));
+        assertEquals(systemJdk, discovery.find(8));
+        assertNull(discovery.find(25));
+        assertFalse(discovery.isInstalled(25));
+        assertEquals(JdkDiscovery.Source.TOOLCHAINS, discovery.getIndex().get(17).get(0).source());
+    }
+
+    @Test
+    public void shouldPreferConfiguredThenLatestJdk() throws Exception {
+        Path home = tempDir.resolve("home");
+        createJdk(home.resolve(".sdkman/candidates/java/17.0.2-tem"), "17.0.2");
+        Path latest = createJdk(home.resolve(".sdkman/candidates/java/17.0.12-tem"), "17.0.12");
+        Path system = createJdk(tempDir.resolve("jvm/java-17-openjdk"), "17.0.13");
+
+        JdkDiscovery discovery = new JdkDiscovery(home, Map.of(), tempDir.resolve("jvm"));
+        assertEquals(latest, discovery.find(17));
+        assertEquals(3, discovery.getIndex().get(17).size());
+
+        JdkDiscovery withEnv =
+                new JdkDiscovery(home, Map.of("JAVA_HOME_17", system.toString()), tempDir.resolve("jvm"));
+        assertEquals(system, withEnv.find(17));
+        // Same JDK found twice is only indexed once
+        assertEquals(3, withEnv.getIndex().get(17).size());
+    }
+
+    @Test
+    public void shouldIgnoreJreAndInvalidHomes() throws Exception {
+        Path jre = createJdk(tempDir.resolve("jvm/jre-21"), "21.0.5");
+        Files.delete(jre.resolve("bin").resolve("javac"));
+        Files.createDirectories(tempDir.resolve("jvm/empty"));
+        Path broken = createJdk(tempDir.resolve("jvm/broken"), "21.0.5");
+        Files.writeString(broken.resolve("release"), "IMPLEMENTOR=\"Nobody\"");
+
+        JdkDiscovery discovery = new JdkDiscovery(tempDir.resolve("home"), Map.of(), tempDir.resolve("jvm"));
+        assertTrue(discovery.getIndex().isEmpty());
+    }
+
+    @Test
+    public void shouldIndexOnlyOnce() throws Exception {
+        JdkDiscovery discovery = new JdkDiscovery(tempDir.resolve("home"), Map.of(), tempDir.resolve("jvm"));
+        Map<Integer, List<JdkDiscovery.InstalledJdk>> index = discovery.getIndex();
+        createJdk(tempDir.resolve("jvm/java-21"), "21.0.5");
+        assertSame(index, discovery.getIndex());
+        assertFalse(discovery.isInstalled(21));
+    }
+
+    private static Path createJdk(Path home, String version) throws IOException {
+        Files.createDirectories(home.resolve("bin"));
+        Files.writeString(home.resolve("bin").resolve("java"), "java");
+        Files.writeString(home.resolve("bin").resolve("javac"), "javac");
+        Files.writeString(home.resolve("release"), "JAVA_VERSION=\"%s\"%n".formatted(version));
+        return home;
+    }
+
+    private static void writeToolchains(Path home, Path jdk) throws IOException {
+        Files.createDirectories(home.resolve(".m2"));
+        // language=xml
+        Files.writeString(home.resolve(".m2").resolve("toolchains.xml"), """
+                <toolchains>
+                  <toolchain>
+                    <type>jdk</type>
+                    <provides>
+                      <version>17</version>
+                    </provides>
+                    <configuration>
+                      <jdkHome>%s</jdkHome>
+                    </configuration>
+                  </toolchain>
+                </toolchains>
+                """.formatted(jdk));
+    }
+}
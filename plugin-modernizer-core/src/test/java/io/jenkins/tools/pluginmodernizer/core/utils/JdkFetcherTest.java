@@ -0,0 +1,259 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+@WireMockTest
+class JdkFetcherTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldDownloadVerifyAndExtract(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        String prefix = "/download";
+        JdkFetcher fetcher = fetcher(wmRuntimeInfo, prefix);
+        byte[] archive = buildArchive(17);
+        String name = stubRelease(wmRuntimeInfo, fetcher, prefix, 17, archive, sha256(archive));
+        WireMock.stubFor(get(urlEqualTo(prefix + "/files/" + name))
+                .willReturn(aResponse().withStatus(200).withBody(archive)));
+
+        Path jdkPath = fetcher.getJdkPath(17);
+
+        assertEquals(tempDir.resolve(".jdks").resolve("plugin-modernizer-jdk-17"), jdkPath);
+        assertEquals("java 17", Files.readString(jdkPath.resolve("bin").resolve("java")));
+        assertTrue(Files.exists(jdkPath.resolve("release")));
+        assertFalse(Files.exists(tempDir.resolve(".jdks").resolve(name + ".part")));
+    }
+
+    @Test
+    public void shouldResumePartialDownload(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        String prefix = "/resume";
+        JdkFetcher fetcher = fetcher(wmRuntimeInfo, prefix);
+        byte[] archive = buildArchive(21);
+        String name = stubRelease(wmRuntimeInfo, fetcher, prefix, 21, archive, sha256(archive));
+        int received = archive.length / 2;
+        Files.createDirectories(tempDir.resolve(".jdks"));
+        Files.write(tempDir.resolve(".jdks").resolve(name + ".part"), Arrays.copyOfRange(archive, 0, received));
+        WireMock.stubFor(get(urlEqualTo(prefix + "/files/" + name))
+                .withHeader("Range", equalTo("bytes=" + received + "-"))
+                .willReturn(aResponse()
+                        .withStatus(206)
+                        .withBody(Arrays.copyOfRange(archive, received, archive.length))));
+
+        Path jdkPath = fetcher.getJdkPath(21);
+
+        assertEquals("java 21", Files.readString(jdkPath.resolve("bin").resolve("java")));
+        WireMock.verify(getRequestedFor(urlEqualTo(prefix + "/files/" + name))
+                .withHeader("Range", equalTo("bytes=" + received + "-")));
+    }
+
+    @Test
+    public void shouldRejectChecksumMismatch(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        String prefix = "/mismatch";
+        JdkFetcher fetcher = fetcher(wmRuntimeInfo, prefix);
+        byte[] archive = buildArchive(11);
+        String name = stubRelease(wmRuntimeInfo, fetcher, prefix, 11, archive, sha256(new byte[] {1, 2, 3}));
+        WireMock.stubFor(get(urlEqualTo(prefix + "/files/" + name))
+                .willReturn(aResponse().withStatus(200).withBody(archive)));
+
+        assertThrows(ModernizerException.class, () -> fetcher.getJdkPath(11));
+
+        assertFalse(Files.exists(tempDir.resolve(".jdks").resolve("plugin-modernizer-jdk-11")));
+        assertFalse(Files.exists(tempDir.resolve(".jdks").resolve(name + ".part")));
+        try (Stream<Path> files = Files.list(tempDir.resolve(".jdks"))) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().contains("staging")));
+        }
+    }
+
+    @Test
+    public void shouldInstallOnceWhenRacing(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        String prefix = "/racing";
+        byte[] archive = buildArchive(17);
+        String name = stubRelease(wmRuntimeInfo, fetcher(wmRuntimeInfo, prefix), prefix, 17, archive, sha256(archive));
+        WireMock.stubFor(get(urlEqualTo(prefix + "/files/" + name))
+                .willReturn(aResponse().withStatus(200).withBody(archive).withFixedDelay(200)));
+
+        // Separate fetchers stand for separate processes sharing the cache
+        List<Future<Path>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                JdkFetcher fetcher = fetcher(wmRuntimeInfo, prefix);
+                futures.add(executor.submit(() -> fetcher.getJdkPath(17)));
+            }
+        }
+        for (Future<Path> future : futures) {
+            assertEquals("java 17", Files.readString(future.get().resolve("bin").resolve("java")));
+        }
+        WireMock.verify(1, getRequestedFor(urlEqualTo(prefix + "/files/" + name)));
+    }
+
+    @Test
+    public void shouldProvisionConcurrently(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        String prefix = "/provision";
+        JdkFetcher fetcher = fetcher(wmRuntimeInfo, prefix);
+        for (int version : List.of(17, 25)) {
+            byte[] archive = buildArchive(version);
+            String name = stubRelease(wmRuntimeInfo, fetcher, prefix, version, archive, sha256(archive));
+            WireMock.stubFor(get(urlEqualTo(prefix + "/files/" + name))
+                    .willReturn(aResponse().withStatus(200).withBody(archive)));
+        }
+
+        // JDK 8 has no release and is only logged
+        fetcher.provision(List.of(25, 17, 8, 17));
+
+        Path jdks = tempDir.resolve(".jdks");
+        assertEquals("java 17", Files.readString(jdks.resolve("plugin-modernizer-jdk-17/bin/java")));
+        assertEquals("java 25", Files.readString(jdks.resolve("plugin-modernizer-jdk-25/bin/java")));
+        assertFalse(Files.exists(jdks.resolve("plugin-modernizer-jdk-8")));
+    }
+
+    @Test
+    public void shouldReuseCachedRelease(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        String prefix = "/cached";
+        byte[] archive = buildArchive(17);
+        String name = stubRelease(wmRuntimeInfo, fetcher(wmRuntimeInfo, prefix), prefix, 17, archive, sha256(archive));
+        WireMock.stubFor(get(urlEqualTo(prefix + "/files/" + name))
+                .willReturn(aResponse().withStatus(200).withBody(archive)));
+
+        Path jdkPath = fetcher(wmRuntimeInfo, prefix).getJdkPath(17);
+        FileUtils.deleteDirectory(jdkPath.toFile());
+        fetcher(wmRuntimeInfo, prefix).getJdkPath(17);
+
+        assertEquals("java 17", Files.readString(jdkPath.resolve("bin").resolve("java")));
+        WireMock.verify(1, getRequestedFor(urlEqualTo(prefix + "/temurin17-binaries/releases")));
+        WireMock.verify(2, getRequestedFor(urlEqualTo(prefix + "/files/" + name)));
+    }
+
+    @Test
+    public void shouldProvisionFromLocalMirror() throws Exception {
+        Path mirror = Files.createDirectories(tempDir.resolve("mirror"));
+        Path cache = tempDir.resolve("cache");
+        // No API reachable
+        JdkFetcher fetcher =
+                new JdkFetcher(cache, new CacheManager(cache), "http://localhost:1", mirror.toUri().toURL());
+        byte[] archive = buildArchive(21);
+        String name = fetcher.buildJDKFileName(21) + ".tar.gz";
+        Files.write(mirror.resolve(name), archive);
+        Files.writeString(mirror.resolve(name + ".sha256.txt"), sha256(archive) + "  " + name);
+
+        fetcher.provision(List.of(21));
+
+        assertEquals("java 21", Files.readString(cache.resolve(".jdks/plugin-modernizer-jdk-21/bin/java")));
+    }
+
+    @Test
+    public void shouldProvisionFromRemoteMirror(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        String prefix = "/mirror";
+        JdkFetcher fetcher = new JdkFetcher(
+                tempDir,
+                new CacheManager(tempDir),
+                "http://localhost:1",
+                URI.create(wmRuntimeInfo.getHttpBaseUrl() + prefix).toURL());
+        byte[] archive = buildArchive(11);
+        String name = fetcher.buildJDKFileName(11) + ".tar.gz";
+        WireMock.stubFor(get(urlEqualTo(prefix + "/" + name))
+                .willReturn(aResponse().withStatus(200).withBody(archive)));
+        WireMock.stubFor(get(urlEqualTo(prefix + "/" + name + ".sha256.txt"))
+                .willReturn(aResponse().withStatus(200).withBody(sha256(archive))));
+
+        Path jdkPath = fetcher.getJdkPath(11);
+
+        assertEquals("java 11", Files.readString(jdkPath.resolve("bin").resolve("java")));
+    }
+
+    private JdkFetcher fetcher(WireMockRuntimeInfo wmRuntimeInfo, String prefix) {
+        return new JdkFetcher(tempDir, new CacheManager(tempDir), wmRuntimeInfo.getHttpBaseUrl() + prefix, null);
+    }
+
+    /**
+     * Stub the release listing and the checksum of an archive
+     * @return The name of the archive
+     */
+    private String stubRelease(
+            WireMockRuntimeInfo wmRuntimeInfo,
+            JdkFetcher fetcher,
+            String prefix,
+            int version,
+            byte[] archive,
+            String checksum) {
+        String name = fetcher.buildJDKFileName(version) + "_" + version + "0_1.tar.gz";
+        String files = wmRuntimeInfo.getHttpBaseUrl() + prefix + "/files/";
+        // language=json
+        String releases = """
+                [
+                  {
+                    "tag_name": "jdk-%d",
+                    "assets": [
+                      {"name": "%s", "size": %d, "browser_download_url": "%s%s"},
+                      {"name": "%s.sha256.txt", "browser_download_url": "%s%s.sha256.txt"}
+                    ]
+                  }
+                ]
+                """.formatted(version, name, archive.length, files, name, name, files, name);
+        WireMock.stubFor(get(urlEqualTo(prefix + "/temurin" + version + "-binaries/releases"))
+                .willReturn(aResponse().withStatus(200).withBody(releases)));
+        WireMock.stubFor(get(urlEqualTo(prefix + "/files/" + name + ".sha256.txt"))
+                .willReturn(aResponse().withStatus(200).withBody(checksum + "  " + name + "\n")));
+        return name;
+    }
+
+    private static byte[] buildArchive(int version) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+            addEntry(tar, "jdk-" + version + "/bin/java", "java " + version);
+            addEntry(tar, "jdk-" + version + "/release", "JAVA_VERSION=\"" + version + "\"\n");
+        }
+        return out.toByteArray();
+    }
+
+    private static void addEntry(TarArchiveOutputStream tar, String name, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(bytes.length);
+        tar.putArchiveEntry(entry);
+        tar.write(bytes);
+        tar.closeArchiveEntry();
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -5,7 +5,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import io.jenkins.tools.pluginmodernizer.core.extractor.MetadataFlag;
 import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.PreconditionError;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -131,4 +136,81 @@ public class JsonUtilsTest {
         // Maps are merged
         assertEquals(Map.of("key1", "value1", "key2", "value2"), merged.getProperties());
     }
+
+    @Test
+    public void testStreamUpdateCenterSkipUnknownFieldsAndInternLabels() {
+        // language=json
+        String json = """
+                {
+                  "plugins": {
+                    "foo": {
+                      "name": "foo",
+                      "version": "1.0",
+                      "scm": "https://github.com/jenkinsci/foo-plugin",
+                      "defaultBranch": "main",
+                      "gav": "io.jenkins.plugins:foo:1.0",
+                      "labels": ["pipeline", "scm"],
+                      "dependencies": [{"name": "bar", "optional": false, "version": "2.0"}],
+                      "developers": [{"developerId": "someone"}],
+                      "popularity": 42
+                    },
+                    "bar": {
+                      "name": "bar",
+                      "version": "2.0",
+                      "scm": null,
+                      "defaultBranch": "main",
+                      "labels": ["pipeline"]
+                    }
+                  },
+                  "deprecations": {
+                    "old": {"url": "https://example.com"}
+                  },
+                  "warnings": [{"id": "SECURITY-1"}]
+                }
+                """;
+        UpdateCenterData data = JsonUtils.fromJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), UpdateCenterData.class);
+        UpdateCenterData.UpdateCenterPlugin foo = data.getPlugins().get("foo");
+        UpdateCenterData.UpdateCenterPlugin bar = data.getPlugins().get("bar");
+        assertEquals("1.0", foo.version());
+        assertEquals("io.jenkins.plugins:foo:1.0", foo.gav());
+        assertEquals(List.of("pipeline", "scm"), foo.labels());
+        assertNull(bar.scm());
+        assertNull(bar.gav());
+        assertSame(foo.labels().get(0), bar.labels().get(0));
+        assertSame(foo.defaultBranch(), bar.defaultBranch());
+        assertEquals("https://example.com", data.getDeprecations().get("old").url());
+    }
+
+    @Test
+    public void testUpdateCenterPluginRoundTrip() {
+        UpdateCenterData.UpdateCenterPlugin plugin = new UpdateCenterData.UpdateCenterPlugin(
+                "foo", "1.0", "https://github.com/jenkinsci/foo-plugin", "main", null, List.of("pipeline"));
+        String json = JsonUtils.toJson(plugin);
+        assertEquals(
+                "{\"name\":\"foo\",\"version\":\"1.0\",\"scm\":\"https://github.com/jenkinsci/foo-plugin\",\"defaultBranch\":\"main\",\"labels\":[\"pipeline\"]}",
+                json);
+        assertEquals(plugin, JsonUtils.fromJson(json, UpdateCenterData.UpdateCenterPlugin.class));
+    }
+
+    @Test
+    public void testStreamPluginVersionsKeepOnlyNameAndVersion() {
+        // language=json
+        String json = """
+                {
+                  "plugins": {
+                    "foo": {
+                      "1.0": {"name": "foo", "version": "1.0", "sha256": "abc", "requiredCore": "2.479.3"},
+                      "1.1": {"name": "foo", "version": "1.1", "dependencies": [{"name": "bar"}]}
+                    }
+                  }
+                }
+                """;
+        PluginVersionData data = JsonUtils.fromJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), PluginVersionData.class);
+        Map<String, PluginVersionData.PluginVersionPlugin> versions = data.getPlugins().get("foo");
+        assertEquals(new PluginVersionData.PluginVersionPlugin("foo", "1.0"), versions.get("1.0"));
+        assertEquals(new PluginVersionData.PluginVersionPlugin("foo", "1.1"), versions.get("1.1"));
+        assertSame(versions.get("1.0").name(), versions.get("1.1").name());
+    }
 }
@@ -0,0 +1,96 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class MetricsUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldTagOutcome() {
+        assertEquals(MetricsUtils.SUCCESS, MetricsUtils.outcome(true));
+        assertEquals(MetricsUtils.FAILURE, MetricsUtils.outcome(false));
+    }
+
+    @Test
+    public void shouldSnapshotMeters() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        registry.counter("test.requests", "result", "hit").increment(3);
+        registry.timer("test.operations", "operation", "fetch").record(Duration.ofMillis(5));
+
+        List<MetricsUtils.MeterData> meters = MetricsUtils.snapshot(registry);
+        assertEquals(2, meters.size());
+
+        MetricsUtils.MeterData counter = meters.get(1);
+        assertEquals("test.requests", counter.name());
+        assertEquals("counter", counter.type());
+        assertEquals("hit", counter.tags().get("result"));
+        assertEquals(3.0, counter.measurements().get("count"));
+
+        MetricsUtils.MeterData timer = meters.get(0);
+        assertEquals("test.operations", timer.name());
+        assertEquals("timer", timer.type());
+        assertEquals(1.0, timer.measurements().get("count"));
+    }
+
+    @Test
+    @ResourceLock("metrics")
+    public void shouldExportTimedOperations() throws Exception {
+        MetricsUtils.enable();
+        try {
+            assertEquals("result", MetricsUtils.time("test.export", () -> "result", "operation", "ok"));
+            assertThrows(IllegalStateException.class, () -> MetricsUtils.time(
+                    "test.export",
+                    (Runnable) () -> {
+                        throw new IllegalStateException("failed");
+                    },
+                    "operation",
+                    "ko"));
+            assertEquals(
+                    1,
+                    Metrics.globalRegistry
+                            .get("test.export")
+                            .tags("operation", "ok", "outcome", MetricsUtils.SUCCESS)
+                            .timer()
+                            .count());
+            assertEquals(
+                    1,
+                    Metrics.globalRegistry
+                            .get("test.export")
+                            .tags("operation", "ko", "outcome", MetricsUtils.FAILURE)
+                            .timer()
+                            .count());
+
+            MetricsUtils.export(tempDir.resolve("metrics"));
+            String prometheus = Files.readString(tempDir.resolve("metrics").resolve(MetricsUtils.PROMETHEUS_FILE));
+            assertTrue(prometheus.contains("test_export_seconds_count"), prometheus);
+            String json = Files.readString(tempDir.resolve("metrics").resolve(MetricsUtils.JSON_FILE));
+            assertTrue(json.contains("\"test.export\""), json);
+        } finally {
+            MetricsUtils.disable();
+        }
+    }
+
+    @Test
+    @ResourceLock("metrics")
+    public void shouldNotExportWhenDisabled() {
+        Path directory = tempDir.resolve("disabled");
+        MetricsUtils.export(directory);
+        assertFalse(Files.exists(directory.resolve(MetricsUtils.PROMETHEUS_FILE)));
+    }
+}
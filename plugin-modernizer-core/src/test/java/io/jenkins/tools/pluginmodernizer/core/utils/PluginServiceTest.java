@@ -2,6 +2,7 @@ package io.jenkins.tools.pluginmodernizer.core.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -21,6 +22,9 @@ import java.lang.reflect.Field;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.lang3.tuple.Triple;
@@ -276,6 +280,53 @@ class PluginServiceTest {
                 pluginInstallationStatsData.getPlugins().size());
     }
 
+    @Test
+    public void shouldRevalidateExpiredDataWithEtag(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+
+        WireMock wireMock = wmRuntimeInfo.getWireMock();
+        int portNumber = wmRuntimeInfo.getHttpPort();
+
+        CacheManager cacheManager = new CacheManager(tempDir.resolve("cache"));
+        cacheManager.init();
+        Config config = Mockito.mock(Config.class);
+
+        // language=json
+        String json = """
+                {"plugins": {"foo": {"name": "foo", "version": "1.0", "scm": "https://github.com/jenkinsci/foo"}}}
+                """;
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/revalidate/update-center.json"))
+                .atPriority(1)
+                .withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.status(304)));
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/revalidate/update-center.json"))
+                .atPriority(2)
+                .willReturn(WireMock.okJson(json).withHeader("ETag", "\"v1\"")));
+        doReturn(new URL("http://localhost:%d/revalidate/update-center.json".formatted(portNumber)))
+                .when(config)
+                .getJenkinsUpdateCenter();
+
+        PluginService service = getService(config, cacheManager);
+
+        // First download
+        UpdateCenterData first = service.getUpdateCenterData();
+        assertEquals("\"v1\"", first.getEtag());
+        assertEquals("1.0", first.getPlugins().get("foo").version());
+
+        // Expire the entry
+        Path cached = tempDir.resolve("cache").resolve(CacheManager.UPDATE_CENTER_CACHE_KEY);
+        Files.setLastModifiedTime(cached, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        // Revalidated and reused
+        UpdateCenterData second = service.getUpdateCenterData();
+        assertEquals("1.0", second.getPlugins().get("foo").version());
+        assertTrue(Files.getLastModifiedTime(cached).toInstant().isAfter(Instant.now().minus(Duration.ofMinutes(1))));
+        wireMock.verifyThat(
+                1,
+                WireMock.getRequestedFor(WireMock.urlEqualTo("/revalidate/update-center.json"))
+                        .withHeader("If-None-Match", WireMock.equalTo("\"v1\"")));
+        wireMock.verifyThat(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/revalidate/update-center.json")));
+    }
+
     /**
      * Get the update center service to test
      * @param cacheManager Cache manager
@@ -0,0 +1,113 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class ProcFsTest {
+
+    @TempDir
+    private Path proc;
+
+    /**
+     * Write a fake process to a /proc like directory
+     * @param proc The directory
+     * @param pid The process id
+     * @param parentPid The parent process id
+     * @param cpuTicks The user and system CPU ticks
+     * @param childrenCpuTicks The user and system CPU ticks of waited children
+     * @param rssKb The resident set size in kB
+     * @param peakRssKb The peak resident set size in kB
+     * @param children The children, or null to not write the children file
+     */
+    public static void writeProcess(
+            Path proc,
+            long pid,
+            long parentPid,
+            long cpuTicks,
+            long childrenCpuTicks,
+            long rssKb,
+            long peakRssKb,
+            List<Long> children)
+            throws Exception {
+        Path directory = Files.createDirectories(proc.resolve(Long.toString(pid)));
+        Files.writeString(
+                directory.resolve("stat"),
+                "%d (java main) S %d %d %d 0 -1 4194304 100 0 0 0 %d %d %d %d 20 0 30 0 100 1000000 %d 0\n"
+                        .formatted(
+                                pid,
+                                parentPid,
+                                pid,
+                                pid,
+                                cpuTicks / 2,
+                                cpuTicks - cpuTicks / 2,
+                                childrenCpuTicks,
+                                0,
+                                rssKb / 4));
+        Files.writeString(
+                directory.resolve("status"),
+                "Name:\tjava\nVmHWM:\t%d kB\nVmRSS:\t%d kB\nThreads:\t30\n".formatted(peakRssKb, rssKb));
+        if (children != null) {
+            Path task = Files.createDirectories(directory.resolve("task").resolve(Long.toString(pid)));
+            Files.writeString(
+                    task.resolve("children"),
+                    String.join(" ", children.stream().map(String::valueOf).toList()) + " ");
+        }
+    }
+
+    @Test
+    public void shouldReadAvailableMemory() throws Exception {
+        ProcFs procFs = new ProcFs(proc);
+        assertFalse(procFs.isAvailable());
+        assertTrue(procFs.getAvailableMemory().isEmpty());
+
+        Files.writeString(
+                proc.resolve("meminfo"),
+                "MemTotal:       16000000 kB\nMemFree:         1000000 kB\nMemAvailable:    8000000 kB\n");
+        assertTrue(procFs.isAvailable());
+        assertEquals(8000000L * 1024, procFs.getAvailableMemory().getAsLong());
+        assertEquals(16000000L * 1024, procFs.getTotalMemory().getAsLong());
+    }
+
+    @Test
+    public void shouldReadProcessStat() throws Exception {
+        writeProcess(proc, 42, 1, 250, 30, 204800, 409600, List.of());
+        ProcFs.ProcessStat stat = new ProcFs(proc).stat(42).orElseThrow();
+        assertEquals(42, stat.pid());
+        assertEquals(1, stat.parentPid());
+        assertEquals(2500, stat.cpuMillis());
+        assertEquals(300, stat.childrenCpuMillis());
+        assertEquals(204800L * 1024, stat.rssBytes());
+        assertEquals(409600L * 1024, stat.peakRssBytes());
+        assertTrue(new ProcFs(proc).stat(43).isEmpty());
+    }
+
+    @Test
+    public void shouldListChildren() throws Exception {
+        writeProcess(proc, 10, 1, 0, 0, 0, 0, List.of(11L, 12L));
+        writeProcess(proc, 11, 10, 0, 0, 0, 0, null);
+        writeProcess(proc, 12, 10, 0, 0, 0, 0, null);
+        writeProcess(proc, 13, 11, 0, 0, 0, 0, null);
+        ProcFs procFs = new ProcFs(proc);
+        assertEquals(List.of(11L, 12L), procFs.children(10));
+        // Without children file
+        assertEquals(List.of(13L), procFs.children(11));
+        assertEquals(List.of(), procFs.children(13));
+    }
+
+    @Test
+    public void shouldReadWorkingDirectory() throws Exception {
+        writeProcess(proc, 20, 1, 0, 0, 0, 0, List.of());
+        Path cwd = Files.createDirectories(proc.resolve("plugin"));
+        Files.createSymbolicLink(proc.resolve("20").resolve("cwd"), cwd);
+        assertEquals(cwd, new ProcFs(proc).workingDirectory(20).orElseThrow());
+        assertTrue(new ProcFs(proc).workingDirectory(21).isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class StringIntMapTest {
+
+    @Test
+    public void shouldPutAndGetAfterResize() {
+        StringIntMap map = new StringIntMap();
+        for (int i = 0; i < 1000; i++) {
+            map.putInt("key-" + i, i);
+        }
+        map.putInt("key-10", 42);
+        assertEquals(1000, map.size());
+        assertEquals(42, map.getInt("key-10", -1));
+        assertEquals(999, map.getInt("key-999", -1));
+        assertEquals(-1, map.getInt("missing", -1));
+        assertNull(map.get("missing"));
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void shouldBehaveAsMap() {
+        StringIntMap map = new StringIntMap();
+        assertNull(map.put("foo", 1));
+        assertEquals(1, map.put("foo", 2));
+        map.put("bar", 3);
+        assertEquals(Map.of("foo", 2, "bar", 3), map);
+        assertEquals(Map.of("foo", 2, "bar", 3), new HashMap<>(map));
+        assertThrows(NullPointerException.class, () -> map.put("foo", null));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void shouldRoundTripThroughJson() {
+        StringIntMap map = new StringIntMap();
+        map.putInt("foo", 1);
+        map.putInt("bar", 2);
+        StringIntMap result = JsonUtils.fromJson(JsonUtils.toJson(map), StringIntMap.class);
+        assertEquals(map, result);
+    }
+}